@@ -28,9 +28,11 @@
 
 package org.citydb.cli;
 
+import org.citydb.cli.operation.database.LodIndexCommand;
 import org.citydb.cli.operation.deleter.DeleteCommand;
 import org.citydb.cli.operation.exporter.ExportCommand;
 import org.citydb.cli.operation.importer.ImportCommand;
+import org.citydb.cli.operation.server.ServeCommand;
 import org.citydb.cli.operation.validator.ValidateCommand;
 import org.citydb.cli.operation.visExporter.ExportVisCommand;
 import org.citydb.cli.option.CliOption;
@@ -91,7 +93,9 @@ import java.util.stream.Stream;
                 ExportCommand.class,
                 ExportVisCommand.class,
                 DeleteCommand.class,
-                ValidateCommand.class
+                ValidateCommand.class,
+                LodIndexCommand.class,
+                ServeCommand.class
         }
 )
 public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvider {
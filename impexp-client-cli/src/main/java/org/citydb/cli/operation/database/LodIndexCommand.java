@@ -0,0 +1,105 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.database;
+
+import org.citydb.cli.ImpExpCli;
+import org.citydb.cli.option.DatabaseOption;
+import org.citydb.config.Config;
+import org.citydb.config.project.database.DatabaseConnection;
+import org.citydb.core.database.DatabaseController;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.plugin.CliCommand;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.util.Util;
+import org.citydb.util.log.Logger;
+import picocli.CommandLine;
+
+import java.sql.SQLException;
+
+@CommandLine.Command(
+        name = "lod-index",
+        description = "Manages the LoD availability index used to speed up LoD filters.",
+        versionProvider = ImpExpCli.class
+)
+public class LodIndexCommand extends CliCommand {
+    enum Mode {update, rebuild, drop}
+
+    @CommandLine.Option(names = {"-m", "--mode"}, paramLabel = "<mode>", defaultValue = "update",
+            description = "Index operation: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). " +
+                    "The index is created if it does not exist. Use rebuild after geometries have been " +
+                    "changed by other tools.")
+    private Mode mode;
+
+    @CommandLine.ArgGroup(exclusive = false, heading = "Database connection options:%n")
+    private DatabaseOption databaseOption;
+
+    private final Logger log = Logger.getInstance();
+
+    @Override
+    public Integer call() throws Exception {
+        Config config = ObjectRegistry.getInstance().getConfig();
+
+        // connect to database
+        DatabaseController database = ObjectRegistry.getInstance().getDatabaseController();
+        DatabaseConnection connection = databaseOption != null ?
+                databaseOption.toDatabaseConnection() :
+                config.getDatabaseConfig().getActiveConnection();
+
+        if (!database.connect(connection)) {
+            log.warn("LoD availability index operation aborted.");
+            return 1;
+        }
+
+        AbstractDatabaseAdapter databaseAdapter = database.getActiveDatabaseAdapter();
+        long start = System.currentTimeMillis();
+
+        try {
+            if (mode == Mode.drop) {
+                log.info("Dropping LoD availability index...");
+                databaseAdapter.getUtil().dropLodAvailabilityIndex();
+            } else {
+                log.info((mode == Mode.rebuild ? "Rebuilding" : "Updating") + " LoD availability index...");
+                int updated = databaseAdapter.getUtil().updateLodAvailabilityIndex(
+                        ObjectRegistry.getInstance().getSchemaMapping(), mode == Mode.rebuild);
+                log.info("Processed city objects: " + updated);
+            }
+
+            log.info("LoD availability index operation successfully finished in " +
+                    Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
+        } catch (SQLException e) {
+            log.error("Failed to " + mode.name() + " the LoD availability index.", e);
+            log.warn("LoD availability index operation aborted.");
+            return 1;
+        } finally {
+            database.disconnect(true);
+        }
+
+        return 0;
+    }
+}
@@ -33,6 +33,7 @@ import org.citydb.config.Config;
 import org.citydb.config.project.database.DatabaseConnection;
 import org.citydb.config.project.exporter.ExportConfig;
 import org.citydb.config.project.exporter.OutputFormat;
+import org.citydb.config.project.exporter.TextureFileExport;
 import org.citydb.core.database.DatabaseController;
 import org.citydb.util.log.Logger;
 import org.citydb.core.operation.exporter.CityGMLExportException;
@@ -44,6 +45,14 @@ import org.citydb.core.registry.ObjectRegistry;
 import picocli.CommandLine;
 
 import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.GregorianCalendar;
 
 @CommandLine.Command(
         name = "export",
@@ -65,6 +74,44 @@ public class ExportCommand extends CliCommand {
             description = "Output format to use for compressed exports: ${COMPLETION-CANDIDATES}.")
     private CompressedFormat compressedFormat;
 
+    @CommandLine.Option(names = "--texture-writers", paramLabel = "<threads>",
+            description = "Number of separate threads for writing texture files.")
+    private Integer textureWriters;
+
+    @CommandLine.Option(names = "--texture-buffer-size", paramLabel = "<MB>",
+            description = "Maximum size of texture images held in memory by the texture writers in megabytes " +
+                    "(default: " + TextureFileExport.DEFAULT_MAX_BUFFER_SIZE_MB + ").")
+    private Integer textureBufferSize;
+
+    @CommandLine.Option(names = "--cache",
+            description = "Serve repeated exports from a result cache as long as the database content is unchanged.")
+    private boolean useCache;
+
+    @CommandLine.Option(names = "--cache-dir", paramLabel = "<folder>",
+            description = "Folder for the export result cache (default: folder in the data directory).")
+    private Path cacheDir;
+
+    @CommandLine.Option(names = "--cache-size", paramLabel = "<MB>",
+            description = "Maximum size of the export result cache in megabytes (default: 1024).")
+    private Long cacheSize;
+
+    @CommandLine.Option(names = "--changed-since", paramLabel = "<timestamp>",
+            description = "Only export city objects created or modified after the timestamp given as date " +
+                    "<YYYY-MM-DD> or date-time <YYYY-MM-DDThh:mm:ss[(+|-)hh:mm]>. Terminated city objects are " +
+                    "listed in a tombstone file next to the output file. Deleted city objects cannot be listed.")
+    private String changedSince;
+
+    @CommandLine.Option(names = "--watermark-file", paramLabel = "<file>",
+            description = "File storing the watermark of the last change export. Without --changed-since, " +
+                    "only changes after the stored watermark are exported. The file is updated after a successful export.")
+    private Path watermarkFile;
+
+    @CommandLine.Option(names = "--watermark-overlap", paramLabel = "<seconds>",
+            description = "Overlap subtracted from the stored watermark to catch late committed changes " +
+                    "(default: 300). City objects changed within the overlap are exported again, so consumers " +
+                    "must apply change exports idempotently.")
+    private Integer watermarkOverlap;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -75,6 +122,7 @@ public class ExportCommand extends CliCommand {
     private DatabaseOption databaseOption;
 
     private final Logger log = Logger.getInstance();
+    private OffsetDateTime changedSinceDateTime;
 
     @Override
     public Integer call() throws Exception {
@@ -127,8 +175,90 @@ public class ExportCommand extends CliCommand {
             exportConfig.getAppearances().setExportAppearances(queryOption.isExportAppearances());
         }
 
+        if (textureWriters != null) {
+            exportConfig.getAppearances().getTextureFileExport().setUseParallelWriters(true);
+            exportConfig.getAppearances().getTextureFileExport().setWriterThreads(textureWriters);
+        }
+
+        if (textureBufferSize != null) {
+            exportConfig.getAppearances().getTextureFileExport().setMaxBufferSizeMB(textureBufferSize);
+        }
+
         if (threadPoolOption != null) {
             exportConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
+
+        if (useCache) {
+            exportConfig.getCache().setUseCache(true);
+        }
+
+        if (cacheDir != null) {
+            exportConfig.getCache().setCacheDir(cacheDir.toAbsolutePath().toString());
+        }
+
+        if (cacheSize != null) {
+            exportConfig.getCache().setMaxSize(cacheSize);
+        }
+
+        if (changedSinceDateTime != null || watermarkFile != null) {
+            exportConfig.getChangeExport().setUseChangeExport(true);
+
+            if (changedSinceDateTime != null) {
+                exportConfig.getChangeExport().setChangedSince(ObjectRegistry.getInstance().getDatatypeFactory()
+                        .newXMLGregorianCalendar(GregorianCalendar.from(changedSinceDateTime.toZonedDateTime())));
+            }
+
+            if (watermarkFile != null) {
+                exportConfig.getChangeExport().setWatermarkFile(watermarkFile.toAbsolutePath().toString());
+            }
+
+            if (watermarkOverlap != null) {
+                exportConfig.getChangeExport().setWatermarkOverlap(watermarkOverlap);
+            }
+        }
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (cacheSize != null && cacheSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --cache-size must be a positive number");
+        }
+
+        if (textureBufferSize != null && textureBufferSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --texture-buffer-size must be a positive number");
+        }
+
+        if (watermarkOverlap != null && watermarkOverlap < 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --watermark-overlap must be a non-negative number");
+        }
+
+        if (changedSince != null) {
+            try {
+                changedSinceDateTime = OffsetDateTime.parse(changedSince, new DateTimeFormatterBuilder()
+                        .parseCaseInsensitive()
+                        .append(DateTimeFormatter.ISO_LOCAL_DATE)
+                        .optionalStart()
+                        .appendLiteral('T')
+                        .append(DateTimeFormatter.ISO_LOCAL_TIME)
+                        .optionalStart()
+                        .appendOffsetId()
+                        .optionalEnd()
+                        .optionalEnd()
+                        .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                        .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                        .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+                        .parseDefaulting(ChronoField.OFFSET_SECONDS, OffsetDateTime.now().getOffset().getTotalSeconds())
+                        .toFormatter()
+                        .withResolverStyle(ResolverStyle.STRICT)
+                        .withChronology(IsoChronology.INSTANCE));
+            } catch (DateTimeParseException e) {
+                throw new CommandLine.ParameterException(commandLine,
+                        "Error: The --changed-since timestamp must be in YYYY-MM-DD or " +
+                                "YYYY-MM-DDThh:mm:ss[(+|-)hh:mm] format but was '" + changedSince + "'");
+            }
+        }
     }
 }
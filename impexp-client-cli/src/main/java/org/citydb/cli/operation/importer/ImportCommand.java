@@ -65,10 +65,40 @@ public class ImportCommand extends CliCommand {
             description = "Encoding of the input file(s).")
     private String encoding;
 
+    @CommandLine.Option(names = "--decompress-in-background",
+            description = "Decompress ZIP and GZIP input files in a separate thread.")
+    private boolean decompressInBackground;
+
+    @CommandLine.Option(names = "--parallel-chunking",
+            description = "Split uncompressed CityGML input files into chunks using multiple threads.")
+    private boolean parallelChunking;
+
     @CommandLine.Option(names = "--import-log", paramLabel = "<file>",
             description = "Record imported top-level features to this file.")
     private Path importLogFile;
 
+    @CommandLine.Option(names = "--checkpoint",
+            description = "Record committed files and top-level features so that an interrupted import can be resumed.")
+    private boolean checkpoint;
+
+    @CommandLine.Option(names = "--checkpoint-dir", paramLabel = "<folder>",
+            description = "Folder for checkpoint files (default: folder in the local cache directory).")
+    private Path checkpointDir;
+
+    @CommandLine.Option(names = "--resume",
+            description = "Resume an interrupted import from its checkpoints. Already imported files and " +
+                    "committed top-level features are skipped.")
+    private boolean resume;
+
+    @CommandLine.Option(names = "--index-rebuild-threads", paramLabel = "<number>",
+            description = "Number of threads for re-creating deactivated indexes after the import (default: 1).")
+    private Integer indexRebuildThreads;
+
+    @CommandLine.Option(names = "--maintenance-work-mem", paramLabel = "<size>",
+            description = "Memory used per index build when re-creating deactivated indexes, e.g. 512MB " +
+                    "(PostgreSQL only).")
+    private String maintenanceWorkMem;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -147,7 +177,7 @@ public class ImportCommand extends CliCommand {
         config.getImportConfig().getFilter().setImportList(importList);
 
         try {
-            new Importer().doImport(inputFiles);
+            new Importer().doImport(inputFiles, resume);
             log.info("Database import successfully finished.");
         } catch (CityGMLImportException e) {
             log.error(e.getMessage(), e.getCause());
@@ -162,12 +192,30 @@ public class ImportCommand extends CliCommand {
 
     private void setImportOptions(ImportConfig importConfig) {
         importConfig.getGeneralOptions().setFileEncoding(encoding);
+        importConfig.getGeneralOptions().setDecompressInBackground(decompressInBackground);
+        importConfig.getGeneralOptions().setParallelChunking(parallelChunking);
 
         if (importLogFile != null) {
             importConfig.getImportLog().setLogFile(importLogFile.toAbsolutePath().toString());
             importConfig.getImportLog().setLogImportedFeatures(true);
         }
 
+        if (checkpoint || resume) {
+            importConfig.getCheckpoint().setWriteCheckpoints(true);
+        }
+
+        if (checkpointDir != null) {
+            importConfig.getCheckpoint().setCheckpointDir(checkpointDir.toAbsolutePath().toString());
+        }
+
+        if (indexRebuildThreads != null) {
+            importConfig.getIndexes().setRebuildThreads(indexRebuildThreads);
+        }
+
+        if (maintenanceWorkMem != null) {
+            importConfig.getIndexes().setMaintenanceWorkMem(maintenanceWorkMem.replaceAll("\\s+", ""));
+        }
+
         if (metadataOption != null) {
             importConfig.setContinuation(metadataOption.toContinuation());
         }
@@ -180,4 +228,18 @@ public class ImportCommand extends CliCommand {
             importConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
     }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (indexRebuildThreads != null && indexRebuildThreads < 1) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --index-rebuild-threads must be a positive number");
+        }
+
+        if (maintenanceWorkMem != null && !maintenanceWorkMem.matches("\\d+\\s*(kB|MB|GB|TB)?")) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --maintenance-work-mem must be a number with an optional unit kB, MB, GB or TB " +
+                            "but was '" + maintenanceWorkMem + "'");
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.util.Util;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Job {
+    public enum State {QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELED}
+
+    private final long id;
+    private final List<String> args;
+    private final Instant submitted = Instant.now();
+    private final Map<Integer, Long> objectCounter = new ConcurrentHashMap<>();
+    private final AtomicLong geometryCounter = new AtomicLong();
+    private final AtomicLong topLevelFeatureCounter = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant started;
+    private volatile Instant finished;
+    private volatile Integer exitCode;
+    private volatile String message;
+    private volatile Future<?> future;
+    private volatile Process process;
+    private volatile boolean cancelRequested;
+    private volatile Long remainingFiles;
+
+    Job(long id, String[] args) {
+        this.id = id;
+        this.args = Collections.unmodifiableList(Arrays.asList(args));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public List<String> getArgs() {
+        return args;
+    }
+
+    public String getCommandName() {
+        return args.isEmpty() ? null : args.get(0);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isDone() {
+        return state == State.SUCCEEDED || state == State.FAILED || state == State.CANCELED;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setProcess(Process process) {
+        this.process = process;
+    }
+
+    Process getProcess() {
+        return process;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void started() {
+        started = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void finished(State state, Integer exitCode, String message) {
+        finished = Instant.now();
+        this.exitCode = exitCode;
+        this.message = message;
+        this.state = state;
+    }
+
+    void updateObjectCounter(Map<Integer, Long> counter) {
+        counter.forEach((key, value) -> objectCounter.merge(key, value, Long::sum));
+    }
+
+    void updateGeometryCounter(long count) {
+        geometryCounter.addAndGet(count);
+    }
+
+    void updateTopLevelFeatureCounter(long count) {
+        topLevelFeatureCounter.addAndGet(count);
+    }
+
+    void setRemainingFiles(long remainingFiles) {
+        this.remainingFiles = remainingFiles;
+    }
+
+    JsonObject toJson(SchemaMapping schemaMapping) {
+        JsonObject job = new JsonObject();
+        job.addProperty("id", id);
+        job.addProperty("command", getCommandName());
+        job.addProperty("state", state.name());
+
+        JsonArray arguments = new JsonArray();
+        for (int i = 0; i < args.size(); i++) {
+            // do not report database passwords
+            String previous = i > 0 ? args.get(i - 1) : null;
+            arguments.add("-p".equals(previous) || "--db-password".equals(previous) ?
+                    "***" :
+                    args.get(i).startsWith("--db-password=") ? "--db-password=***" : args.get(i));
+        }
+
+        job.add("args", arguments);
+        job.addProperty("submitted", submitted.toString());
+        if (started != null) {
+            job.addProperty("started", started.toString());
+        }
+
+        if (finished != null) {
+            job.addProperty("finished", finished.toString());
+        }
+
+        if (exitCode != null) {
+            job.addProperty("exitCode", exitCode);
+        }
+
+        if (message != null) {
+            job.addProperty("message", message);
+        }
+
+        JsonObject progress = new JsonObject();
+        progress.addProperty("topLevelFeatures", topLevelFeatureCounter.get());
+        progress.addProperty("geometries", geometryCounter.get());
+        if (remainingFiles != null) {
+            progress.addProperty("remainingFiles", remainingFiles);
+        }
+
+        JsonObject objects = new JsonObject();
+        Util.mapObjectCounter(objectCounter, schemaMapping).forEach(objects::addProperty);
+        progress.add("objects", objects);
+
+        job.add("progress", progress);
+        return job;
+    }
+}
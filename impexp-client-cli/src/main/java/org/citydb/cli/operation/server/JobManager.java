@@ -0,0 +1,361 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import org.citydb.cli.option.CliOption;
+import org.citydb.config.Config;
+import org.citydb.config.ConfigUtil;
+import org.citydb.config.ProjectConfig;
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.plugin.CliCommand;
+import org.citydb.core.plugin.PluginException;
+import org.citydb.core.plugin.PluginManager;
+import org.citydb.core.plugin.extension.config.ConfigExtension;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.CounterEvent;
+import org.citydb.util.event.global.EventType;
+import org.citydb.util.event.global.GeometryCounterEvent;
+import org.citydb.util.event.global.InterruptEvent;
+import org.citydb.util.event.global.ObjectCounterEvent;
+import org.citydb.util.log.Logger;
+import picocli.CommandLine;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JobManager implements EventHandler {
+    private final Logger log = Logger.getInstance();
+    private final Config config;
+    private final EventDispatcher eventDispatcher;
+    private final Map<String, CommandLine> commands;
+    private final ExecutorService executor;
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+    private final int maxFinishedJobs;
+    private final byte[] projectConfig;
+    private final List<String> processCommand;
+
+    private volatile Job currentJob;
+
+    JobManager(Map<String, CommandLine> commands, List<String> processCommand, int maxConcurrentJobs,
+               int maxQueuedJobs, int maxFinishedJobs) throws JAXBException {
+        if (maxConcurrentJobs > 1 && processCommand == null) {
+            throw new IllegalArgumentException("Concurrent jobs require a command to launch job processes.");
+        }
+
+        this.commands = commands;
+        this.processCommand = maxConcurrentJobs > 1 ? processCommand : null;
+        this.maxFinishedJobs = maxFinishedJobs;
+
+        config = ObjectRegistry.getInstance().getConfig();
+        eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
+
+        // keep a copy of the initial project settings so that every
+        // job starts from the same configuration
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Marshaller marshaller = ConfigUtil.getInstance().getJAXBContext().createMarshaller();
+        marshaller.marshal(config.getProjectConfig(), stream);
+        projectConfig = stream.toByteArray();
+
+        // the configuration, the database connection and the event dispatcher are shared
+        // by all operations of this process. Jobs are therefore either executed one after
+        // the other in this process, or concurrently in separate processes
+        executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueuedJobs));
+
+        eventDispatcher.addEventHandler(EventType.OBJECT_COUNTER, this);
+        eventDispatcher.addEventHandler(EventType.GEOMETRY_COUNTER, this);
+        eventDispatcher.addEventHandler(EventType.COUNTER, this);
+    }
+
+    public Job submit(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Missing required subcommand.");
+        }
+
+        CommandLine command = commands.get(args[0]);
+        if (command == null || command.getCommand() instanceof ServeCommand
+                || !(command.getCommand() instanceof CliCommand)) {
+            throw new IllegalArgumentException("Unsupported command '" + args[0] + "'.");
+        }
+
+        removeFinishedJobs();
+
+        Job job = new Job(jobIds.incrementAndGet(), args);
+        jobs.put(job.getId(), job);
+
+        try {
+            job.setFuture(executor.submit(processCommand == null ?
+                    () -> execute(job, command.getCommand().getClass()) :
+                    () -> executeInProcess(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+
+        log.info("Accepted job " + job.getId() + " ('" + job.getCommandName() + "' command).");
+        return job;
+    }
+
+    public Job getJob(long id) {
+        return jobs.get(id);
+    }
+
+    public Collection<Job> getJobs() {
+        List<Job> jobs = new ArrayList<>(this.jobs.values());
+        jobs.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return jobs;
+    }
+
+    public boolean cancel(long id) {
+        Job job = jobs.get(id);
+        if (job == null || job.isDone()) {
+            return false;
+        }
+
+        if (job.getFuture().cancel(false)) {
+            job.finished(Job.State.CANCELED, null, "Job canceled before execution.");
+        } else if (processCommand != null) {
+            job.requestCancel();
+            Process process = job.getProcess();
+            if (process != null) {
+                process.destroy();
+            }
+        } else if (job == currentJob) {
+            eventDispatcher.triggerEvent(new InterruptEvent("Job " + id + " canceled by user.",
+                    LogLevel.WARN, Event.GLOBAL_CHANNEL, this));
+        }
+
+        return true;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        eventDispatcher.removeEventHandler(this);
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private void execute(Job job, Class<?> commandClass) {
+        if (job.isDone()) {
+            return;
+        }
+
+        currentJob = job;
+        job.started();
+        log.info("Executing job " + job.getId() + " ('" + job.getCommandName() + "' command).");
+
+        try {
+            resetConfig();
+
+            Object command = commandClass.getDeclaredConstructor().newInstance();
+            CommandLine commandLine = new CommandLine(command)
+                    .setCaseInsensitiveEnumValuesAllowed(true)
+                    .setAbbreviatedOptionsAllowed(true);
+
+            List<String> args = job.getArgs();
+            commandLine.parseArgs(args.subList(1, args.size()).toArray(new String[0]));
+            preprocess(commandLine);
+
+            int exitCode = ((CliCommand) command).call();
+            if (exitCode == 0) {
+                job.finished(Job.State.SUCCEEDED, exitCode, null);
+            } else {
+                job.finished(Job.State.FAILED, exitCode, "Command returned with exit code " + exitCode + ".");
+            }
+        } catch (CommandLine.ParameterException e) {
+            job.finished(Job.State.FAILED, 2, e.getMessage());
+        } catch (Throwable e) {
+            log.error("Job " + job.getId() + " failed due to a " + e.getClass().getName() + " exception.", e);
+            job.finished(Job.State.FAILED, 1, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        } finally {
+            currentJob = null;
+
+            try {
+                eventDispatcher.flushEvents();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            log.info("Job " + job.getId() + " finished with state " + job.getState() + ".");
+        }
+    }
+
+    private void executeInProcess(Job job) {
+        if (job.isDone()) {
+            return;
+        }
+
+        job.started();
+        log.info("Executing job " + job.getId() + " ('" + job.getCommandName() + "' command) in a separate process.");
+
+        Process process = null;
+        try {
+            List<String> command = new ArrayList<>(processCommand);
+            command.addAll(job.getArgs());
+
+            // job processes must not wait for interactive input
+            process = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            process.getOutputStream().close();
+            job.setProcess(process);
+
+            if (job.isCancelRequested()) {
+                process.destroy();
+            }
+
+            int exitCode = process.waitFor();
+            if (job.isCancelRequested()) {
+                job.finished(Job.State.CANCELED, exitCode, "Job " + job.getId() + " canceled by user.");
+            } else if (exitCode == 0) {
+                job.finished(Job.State.SUCCEEDED, exitCode, null);
+            } else {
+                job.finished(Job.State.FAILED, exitCode, "Command returned with exit code " + exitCode + ".");
+            }
+        } catch (InterruptedException e) {
+            process.destroy();
+            job.finished(Job.State.CANCELED, null, "Job canceled due to server shutdown.");
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            if (process != null) {
+                process.destroy();
+            }
+
+            log.error("Job " + job.getId() + " failed due to a " + e.getClass().getName() + " exception.", e);
+            job.finished(Job.State.FAILED, 1, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        } finally {
+            log.info("Job " + job.getId() + " finished with state " + job.getState() + ".");
+        }
+    }
+
+    private void resetConfig() throws Exception {
+        try {
+            Object object = ConfigUtil.getInstance().unmarshal(new ByteArrayInputStream(projectConfig));
+            if (!(object instanceof ProjectConfig)) {
+                throw new JAXBException("Failed to parse project settings.");
+            }
+
+            config.setProjectConfig((ProjectConfig) object);
+        } catch (JAXBException | IOException e) {
+            throw new Exception("Failed to restore project settings.", e);
+        }
+
+        PluginManager pluginManager = PluginManager.getInstance();
+        for (ConfigExtension<?> plugin : pluginManager.getExternalPlugins(ConfigExtension.class)) {
+            try {
+                pluginManager.propagatePluginConfig(plugin, config);
+            } catch (PluginException e) {
+                throw new Exception("Failed to load configuration for plugin " + plugin.getClass().getName() + ".", e);
+            }
+        }
+    }
+
+    private void preprocess(CommandLine commandLine) throws Exception {
+        CommandLine.Model.OptionSpec passwordOption = commandLine.getParseResult().matchedOption("-p");
+        if (passwordOption != null && "".equals(passwordOption.getValue())) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Interactive password input is not supported for server jobs");
+        }
+
+        Object command = commandLine.getCommand();
+        for (Field field : command.getClass().getDeclaredFields()) {
+            if (CliOption.class.isAssignableFrom(field.getType())) {
+                field.setAccessible(true);
+                CliOption option = (CliOption) field.get(command);
+                if (option != null) {
+                    option.preprocess(commandLine);
+                }
+            }
+        }
+
+        ((CliCommand) command).preprocess(commandLine);
+    }
+
+    private void removeFinishedJobs() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.isDone()) {
+                finished.add(job);
+            }
+        }
+
+        if (finished.size() > maxFinishedJobs) {
+            finished.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            finished.subList(0, finished.size() - maxFinishedJobs).forEach(job -> jobs.remove(job.getId()));
+        }
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        Job job = currentJob;
+        if (job == null) {
+            return;
+        }
+
+        if (event.getEventType() == EventType.OBJECT_COUNTER) {
+            job.updateObjectCounter(((ObjectCounterEvent) event).getCounter());
+        } else if (event.getEventType() == EventType.GEOMETRY_COUNTER) {
+            ((GeometryCounterEvent) event).getCounter().values().forEach(job::updateGeometryCounter);
+        } else if (event.getEventType() == EventType.COUNTER) {
+            CounterEvent counterEvent = (CounterEvent) event;
+            switch (counterEvent.getType()) {
+                case TOPLEVEL_FEATURE:
+                    job.updateTopLevelFeatureCounter(counterEvent.getCounter());
+                    break;
+                case FILE:
+                    job.setRemainingFiles(counterEvent.getCounter());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
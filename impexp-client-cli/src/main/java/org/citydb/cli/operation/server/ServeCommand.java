@@ -0,0 +1,377 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.citydb.cli.ImpExpCli;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.plugin.CliCommand;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.util.log.Logger;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@CommandLine.Command(
+        name = "serve",
+        description = {"Runs as a long-lived process that accepts import, export and delete jobs over a local HTTP API.",
+                "Jobs are queued and executed one at a time unless --max-concurrent-jobs is set, in which case " +
+                        "every job runs in a separate process."},
+        versionProvider = ImpExpCli.class
+)
+public class ServeCommand extends CliCommand {
+    @CommandLine.Option(names = "--host", paramLabel = "<host>", defaultValue = "127.0.0.1",
+            description = "Address to bind the HTTP server to (default: ${DEFAULT-VALUE}).")
+    private String host;
+
+    @CommandLine.Option(names = "--token", paramLabel = "<token>",
+            description = "Shared secret that clients must send as 'Authorization: Bearer <token>' header. " +
+                    "A random token is generated and printed at startup if omitted.")
+    private String token;
+
+    @CommandLine.Option(names = "--port", paramLabel = "<port>", defaultValue = "8086",
+            description = "Port of the HTTP server (default: ${DEFAULT-VALUE}).")
+    private int port;
+
+    @CommandLine.Option(names = "--max-concurrent-jobs", paramLabel = "<number>", defaultValue = "1",
+            description = "Maximum number of jobs executed at the same time (default: ${DEFAULT-VALUE}). " +
+                    "With more than one job, every job runs in a separate Java process and reports no progress.")
+    private int maxConcurrentJobs;
+
+    @CommandLine.Option(names = "--max-queued-jobs", paramLabel = "<number>", defaultValue = "100",
+            description = "Maximum number of jobs waiting for execution (default: ${DEFAULT-VALUE}).")
+    private int maxQueuedJobs;
+
+    @CommandLine.Option(names = "--max-finished-jobs", paramLabel = "<number>", defaultValue = "1000",
+            description = "Maximum number of finished jobs to keep for status requests (default: ${DEFAULT-VALUE}).")
+    private int maxFinishedJobs;
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    private final Logger log = Logger.getInstance();
+    private final Gson gson = new Gson();
+    private final CountDownLatch shutdown = new CountDownLatch(1);
+
+    private SchemaMapping schemaMapping;
+    private JobManager jobManager;
+
+    @Override
+    public Integer call() throws Exception {
+        schemaMapping = ObjectRegistry.getInstance().getSchemaMapping();
+        jobManager = new JobManager(spec.parent().subcommands(), buildProcessCommand(),
+                maxConcurrentJobs, maxQueuedJobs, maxFinishedJobs);
+
+        if (token == null) {
+            token = generateToken();
+            log.info("Generated access token: " + token);
+        }
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException e) {
+            log.error("Failed to start HTTP server on " + host + ":" + port + ".", e);
+            jobManager.shutdown();
+            return 1;
+        }
+
+        server.createContext("/jobs", this::handleJobs);
+        server.createContext("/shutdown", this::handleShutdown);
+        ExecutorService requestExecutor = Executors.newFixedThreadPool(2);
+        server.setExecutor(requestExecutor);
+
+        Thread shutdownHook = new Thread(shutdown::countDown);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        server.start();
+        log.info("Listening for jobs on http://" + host + ":" + server.getAddress().getPort() + "/jobs.");
+        log.info(maxConcurrentJobs == 1 ?
+                "Jobs are executed one at a time in the order they were submitted." :
+                "Up to " + maxConcurrentJobs + " jobs are executed at the same time in separate processes.");
+
+        try {
+            shutdown.await();
+        } finally {
+            log.info("Shutting down server...");
+            server.stop(1);
+            jobManager.shutdown();
+            if (!jobManager.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("Running jobs did not terminate in time.");
+            }
+
+            requestExecutor.shutdown();
+
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                //
+            }
+        }
+
+        return 0;
+    }
+
+    private void handleJobs(HttpExchange exchange) throws IOException {
+        try {
+            if (!isAuthorized(exchange) || !isAcceptedRequest(exchange)) {
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath().replaceAll("/+$", "");
+            String method = exchange.getRequestMethod();
+
+            if (path.equals("/jobs")) {
+                if ("POST".equals(method)) {
+                    submitJob(exchange);
+                } else if ("GET".equals(method)) {
+                    JsonArray jobs = new JsonArray();
+                    jobManager.getJobs().forEach(job -> jobs.add(job.toJson(schemaMapping)));
+                    send(exchange, 200, jobs);
+                } else {
+                    sendError(exchange, 405, "Unsupported method " + method + ".");
+                }
+            } else {
+                Job job = getJob(path.substring("/jobs/".length()));
+                if (job == null) {
+                    sendError(exchange, 404, "Unknown job " + path.substring("/jobs/".length()) + ".");
+                } else if ("GET".equals(method)) {
+                    send(exchange, 200, job.toJson(schemaMapping));
+                } else if ("DELETE".equals(method)) {
+                    if (jobManager.cancel(job.getId())) {
+                        send(exchange, 202, job.toJson(schemaMapping));
+                    } else {
+                        sendError(exchange, 409, "Job " + job.getId() + " has already finished.");
+                    }
+                } else {
+                    sendError(exchange, 405, "Unsupported method " + method + ".");
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void submitJob(HttpExchange exchange) throws IOException {
+        String[] args;
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonObject request = gson.fromJson(reader, JsonObject.class);
+            JsonElement element = request != null ? request.get("args") : null;
+            if (element == null || !element.isJsonArray()) {
+                sendError(exchange, 400, "The request must provide the command line arguments as 'args' array.");
+                return;
+            }
+
+            JsonArray array = element.getAsJsonArray();
+            args = new String[array.size()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = array.get(i).getAsString();
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            sendError(exchange, 400, "Failed to parse job request: " + e.getMessage());
+            return;
+        }
+
+        try {
+            Job job = jobManager.submit(args);
+            exchange.getResponseHeaders().set("Location", "/jobs/" + job.getId());
+            send(exchange, 202, job.toJson(schemaMapping));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            sendError(exchange, 503, "Too many queued jobs.");
+        }
+    }
+
+    private void handleShutdown(HttpExchange exchange) throws IOException {
+        try {
+            if (isAuthorized(exchange) && isAcceptedRequest(exchange)) {
+                if ("POST".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(202, -1);
+                    shutdown.countDown();
+                } else {
+                    sendError(exchange, 405, "Unsupported method " + exchange.getRequestMethod() + ".");
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !MessageDigest.isEqual(
+                ("Bearer " + token).getBytes(StandardCharsets.UTF_8),
+                authorization.getBytes(StandardCharsets.UTF_8))) {
+            sendError(exchange, 401, "Missing or invalid access token.");
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean isAcceptedRequest(HttpExchange exchange) throws IOException {
+        // browsers add an Origin header to cross-site requests, whereas API clients do not
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            sendError(exchange, 403, "Cross-origin requests are not allowed.");
+            return false;
+        }
+
+        if ("POST".equals(exchange.getRequestMethod()) && exchange.getRequestURI().getPath().startsWith("/jobs")) {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (contentType == null || !contentType.split(";")[0].trim().equalsIgnoreCase("application/json")) {
+                sendError(exchange, 415, "Job requests must be sent as application/json.");
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String generateToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private List<String> buildProcessCommand() {
+        if (maxConcurrentJobs == 1) {
+            return null;
+        }
+
+        // job processes use the same JVM and global options as the server, except for
+        // the files that belong to the server process
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> !argument.startsWith("-agentlib:") && !argument.startsWith("-Xrunjdwp"))
+                .forEach(command::add);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ImpExpCli.class.getName());
+
+        // global options may be given before or after the serve command
+        List<CommandLine.Model.OptionSpec> options = new ArrayList<>(
+                spec.parent().commandLine().getParseResult().matchedOptions());
+        spec.commandLine().getParseResult().matchedOptions().stream()
+                .filter(CommandLine.Model.OptionSpec::inherited)
+                .forEach(options::add);
+
+        for (CommandLine.Model.OptionSpec option : options) {
+            if (option.longestName().equals("--log-file") || option.longestName().equals("--pid-file")) {
+                continue;
+            }
+
+            if (option.originalStringValues().isEmpty()) {
+                command.add(option.longestName());
+            } else {
+                for (String value : option.originalStringValues()) {
+                    command.add(option.longestName());
+                    command.add(value);
+                }
+            }
+        }
+
+        return command;
+    }
+
+    private Job getJob(String id) {
+        try {
+            return jobManager.getJob(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        send(exchange, status, error);
+    }
+
+    private void send(HttpExchange exchange, int status, JsonElement content) throws IOException {
+        byte[] bytes = gson.toJson(content).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (port < 0 || port > 65535) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --port must be between 0 and 65535");
+        }
+
+        if (token != null && token.isEmpty()) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --token must not be empty");
+        }
+
+        if (maxConcurrentJobs < 1) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --max-concurrent-jobs must be a positive number");
+        }
+
+        if (maxQueuedJobs < 1) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --max-queued-jobs must be a positive number");
+        }
+
+        if (maxFinishedJobs < 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --max-finished-jobs must not be negative");
+        }
+    }
+}
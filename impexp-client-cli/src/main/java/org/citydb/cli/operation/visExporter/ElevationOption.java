@@ -31,6 +31,7 @@ package org.citydb.cli.operation.visExporter;
 import org.citydb.config.project.visExporter.AltitudeMode;
 import org.citydb.config.project.visExporter.AltitudeOffsetMode;
 import org.citydb.config.project.visExporter.Elevation;
+import org.citydb.config.project.visExporter.ElevationServiceType;
 import org.citydb.cli.option.CliOption;
 import picocli.CommandLine;
 
@@ -49,6 +50,15 @@ public class ElevationOption implements CliOption {
                     "Requires an API key.")
     private String googleApiKey;
 
+    @CommandLine.Option(names = "--elevation-dem", paramLabel = "<file>",
+            description = "Use a local elevation model in ESRI ASCII grid format with WGS 84 coordinates " +
+                    "when no GE_LoDn_zOffset attribute is available.")
+    private String demFile;
+
+    @CommandLine.Option(names = "--no-elevation-cache", negatable = true, defaultValue = "true",
+            description = "Cache elevation API results on disk for subsequent exports (default: ${DEFAULT-VALUE}).")
+    private boolean useElevationCache = true;
+
     @CommandLine.Option(names = "--transform-height",
             description = "Transform height to WGS84 ellipsoid height.")
     private boolean transformHeight;
@@ -62,7 +72,11 @@ public class ElevationOption implements CliOption {
         elevation.setUseOriginalZCoords(!transformHeight);
         elevation.setAltitudeOffsetMode(offsetMode);
         elevation.setAltitudeOffsetValue(offset);
-        elevation.setCallGElevationService(offsetMode == AltitudeOffsetMode.GENERIC_ATTRIBUTE && googleApiKey != null);
+        elevation.setCallGElevationService(offsetMode == AltitudeOffsetMode.GENERIC_ATTRIBUTE
+                && (googleApiKey != null || demFile != null));
+        elevation.setElevationService(demFile != null ? ElevationServiceType.LOCAL_DEM : ElevationServiceType.GOOGLE);
+        elevation.setDemFile(demFile);
+        elevation.setUseElevationCache(useElevationCache);
 
         return elevation;
     }
@@ -106,5 +120,15 @@ public class ElevationOption implements CliOption {
             throw new CommandLine.ParameterException(commandLine, "Error: --google-elevation-service requires " +
                     "--altitude-offset to be set to 'generic'.");
         }
+
+        if (demFile != null && offsetMode != AltitudeOffsetMode.GENERIC_ATTRIBUTE) {
+            throw new CommandLine.ParameterException(commandLine, "Error: --elevation-dem requires " +
+                    "--altitude-offset to be set to 'generic'.");
+        }
+
+        if (demFile != null && googleApiKey != null) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --google-elevation-api and --elevation-dem are mutually exclusive (specify only one)");
+        }
     }
 }
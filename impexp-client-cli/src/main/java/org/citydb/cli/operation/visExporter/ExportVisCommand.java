@@ -62,9 +62,26 @@ public class ExportVisCommand extends CliCommand {
             description = "Write JSON metadata file.")
     private boolean json;
 
+    @CommandLine.Option(names = "--3d-tiles",
+            description = "Write COLLADA/glTF models as 3D Tiles (b3dm) with a tileset.json file.")
+    private boolean write3DTiles;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
+    @CommandLine.Option(names = "--tiles-in-parallel", paramLabel = "<number>", defaultValue = "1",
+            description = "Number of tiles to export in parallel (default: ${DEFAULT-VALUE}).")
+    private int tilesInParallel;
+
+    @CommandLine.Option(names = "--model-threads", paramLabel = "<number>",
+            description = "Number of threads for creating texture atlases and COLLADA/glTF models " +
+                    "(default: number of processors, 0 = use the database export threads).")
+    private Integer modelThreads;
+
+    @CommandLine.Option(names = "--client-side-footprints",
+            description = "Aggregate footprint and extruded geometries on the client instead of the database.")
+    private boolean aggregateFootprintsOnClient;
+
     @CommandLine.ArgGroup(exclusive = false, heading = "Display options:%n")
     private DisplayOption displayOption;
 
@@ -145,9 +162,23 @@ public class ExportVisCommand extends CliCommand {
             visExportConfig.setWriteJSONFile(json);
         }
 
+        if (write3DTiles) {
+            visExportConfig.setWrite3DTiles(write3DTiles);
+        }
+
         if (threadPoolOption != null) {
             visExportConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
+
+        visExportConfig.getResources().setTilesInParallel(tilesInParallel);
+
+        if (modelThreads != null) {
+            visExportConfig.getResources().setModelThreads(modelThreads);
+        }
+
+        if (aggregateFootprintsOnClient) {
+            visExportConfig.setAggregateFootprintsOnClient(true);
+        }
     }
 
     private void setDisplayOptions(VisExportConfig visExportConfig) {
@@ -176,5 +207,27 @@ public class ExportVisCommand extends CliCommand {
             throw new CommandLine.ParameterException(commandLine,
                     "Error: --gltf requires the data to be exported as COLLADA");
         }
+
+        if (write3DTiles && exportAsKmz) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --3d-tiles and --kmz are mutually exclusive (specify only one)");
+        }
+
+        if (write3DTiles
+                && (displayOption == null
+                || !displayOption.getModes().contains(DisplayOption.Mode.collada))) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --3d-tiles requires the data to be exported as COLLADA");
+        }
+
+        if (tilesInParallel < 1) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --tiles-in-parallel must be a positive number");
+        }
+
+        if (modelThreads != null && modelThreads < 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --model-threads must not be negative");
+        }
     }
 }
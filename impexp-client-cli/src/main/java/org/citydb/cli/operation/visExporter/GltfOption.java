@@ -48,6 +48,10 @@ public class GltfOption implements CliOption {
             description = "Path to the COLLADA2GLTF converter executable.")
     private Path file;
 
+    @CommandLine.Option(names = "--gltf-use-converter",
+            description = "Use the external COLLADA2GLTF converter instead of the built-in glTF writer.")
+    private boolean useConverter;
+
     @CommandLine.Option(names = "--gltf-embed-textures",
             description = "Embed textures in glTF files.")
     private boolean embedTextures;
@@ -57,7 +61,7 @@ public class GltfOption implements CliOption {
     private boolean binaryGltf;
 
     @CommandLine.Option(names = "--gltf-draco-compression",
-            description = "Output meshes using Draco compression (requires glTF version 2.0).")
+            description = "Output meshes using Draco compression (requires glTF version 2.0 and the external converter).")
     private boolean dracoCompression;
 
     @CommandLine.Option(names = {"-m", "--remove-collada"},
@@ -74,6 +78,7 @@ public class GltfOption implements CliOption {
         gltfOptions.setUseBinaryGltf(binaryGltf);
         gltfOptions.setUseDracoCompression(dracoCompression);
         gltfOptions.setRemoveColladaFiles(removeCollada);
+        gltfOptions.setUseExternalConverter(useConverter);
 
         if (file != null) {
             gltfOptions.setPathToConverter(file.toAbsolutePath().toString());
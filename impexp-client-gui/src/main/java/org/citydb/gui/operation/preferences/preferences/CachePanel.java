@@ -47,6 +47,7 @@ public class CachePanel extends DefaultPreferencesComponent {
 	private JRadioButton useLocalCache;
 	private JTextField localCachePath;
 	private JButton browseButton;
+	private JCheckBox useKeyValueStore;
 	
 	public CachePanel(Config config) {
 		super(config);
@@ -60,6 +61,7 @@ public class CachePanel extends DefaultPreferencesComponent {
 		if (useDatabase.isSelected() != cache.isUseDatabase()) return true;
 		if (useLocalCache.isSelected() != cache.isUseLocal()) return true;
 		if (!localCachePath.getText().equals(cache.getLocalCachePath())) return true;
+		if (useKeyValueStore.isSelected() != cache.isUseEmbedded()) return true;
 		return false;
 	}
 
@@ -72,6 +74,7 @@ public class CachePanel extends DefaultPreferencesComponent {
 		
 		localCachePath = new JTextField();
 		browseButton = new JButton();
+		useKeyValueStore = new JCheckBox();
 		
 		PopupMenuDecorator.getInstance().decorate(localCachePath);
 
@@ -84,6 +87,7 @@ public class CachePanel extends DefaultPreferencesComponent {
 				content.add(useLocalCache, GuiUtil.setConstraints(0, 1, 0, 0, GridBagConstraints.BOTH, 0, 0, 0, 5));
 				content.add(localCachePath, GuiUtil.setConstraints(1, 1, 1, 0, GridBagConstraints.BOTH, 0, 5, 0, 5));
 				content.add(browseButton, GuiUtil.setConstraints(2, 1, 0, 0, GridBagConstraints.BOTH, 0, 5, 0, 0));
+				content.add(useKeyValueStore, GuiUtil.setConstraints(0, 2, 3, 1, 1, 0, GridBagConstraints.BOTH, 5, GuiUtil.getTextOffset(useLocalCache), 0, 0));
 			}
 
 			cachePanel = new TitledPanel().build(content);
@@ -105,6 +109,7 @@ public class CachePanel extends DefaultPreferencesComponent {
 	private void setEnabledLocalCachePath() {
 		localCachePath.setEnabled(useLocalCache.isSelected());
 		browseButton.setEnabled(useLocalCache.isSelected());
+		useKeyValueStore.setEnabled(useLocalCache.isSelected());
 	}
 	
 	@Override
@@ -112,7 +117,8 @@ public class CachePanel extends DefaultPreferencesComponent {
 		cachePanel.setTitle(Language.I18N.getString("pref.general.cache.border"));
 		useDatabase.setText(Language.I18N.getString("pref.general.cache.label.useDatabase"));
 		useLocalCache.setText(Language.I18N.getString("pref.general.cache.label.useLocal"));
-		browseButton.setText(Language.I18N.getString("common.button.browse"));		
+		browseButton.setText(Language.I18N.getString("common.button.browse"));
+		useKeyValueStore.setText(Language.I18N.getString("pref.general.cache.label.useKeyValueStore"));		
 	}
 
 	@Override
@@ -123,6 +129,8 @@ public class CachePanel extends DefaultPreferencesComponent {
 		else
 			useLocalCache.setSelected(true);
 
+		useKeyValueStore.setSelected(cache.isUseEmbedded());
+
 		if (cache.isSetLocalCachePath()) {
 			localCachePath.setText(cache.getLocalCachePath());
 		} else {
@@ -137,7 +145,10 @@ public class CachePanel extends DefaultPreferencesComponent {
 	@Override
 	public void setSettings() {		
 		Cache cache = config.getGlobalConfig().getCache();
-		cache.setCacheMode(useDatabase.isSelected() ? CacheMode.DATABASE : CacheMode.LOCAL);
+		if (useDatabase.isSelected())
+			cache.setCacheMode(CacheMode.DATABASE);
+		else
+			cache.setCacheMode(useKeyValueStore.isSelected() ? CacheMode.EMBEDDED : CacheMode.LOCAL);
 
 		if (!localCachePath.getText().isEmpty()) {
 			cache.setLocalCachePath(localCachePath.getText());
@@ -27,10 +27,12 @@
  */
 package org.citydb.config.geometry;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class GeometryObject {
+public class GeometryObject implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     public static GeometryObject createEnvelope(double[] coordinates, int dimension, int srid) {
         GeometryObject geometryObject = new GeometryObject(GeometryType.ENVELOPE, dimension, srid);
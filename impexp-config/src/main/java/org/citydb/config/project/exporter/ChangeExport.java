@@ -0,0 +1,95 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+@XmlType(name = "ChangeExportType", propOrder = {
+        "useChangeExport",
+        "changedSince",
+        "watermarkFile",
+        "watermarkOverlap"
+})
+public class ChangeExport {
+    @XmlElement(required = true, defaultValue = "false")
+    private Boolean useChangeExport = false;
+    @XmlSchemaType(name = "dateTime")
+    private XMLGregorianCalendar changedSince;
+    private String watermarkFile;
+    @XmlElement(defaultValue = "300")
+    private Integer watermarkOverlap = 300;
+
+    public boolean isSetUseChangeExport() {
+        return useChangeExport != null ? useChangeExport : false;
+    }
+
+    public Boolean getUseChangeExport() {
+        return useChangeExport;
+    }
+
+    public void setUseChangeExport(Boolean useChangeExport) {
+        this.useChangeExport = useChangeExport;
+    }
+
+    public boolean isSetChangedSince() {
+        return changedSince != null;
+    }
+
+    public XMLGregorianCalendar getChangedSince() {
+        return changedSince;
+    }
+
+    public void setChangedSince(XMLGregorianCalendar changedSince) {
+        this.changedSince = changedSince;
+    }
+
+    public boolean isSetWatermarkFile() {
+        return watermarkFile != null && !watermarkFile.isEmpty();
+    }
+
+    public String getWatermarkFile() {
+        return watermarkFile;
+    }
+
+    public void setWatermarkFile(String watermarkFile) {
+        if (watermarkFile != null && !watermarkFile.isEmpty())
+            this.watermarkFile = watermarkFile;
+    }
+
+    public int getWatermarkOverlap() {
+        return watermarkOverlap != null && watermarkOverlap >= 0 ? watermarkOverlap : 300;
+    }
+
+    public void setWatermarkOverlap(Integer watermarkOverlap) {
+        this.watermarkOverlap = watermarkOverlap;
+    }
+
+}
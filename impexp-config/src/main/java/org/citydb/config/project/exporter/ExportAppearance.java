@@ -35,7 +35,8 @@ import javax.xml.bind.annotation.XmlType;
         "exportTextureFiles",
         "overwriteTextureFiles",
         "uniqueTextureFileNames",
-        "texturePath"
+        "texturePath",
+        "textureFileExport"
 })
 public class ExportAppearance {
     @XmlElement(name = "export", required = true, defaultValue = "true")
@@ -46,9 +47,11 @@ public class ExportAppearance {
     private Boolean overwriteTextureFiles = true;
     private Boolean uniqueTextureFileNames = true;
     private TexturePath texturePath;
+    private TextureFileExport textureFileExport;
 
     public ExportAppearance() {
         texturePath = new TexturePath();
+        textureFileExport = new TextureFileExport();
     }
 
     public boolean isSetExportAppearance() {
@@ -108,4 +111,13 @@ public class ExportAppearance {
             this.texturePath = texturePath;
     }
 
+    public TextureFileExport getTextureFileExport() {
+        return textureFileExport;
+    }
+
+    public void setTextureFileExport(TextureFileExport textureFileExport) {
+        if (textureFileExport != null)
+            this.textureFileExport = textureFileExport;
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "ExportCacheType", propOrder = {
+        "useCache",
+        "cacheDir",
+        "maxSize"
+})
+public class ExportCache {
+    @XmlElement(required = true, defaultValue = "false")
+    private Boolean useCache = false;
+    private String cacheDir;
+    @XmlElement(defaultValue = "1024")
+    private Long maxSize;
+
+    public boolean isSetUseCache() {
+        return useCache != null ? useCache : false;
+    }
+
+    public Boolean getUseCache() {
+        return useCache;
+    }
+
+    public void setUseCache(Boolean useCache) {
+        this.useCache = useCache;
+    }
+
+    public boolean isSetCacheDir() {
+        return cacheDir != null && !cacheDir.isEmpty();
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        if (cacheDir != null && !cacheDir.isEmpty())
+            this.cacheDir = cacheDir;
+    }
+
+    public long getMaxSize() {
+        return maxSize != null ? maxSize : 1024;
+    }
+
+    public void setMaxSize(Long maxSize) {
+        if (maxSize == null || maxSize > 0)
+            this.maxSize = maxSize;
+    }
+
+}
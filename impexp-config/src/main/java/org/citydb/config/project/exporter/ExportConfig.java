@@ -49,6 +49,8 @@ import javax.xml.bind.annotation.XmlType;
         "affineTransformation",
         "cityGMLOptions",
         "cityJSONOptions",
+        "cache",
+        "changeExport",
         "resources"
 })
 public class ExportConfig {
@@ -65,6 +67,8 @@ public class ExportConfig {
     private AffineTransformation affineTransformation;
     private CityGMLOptions cityGMLOptions;
     private CityJSONOptions cityJSONOptions;
+    private ExportCache cache;
+    private ChangeExport changeExport;
     private Resources resources;
 
     public ExportConfig() {
@@ -78,6 +82,8 @@ public class ExportConfig {
         affineTransformation = new AffineTransformation();
         cityGMLOptions = new CityGMLOptions();
         cityJSONOptions = new CityJSONOptions();
+        cache = new ExportCache();
+        changeExport = new ChangeExport();
         resources = new Resources();
     }
 
@@ -189,6 +195,26 @@ public class ExportConfig {
         }
     }
 
+    public ExportCache getCache() {
+        return cache;
+    }
+
+    public void setCache(ExportCache cache) {
+        if (cache != null) {
+            this.cache = cache;
+        }
+    }
+
+    public ChangeExport getChangeExport() {
+        return changeExport;
+    }
+
+    public void setChangeExport(ChangeExport changeExport) {
+        if (changeExport != null) {
+            this.changeExport = changeExport;
+        }
+    }
+
     public Resources getResources() {
         return resources;
     }
@@ -0,0 +1,78 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "TextureFileExportType", propOrder = {
+        "writerThreads",
+        "maxBufferSizeMB"
+})
+public class TextureFileExport {
+    public static final int DEFAULT_MAX_BUFFER_SIZE_MB = 256;
+
+    @XmlAttribute
+    private boolean useParallelWriters = false;
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer writerThreads;
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer maxBufferSizeMB;
+
+    public boolean isUseParallelWriters() {
+        return useParallelWriters;
+    }
+
+    public void setUseParallelWriters(boolean useParallelWriters) {
+        this.useParallelWriters = useParallelWriters;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads != null ? writerThreads : Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void setWriterThreads(Integer writerThreads) {
+        if (writerThreads != null && writerThreads > 0)
+            this.writerThreads = writerThreads;
+    }
+
+    /**
+     * Maximum size of the texture images held in memory while waiting
+     * to be written, in megabytes.
+     */
+    public int getMaxBufferSizeMB() {
+        return maxBufferSizeMB != null ? maxBufferSizeMB : DEFAULT_MAX_BUFFER_SIZE_MB;
+    }
+
+    public void setMaxBufferSizeMB(Integer maxBufferSizeMB) {
+        if (maxBufferSizeMB != null && maxBufferSizeMB > 0)
+            this.maxBufferSizeMB = maxBufferSizeMB;
+    }
+
+}
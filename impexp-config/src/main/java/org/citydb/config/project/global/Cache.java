@@ -53,7 +53,11 @@ public class Cache {
     }
 
     public boolean isUseLocal() {
-        return mode == CacheMode.LOCAL;
+        return mode == CacheMode.LOCAL || mode == CacheMode.EMBEDDED;
+    }
+
+    public boolean isUseEmbedded() {
+        return mode == CacheMode.EMBEDDED;
     }
 
     public CacheMode getCacheMode() {
@@ -34,6 +34,8 @@ import java.nio.charset.StandardCharsets;
 @XmlType(name="GeneralImportOptionsType", propOrder={})
 public class GeneralOptions {
     private String fileEncoding;
+    private Boolean decompressInBackground;
+    private Boolean parallelChunking;
 
     public boolean isSetFileEncoding() {
         return fileEncoding != null;
@@ -46,4 +48,20 @@ public class GeneralOptions {
     public void setFileEncoding(String fileEncoding) {
         this.fileEncoding = fileEncoding;
     }
+
+    public boolean isDecompressInBackground() {
+        return decompressInBackground != null ? decompressInBackground : false;
+    }
+
+    public void setDecompressInBackground(Boolean decompressInBackground) {
+        this.decompressInBackground = decompressInBackground;
+    }
+
+    public boolean isParallelChunking() {
+        return parallelChunking != null ? parallelChunking : false;
+    }
+
+    public void setParallelChunking(Boolean parallelChunking) {
+        this.parallelChunking = parallelChunking;
+    }
 }
@@ -47,6 +47,7 @@ import javax.xml.bind.annotation.XmlType;
         "cityJSONOptions",
         "indexes",
         "importLog",
+        "checkpoint",
         "resources"
 })
 public class ImportConfig {
@@ -62,6 +63,7 @@ public class ImportConfig {
     private CityJSONOptions cityJSONOptions;
     private Index indexes;
     private ImportLog importLog;
+    private ImportCheckpoint checkpoint;
     private ImportResources resources;
 
     public ImportConfig() {
@@ -76,6 +78,7 @@ public class ImportConfig {
         cityJSONOptions = new CityJSONOptions();
         indexes = new Index();
         importLog = new ImportLog();
+        checkpoint = new ImportCheckpoint();
         resources = new ImportResources();
     }
 
@@ -189,6 +192,16 @@ public class ImportConfig {
         }
     }
 
+    public ImportCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(ImportCheckpoint checkpoint) {
+        if (checkpoint != null) {
+            this.checkpoint = checkpoint;
+        }
+    }
+
     public ImportResources getResources() {
         return resources;
     }
@@ -34,11 +34,13 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "ImportResourcesType", propOrder = {
-        "texImageCache"
+        "texImageCache",
+        "parallelGeometryThreshold"
 })
 public class ImportResources extends Resources {
     @XmlElement(required = true)
     private IdCacheConfig texImageCache;
+    private Integer parallelGeometryThreshold;
 
     public ImportResources() {
         texImageCache = new IdCacheConfig();
@@ -51,4 +53,14 @@ public class ImportResources extends Resources {
     public void setTexImageCache(IdCacheConfig texImageCache) {
         this.texImageCache = texImageCache;
     }
+
+    public int getParallelGeometryThreshold() {
+        return parallelGeometryThreshold != null ? parallelGeometryThreshold : 10000;
+    }
+
+    public void setParallelGeometryThreshold(Integer parallelGeometryThreshold) {
+        if (parallelGeometryThreshold == null || parallelGeometryThreshold >= 0) {
+            this.parallelGeometryThreshold = parallelGeometryThreshold;
+        }
+    }
 }
@@ -31,11 +31,15 @@ import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "IndexType", propOrder = {
         "spatial",
-        "normal"
+        "normal",
+        "rebuildThreads",
+        "maintenanceWorkMem"
 })
 public class Index {
     private IndexMode spatial = IndexMode.UNCHANGED;
     private IndexMode normal = IndexMode.UNCHANGED;
+    private Integer rebuildThreads;
+    private String maintenanceWorkMem;
 
     public Index() {
     }
@@ -79,4 +83,26 @@ public class Index {
     public boolean isNormalIndexModeDeactivateActivate() {
         return normal == IndexMode.DEACTIVATE_ACTIVATE;
     }
+
+    public int getRebuildThreads() {
+        return rebuildThreads != null ? rebuildThreads : 1;
+    }
+
+    public void setRebuildThreads(Integer rebuildThreads) {
+        if (rebuildThreads == null || rebuildThreads > 0) {
+            this.rebuildThreads = rebuildThreads;
+        }
+    }
+
+    public boolean isSetMaintenanceWorkMem() {
+        return maintenanceWorkMem != null && !maintenanceWorkMem.trim().isEmpty();
+    }
+
+    public String getMaintenanceWorkMem() {
+        return maintenanceWorkMem;
+    }
+
+    public void setMaintenanceWorkMem(String maintenanceWorkMem) {
+        this.maintenanceWorkMem = maintenanceWorkMem;
+    }
 }
@@ -34,6 +34,9 @@ import javax.xml.bind.annotation.XmlType;
         "altitudeOffsetMode",
         "altitudeOffsetValue",
         "callGElevationService",
+        "elevationService",
+        "demFile",
+        "useElevationCache",
         "useOriginalZCoords",
 })
 public class Elevation {
@@ -41,11 +44,15 @@ public class Elevation {
     private AltitudeOffsetMode altitudeOffsetMode;
     private Double altitudeOffsetValue;
     private Boolean callGElevationService;
+    private ElevationServiceType elevationService;
+    private String demFile;
+    private Boolean useElevationCache;
     private Boolean useOriginalZCoords;
 
     public Elevation() {
         altitudeMode = AltitudeMode.ABSOLUTE;
         altitudeOffsetMode = AltitudeOffsetMode.NO_OFFSET;
+        elevationService = ElevationServiceType.GOOGLE;
         useOriginalZCoords = true;
     }
 
@@ -85,6 +92,36 @@ public class Elevation {
         this.callGElevationService = callGElevationService;
     }
 
+    public ElevationServiceType getElevationService() {
+        return elevationService != null ? elevationService : ElevationServiceType.GOOGLE;
+    }
+
+    public void setElevationService(ElevationServiceType elevationService) {
+        if (elevationService != null) {
+            this.elevationService = elevationService;
+        }
+    }
+
+    public String getDemFile() {
+        return demFile;
+    }
+
+    public void setDemFile(String demFile) {
+        this.demFile = demFile;
+    }
+
+    public boolean isSetDemFile() {
+        return demFile != null && !demFile.trim().isEmpty();
+    }
+
+    public boolean isUseElevationCache() {
+        return useElevationCache != null ? useElevationCache : true;
+    }
+
+    public void setUseElevationCache(boolean useElevationCache) {
+        this.useElevationCache = useElevationCache;
+    }
+
     public boolean isUseOriginalZCoords() {
         return useOriginalZCoords != null ? useOriginalZCoords : true;
     }
@@ -33,6 +33,7 @@ import java.io.File;
 import java.util.Locale;
 
 @XmlType(name = "GltfOptionsType", propOrder = {
+        "useExternalConverter",
         "pathToConverter",
         "gltfVersion",
         "removeColladaFiles",
@@ -43,6 +44,7 @@ import java.util.Locale;
 public class GltfOptions {
     @XmlAttribute
     private boolean createGltfModel;
+    private Boolean useExternalConverter;
     private String pathToConverter;
     private GltfVersion gltfVersion;
     private Boolean removeColladaFiles;
@@ -53,7 +55,6 @@ public class GltfOptions {
     public GltfOptions() {
         gltfVersion = GltfVersion.v2_0;
         embedTextures = true;
-        useDracoCompression = true;
 
         pathToConverter = "contribs" + File.separator + "collada2gltf";
         String osName = System.getProperty("os.name").toLowerCase(Locale.ENGLISH);
@@ -73,6 +74,22 @@ public class GltfOptions {
         this.createGltfModel = createGltfModel;
     }
 
+    public boolean isUseExternalConverter() {
+        return useExternalConverter != null ? useExternalConverter : false;
+    }
+
+    public void setUseExternalConverter(boolean useExternalConverter) {
+        this.useExternalConverter = useExternalConverter;
+    }
+
+    public boolean isUseBuiltInWriter() {
+        // the built-in writer is the default but neither supports glTF 1.0 nor Draco compression,
+        // so these options switch to the external converter
+        return !isUseExternalConverter()
+                && gltfVersion == GltfVersion.v2_0
+                && !isUseDracoCompression();
+    }
+
     public String getPathToConverter() {
         return pathToConverter;
     }
@@ -118,7 +135,7 @@ public class GltfOptions {
     }
 
     public boolean isUseDracoCompression() {
-        return useDracoCompression != null ? useDracoCompression : true;
+        return useDracoCompression != null ? useDracoCompression : false;
     }
 
     public void setUseDracoCompression(boolean useDracoCompression) {
@@ -28,7 +28,6 @@
 package org.citydb.config.project.visExporter;
 
 import org.citydb.config.project.common.Path;
-import org.citydb.config.project.resources.Resources;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -70,6 +69,7 @@ import java.util.Map;
         "tunnelStyles",
         "tunnelBalloon",
         "lod0FootprintMode",
+        "aggregateFootprintsOnClient",
         "exportAsKmz",
         "showBoundingBox",
         "showTileBorders",
@@ -79,6 +79,7 @@ import java.util.Map;
         "viewRefreshMode",
         "viewRefreshTime",
         "writeJSONFile",
+        "write3DTiles",
         "appearanceTheme",
         "idPrefixes",
         "adePreferences",
@@ -129,6 +130,7 @@ public class VisExportConfig {
     private Styles tunnelStyles;
     private Balloon tunnelBalloon;
     private Lod0FootprintMode lod0FootprintMode;
+    private boolean aggregateFootprintsOnClient;
     private boolean showBoundingBox;
     private boolean showTileBorders;
     private boolean exportEmptyTiles;
@@ -137,12 +139,13 @@ public class VisExportConfig {
     private String viewRefreshMode;
     private double viewRefreshTime;
     private boolean writeJSONFile;
+    private boolean write3DTiles;
     private boolean exportAsKmz;
     private String appearanceTheme;
     private IdPrefixes idPrefixes;
     @XmlJavaTypeAdapter(ADEPreferencesAdapter.class)
     private Map<String, ADEPreferences> adePreferences;
-    private Resources resources;
+    private VisExportResources resources;
 
     public static final String THEME_NONE = "none";
     public static final String THEME_NULL = "<unknown>";
@@ -181,6 +184,7 @@ public class VisExportConfig {
         tunnelBalloon = new Balloon();
 
         lod0FootprintMode = Lod0FootprintMode.FOOTPRINT;
+        aggregateFootprintsOnClient = false;
         exportAsKmz = false;
         showBoundingBox = false;
         showTileBorders = false;
@@ -190,11 +194,12 @@ public class VisExportConfig {
         viewRefreshMode = "onRegion";
         viewRefreshTime = 1;
         writeJSONFile = false;
+        write3DTiles = false;
 
         appearanceTheme = THEME_NONE;
         idPrefixes = new IdPrefixes();
         adePreferences = new HashMap<>();
-        resources = new Resources();
+        resources = new VisExportResources();
     }
 
     public SimpleVisQuery getQuery() {
@@ -321,6 +326,14 @@ public class VisExportConfig {
         this.lod0FootprintMode = lod0FootprintMode;
     }
 
+    public boolean isAggregateFootprintsOnClient() {
+        return aggregateFootprintsOnClient;
+    }
+
+    public void setAggregateFootprintsOnClient(boolean aggregateFootprintsOnClient) {
+        this.aggregateFootprintsOnClient = aggregateFootprintsOnClient;
+    }
+
     public void setExportAsKmz(boolean exportAsKmz) {
         this.exportAsKmz = exportAsKmz;
     }
@@ -369,6 +382,14 @@ public class VisExportConfig {
         return writeJSONFile;
     }
 
+    public void setWrite3DTiles(boolean write3DTiles) {
+        this.write3DTiles = write3DTiles;
+    }
+
+    public boolean isWrite3DTiles() {
+        return write3DTiles;
+    }
+
     public void setOneFilePerObject(boolean oneFilePerObject) {
         this.oneFilePerObject = oneFilePerObject;
     }
@@ -565,11 +586,11 @@ public class VisExportConfig {
         this.adePreferences = adePreferences;
     }
 
-    public Resources getResources() {
+    public VisExportResources getResources() {
         return resources;
     }
 
-    public void setResources(Resources resources) {
+    public void setResources(VisExportResources resources) {
         if (resources != null)
             this.resources = resources;
     }
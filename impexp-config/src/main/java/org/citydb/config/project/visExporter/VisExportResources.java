@@ -0,0 +1,70 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.visExporter;
+
+import org.citydb.config.project.resources.Resources;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "VisExportResourcesType", propOrder = {
+        "tilesInParallel",
+        "modelThreads",
+        "texImageCacheSize"
+})
+public class VisExportResources extends Resources {
+    private Integer tilesInParallel;
+    private Integer modelThreads;
+    private Integer texImageCacheSize;
+
+    public int getTilesInParallel() {
+        return tilesInParallel != null ? tilesInParallel : 1;
+    }
+
+    public void setTilesInParallel(Integer tilesInParallel) {
+        if (tilesInParallel != null && tilesInParallel > 0)
+            this.tilesInParallel = tilesInParallel;
+    }
+
+    public int getModelThreads() {
+        return modelThreads != null ? modelThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setModelThreads(Integer modelThreads) {
+        if (modelThreads != null && modelThreads >= 0)
+            this.modelThreads = modelThreads;
+    }
+
+    public int getTexImageCacheSize() {
+        return texImageCacheSize != null ? texImageCacheSize : 256;
+    }
+
+    public void setTexImageCacheSize(Integer texImageCacheSize) {
+        if (texImageCacheSize != null && texImageCacheSize >= 0)
+            this.texImageCacheSize = texImageCacheSize;
+    }
+}
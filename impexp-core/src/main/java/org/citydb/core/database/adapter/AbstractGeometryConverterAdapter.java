@@ -50,4 +50,8 @@ public abstract class AbstractGeometryConverterAdapter {
 	public abstract Object getDatabaseObject(GeometryObject geomObj, Connection connection) throws SQLException;
 	public abstract int getNullGeometryType();
 	public abstract String getNullGeometryTypeName();
+
+	public boolean requiresConnectionForDatabaseObject() {
+		return true;
+	}
 }
@@ -43,6 +43,7 @@ import org.citydb.core.database.schema.util.SchemaMappingUtil;
 import org.citydb.core.query.Query;
 import org.citydb.core.query.builder.QueryBuildException;
 import org.citydb.core.query.builder.sql.BuildProperties;
+import org.citydb.core.query.builder.sql.LodAvailabilityIndex;
 import org.citydb.core.query.builder.sql.SQLQueryBuilder;
 import org.citydb.sqlbuilder.schema.Table;
 import org.citydb.sqlbuilder.select.Select;
@@ -56,11 +57,18 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractUtilAdapter {
     protected final AbstractDatabaseAdapter databaseAdapter;
@@ -70,6 +78,11 @@ public abstract class AbstractUtilAdapter {
     protected CallableStatement interruptibleCallableStatement;
     protected PreparedStatement interruptiblePreparedStatement;
     protected volatile boolean isInterrupted;
+    private volatile LodAvailabilityIndexState lodAvailabilityIndexState;
+
+    public interface IndexProgressListener {
+        void indexCreated(String indexName, int current, int total, long elapsedTime, SQLException error);
+    }
 
     protected AbstractUtilAdapter(AbstractDatabaseAdapter databaseAdapter) {
         this.databaseAdapter = databaseAdapter;
@@ -240,6 +253,71 @@ public abstract class AbstractUtilAdapter {
         return bbox;
     }
 
+    public String getChangeWatermark() throws SQLException {
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+        try (Connection conn = databaseAdapter.connectionPool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("select count(*), max(id), max(last_modification_date) " +
+                     "from " + schema + ".cityobject")) {
+            // the number of rows and the highest id also reveal deleted and newly inserted objects
+            return rs.next() ?
+                    rs.getLong(1) + ":" + rs.getLong(2) + ":" + rs.getTimestamp(3) :
+                    "";
+        }
+    }
+
+    public boolean containsLodAvailabilityIndex() throws SQLException {
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            return new LodAvailabilityIndex(databaseAdapter).exists(conn);
+        }
+    }
+
+    public boolean isLodAvailabilityIndexUsable(SchemaMapping schemaMapping) throws SQLException {
+        // the result is checked whenever a query with a LoD filter is built, so it is cached
+        // for a short time. It expires so that an index created, dropped or outdated by
+        // another process is noticed by long-running processes.
+        LodAvailabilityIndexState state = lodAvailabilityIndexState;
+        if (state == null || state.isExpired()) {
+            try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+                LodAvailabilityIndex index = new LodAvailabilityIndex(databaseAdapter);
+                state = new LodAvailabilityIndexState(index.exists(conn) && index.isUpToDate(schemaMapping, conn));
+                lodAvailabilityIndexState = state;
+            }
+        }
+
+        return state.usable;
+    }
+
+    public int updateLodAvailabilityIndex(SchemaMapping schemaMapping, boolean recomputeAll) throws SQLException {
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            LodAvailabilityIndex index = new LodAvailabilityIndex(databaseAdapter);
+            if (!index.exists(conn)) {
+                index.create(conn);
+                recomputeAll = true;
+            }
+
+            int updated = index.update(schemaMapping, recomputeAll, conn);
+            if (!conn.getAutoCommit())
+                conn.commit();
+
+            lodAvailabilityIndexState = new LodAvailabilityIndexState(true);
+            return updated;
+        }
+    }
+
+    public void dropLodAvailabilityIndex() throws SQLException {
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            LodAvailabilityIndex index = new LodAvailabilityIndex(databaseAdapter);
+            if (index.exists(conn)) {
+                index.drop(conn);
+                if (!conn.getAutoCommit())
+                    conn.commit();
+            }
+
+            lodAvailabilityIndexState = new LodAvailabilityIndexState(false);
+        }
+    }
+
     public BoundingBox createBoundingBox(String schema, long objectId, boolean onlyIfNull) throws SQLException {
         try (Connection connection = databaseAdapter.connectionPool.getConnection()) {
             return createBoundingBox(schema, objectId, onlyIfNull, connection);
@@ -280,6 +358,70 @@ public abstract class AbstractUtilAdapter {
         return manageIndexes(operation, type);
     }
 
+    public boolean supportsParallelIndexCreation() {
+        return false;
+    }
+
+    protected List<String> getIndexNames(IndexType type, String schema, Connection connection) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Creating single indexes is not supported.");
+    }
+
+    protected void createIndex(String indexName, String schema, String maintenanceWorkMem, Connection connection) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Creating single indexes is not supported.");
+    }
+
+    public IndexStatusInfo createIndexesInParallel(IndexType type, int threads, String maintenanceWorkMem, IndexProgressListener listener) throws SQLException {
+        if (!supportsParallelIndexCreation()) {
+            return createIndexes(type);
+        }
+
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+        List<String> indexNames;
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            indexNames = getIndexNames(type, schema, conn);
+        }
+
+        if (!indexNames.isEmpty()) {
+            // each index is created on its own pool connection
+            ExecutorService service = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, indexNames.size())));
+            AtomicInteger counter = new AtomicInteger();
+
+            try {
+                List<Future<?>> futures = new ArrayList<>(indexNames.size());
+                for (String indexName : indexNames) {
+                    futures.add(service.submit(() -> {
+                        long start = System.currentTimeMillis();
+                        SQLException error = null;
+
+                        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+                            createIndex(indexName, schema, maintenanceWorkMem, conn);
+                        } catch (SQLException e) {
+                            error = e;
+                        }
+
+                        if (listener != null) {
+                            listener.indexCreated(indexName, counter.incrementAndGet(), indexNames.size(),
+                                    System.currentTimeMillis() - start, error);
+                        }
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while creating indexes.", e);
+            } catch (ExecutionException e) {
+                throw new SQLException("Failed to create indexes.", e.getCause());
+            } finally {
+                service.shutdownNow();
+            }
+        }
+
+        return getIndexStatus(type);
+    }
+
     private IndexStatusInfo dropIndexes(IndexType type) throws SQLException {
         String operation = type == IndexType.SPATIAL ? "citydb_idx.drop_spatial_indexes" : "citydb_idx.drop_normal_indexes";
         return manageIndexes(operation, type);
@@ -469,4 +611,19 @@ public abstract class AbstractUtilAdapter {
         srsDefMap.putIfAbsent(srs.getSrid(), tmp);
         return tmp;
     }
+
+    private static class LodAvailabilityIndexState {
+        private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(1);
+
+        private final boolean usable;
+        private final long checked = System.currentTimeMillis();
+
+        LodAvailabilityIndexState(boolean usable) {
+            this.usable = usable;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - checked > EXPIRATION;
+        }
+    }
 }
@@ -91,9 +91,7 @@ public class BlobExportAdapter {
 			try (ResultSet rs = psBulk.executeQuery()) {
 				while (rs.next()) {
 					BatchEntry entry = batches.get(rs.getLong(1));
-					if (entry != null
-							&& entry.canWrite.get()
-							&& writeToStream(rs.getBytes(2), entry.streamSupplier.get()))
+					if (entry != null && entry.write(rs.getBytes(2)))
 						exported++;
 				}
 			}
@@ -126,7 +124,7 @@ public class BlobExportAdapter {
 	    return writeToStream(getInByteArray(id), stream);
 	}
 
-	private boolean writeToStream(byte[] buffer, OutputStream stream) throws IOException {
+	private static boolean writeToStream(byte[] buffer, OutputStream stream) throws IOException {
 	    if (buffer != null && buffer.length != 0) {
 	        try (OutputStream out = stream) {
                 out.write(buffer);
@@ -149,13 +147,33 @@ public class BlobExportAdapter {
 		OutputStream get() throws IOException;
 	}
 
+	@FunctionalInterface
+	public interface BlobConsumer {
+		boolean accept(byte[] buffer) throws IOException;
+	}
+
 	public static class BatchEntry {
 		private final OutputStreamSupplier streamSupplier;
 		private final Supplier<Boolean> canWrite;
+		private final BlobConsumer consumer;
 
 		public BatchEntry(OutputStreamSupplier streamSupplier, Supplier<Boolean> canWrite) {
 			this.streamSupplier = streamSupplier;
 			this.canWrite = canWrite;
+			consumer = null;
+		}
+
+		public BatchEntry(BlobConsumer consumer) {
+			this.consumer = consumer;
+			streamSupplier = null;
+			canWrite = null;
+		}
+
+		private boolean write(byte[] buffer) throws IOException {
+			if (consumer != null)
+				return buffer != null && buffer.length != 0 && consumer.accept(buffer);
+			else
+				return canWrite.get() && writeToStream(buffer, streamSupplier.get());
 		}
 	}
 }
@@ -402,6 +402,11 @@ public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
 		return null;
 	}
 
+	@Override
+	public boolean requiresConnectionForDatabaseObject() {
+		return false;
+	}
+
 	@Override
 	public Object getDatabaseObject(GeometryObject geomObj, Connection connection) throws SQLException {
 		Object geometry = null;
@@ -50,6 +50,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 
 public class UtilAdapter extends AbstractUtilAdapter {
     private final DatabaseSrs WGS843D_SRS = new DatabaseSrs(4326, "", "", "", DatabaseSrsType.GEOGRAPHIC2D, true);
@@ -273,6 +275,67 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return false;
     }
 
+    @Override
+    public boolean supportsParallelIndexCreation() {
+        return true;
+    }
+
+    @Override
+    protected List<String> getIndexNames(IndexType type, String schema, Connection connection) throws SQLException {
+        List<String> indexNames = new ArrayList<>();
+        try (PreparedStatement pStmt = connection.prepareStatement("SELECT (obj).index_name " +
+                "FROM " + schema + ".index_table WHERE (obj).type = ?")) {
+            pStmt.setInt(1, type == IndexType.SPATIAL ? 1 : 0);
+
+            try (ResultSet rs = pStmt.executeQuery()) {
+                while (rs.next()) {
+                    indexNames.add(rs.getString(1));
+                }
+            }
+        }
+
+        return indexNames;
+    }
+
+    @Override
+    protected void createIndex(String indexName, String schema, String maintenanceWorkMem, Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+
+        try {
+            if (maintenanceWorkMem != null) {
+                try (PreparedStatement pStmt = connection.prepareStatement("SELECT set_config('maintenance_work_mem', ?, false)")) {
+                    pStmt.setString(1, maintenanceWorkMem);
+                    pStmt.executeQuery().close();
+                }
+            }
+
+            try (PreparedStatement pStmt = connection.prepareStatement("SELECT " +
+                    databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_idx.create_index") +
+                    "(obj, ?) FROM " + schema + ".index_table WHERE (obj).index_name = ?")) {
+                pStmt.setString(1, schema);
+                pStmt.setString(2, indexName);
+
+                try (ResultSet rs = pStmt.executeQuery()) {
+                    if (rs.next()) {
+                        String result = rs.getString(1);
+                        if (!"0".equals(result)) {
+                            throw new SQLException("Failed to create index " + indexName + ": " + result);
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (maintenanceWorkMem != null) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("RESET maintenance_work_mem");
+                }
+            }
+
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
     @Override
     protected GeometryObject transform(GeometryObject geometry, DatabaseSrs targetSrs, Connection connection) throws SQLException {
         Object unconverted = databaseAdapter.getGeometryConverter().getDatabaseObject(geometry, connection);
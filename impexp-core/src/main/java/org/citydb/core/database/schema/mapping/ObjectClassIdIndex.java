@@ -0,0 +1,97 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.schema.mapping;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ObjectClassIdIndex {
+	private static final int MAX_ARRAY_SIZE = 1 << 16;
+
+	private final AbstractObjectType<?>[] types;
+	private final Map<Integer, AbstractObjectType<?>> sparseTypes;
+	private final Map<AbstractObjectType<?>, Integer> positions;
+	private final BitSet[] superTypes;
+
+	ObjectClassIdIndex(List<AbstractObjectType<?>> candidates) {
+		int maxObjectClassId = 0;
+		for (AbstractObjectType<?> type : candidates) {
+			if (type.isSetObjectClass() && type.getObjectClassId() < MAX_ARRAY_SIZE)
+				maxObjectClassId = Math.max(maxObjectClassId, type.getObjectClassId());
+		}
+
+		types = new AbstractObjectType<?>[maxObjectClassId + 1];
+		sparseTypes = new HashMap<>();
+		positions = new IdentityHashMap<>(candidates.size());
+
+		for (AbstractObjectType<?> type : candidates) {
+			positions.putIfAbsent(type, positions.size());
+			if (type.isSetObjectClass()) {
+				int objectClassId = type.getObjectClassId();
+				if (objectClassId < types.length) {
+					if (types[objectClassId] == null)
+						types[objectClassId] = type;
+				} else
+					sparseTypes.putIfAbsent(objectClassId, type);
+			}
+		}
+
+		// precompute the transitive super types of each type
+		superTypes = new BitSet[positions.size()];
+		for (Map.Entry<AbstractObjectType<?>, Integer> entry : positions.entrySet()) {
+			BitSet bitSet = new BitSet(positions.size());
+			AbstractType<?> type = entry.getKey();
+			while (type.isSetExtension()) {
+				type = type.getExtension().getBase();
+				Integer position = positions.get(type);
+				if (position != null)
+					bitSet.set(position);
+			}
+
+			superTypes[entry.getValue()] = bitSet;
+		}
+	}
+
+	AbstractObjectType<?> getType(int objectClassId) {
+		if (objectClassId >= 0 && objectClassId < types.length)
+			return types[objectClassId];
+		else
+			return sparseTypes.get(objectClassId);
+	}
+
+	Boolean isSubTypeOf(AbstractObjectType<?> type, AbstractObjectType<?> superType) {
+		Integer position = positions.get(type);
+		Integer superPosition = positions.get(superType);
+		return position != null && superPosition != null ?
+				superTypes[position].get(superPosition) :
+				null;
+	}
+}
@@ -79,6 +79,8 @@ public class SchemaMapping {
 	protected HashMap<String, AppSchema> uriToSchemaMap;
 	@XmlTransient
 	protected boolean isMerged;
+	@XmlTransient
+	private volatile ObjectClassIdIndex objectClassIdIndex;
 
 	public SchemaMapping() {
 		uriToSchemaMap = new HashMap<>();
@@ -238,12 +240,8 @@ public class SchemaMapping {
 	}
 	
 	public ObjectType getObjectType(int objectClassId) {
-		for (ObjectType objectType : objectTypes) {
-			if (objectType.getObjectClassId() == objectClassId)
-				return objectType;
-		}
-		
-		return null;
+		AbstractObjectType<?> type = getObjectClassIdIndex().getType(objectClassId);
+		return type instanceof ObjectType ? (ObjectType) type : null;
 	}
 
 	protected ObjectType getObjectTypeById(String id) {
@@ -268,6 +266,7 @@ public class SchemaMapping {
 				throw new SchemaMappingException("The value " + objectType.objectClassId + " of the attribute 'objectClassId' is assigned to both '" + objectType.id + "' and '" + other.id + "'.");
 
 			objectTypes.add(objectType);
+			objectClassIdIndex = null;
 			registerType(objectType);
 		}
 	}	
@@ -337,12 +336,8 @@ public class SchemaMapping {
 	}
 	
 	public FeatureType getFeatureType(int objectClassId) {
-		for (FeatureType featureType : featureTypes) {
-			if (featureType.getObjectClassId() == objectClassId)
-				return featureType;
-		}
-		
-		return null;
+		AbstractObjectType<?> type = getObjectClassIdIndex().getType(objectClassId);
+		return type instanceof FeatureType ? (FeatureType) type : null;
 	}
 
 	protected FeatureType getFeatureTypeById(String id) {
@@ -383,6 +378,7 @@ public class SchemaMapping {
 				throw new SchemaMappingException("The value " + featureType.objectClassId + " of the attribute 'objectClassId' is assigned to both '" + featureType.id + "' and '" + other.id + "'.");
 
 			featureTypes.add(featureType);
+			objectClassIdIndex = null;
 			registerType(featureType);
 		}
 	}	
@@ -400,11 +396,16 @@ public class SchemaMapping {
 	}
 	
 	public AbstractObjectType<?> getAbstractObjectType(int objectClassId) {
-		AbstractObjectType<?> type = getFeatureType(objectClassId);
-		if (type == null)
-			type = getObjectType(objectClassId);
+		return getObjectClassIdIndex().getType(objectClassId);
+	}
 
-		return type;
+	public boolean isSubTypeOf(AbstractObjectType<?> type, AbstractObjectType<?> superType) {
+		Boolean isSubType = getObjectClassIdIndex().isSubTypeOf(type, superType);
+		return isSubType != null ? isSubType : type.isSubTypeOf(superType);
+	}
+
+	public boolean isEqualToOrSubTypeOf(AbstractObjectType<?> type, AbstractObjectType<?> superType) {
+		return type == superType || isSubTypeOf(type, superType);
 	}
 
 	public List<AbstractObjectType<?>> getAbstractObjectTypes() {
@@ -464,6 +465,17 @@ public class SchemaMapping {
 		return getNamespaceContext(CityGMLVersion.v2_0_0);
 	}
 	
+	private ObjectClassIdIndex getObjectClassIdIndex() {
+		ObjectClassIdIndex index = objectClassIdIndex;
+		if (index == null) {
+			// lookup tables are immutable and rebuilt whenever types are added or merged
+			index = new ObjectClassIdIndex(getAbstractObjectTypes());
+			objectClassIdIndex = index;
+		}
+
+		return index;
+	}
+
 	private AbstractObjectType<?> checkUniqueObjectClassId(AbstractObjectType<?> type) {
 		if (type.objectClassId == null)
 			return null;
@@ -583,6 +595,8 @@ public class SchemaMapping {
 		
 		for (PropertyInjection propertyInjection : other.propertyInjections)
 			addPropertyInjection(propertyInjection);
+
+		objectClassIdIndex = null;
 	}
 
 	public void validate() throws SchemaMappingException {
@@ -611,6 +625,8 @@ public class SchemaMapping {
 
 		for (PropertyInjection propertyInjection : propertyInjections)
 			propertyInjection.validate(this, this);
+
+		objectClassIdIndex = null;
 	}
 
 }
@@ -45,6 +45,7 @@ public abstract class InputFile implements AutoCloseable {
     protected final Path file;
     protected final FileType type;
     protected final MediaType mediaType;
+    protected boolean readAhead;
 
     protected InputFile(Path file, FileType type, MediaType mediaType) {
         Objects.requireNonNull(file, "file must not be null.");
@@ -71,4 +72,12 @@ public abstract class InputFile implements AutoCloseable {
     public MediaType getMediaType() {
         return mediaType;
     }
+
+    public boolean isReadAhead() {
+        return readAhead;
+    }
+
+    public void setReadAhead(boolean readAhead) {
+        this.readAhead = readAhead;
+    }
 }
@@ -45,6 +45,9 @@ public class GZipInputFile extends AbstractRegularInputFile {
 
     @Override
     public InputStream openStream() throws IOException {
-        return new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        InputStream stream = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        return readAhead ?
+                new ReadAheadInputStream(stream, "gzip_read_ahead") :
+                stream;
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.file.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class ReadAheadInputStream extends InputStream {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    public static final int DEFAULT_NUMBER_OF_BUFFERS = 8;
+
+    private static final Chunk END = new Chunk(new byte[0], -1);
+
+    private final InputStream source;
+    private final BlockingQueue<Chunk> chunks;
+    private final BlockingQueue<byte[]> buffers;
+    private final Thread thread;
+
+    private volatile IOException exception;
+    private volatile boolean closed;
+    private Chunk current;
+    private int position;
+
+    public ReadAheadInputStream(InputStream source, int bufferSize, int numberOfBuffers, String name) {
+        if (bufferSize <= 0 || numberOfBuffers <= 0)
+            throw new IllegalArgumentException("Buffer size and number of buffers must be greater than zero.");
+
+        this.source = source;
+        chunks = new ArrayBlockingQueue<>(numberOfBuffers + 1);
+        buffers = new ArrayBlockingQueue<>(numberOfBuffers);
+        for (int i = 0; i < numberOfBuffers; i++)
+            buffers.add(new byte[bufferSize]);
+
+        thread = new Thread(this::fill, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public ReadAheadInputStream(InputStream source, String name) {
+        this(source, DEFAULT_BUFFER_SIZE, DEFAULT_NUMBER_OF_BUFFERS, name);
+    }
+
+    private void fill() {
+        try (InputStream stream = source) {
+            while (!closed) {
+                byte[] buffer = buffers.take();
+                int length = 0, read;
+                while (length < buffer.length && (read = stream.read(buffer, length, buffer.length - length)) != -1)
+                    length += read;
+
+                if (length > 0)
+                    chunks.put(new Chunk(buffer, length));
+
+                if (length < buffer.length)
+                    break;
+            }
+        } catch (IOException e) {
+            exception = e;
+        } catch (InterruptedException e) {
+            exception = new InterruptedIOException("Interrupted while reading ahead.");
+        } finally {
+            chunks.offer(END);
+        }
+    }
+
+    private boolean nextChunk() throws IOException {
+        if (closed)
+            throw new IOException("The input stream has been closed.");
+
+        if (current != null && position < current.length)
+            return true;
+
+        if (current == END)
+            return false;
+
+        if (current != null)
+            buffers.offer(current.buffer);
+
+        try {
+            current = chunks.take();
+            position = 0;
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+        }
+
+        if (current == END) {
+            if (exception != null)
+                throw new IOException("Failed to read ahead from input stream.", exception);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextChunk() ? current.buffer[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        else if (len == 0)
+            return 0;
+        else if (!nextChunk())
+            return -1;
+
+        int num = Math.min(len, current.length - position);
+        System.arraycopy(current.buffer, position, b, off, num);
+        position += num;
+        return num;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (closed)
+            throw new IOException("The input stream has been closed.");
+
+        return current != null && current != END ? current.length - position : 0;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            thread.interrupt();
+            chunks.clear();
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] buffer;
+        private final int length;
+
+        private Chunk(byte[] buffer, int length) {
+            this.buffer = buffer;
+            this.length = length;
+        }
+    }
+}
@@ -53,7 +53,10 @@ public class ZipInputFile extends AbstractArchiveInputFile {
 
     @Override
     public InputStream openStream() throws IOException {
-        return new BufferedInputStream(Files.newInputStream(getFileSystem().getPath(contentFile)));
+        InputStream stream = Files.newInputStream(getFileSystem().getPath(contentFile));
+        return readAhead ?
+                new ReadAheadInputStream(stream, "zip_read_ahead") :
+                new BufferedInputStream(stream);
     }
 
     @Override
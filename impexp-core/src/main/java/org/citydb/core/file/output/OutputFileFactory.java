@@ -81,6 +81,12 @@ public class OutputFileFactory {
         }
     }
 
+    public OutputFile createZipOutputFile(Path file, String contentFile, int threads) throws IOException {
+        file = file.toAbsolutePath().normalize();
+        Files.createDirectories(file.getParent());
+        return new ZipOutputFile(contentFile, file, file.getParent(), threads, eventDispatcher, eventChannel);
+    }
+
     public static FileType getFileType(Path file) {
         switch (Util.getFileExtension(file)) {
             case "zip":
@@ -57,6 +57,7 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
     private final WorkerPool<ScatterZipWork> scatterZipPool;
     private final Set<ScatterZipOutputStream> scatterStreams;
 
+    private volatile ScatterZipOutputStream contentStream;
     private volatile boolean shouldRun = true;
 
     ZipOutputFile(String contentFile, Path zipFile, Path tempDir, int threads, EventDispatcher eventDispatcher, Object eventChannel) throws IOException {
@@ -129,10 +130,18 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
             scatterZipPool.shutdownAndWait();
 
             // merge scatter screams into final zip
+            // the content file is merged first so that it is the first entry of the archive
             log.info("Merging temporary files to target ZIP file...");
+            if (contentStream != null) {
+                contentStream.writeTo(out);
+                contentStream.close();
+            }
+
             for (ScatterZipOutputStream scatterStream : scatterStreams) {
-                scatterStream.writeTo(out);
-                scatterStream.close();
+                if (scatterStream != contentStream) {
+                    scatterStream.writeTo(out);
+                    scatterStream.close();
+                }
             }
         } catch (InterruptedException e) {
             scatterZipPool.shutdownNow();
@@ -144,6 +153,7 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
     private final class ScatterZipWorker extends DefaultWorker<ScatterZipWork> {
         private final ScatterZipOutputStream scatterStream;
         private final EventDispatcher eventDispatcher;
+        private boolean hasEntries;
 
         private ScatterZipWorker(ScatterGatherBackingStoreSupplier supplier, EventDispatcher eventDispatcher) throws IOException {
             this.eventDispatcher = eventDispatcher;
@@ -153,6 +163,10 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
 
         @Override
         public void doWork(ScatterZipWork work) {
+            if (!hasEntries && contentStream == null && contentFile.equals(work.zipArchiveEntry.getName()))
+                contentStream = scatterStream;
+
+            hasEntries = true;
             try {
                 scatterStream.addArchiveEntry(work.zipArchiveEntry, work.source);
             } catch (IOException e) {
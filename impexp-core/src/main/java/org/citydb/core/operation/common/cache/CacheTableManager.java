@@ -34,6 +34,7 @@ import org.citydb.core.database.adapter.h2.H2Adapter;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.util.log.Logger;
+import org.h2.mvstore.MVStore;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -67,6 +68,14 @@ public class CacheTableManager {
 		return primaryCache.adapter;
 	}
 
+	public boolean hasKeyValueStore() {
+		return primaryCache.store != null;
+	}
+
+	public MVStore getKeyValueStore() {
+		return primaryCache.store;
+	}
+
 	public CacheTable createCacheTable(CacheTableModel model) throws SQLException {
 		return getOrCreateCacheTable(primaryCache, model, false, CacheTable.class);
 	}
@@ -160,6 +169,10 @@ public class CacheTableManager {
 		dropAll();
 
 		for (Cache cache : caches.values()) {
+			if (cache.store != null) {
+				cache.store.closeImmediately();
+			}
+
 			cache.connection.close();
 
 			try {
@@ -202,18 +215,29 @@ public class CacheTableManager {
 			AbstractDatabaseAdapter adapter;
 			Connection connection;
 			Path cacheDir = null;
+			MVStore store = null;
 
-			if (mode == CacheMode.LOCAL) {
+			if (mode == CacheMode.LOCAL || mode == CacheMode.EMBEDDED) {
 				try {
 					adapter = new H2Adapter();
 					Class.forName(adapter.getConnectionFactoryClassName());
 					cacheDir = checkAndGetCacheDir().resolve(UUID.randomUUID().toString());
 					connection = DriverManager.getConnection(adapter.getJDBCUrl(cacheDir.resolve("tmp").toString(), -1, null), "sa", "");
+
+					// id caches are kept in typed maps of a key-value store instead of SQL tables
+					if (mode == CacheMode.EMBEDDED) {
+						store = new MVStore.Builder()
+								.fileName(cacheDir.resolve("kv.mv").toString())
+								.open();
+					}
+
 					Logger.getInstance().debug("Created local cache at directory '" + cacheDir + "'.");
 				} catch (IOException e) {
 					throw new SQLException("Failed to create local cache directory.", e);
 				} catch (ClassNotFoundException e) {
 					throw new SQLException("Failed to load local cache driver.", e);
+				} catch (IllegalStateException e) {
+					throw new SQLException("Failed to open local key-value store.", e);
 				}
 			} else {
 				adapter = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter();
@@ -221,7 +245,7 @@ public class CacheTableManager {
 			}
 
 			connection.setAutoCommit(false);
-			cache = new Cache(connection, adapter, mode, cacheDir);
+			cache = new Cache(connection, adapter, mode, cacheDir, store);
 			caches.put(mode, cache);
 		}
 
@@ -262,12 +286,14 @@ public class CacheTableManager {
 		private final AbstractDatabaseAdapter adapter;
 		private final CacheMode mode;
 		private final Path cacheDir;
+		private final MVStore store;
 
-		Cache(Connection connection, AbstractDatabaseAdapter adapter, CacheMode mode, Path cacheDir) {
+		Cache(Connection connection, AbstractDatabaseAdapter adapter, CacheMode mode, Path cacheDir, MVStore store) {
 			this.connection = connection;
 			this.adapter = adapter;
 			this.mode = mode;
 			this.cacheDir = cacheDir;
+			this.store = store;
 		}
 
 		void deleteCacheDir() throws IOException {
@@ -0,0 +1,196 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.cache;
+
+import org.citydb.core.operation.common.cache.model.CacheTableModel;
+import org.h2.mvstore.DataUtils;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.WriteBuffer;
+import org.h2.mvstore.type.DataType;
+import org.h2.mvstore.type.StringDataType;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class KeyValueIdCache implements IdCachingModel {
+	private final CacheTableManager cacheTableManager;
+	private final CacheTableModel cacheTableModel;
+	private final String type;
+	private final boolean drainRequestedFirst;
+
+	private volatile MVMap<String, IdCacheEntry> backUpMap;
+
+	public KeyValueIdCache(CacheTableManager cacheTableManager, CacheTableModel cacheTableModel, String type, boolean drainRequestedFirst) throws SQLException {
+		if (!cacheTableManager.hasKeyValueStore()) {
+			throw new SQLException("The cache manager does not provide a key-value store.");
+		}
+
+		this.cacheTableManager = cacheTableManager;
+		this.cacheTableModel = cacheTableModel;
+		this.type = type;
+		this.drainRequestedFirst = drainRequestedFirst;
+	}
+
+	@Override
+	public void drainToDB(ConcurrentHashMap<String, IdCacheEntry> map, int drain) throws SQLException {
+		MVMap<String, IdCacheEntry> backUpMap = getBackUpMap();
+		int drainCounter = 0;
+
+		// firstly, try and write those entries with the preferred request state
+		Iterator<Map.Entry<String, IdCacheEntry>> iter = map.entrySet().iterator();
+		while (drainCounter <= drain && iter.hasNext()) {
+			Map.Entry<String, IdCacheEntry> entry = iter.next();
+			if (entry.getValue().isRequested() == drainRequestedFirst) {
+				backUpMap.put(entry.getKey(), entry.getValue());
+				iter.remove();
+				++drainCounter;
+			}
+		}
+
+		// secondly, drain remaining entries until drain limit
+		iter = map.entrySet().iterator();
+		while (drainCounter <= drain && iter.hasNext()) {
+			Map.Entry<String, IdCacheEntry> entry = iter.next();
+			backUpMap.put(entry.getKey(), entry.getValue());
+			iter.remove();
+			++drainCounter;
+		}
+	}
+
+	@Override
+	public IdCacheEntry lookupDB(String key) throws SQLException {
+		return getBackUpMap().get(key);
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (backUpMap != null) {
+			try {
+				cacheTableManager.getKeyValueStore().removeMap(backUpMap);
+			} catch (IllegalStateException e) {
+				throw new SQLException("Failed to remove the " + type + " cache map.", e);
+			}
+		}
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	private MVMap<String, IdCacheEntry> getBackUpMap() throws SQLException {
+		if (backUpMap == null) {
+			synchronized (this) {
+				if (backUpMap == null) {
+					try {
+						// MVMap supports concurrent readers and writers, so there is no need to partition the map
+						backUpMap = cacheTableManager.getKeyValueStore().openMap(cacheTableModel.value(),
+								new MVMap.Builder<String, IdCacheEntry>()
+										.keyType(StringDataType.INSTANCE)
+										.valueType(new IdCacheEntryType()));
+					} catch (IllegalStateException e) {
+						throw new SQLException("Failed to open the " + type + " cache map.", e);
+					}
+				}
+			}
+		}
+
+		return backUpMap;
+	}
+
+	static class IdCacheEntryType implements DataType {
+
+		@Override
+		public int compare(Object a, Object b) {
+			IdCacheEntry first = (IdCacheEntry) a;
+			IdCacheEntry second = (IdCacheEntry) b;
+
+			int result = Long.compare(first.getId(), second.getId());
+			if (result == 0) {
+				result = Long.compare(first.getRootId(), second.getRootId());
+				if (result == 0) {
+					result = Integer.compare(first.getObjectClassId(), second.getObjectClassId());
+				}
+			}
+
+			return result;
+		}
+
+		@Override
+		public int getMemory(Object obj) {
+			String mapping = ((IdCacheEntry) obj).getMapping();
+			return 48 + (mapping != null ? 2 * mapping.length() : 0);
+		}
+
+		@Override
+		public void write(WriteBuffer buff, Object obj) {
+			IdCacheEntry entry = (IdCacheEntry) obj;
+			buff.putVarLong(entry.getId())
+					.putVarLong(entry.getRootId())
+					.put((byte) (entry.isReverse() ? 1 : 0))
+					.putVarInt(entry.getObjectClassId());
+
+			String mapping = entry.getMapping();
+			if (mapping != null) {
+				buff.putVarInt(mapping.length()).putStringData(mapping, mapping.length());
+			} else {
+				buff.putVarInt(-1);
+			}
+		}
+
+		@Override
+		public void write(WriteBuffer buff, Object[] obj, int len, boolean key) {
+			for (int i = 0; i < len; i++) {
+				write(buff, obj[i]);
+			}
+		}
+
+		@Override
+		public Object read(ByteBuffer buff) {
+			long id = DataUtils.readVarLong(buff);
+			long rootId = DataUtils.readVarLong(buff);
+			boolean reverse = buff.get() == 1;
+			int objectClassId = DataUtils.readVarInt(buff);
+
+			int length = DataUtils.readVarInt(buff);
+			String mapping = length >= 0 ? DataUtils.readString(buff, length) : null;
+
+			return new IdCacheEntry(id, rootId, reverse, mapping, objectClassId);
+		}
+
+		@Override
+		public void read(ByteBuffer buff, Object[] obj, int len, boolean key) {
+			for (int i = 0; i < len; i++) {
+				obj[i] = read(buff);
+			}
+		}
+	}
+}
@@ -27,7 +27,9 @@
  */
 package org.citydb.core.operation.common.xlink;
 
-public interface DBXlink {
+import java.io.Serializable;
+
+public interface DBXlink extends Serializable {
 	DBXlinkEnum getXlinkType();
 	String getGmlId();
 	void setGmlId(String gmlId);
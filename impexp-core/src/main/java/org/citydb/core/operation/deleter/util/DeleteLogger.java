@@ -31,6 +31,7 @@ package org.citydb.core.operation.deleter.util;
 import org.citydb.config.project.database.DatabaseConnection;
 import org.citydb.config.project.deleter.DeleteMode;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.util.log.AsyncFileWriter;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -43,7 +44,7 @@ import java.time.format.DateTimeFormatter;
 public class DeleteLogger {
     private final LocalDateTime date = LocalDateTime.now();
     private final Path logFile;
-    private final BufferedWriter writer;
+    private final AsyncFileWriter writer;
     private final DeleteMode mode;
 
     public DeleteLogger(Path logFile, DeleteMode mode, DatabaseConnection connection) throws IOException {
@@ -60,15 +61,16 @@ public class DeleteLogger {
 
         this.logFile = logFile;
         this.mode = mode;
-        writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
-        writeHeader(connection);
+        BufferedWriter fileWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+        writeHeader(fileWriter, connection);
+        writer = new AsyncFileWriter(fileWriter, "impexp-delete-log-writer");
     }
 
     public Path getLogFilePath() {
         return logFile;
     }
 
-    private void writeHeader(DatabaseConnection connection) throws IOException {
+    private void writeHeader(BufferedWriter writer, DatabaseConnection connection) throws IOException {
         writer.write('#' + getClass().getPackage().getImplementationTitle() +
                 ", version \"" + getClass().getPackage().getImplementationVersion() + "\"");
         writer.newLine();
@@ -85,12 +87,12 @@ public class DeleteLogger {
     }
 
     private void writeFooter(boolean success) throws IOException {
-        writer.write("#" + (mode == DeleteMode.TERMINATE ? "Terminate" : "Delete"));
-        writer.write(success ? " successfully finished." : "aborted.");
+        writer.write("#" + (mode == DeleteMode.TERMINATE ? "Terminate" : "Delete") +
+                (success ? " successfully finished." : " aborted."));
     }
 
     public void write(String type, long id, String gmlId) throws IOException {
-        writer.write(type + "," + id + "," + (gmlId != null ? gmlId : "") + System.lineSeparator());
+        writer.write(type + "," + id + "," + (gmlId != null ? gmlId : ""));
     }
 
     public String getDefaultLogFileName() {
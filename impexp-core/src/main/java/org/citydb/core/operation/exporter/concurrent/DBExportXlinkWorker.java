@@ -45,6 +45,7 @@ import org.citydb.core.operation.exporter.database.xlink.DBXlinkExporterLibraryO
 import org.citydb.core.operation.exporter.database.xlink.DBXlinkExporterManager;
 import org.citydb.core.operation.exporter.database.xlink.DBXlinkExporterTextureImage;
 import org.citydb.core.operation.exporter.util.InternalConfig;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -59,11 +60,11 @@ public class DBExportXlinkWorker extends Worker<DBXlink> implements EventHandler
 	private final DBXlinkExporterManager xlinkExporterManager;
 	private final EventDispatcher eventDispatcher;
 
-	public DBExportXlinkWorker(Connection connection, AbstractDatabaseAdapter databaseAdapter, InternalConfig internalConfig, Config config, EventDispatcher eventDispatcher) {
+	public DBExportXlinkWorker(Connection connection, AbstractDatabaseAdapter databaseAdapter, InternalConfig internalConfig, TextureFileWriter textureFileWriter, Config config, EventDispatcher eventDispatcher) {
 		this.connection = connection;
 		this.eventDispatcher = eventDispatcher;
 
-		xlinkExporterManager = new DBXlinkExporterManager(connection, databaseAdapter, internalConfig, config, eventDispatcher);
+		xlinkExporterManager = new DBXlinkExporterManager(connection, databaseAdapter, internalConfig, textureFileWriter, config, eventDispatcher);
 		eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
 	}
 
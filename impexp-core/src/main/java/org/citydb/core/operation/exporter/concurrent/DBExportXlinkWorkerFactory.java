@@ -36,6 +36,7 @@ import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.log.Logger;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.exporter.util.InternalConfig;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -44,11 +45,13 @@ public class DBExportXlinkWorkerFactory implements WorkerFactory<DBXlink> {
 	private final Logger log = Logger.getInstance();
 
 	private final InternalConfig internalConfig;
+	private final TextureFileWriter textureFileWriter;
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
 
-	public DBExportXlinkWorkerFactory(InternalConfig internalConfig, Config config, EventDispatcher eventDispatcher) {
+	public DBExportXlinkWorkerFactory(InternalConfig internalConfig, TextureFileWriter textureFileWriter, Config config, EventDispatcher eventDispatcher) {
 		this.internalConfig = internalConfig;
+		this.textureFileWriter = textureFileWriter;
 		this.config = config;
 		this.eventDispatcher = eventDispatcher;
 	}
@@ -62,7 +65,7 @@ public class DBExportXlinkWorkerFactory implements WorkerFactory<DBXlink> {
 			Connection connection = DatabaseConnectionPool.getInstance().getConnection();
 			connection.setAutoCommit(false);
 
-			dbWorker = new DBExportXlinkWorker(connection, databaseAdapter, internalConfig, config, eventDispatcher);
+			dbWorker = new DBExportXlinkWorker(connection, databaseAdapter, internalConfig, textureFileWriter, config, eventDispatcher);
 		} catch (SQLException e) {
 			log.error("Failed to create XLink export worker.", e);
 		}
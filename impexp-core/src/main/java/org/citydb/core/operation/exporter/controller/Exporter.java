@@ -42,6 +42,8 @@ import org.citydb.core.file.output.OutputFileFactory;
 import org.citydb.core.operation.common.cache.CacheTableManager;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.cache.KeyValueIdCache;
+import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.util.AffineTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.exporter.CityGMLExportException;
@@ -52,7 +54,10 @@ import org.citydb.core.operation.exporter.concurrent.DBExportWorkerFactory;
 import org.citydb.core.operation.exporter.concurrent.DBExportXlinkWorkerFactory;
 import org.citydb.core.operation.exporter.database.content.DBSplitter;
 import org.citydb.core.operation.exporter.database.content.DBSplittingResult;
+import org.citydb.core.operation.exporter.util.ChangeTracker;
+import org.citydb.core.operation.exporter.util.ExportResultCache;
 import org.citydb.core.operation.exporter.util.InternalConfig;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
 import org.citydb.core.operation.exporter.writer.FeatureWriteException;
 import org.citydb.core.operation.exporter.writer.FeatureWriter;
 import org.citydb.core.operation.exporter.writer.FeatureWriterFactory;
@@ -143,6 +148,28 @@ public class Exporter implements EventHandler {
             throw new CityGMLExportException("The output file '" + outputFile + "' is invalid.");
         }
 
+        // serve the export from the result cache if the data has not changed
+        ExportResultCache resultCache = null;
+        String cacheKey = null;
+        if (isUseResultCache(outputFile)) {
+            ExportCache cacheConfig = config.getExportConfig().getCache();
+            Path cacheDir = cacheConfig.isSetCacheDir() ?
+                    Paths.get(cacheConfig.getCacheDir()) :
+                    CoreConstants.IMPEXP_DATA_DIR.resolve(CoreConstants.EXPORT_CACHE_DIR);
+
+            resultCache = new ExportResultCache(cacheDir, cacheConfig.getMaxSize() * 1024 * 1024);
+            try {
+                cacheKey = resultCache.createKey(config, outputFile, databaseAdapter);
+                if (resultCache.get(cacheKey, outputFile)) {
+                    log.info("Exported data served from the export cache (key: " + cacheKey + ").");
+                    return true;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to look up the export cache. Exporting without cache.", e);
+                resultCache = null;
+            }
+        }
+
         eventDispatcher.addEventHandler(EventType.OBJECT_COUNTER, this);
         eventDispatcher.addEventHandler(EventType.GEOMETRY_COUNTER, this);
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
@@ -150,6 +177,14 @@ public class Exporter implements EventHandler {
         boolean success = true;
         try {
             success = process(outputFile);
+
+            if (success && shouldRun && resultCache != null) {
+                try {
+                    resultCache.put(cacheKey, outputFile);
+                } catch (IOException e) {
+                    log.warn("Failed to store the exported data in the export cache.", e);
+                }
+            }
         } catch (CityGMLExportException e) {
             success = false;
             throw e;
@@ -177,6 +212,21 @@ public class Exporter implements EventHandler {
         return success;
     }
 
+    private boolean isUseResultCache(Path outputFile) {
+        if (!config.getExportConfig().getCache().isSetUseCache()) {
+            return false;
+        } else if (!pluginManager.getEnabledExternalPlugins(FeatureExportExtension.class).isEmpty()
+                || !pluginManager.getEnabledExternalPlugins(MetadataProvider.class).isEmpty()) {
+            log.debug("The export cache is not used because export plugins are enabled.");
+            return false;
+        } else if (!ExportResultCache.isCacheable(config, outputFile)) {
+            log.debug("The export cache is not used because the export creates more than one output file.");
+            return false;
+        }
+
+        return true;
+    }
+
     private boolean process(Path outputFile) throws CityGMLExportException {
         InternalConfig internalConfig = new InternalConfig();
 
@@ -194,8 +244,8 @@ public class Exporter implements EventHandler {
 
         // build query from filter settings
         Query query;
+        ConfigQueryBuilder queryBuilder = new ConfigQueryBuilder(schemaMapping, databaseAdapter);
         try {
-            ConfigQueryBuilder queryBuilder = new ConfigQueryBuilder(schemaMapping, databaseAdapter);
             query = config.getExportConfig().isUseSimpleQuery() ?
                     queryBuilder.buildQuery(config.getExportConfig().getSimpleQuery(), config.getNamespaceFilter()) :
                     queryBuilder.buildQuery(config.getExportConfig().getQuery(), config.getNamespaceFilter());
@@ -203,6 +253,47 @@ public class Exporter implements EventHandler {
             throw new CityGMLExportException("Failed to build the export query expression.", e);
         }
 
+        // restrict the export to objects changed since the last watermark
+        ChangeTracker changeTracker = null;
+        Predicate tombstoneFilter = null;
+        if (config.getExportConfig().getChangeExport().isSetUseChangeExport()) {
+            changeTracker = new ChangeTracker(config.getExportConfig().getChangeExport(),
+                    databaseAdapter,
+                    ObjectRegistry.getInstance().getDatatypeFactory());
+            try {
+                changeTracker.initialize();
+            } catch (IOException | SQLException e) {
+                throw new CityGMLExportException("Failed to initialize the change export.", e);
+            }
+
+            if (changeTracker.isSetChangedSince()) {
+                if (changeTracker.getLowerBound().equals(changeTracker.getChangedSince())) {
+                    log.info("Exporting city objects changed since " + changeTracker.getChangedSince().toXMLFormat() + ".");
+                } else {
+                    log.info("Exporting city objects changed since " + changeTracker.getChangedSince().toXMLFormat() +
+                            " including an overlap of " + config.getExportConfig().getChangeExport().getWatermarkOverlap() +
+                            " seconds. City objects changed within the overlap are exported again.");
+                }
+
+                try {
+                    // terminated objects are reported for the same selection as the exported objects
+                    Predicate changeFilter = queryBuilder.buildPredicate(changeTracker.toPredicate(), query, config.getNamespaceFilter());
+                    tombstoneFilter = queryBuilder.buildPredicate(changeTracker.toTombstonePredicate(), query, config.getNamespaceFilter());
+                    if (query.isSetSelection()) {
+                        tombstoneFilter = LogicalOperationFactory.AND(query.getSelection().getPredicate(), tombstoneFilter);
+                    }
+
+                    query.setSelection(new SelectionFilter(query.isSetSelection() ?
+                            LogicalOperationFactory.AND(query.getSelection().getPredicate(), changeFilter) :
+                            changeFilter));
+                } catch (QueryBuildException | FilterException e) {
+                    throw new CityGMLExportException("Failed to build the change export filter.", e);
+                }
+            } else {
+                log.info("No change watermark available. Exporting all city objects.");
+            }
+        }
+
         // check and log index status
         try {
             if ((query.isSetTiling() || (query.isSetSelection() && query.getSelection().containsSpatialOperators()))
@@ -411,6 +502,7 @@ public class Exporter implements EventHandler {
                 }
 
                 IdCacheManager idCacheManager = null;
+                TextureFileWriter textureFileWriter = null;
                 FeatureWriter writer = null;
                 OutputFile file = null;
 
@@ -451,18 +543,22 @@ public class Exporter implements EventHandler {
                     try {
                         idCacheManager.initCache(
                                 IdCacheType.GEOMETRY,
-                                new GeometryGmlIdCache(cacheTableManager,
-                                        config.getExportConfig().getResources().getIdCache().getGeometry().getPartitions(),
-                                        config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
+                                cacheTableManager.hasKeyValueStore() ?
+                                        new KeyValueIdCache(cacheTableManager, CacheTableModel.GEOMETRY_GMLID, "geometry", true) :
+                                        new GeometryGmlIdCache(cacheTableManager,
+                                                config.getExportConfig().getResources().getIdCache().getGeometry().getPartitions(),
+                                                config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
                                 config.getExportConfig().getResources().getIdCache().getGeometry().getCacheSize(),
                                 config.getExportConfig().getResources().getIdCache().getGeometry().getPageFactor(),
                                 config.getExportConfig().getResources().getThreadPool().getMaxThreads());
 
                         idCacheManager.initCache(
                                 IdCacheType.OBJECT,
-                                new ObjectGmlIdCache(cacheTableManager,
-                                        config.getExportConfig().getResources().getIdCache().getFeature().getPartitions(),
-                                        config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
+                                cacheTableManager.hasKeyValueStore() ?
+                                        new KeyValueIdCache(cacheTableManager, CacheTableModel.OBJECT_GMLID, "object", true) :
+                                        new ObjectGmlIdCache(cacheTableManager,
+                                                config.getExportConfig().getResources().getIdCache().getFeature().getPartitions(),
+                                                config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
                                 config.getExportConfig().getResources().getIdCache().getFeature().getCacheSize(),
                                 config.getExportConfig().getResources().getIdCache().getFeature().getPageFactor(),
                                 config.getExportConfig().getResources().getThreadPool().getMaxThreads());
@@ -470,6 +566,17 @@ public class Exporter implements EventHandler {
                         throw new CityGMLExportException("Failed to initialize internal gml:id caches.", e);
                     }
 
+                    // create texture file writers decoupled from the database workers
+                    ExportAppearance appearances = config.getExportConfig().getAppearances();
+                    if (exportAppearance
+                            && appearances.isSetExportTextureFiles()
+                            && appearances.getTextureFileExport().isUseParallelWriters()) {
+                        textureFileWriter = new TextureFileWriter(file,
+                                appearances.getTextureFileExport(),
+                                appearances.isSetOverwriteTextureFiles(),
+                                eventDispatcher);
+                    }
+
                     // create worker pools
                     // here we have an open issue: queue sizes are fix...
                     xlinkExporterPool = new WorkerPool<>(
@@ -477,7 +584,7 @@ public class Exporter implements EventHandler {
                             1,
                             Math.max(1, config.getExportConfig().getResources().getThreadPool().getMaxThreads() / 2),
                             PoolSizeAdaptationStrategy.AGGRESSIVE,
-                            new DBExportXlinkWorkerFactory(internalConfig, config, eventDispatcher),
+                            new DBExportXlinkWorkerFactory(internalConfig, textureFileWriter, config, eventDispatcher),
                             300,
                             false);
 
@@ -539,6 +646,9 @@ public class Exporter implements EventHandler {
                     try {
                         dbWorkerPool.shutdownAndWait();
                         xlinkExporterPool.shutdownAndWait();
+                        if (textureFileWriter != null) {
+                            textureFileWriter.close();
+                        }
                     } catch (InterruptedException e) {
                         throw new CityGMLExportException("Failed to shutdown worker pools.", e);
                     }
@@ -574,6 +684,10 @@ public class Exporter implements EventHandler {
                     	dbWorkerPool.shutdownNow();
 					}
 
+                    if (textureFileWriter != null) {
+                        textureFileWriter.shutdownNow();
+                    }
+
                     try {
                         eventDispatcher.flushEvents();
                     } catch (InterruptedException e) {
@@ -630,6 +744,32 @@ public class Exporter implements EventHandler {
 			}
         }
 
+        // report terminated city objects and keep the watermark for the next change export
+        if (shouldRun && changeTracker != null) {
+            try {
+                if (changeTracker.isSetChangedSince()) {
+                    // restrict the tombstones to the selection, the feature types and the tiling extent of the export
+                    Query tombstoneQuery = new Query(query);
+                    tombstoneQuery.unsetCounterFilter();
+                    tombstoneQuery.unsetSorting();
+                    tombstoneQuery.unsetTiling();
+                    tombstoneQuery.setSelection(new SelectionFilter(useTiling ?
+                            LogicalOperationFactory.AND(tombstoneFilter,
+                                    new Tile(tiling.getExtent(), 0, 0).getFilterPredicate(databaseAdapter)) :
+                            tombstoneFilter));
+
+                    Path tombstoneFile = ChangeTracker.getTombstoneFile(outputFile);
+                    long tombstones = changeTracker.writeTombstones(tombstoneFile, tombstoneQuery, schemaMapping);
+                    log.info("Wrote " + tombstones + " terminated city object(s) to " + tombstoneFile + ".");
+                }
+
+                changeTracker.persistWatermark();
+                log.info("Change export watermark: " + changeTracker.getWatermark().toXMLFormat() + ".");
+            } catch (IOException | SQLException | QueryBuildException | FilterException e) {
+                throw new CityGMLExportException("Failed to finish the change export.", e);
+            }
+        }
+
         if (shouldRun) {
         	log.info("Total export time: " + Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
 		} else if (exception != null) {
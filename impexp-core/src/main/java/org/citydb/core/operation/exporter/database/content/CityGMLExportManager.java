@@ -109,6 +109,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 	private final Logger log = Logger.getInstance();
 	private final IdentityHashMap<Class<? extends DBExporter>, DBExporter> exporters = new IdentityHashMap<>();
 	private final IdentityHashMap<ADEExtension, ADEExportManager> adeExporters = new IdentityHashMap<>();
+	private final IdentityHashMap<FeatureType, NestedFeatureExporter> nestedFeatureExporters = new IdentityHashMap<>();
 
 	private final Connection connection;
 	private final Query query;
@@ -355,107 +356,110 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T extends AbstractFeature> Collection<T> exportNestedFeatures(FeatureProperty featureProperty, long parentId, Class<T> featureClass) throws CityGMLExportException, SQLException {
-		Collection<? extends AbstractFeature> features;
-		FeatureType featureType = featureProperty.getType();
+		Collection<? extends AbstractFeature> features = nestedFeatureExporters
+				.computeIfAbsent(featureProperty.getType(), this::getNestedFeatureExporter)
+				.doExport(featureProperty, parentId);
 
+		// filter instances according to the provided feature class
+		if (!features.isEmpty())
+			features.removeIf(abstractFeature -> !featureClass.isInstance(abstractFeature));
+
+		return (Collection<T>)features;
+	}
+
+	private NestedFeatureExporter getNestedFeatureExporter(FeatureType featureType) {
 		// building module
-		if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractBuilding.class)))
-			features = getExporter(DBBuilding.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractBoundarySurface.class)))
-			features = getExporter(DBThematicSurface.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractOpening.class)))
-			features = getExporter(DBOpening.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(BuildingInstallation.class)))
-			features = getExporter(DBBuildingInstallation.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(IntBuildingInstallation.class)))
-			features = getExporter(DBBuildingInstallation.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(Room.class)))
-			features = getExporter(DBRoom.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(BuildingFurniture.class)))
-			features = getExporter(DBBuildingFurniture.class).doExport(featureProperty, parentId);
+		if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractBuilding.class)))
+			return (property, parentId) -> getExporter(DBBuilding.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractBoundarySurface.class)))
+			return (property, parentId) -> getExporter(DBThematicSurface.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractOpening.class)))
+			return (property, parentId) -> getExporter(DBOpening.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(BuildingInstallation.class)))
+			return (property, parentId) -> getExporter(DBBuildingInstallation.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(IntBuildingInstallation.class)))
+			return (property, parentId) -> getExporter(DBBuildingInstallation.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(Room.class)))
+			return (property, parentId) -> getExporter(DBRoom.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(BuildingFurniture.class)))
+			return (property, parentId) -> getExporter(DBBuildingFurniture.class).doExport(property, parentId);
 
 		// bridge module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractBridge.class)))
-			features = getExporter(DBBridge.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(org.citygml4j.model.citygml.bridge.AbstractBoundarySurface.class)))
-			features = getExporter(DBBridgeThematicSurface.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(org.citygml4j.model.citygml.bridge.AbstractOpening.class)))
-			features = getExporter(DBBridgeOpening.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(BridgeConstructionElement.class)))
-			features = getExporter(DBBridgeConstrElement.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(BridgeInstallation.class)))
-			features = getExporter(DBBridgeInstallation.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(IntBridgeInstallation.class)))
-			features = getExporter(DBBridgeInstallation.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(BridgeRoom.class)))
-			features = getExporter(DBBridgeRoom.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(BridgeFurniture.class)))
-			features = getExporter(DBBridgeFurniture.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractBridge.class)))
+			return (property, parentId) -> getExporter(DBBridge.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(org.citygml4j.model.citygml.bridge.AbstractBoundarySurface.class)))
+			return (property, parentId) -> getExporter(DBBridgeThematicSurface.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(org.citygml4j.model.citygml.bridge.AbstractOpening.class)))
+			return (property, parentId) -> getExporter(DBBridgeOpening.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(BridgeConstructionElement.class)))
+			return (property, parentId) -> getExporter(DBBridgeConstrElement.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(BridgeInstallation.class)))
+			return (property, parentId) -> getExporter(DBBridgeInstallation.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(IntBridgeInstallation.class)))
+			return (property, parentId) -> getExporter(DBBridgeInstallation.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(BridgeRoom.class)))
+			return (property, parentId) -> getExporter(DBBridgeRoom.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(BridgeFurniture.class)))
+			return (property, parentId) -> getExporter(DBBridgeFurniture.class).doExport(property, parentId);
 
 		// city furniture module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(CityFurniture.class)))
-			features = getExporter(DBCityFurniture.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(CityFurniture.class)))
+			return (property, parentId) -> getExporter(DBCityFurniture.class).doExport(property, parentId);
 
 		// generics module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(GenericCityObject.class)))
-			features = getExporter(DBGenericCityObject.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(GenericCityObject.class)))
+			return (property, parentId) -> getExporter(DBGenericCityObject.class).doExport(property, parentId);
 
 		// land use module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(LandUse.class)))
-			features = getExporter(DBLandUse.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(LandUse.class)))
+			return (property, parentId) -> getExporter(DBLandUse.class).doExport(property, parentId);
 
 		// vegetation module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(PlantCover.class)))
-			features = getExporter(DBPlantCover.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(SolitaryVegetationObject.class)))
-			features = getExporter(DBSolitaryVegetatObject.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(PlantCover.class)))
+			return (property, parentId) -> getExporter(DBPlantCover.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(SolitaryVegetationObject.class)))
+			return (property, parentId) -> getExporter(DBSolitaryVegetatObject.class).doExport(property, parentId);
 
 		// relief module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(ReliefFeature.class)))
-			features = getExporter(DBReliefFeature.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractReliefComponent.class)))
-			features = getExporter(DBReliefComponent.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(ReliefFeature.class)))
+			return (property, parentId) -> getExporter(DBReliefFeature.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractReliefComponent.class)))
+			return (property, parentId) -> getExporter(DBReliefComponent.class).doExport(property, parentId);
 
 		// transportation module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(TransportationComplex.class)))
-			features = getExporter(DBTransportationComplex.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractTransportationObject.class)))
-			features = getExporter(DBTrafficArea.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(TransportationComplex.class)))
+			return (property, parentId) -> getExporter(DBTransportationComplex.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractTransportationObject.class)))
+			return (property, parentId) -> getExporter(DBTrafficArea.class).doExport(property, parentId);
 
 		// tunnel module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractTunnel.class)))
-			features = getExporter(DBTunnel.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(org.citygml4j.model.citygml.tunnel.AbstractBoundarySurface.class)))
-			features = getExporter(DBTunnelThematicSurface.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(org.citygml4j.model.citygml.tunnel.AbstractOpening.class)))
-			features = getExporter(DBTunnelOpening.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(TunnelInstallation.class)))
-			features = getExporter(DBTunnelInstallation.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(IntTunnelInstallation.class)))
-			features = getExporter(DBTunnelInstallation.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(HollowSpace.class)))
-			features = getExporter(DBTunnelHollowSpace.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(TunnelFurniture.class)))
-			features = getExporter(DBTunnelFurniture.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractTunnel.class)))
+			return (property, parentId) -> getExporter(DBTunnel.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(org.citygml4j.model.citygml.tunnel.AbstractBoundarySurface.class)))
+			return (property, parentId) -> getExporter(DBTunnelThematicSurface.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(org.citygml4j.model.citygml.tunnel.AbstractOpening.class)))
+			return (property, parentId) -> getExporter(DBTunnelOpening.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(TunnelInstallation.class)))
+			return (property, parentId) -> getExporter(DBTunnelInstallation.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(IntTunnelInstallation.class)))
+			return (property, parentId) -> getExporter(DBTunnelInstallation.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(HollowSpace.class)))
+			return (property, parentId) -> getExporter(DBTunnelHollowSpace.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(TunnelFurniture.class)))
+			return (property, parentId) -> getExporter(DBTunnelFurniture.class).doExport(property, parentId);
 
 		// water body module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(WaterBody.class)))
-			features = getExporter(DBWaterBody.class).doExport(featureProperty, parentId);
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(AbstractWaterBoundarySurface.class)))
-			features = getExporter(DBWaterBoundarySurface.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(WaterBody.class)))
+			return (property, parentId) -> getExporter(DBWaterBody.class).doExport(property, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(AbstractWaterBoundarySurface.class)))
+			return (property, parentId) -> getExporter(DBWaterBoundarySurface.class).doExport(property, parentId);
 
 		// core module
-		else if (featureType.isEqualToOrSubTypeOf(getFeatureType(Address.class)))
-			features = getExporter(DBAddress.class).doExport(featureProperty, parentId);
+		else if (schemaMapping.isEqualToOrSubTypeOf(featureType, getFeatureType(Address.class)))
+			return (property, parentId) -> getExporter(DBAddress.class).doExport(property, parentId);
 
 		else
-			features = Collections.emptyList();
-
-		// filter instances according to the provided feature class
-		if (!features.isEmpty())
-			features.removeIf(abstractFeature -> !featureClass.isInstance(abstractFeature));
-
-		return (Collection<T>)features;
+			return (property, parentId) -> Collections.emptyList();
 	}
 
 	protected void delegateToADEExporter(AbstractGML object, long objectId, AbstractObjectType<?> objectType, ProjectionFilter projectionFilter) throws CityGMLExportException, SQLException {
@@ -1054,4 +1058,8 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 		return type.cast(exporter);
 	}
 
+	@FunctionalInterface
+	private interface NestedFeatureExporter {
+		Collection<? extends AbstractFeature> doExport(FeatureProperty featureProperty, long parentId) throws CityGMLExportException, SQLException;
+	}
 }
@@ -32,6 +32,7 @@ import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.util.event.Event;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.core.operation.exporter.util.InternalConfig;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -42,14 +43,16 @@ public class DBXlinkExporterManager {
 	private final Connection connection;
 	private final AbstractDatabaseAdapter databaseAdapter;
 	private final InternalConfig internalConfig;
+	private final TextureFileWriter textureFileWriter;
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
 	private final Map<DBXlinkExporterEnum, DBXlinkExporter> dbExporterMap;
 
-	public DBXlinkExporterManager(Connection connection, AbstractDatabaseAdapter databaseAdapter, InternalConfig internalConfig, Config config, EventDispatcher eventDispatcher) {
+	public DBXlinkExporterManager(Connection connection, AbstractDatabaseAdapter databaseAdapter, InternalConfig internalConfig, TextureFileWriter textureFileWriter, Config config, EventDispatcher eventDispatcher) {
 		this.connection = connection;
 		this.databaseAdapter = databaseAdapter;
 		this.internalConfig = internalConfig;
+		this.textureFileWriter = textureFileWriter;
 		this.config = config;
 		this.eventDispatcher = eventDispatcher;
 
@@ -79,6 +82,10 @@ public class DBXlinkExporterManager {
 		return internalConfig;
 	}
 
+	public TextureFileWriter getTextureFileWriter() {
+		return textureFileWriter;
+	}
+
 	public AbstractDatabaseAdapter getDatabaseAdapter() {
 		return databaseAdapter;
 	}
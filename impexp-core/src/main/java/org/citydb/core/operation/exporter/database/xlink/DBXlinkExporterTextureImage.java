@@ -36,6 +36,7 @@ import org.citydb.core.file.FileType;
 import org.citydb.core.file.OutputFile;
 import org.citydb.util.log.Logger;
 import org.citydb.core.operation.common.xlink.DBXlinkTextureFile;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
 
 import java.io.File;
 import java.io.IOException;
@@ -51,6 +52,7 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
     private final DBXlinkExporterManager exporterManager;
     private final OutputFile outputFile;
     private final BlobExportAdapter blobExporter;
+    private final TextureFileWriter textureFileWriter;
     private final String textureURI;
     private final boolean isAbsoluteTextureURI;
     private final String separator;
@@ -63,6 +65,7 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
         this.exporterManager = exporterManager;
 
         outputFile = exporterManager.getInternalConfig().getOutputFile();
+        textureFileWriter = exporterManager.getTextureFileWriter();
         textureURI = exporterManager.getInternalConfig().getExportTextureURI();
         isAbsoluteTextureURI = new File(textureURI).isAbsolute();
         separator = isAbsoluteTextureURI ? File.separator : "/";
@@ -117,6 +120,19 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
         }
 
         try {
+            if (textureFileWriter != null) {
+                // skip existing files before fetching the texture image from the database
+                if (textureFileWriter.isExistingFile(file))
+                    return true;
+
+                blobExporter.addBatch(xlink.getId(), new BlobExportAdapter.BatchEntry(
+                        data -> textureFileWriter.write(data, file, file == null ?
+                                outputFile.resolve(textureURI, fileURI) :
+                                null)));
+
+                return true;
+            }
+
             int exported = blobExporter.addBatch(xlink.getId(), new BlobExportAdapter.BatchEntry(
                     () -> file != null ?
                             Files.newOutputStream(file) :
@@ -137,7 +153,7 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
     public void close() throws SQLException {
         try {
             int exported = blobExporter.executeBatch();
-            if (exported > 0)
+            if (exported > 0 && textureFileWriter == null)
                 exporterManager.propagateEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, exported, this));
         } catch (IOException e) {
             log.error("Failed to batch export texture files.", e);
@@ -0,0 +1,256 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.config.project.exporter.ChangeExport;
+import org.citydb.config.project.query.filter.selection.AbstractPredicate;
+import org.citydb.config.project.query.filter.selection.comparison.GreaterThanOperator;
+import org.citydb.config.project.query.filter.selection.comparison.NullOperator;
+import org.citydb.config.project.query.filter.selection.logical.AndOperator;
+import org.citydb.config.project.query.filter.selection.logical.NotOperator;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.core.database.schema.mapping.AbstractObjectType;
+import org.citydb.core.database.schema.mapping.MappingConstants;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.query.Query;
+import org.citydb.core.query.builder.QueryBuildException;
+import org.citydb.core.query.builder.sql.BuildProperties;
+import org.citydb.core.query.builder.sql.SQLQueryBuilder;
+import org.citydb.sqlbuilder.select.Select;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.GregorianCalendar;
+import java.util.Properties;
+
+/**
+ * Tracks the change window of an incremental export.
+ * <p>
+ * The lower bound of the window is either the timestamp given by the user or the watermark
+ * of the previous run minus an overlap. The overlap covers rows whose last modification date
+ * was set by the client clock or whose transaction committed after the watermark had been taken.
+ * City objects changed within the overlap are therefore exported again, so consumers of change
+ * exports must apply them idempotently.
+ * <p>
+ * Terminated city objects are reported in a tombstone file. City objects that have been physically
+ * deleted from the database leave no trace and cannot be reported.
+ */
+public class ChangeTracker {
+    private static final String WATERMARK_PROPERTY = "watermark";
+    private static final String TOMBSTONE_FILE_SUFFIX = ".tombstones.csv";
+
+    private final ChangeExport changeExport;
+    private final AbstractDatabaseAdapter databaseAdapter;
+    private final DatatypeFactory datatypeFactory;
+
+    private XMLGregorianCalendar changedSince;
+    private XMLGregorianCalendar lowerBound;
+    private XMLGregorianCalendar watermark;
+
+    public ChangeTracker(ChangeExport changeExport, AbstractDatabaseAdapter databaseAdapter, DatatypeFactory datatypeFactory) {
+        this.changeExport = changeExport;
+        this.databaseAdapter = databaseAdapter;
+        this.datatypeFactory = datatypeFactory;
+    }
+
+    public void initialize() throws IOException, SQLException {
+        // take the new watermark before reading any object so that concurrent changes are exported again next time
+        watermark = getDatabaseTimestamp();
+
+        if (changeExport.isSetChangedSince()) {
+            changedSince = changeExport.getChangedSince();
+            lowerBound = changedSince;
+        } else if (changeExport.isSetWatermarkFile()) {
+            changedSince = readWatermark(Paths.get(changeExport.getWatermarkFile()), datatypeFactory);
+            if (changedSince != null) {
+                lowerBound = subtractOverlap(changedSince, changeExport.getWatermarkOverlap(), datatypeFactory);
+            }
+        }
+    }
+
+    public boolean isSetChangedSince() {
+        return changedSince != null;
+    }
+
+    public XMLGregorianCalendar getChangedSince() {
+        return changedSince;
+    }
+
+    public XMLGregorianCalendar getLowerBound() {
+        return lowerBound;
+    }
+
+    public XMLGregorianCalendar getWatermark() {
+        return watermark;
+    }
+
+    public AbstractPredicate toPredicate() {
+        // terminated objects are reported in the tombstone file instead
+        return new AndOperator(
+                new GreaterThanOperator("citydb:lastModificationDate", lowerBound.toXMLFormat()),
+                new NullOperator("core:terminationDate")
+        );
+    }
+
+    public AbstractPredicate toTombstonePredicate() {
+        return new AndOperator(
+                new GreaterThanOperator("citydb:lastModificationDate", lowerBound.toXMLFormat()),
+                new NotOperator(new NullOperator("core:terminationDate"))
+        );
+    }
+
+    public static Path getTombstoneFile(Path outputFile) {
+        String fileName = outputFile.getFileName().toString();
+        int index = fileName.lastIndexOf('.');
+        return outputFile.resolveSibling((index > 0 ? fileName.substring(0, index) : fileName) + TOMBSTONE_FILE_SUFFIX);
+    }
+
+    public long writeTombstones(Path tombstoneFile, Query query, SchemaMapping schemaMapping) throws IOException, SQLException, QueryBuildException {
+        // the query must contain the selection of the export together with the tombstone predicate
+        SQLQueryBuilder builder = new SQLQueryBuilder(schemaMapping, databaseAdapter, BuildProperties.defaults()
+                .addProjectionColumns(MappingConstants.GMLID, MappingConstants.TERMINATION_DATE));
+        Select select = builder.buildQuery(query);
+        long count = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tombstoneFile, StandardCharsets.UTF_8);
+             Connection conn = DatabaseConnectionPool.getInstance().getConnection();
+             PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, conn);
+             ResultSet rs = stmt.executeQuery()) {
+            writer.write("#Changed since: " + lowerBound.toXMLFormat());
+            writer.newLine();
+            writer.write("#Watermark: " + watermark.toXMLFormat());
+            writer.newLine();
+            writer.write("FEATURE_TYPE,CITYOBJECT_ID,GMLID,TERMINATION_DATE");
+            writer.newLine();
+
+            while (rs.next()) {
+                AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(rs.getInt(MappingConstants.OBJECTCLASS_ID));
+                String gmlId = rs.getString(MappingConstants.GMLID);
+                OffsetDateTime terminationDate = rs.getObject(MappingConstants.TERMINATION_DATE, OffsetDateTime.class);
+
+                writer.write((objectType != null ? objectType.getPath() : "") + "," +
+                        rs.getLong(MappingConstants.ID) + "," +
+                        (gmlId != null ? gmlId : "") + "," +
+                        terminationDate);
+                writer.newLine();
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public void persistWatermark() throws IOException {
+        if (changeExport.isSetWatermarkFile()) {
+            writeWatermark(Paths.get(changeExport.getWatermarkFile()), watermark);
+        }
+    }
+
+    static XMLGregorianCalendar subtractOverlap(XMLGregorianCalendar timestamp, int seconds, DatatypeFactory datatypeFactory) {
+        XMLGregorianCalendar lowerBound = (XMLGregorianCalendar) timestamp.clone();
+        lowerBound.add(datatypeFactory.newDuration(seconds * 1000L).negate());
+        return lowerBound;
+    }
+
+    static void writeWatermark(Path watermarkFile, XMLGregorianCalendar watermark) throws IOException {
+        watermarkFile = watermarkFile.toAbsolutePath();
+        Files.createDirectories(watermarkFile.getParent());
+
+        Properties properties = new Properties();
+        properties.setProperty(WATERMARK_PROPERTY, watermark.toXMLFormat());
+
+        // replace the watermark atomically so that an interrupted run keeps the previous one
+        Path tempFile = Files.createTempFile(watermarkFile.getParent(), watermarkFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                properties.store(stream, "Watermark of the last successful change export");
+            }
+
+            Files.move(tempFile, watermarkFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    static XMLGregorianCalendar readWatermark(Path watermarkFile, DatatypeFactory datatypeFactory) throws IOException {
+        if (!Files.exists(watermarkFile)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(watermarkFile)) {
+            properties.load(stream);
+        }
+
+        String value = properties.getProperty(WATERMARK_PROPERTY);
+        if (value == null) {
+            throw new IOException("The watermark file '" + watermarkFile + "' lacks a " + WATERMARK_PROPERTY + " entry.");
+        }
+
+        try {
+            return datatypeFactory.newXMLGregorianCalendar(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("The watermark file '" + watermarkFile + "' contains the invalid timestamp '" + value + "'.", e);
+        }
+    }
+
+    private XMLGregorianCalendar getDatabaseTimestamp() throws SQLException {
+        String query = "select current_timestamp";
+        if (databaseAdapter.getSQLAdapter().requiresPseudoTableInSelect()) {
+            query += " from " + databaseAdapter.getSQLAdapter().getPseudoTableName();
+        }
+
+        try (Connection conn = DatabaseConnectionPool.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            if (!rs.next()) {
+                throw new SQLException("Failed to query the current database timestamp.");
+            }
+
+            // the calendar is truncated to milliseconds which only widens the next change window
+            OffsetDateTime timestamp = rs.getObject(1, OffsetDateTime.class);
+            return datatypeFactory.newXMLGregorianCalendar(GregorianCalendar.from(timestamp.toZonedDateTime()));
+        }
+    }
+}
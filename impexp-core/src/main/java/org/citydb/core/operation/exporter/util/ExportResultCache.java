@@ -0,0 +1,308 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.config.Config;
+import org.citydb.config.ConfigUtil;
+import org.citydb.config.project.exporter.ExportConfig;
+import org.citydb.config.project.exporter.SimpleTilingMode;
+import org.citydb.core.ade.ADEExtension;
+import org.citydb.core.ade.ADEExtensionManager;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.file.FileType;
+import org.citydb.core.file.output.OutputFileFactory;
+import org.citydb.util.log.Logger;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ExportResultCache {
+    private static final String FILE_SUFFIX = ".cache";
+    private static final String BUILD_VERSION = getBuildVersion();
+
+    private final Logger log = Logger.getInstance();
+    private final Path cacheDir;
+    private final long maxSize;
+
+    public ExportResultCache(Path cacheDir, long maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+    }
+
+    public static boolean isCacheable(Config config, Path outputFile) {
+        ExportConfig exportConfig = config.getExportConfig();
+
+        // change exports write a tombstone file and advance the watermark
+        if (exportConfig.getChangeExport().isSetUseChangeExport()) {
+            return false;
+        }
+
+        // tiled exports create several output files
+        if (exportConfig.isUseSimpleQuery()) {
+            if (exportConfig.getSimpleQuery().isUseBboxFilter()
+                    && exportConfig.getSimpleQuery().isSetBboxFilter()
+                    && exportConfig.getSimpleQuery().getBboxFilter().getMode() == SimpleTilingMode.TILING) {
+                return false;
+            }
+        } else if (exportConfig.getQuery().isSetTiling()) {
+            return false;
+        }
+
+        // texture files are only part of the output file when writing to an archive
+        return !exportConfig.getAppearances().isSetExportAppearance()
+                || !exportConfig.getAppearances().isSetExportTextureFiles()
+                || OutputFileFactory.getFileType(outputFile.getFileName()) == FileType.ARCHIVE;
+    }
+
+    public String createKey(Config config, Path outputFile, AbstractDatabaseAdapter databaseAdapter) throws IOException, JAXBException, SQLException {
+        List<String> databaseState = new ArrayList<>();
+        databaseState.add(databaseAdapter.getConnectionDetails().toConnectString());
+        databaseState.add(databaseAdapter.getConnectionDetails().getSchema());
+
+        if (databaseAdapter.hasVersioningSupport() && databaseAdapter.getConnectionDetails().isSetWorkspace()) {
+            databaseState.add(databaseAdapter.getConnectionDetails().getWorkspace().toString());
+        }
+
+        databaseState.add(databaseAdapter.getUtil().getChangeWatermark());
+        return createKey(config, outputFile, databaseState, ADEExtensionManager.getInstance().getEnabledExtensions());
+    }
+
+    String createKey(Config config, Path outputFile, List<String> databaseState, List<ADEExtension> adeExtensions) throws IOException, JAXBException {
+        ExportConfig exportConfig = config.getExportConfig();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        String fileName = outputFile.getFileName().toString();
+        int index = fileName.indexOf('.');
+        String extension = index != -1 ? fileName.substring(index).toLowerCase() : "";
+
+        // archives name their entries after the output file
+        writeLine(stream, OutputFileFactory.getFileType(outputFile.getFileName()) == FileType.ARCHIVE ?
+                fileName :
+                extension);
+        writeLine(stream, OutputFileFactory.getOutputFormat(outputFile, config).name());
+        writeLine(stream, BUILD_VERSION);
+
+        // ADE extensions add their content to the output file
+        List<String> adeIdentifiers = new ArrayList<>();
+        for (ADEExtension adeExtension : adeExtensions) {
+            adeIdentifiers.add(adeExtension.getId() + " " + adeExtension.getMetadata() + " " +
+                    adeExtension.getClass().getPackage().getImplementationVersion());
+        }
+
+        adeIdentifiers.sort(Comparator.naturalOrder());
+        for (String adeIdentifier : adeIdentifiers) {
+            writeLine(stream, adeIdentifier);
+        }
+
+        for (String value : databaseState) {
+            writeLine(stream, value);
+        }
+
+        // only the settings that affect the content of the output file are part of the key
+        Marshaller marshaller = ConfigUtil.getInstance().getJAXBContext().createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        if (exportConfig.isUseSimpleQuery()) {
+            marshal(marshaller, "simpleQuery", exportConfig.getSimpleQuery(), stream);
+        } else {
+            marshal(marshaller, "query", exportConfig.getQuery(), stream);
+        }
+
+        marshal(marshaller, "general", exportConfig.getGeneralOptions(), stream);
+        marshal(marshaller, "continuation", exportConfig.getContinuation(), stream);
+        marshal(marshaller, "cityObjectGroup", exportConfig.getCityObjectGroup(), stream);
+        marshal(marshaller, "appearances", exportConfig.getAppearances(), stream);
+        marshal(marshaller, "affineTransformation", exportConfig.getAffineTransformation(), stream);
+        marshal(marshaller, "cityGMLOptions", exportConfig.getCityGMLOptions(), stream);
+        marshal(marshaller, "cityJSONOptions", exportConfig.getCityJSONOptions(), stream);
+
+        try {
+            StringBuilder key = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(stream.toByteArray())) {
+                key.append(String.format("%02x", b));
+            }
+
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Failed to create the export cache key.", e);
+        }
+    }
+
+    public boolean get(String key, Path outputFile) throws IOException {
+        Path entry = cacheDir.resolve(key + FILE_SUFFIX);
+        if (!Files.isRegularFile(entry)) {
+            return false;
+        }
+
+        Path parent = outputFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try {
+            Files.copy(entry, outputFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // the entry might have been evicted in the meantime
+            if (!Files.exists(entry)) {
+                return false;
+            }
+
+            throw e;
+        }
+
+        // mark entry as recently used
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        return true;
+    }
+
+    public void put(String key, Path outputFile) throws IOException {
+        long size = Files.size(outputFile);
+        if (size > maxSize) {
+            log.debug("The output file exceeds the maximum export cache size and is not cached.");
+            return;
+        }
+
+        Files.createDirectories(cacheDir);
+        Path tmp = Files.createTempFile(cacheDir, key, ".tmp");
+        try {
+            Files.copy(outputFile, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, cacheDir.resolve(key + FILE_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        evict();
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            entries = stream.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        long totalSize = 0;
+        List<CacheEntry> cacheEntries = new ArrayList<>(entries.size());
+        for (Path path : entries) {
+            try {
+                CacheEntry entry = new CacheEntry(path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+                cacheEntries.add(entry);
+                totalSize += entry.size;
+            } catch (IOException e) {
+                //
+            }
+        }
+
+        if (totalSize > maxSize) {
+            cacheEntries.sort(Comparator.comparingLong(entry -> entry.lastUsed));
+            for (CacheEntry entry : cacheEntries) {
+                if (totalSize <= maxSize) {
+                    break;
+                }
+
+                if (Files.deleteIfExists(entry.path)) {
+                    log.debug("Evicted export cache entry " + entry.path.getFileName() + ".");
+                }
+
+                totalSize -= entry.size;
+            }
+        }
+    }
+
+    private static String getBuildVersion() {
+        String version = ExportResultCache.class.getPackage().getImplementationVersion();
+        if (version != null && !version.endsWith("-SNAPSHOT")) {
+            return version;
+        }
+
+        // development builds may change without a new version number, so we add the
+        // timestamp of the jar file. Without a jar file, results are only reused within
+        // this process
+        CodeSource codeSource = ExportResultCache.class.getProtectionDomain().getCodeSource();
+        URL location = codeSource != null ? codeSource.getLocation() : null;
+        if (location != null) {
+            try {
+                Path file = Paths.get(location.toURI());
+                if (Files.isRegularFile(file)) {
+                    return version + " " + Files.getLastModifiedTime(file).toMillis();
+                }
+            } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException | IOException e) {
+                //
+            }
+        }
+
+        return version + " " + UUID.randomUUID();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void marshal(Marshaller marshaller, String name, T value, ByteArrayOutputStream stream) throws JAXBException {
+        Class<T> type = (Class<T>) value.getClass();
+        marshaller.marshal(new JAXBElement<>(new QName(ConfigUtil.CITYDB_CONFIG_NAMESPACE_URI, name), type, value), stream);
+    }
+
+    private void writeLine(ByteArrayOutputStream stream, String value) throws IOException {
+        stream.write(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        stream.write('\n');
+    }
+
+    private static class CacheEntry {
+        private final Path path;
+        private final long size;
+        private final long lastUsed;
+
+        CacheEntry(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
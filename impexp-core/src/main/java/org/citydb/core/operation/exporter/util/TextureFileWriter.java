@@ -0,0 +1,196 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.config.project.exporter.TextureFileExport;
+import org.citydb.core.file.OutputFile;
+import org.citydb.util.concurrent.DefaultWorker;
+import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.util.concurrent.WorkerPool;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.global.CounterEvent;
+import org.citydb.util.event.global.CounterType;
+import org.citydb.util.log.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+public class TextureFileWriter {
+    private final Logger log = Logger.getInstance();
+    private final OutputFile outputFile;
+    private final EventDispatcher eventDispatcher;
+    private final boolean overwriteTextureFiles;
+    private final WorkerPool<TextureFile> writerPool;
+    private final Semaphore buffer;
+    private final int bufferSize;
+    private final Map<Path, Set<String>> existingFiles;
+
+    public TextureFileWriter(OutputFile outputFile, TextureFileExport options, boolean overwriteTextureFiles, EventDispatcher eventDispatcher) {
+        this.outputFile = outputFile;
+        this.overwriteTextureFiles = overwriteTextureFiles;
+        this.eventDispatcher = eventDispatcher;
+
+        // the in-flight buffer is configured in megabytes and accounted for in kilobytes
+        bufferSize = (int) Math.min(Integer.MAX_VALUE, options.getMaxBufferSizeMB() * 1024L);
+        buffer = new Semaphore(bufferSize);
+        existingFiles = new ConcurrentHashMap<>();
+
+        int threads = options.getWriterThreads();
+        writerPool = new WorkerPool<>(
+                "texture_writer_pool",
+                threads,
+                threads,
+                PoolSizeAdaptationStrategy.AGGRESSIVE,
+                TextureFileWorker::new,
+                threads * 10,
+                false);
+
+        writerPool.prestartCoreWorkers();
+    }
+
+    public boolean isExistingFile(Path file) {
+        if (overwriteTextureFiles || file == null) {
+            return false;
+        }
+
+        Path folder = file.getParent();
+        return folder != null && existingFiles.computeIfAbsent(folder, this::listFiles)
+                .contains(file.getFileName().toString());
+    }
+
+    public boolean write(byte[] data, Path file, String archiveEntry) throws IOException {
+        if (data == null || data.length == 0) {
+            return false;
+        }
+
+        int size = Math.max(1, Math.min((data.length + 1023) >> 10, bufferSize));
+        try {
+            buffer.acquire(size);
+        } catch (InterruptedException e) {
+            throw new IOException("Interrupted while waiting for free texture buffer.", e);
+        }
+
+        if (file != null && !overwriteTextureFiles && file.getParent() != null) {
+            existingFiles.computeIfAbsent(file.getParent(), this::listFiles).add(file.getFileName().toString());
+        }
+
+        writerPool.addWork(new TextureFile(data, size, file, archiveEntry));
+        return true;
+    }
+
+    public void close() throws InterruptedException {
+        writerPool.shutdownAndWait();
+    }
+
+    public void shutdownNow() {
+        if (!writerPool.isTerminated()) {
+            for (TextureFile textureFile : writerPool.shutdownNow()) {
+                buffer.release(textureFile.size);
+            }
+        }
+    }
+
+    private Set<String> listFiles(Path folder) {
+        Set<String> files = ConcurrentHashMap.newKeySet();
+        if (Files.isDirectory(folder)) {
+            try (Stream<Path> stream = Files.list(folder)) {
+                stream.forEach(file -> files.add(file.getFileName().toString()));
+            } catch (IOException e) {
+                log.warn("Failed to list existing texture files in '" + folder + "'.");
+            }
+        }
+
+        return files;
+    }
+
+    private final class TextureFileWorker extends DefaultWorker<TextureFile> {
+        private long counter;
+
+        @Override
+        public void doWork(TextureFile work) {
+            try {
+                if (work.file != null) {
+                    try (FileChannel channel = FileChannel.open(work.file,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE)) {
+                        ByteBuffer data = ByteBuffer.wrap(work.data);
+                        while (data.hasRemaining()) {
+                            channel.write(data);
+                        }
+                    }
+                } else {
+                    try (OutputStream stream = outputFile.newOutputStream(work.archiveEntry)) {
+                        stream.write(work.data);
+                    }
+                }
+
+                if (++counter == 20) {
+                    eventDispatcher.triggerEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, counter, this));
+                    counter = 0;
+                }
+            } catch (IOException e) {
+                log.error("Failed to write texture file '" +
+                        (work.file != null ? work.file.toString() : work.archiveEntry) + "'.", e);
+            } finally {
+                buffer.release(work.size);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            if (counter > 0) {
+                eventDispatcher.triggerEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, counter, this));
+            }
+        }
+    }
+
+    private static final class TextureFile {
+        private final byte[] data;
+        private final int size;
+        private final Path file;
+        private final String archiveEntry;
+
+        private TextureFile(byte[] data, int size, Path file, String archiveEntry) {
+            this.data = data;
+            this.size = size;
+            this.file = file;
+            this.archiveEntry = archiveEntry;
+        }
+    }
+}
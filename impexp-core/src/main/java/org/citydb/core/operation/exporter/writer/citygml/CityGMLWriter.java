@@ -34,6 +34,7 @@ import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.EventType;
 import org.citydb.core.operation.exporter.util.Metadata;
+import org.citydb.core.util.MarshallerPool;
 import org.citydb.core.operation.exporter.writer.FeatureWriteException;
 import org.citydb.core.operation.exporter.writer.FeatureWriter;
 import org.citydb.core.registry.ObjectRegistry;
@@ -76,6 +77,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 	private final SAXWriter saxWriter;
 	private final CityGMLBuilder cityGMLBuilder;
 	private final JAXBMarshaller jaxbMarshaller;
+	private final MarshallerPool marshallerPool;
 	private final CityGMLVersion version;
 	private final TransformerChainFactory transformerChainFactory;
 	private final boolean useSequentialWriting;
@@ -94,6 +96,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 
 		cityGMLBuilder = ObjectRegistry.getInstance().getCityGMLBuilder();
 		jaxbMarshaller = cityGMLBuilder.createJAXBMarshaller(version);
+		marshallerPool = new MarshallerPool(cityGMLBuilder.getJAXBContext());
 
 		eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
 		eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
@@ -156,7 +159,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 		try {
 			JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(member);
 			if (jaxbElement != null) {
-				Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+				Marshaller marshaller = marshallerPool.getMarshaller();
 				marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
 
 				if (transformerChainFactory == null)
@@ -248,7 +251,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 
 			JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(cityModel);
 			if (jaxbElement != null) {
-				Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+				Marshaller marshaller = marshallerPool.getMarshaller();
 
 				if (transformerChainFactory == null)
 					marshaller.marshal(jaxbElement, fragmentWriter);
@@ -37,9 +37,11 @@ import org.citydb.core.operation.importer.CityGMLImportException;
 import org.citydb.core.operation.importer.database.content.CityGMLImportManager;
 import org.citydb.core.operation.importer.filter.CityGMLFilter;
 import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.importer.util.ImportCheckpointFile;
 import org.citydb.core.operation.importer.util.ImportLogger;
 import org.citydb.core.operation.importer.util.ImportLogger.ImportLogEntry;
 import org.citydb.core.operation.importer.util.InternalConfig;
+import org.citydb.core.operation.importer.util.XlinkCheckpoint;
 import org.citydb.core.plugin.PluginException;
 import org.citydb.core.plugin.PluginManager;
 import org.citydb.core.plugin.extension.importer.FeatureImportExtension;
@@ -60,6 +62,7 @@ import org.citygml4j.util.bbox.BoundingBoxOptions;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -72,6 +75,8 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 	private final boolean isManagedTransaction;
 	private final CityGMLFilter filter;
 	private final ImportLogger importLogger;
+	private final InternalConfig internalConfig;
+	private final ImportCheckpointFile checkpointFile;
 	private final EventDispatcher eventDispatcher;
 
 	private final BoundingBoxOptions bboxOptions;
@@ -81,6 +86,9 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 	private int globalAppearanceCounter = 0;
 	private int topLevelFeatureCounter = 0;
 	private int commitAfter;
+	private List<String> checkpointIds;
+	private int checkpointFeatures;
+	private XlinkCheckpoint xlinkCheckpoint;
 
 	public DBImportWorker(Connection connection,
 			boolean isManagedTransaction,
@@ -99,8 +107,11 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 		this.isManagedTransaction = isManagedTransaction;
 		this.filter = filter;
 		this.importLogger = importLogger;
+		this.internalConfig = internalConfig;
 		this.eventDispatcher = eventDispatcher;
 
+		// checkpoints are only meaningful if the worker commits its own transactions
+		checkpointFile = !isManagedTransaction ? internalConfig.getCheckpointFile() : null;
 		importer = new CityGMLImportManager(connection,
 				databaseAdapter,
 				schemaMapping,
@@ -111,6 +122,12 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 				internalConfig,
 				config);
 
+		if (checkpointFile != null) {
+			checkpointIds = new ArrayList<>();
+			xlinkCheckpoint = new XlinkCheckpoint();
+			importer.setXlinkCheckpoint(xlinkCheckpoint);
+		}
+
 		commitAfter = config.getDatabaseConfig().getImportBatching().getFeatureBatchSize();
 		if (commitAfter > databaseAdapter.getMaxBatchSize()) {
 			commitAfter = databaseAdapter.getMaxBatchSize();
@@ -200,6 +217,12 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 			if (work instanceof AbstractFeature) {
 				AbstractFeature feature = (AbstractFeature) work;
 
+				// skip features committed by a previous, interrupted import
+				String gmlId = feature.getId();
+				if (internalConfig.isCommittedFeature(gmlId)) {
+					return;
+				}
+
 				// invoke import plugins
 				if (!plugins.isEmpty()) {
 					for (FeatureImportExtension plugin : plugins) {
@@ -236,6 +259,13 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 					}
 				}
 
+				if (id != 0 && checkpointFile != null) {
+					checkpointFeatures++;
+					if (gmlId != null) {
+						checkpointIds.add(gmlId);
+					}
+				}
+
 				if (id == 0) {
 					importer.logOrThrowErrorMessage("Failed to import object " + importer.getObjectSignature(feature) + ".");
 				} else if (globalAppearanceCounter + topLevelFeatureCounter == commitAfter) {
@@ -287,6 +317,14 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 				importLogger.write(entry);
 			}
 		}
+
+		// record committed features
+		if (checkpointFile != null) {
+			checkpointFile.commit(checkpointIds, checkpointFeatures, xlinkCheckpoint);
+			checkpointIds.clear();
+			checkpointFeatures = 0;
+			xlinkCheckpoint.clear();
+		}
 	}
 
 	@Override
@@ -33,6 +33,7 @@ import org.citydb.config.i18n.Language;
 import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.global.CacheMode;
 import org.citydb.config.project.importer.ImportList;
+import org.citydb.config.project.importer.Index;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.AbstractUtilAdapter;
 import org.citydb.core.database.adapter.IndexStatusInfo;
@@ -49,6 +50,7 @@ import org.citydb.core.operation.common.cache.CacheTable;
 import org.citydb.core.operation.common.cache.CacheTableManager;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.cache.KeyValueIdCache;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.csv.IdListException;
 import org.citydb.core.operation.common.csv.IdListImporter;
@@ -69,6 +71,7 @@ import org.citydb.core.operation.importer.reader.FeatureReadException;
 import org.citydb.core.operation.importer.reader.FeatureReader;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactory;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactoryBuilder;
+import org.citydb.core.operation.importer.util.ImportCheckpointFile;
 import org.citydb.core.operation.importer.util.ImportLogger;
 import org.citydb.core.operation.importer.util.InternalConfig;
 import org.citydb.core.plugin.PluginException;
@@ -91,6 +94,7 @@ import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.gml.GMLClass;
 
 import java.io.IOException;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
@@ -99,9 +103,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Importer implements EventHandler {
+    private static final String CHECKPOINT_DIR = "import-checkpoint";
+
     private final Logger log = Logger.getInstance();
     private final CityGMLBuilder cityGMLBuilder;
     private final AbstractDatabaseAdapter databaseAdapter;
@@ -118,6 +125,8 @@ public class Importer implements EventHandler {
     private CityGMLImportException exception;
     private DirectoryScanner directoryScanner;
     private ImportLogger importLogger;
+    private ImportCheckpointFile checkpointFile;
+    private boolean resume;
     private CacheTableManager cacheTableManager;
     private CacheTable importListCacheTable;
 
@@ -134,10 +143,16 @@ public class Importer implements EventHandler {
     }
 
     public boolean doImport(List<Path> inputFiles) throws CityGMLImportException {
+        return doImport(inputFiles, false);
+    }
+
+    public boolean doImport(List<Path> inputFiles, boolean resume) throws CityGMLImportException {
         if (inputFiles == null || inputFiles.isEmpty()) {
             throw new CityGMLImportException("No input file(s) provided.");
         }
 
+        this.resume = resume;
+
         eventDispatcher.addEventHandler(EventType.OBJECT_COUNTER, this);
         eventDispatcher.addEventHandler(EventType.GEOMETRY_COUNTER, this);
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
@@ -168,6 +183,14 @@ public class Importer implements EventHandler {
                 }
             }
 
+            if (checkpointFile != null) {
+                try {
+                    checkpointFile.close(success);
+                } catch (IOException e) {
+                    log.error("Failed to close the import checkpoint file.", e);
+                }
+            }
+
             if (cacheTableManager != null) {
                 try {
                     log.debug("Closing temporary cache.");
@@ -244,6 +267,26 @@ public class Importer implements EventHandler {
             }
         }
 
+        // create import checkpoint file
+        checkpointFile = null;
+        if (resume || config.getImportConfig().getCheckpoint().isSetWriteCheckpoints()) {
+            try {
+                Path checkpointDir;
+                if (config.getImportConfig().getCheckpoint().isSetCheckpointDir()) {
+                    checkpointDir = Paths.get(config.getImportConfig().getCheckpoint().getCheckpointDir());
+                } else if (config.getGlobalConfig().getCache().isSetLocalCachePath()) {
+                    checkpointDir = Paths.get(config.getGlobalConfig().getCache().getLocalCachePath()).resolve(CHECKPOINT_DIR);
+                } else {
+                    checkpointDir = CoreConstants.IMPEXP_DATA_DIR.resolve(CHECKPOINT_DIR);
+                }
+
+                checkpointFile = ImportCheckpointFile.open(checkpointDir.toAbsolutePath(), resume);
+                log.info("Writing import checkpoints to " + checkpointFile.getCheckpointDir() + ".");
+            } catch (IOException | InvalidPathException e) {
+                throw new CityGMLImportException("Failed to create import checkpoint file.", e);
+            }
+        }
+
         // initialize import plugins
         for (FeatureImportExtension plugin : pluginManager.getEnabledExternalPlugins(FeatureImportExtension.class)) {
             try {
@@ -347,13 +390,19 @@ public class Importer implements EventHandler {
             	break;
 			}
 
+            // skip files that have been completely imported by a previous run
+            if (resume && checkpointFile.isFinished(getContentFile(files.get(fileCounter)))) {
+                log.info("Skipping already imported file: " + getContentFile(files.get(fileCounter++)) + ".");
+                eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles, this));
+                continue;
+            }
+
             InternalConfig internalConfig = new InternalConfig();
 
             try (InputFile file = files.get(fileCounter++)) {
                 internalConfig.setInputFile(file);
-                Path contentFile = file.getType() != FileType.ARCHIVE ?
-                        file.getFile() :
-						Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
+                file.setReadAhead(config.getImportConfig().getGeneralOptions().isDecompressInBackground());
+                Path contentFile = getContentFile(file);
 
                 eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString(), this));
                 eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.cityObj.msg"), this));
@@ -365,6 +414,21 @@ public class Importer implements EventHandler {
                     importLogger.setInputFile(contentFile);
                 }
 
+                // update import checkpoints
+                boolean isResumed = false;
+                if (checkpointFile != null) {
+                    try {
+                        if (resume) {
+                            isResumed = resumeFile(contentFile, internalConfig);
+                        }
+
+                        checkpointFile.startFile(contentFile);
+                        internalConfig.setCheckpointFile(checkpointFile);
+                    } catch (IOException e) {
+                        throw new CityGMLImportException("Failed to update import checkpoint file.", e);
+                    }
+                }
+
                 // set metadata
                 internalConfig.setMetadata(config.getImportConfig().getContinuation());
 
@@ -391,18 +455,22 @@ public class Importer implements EventHandler {
                 try {
                     idCacheManager.initCache(
                             IdCacheType.GEOMETRY,
-                            new GeometryGmlIdCache(cacheTableManager,
-                                    config.getImportConfig().getResources().getIdCache().getGeometry().getPartitions(),
-                                    lookupCacheBatchSize),
+                            cacheTableManager.hasKeyValueStore() ?
+                                    new KeyValueIdCache(cacheTableManager, CacheTableModel.GEOMETRY_GMLID, "geometry", false) :
+                                    new GeometryGmlIdCache(cacheTableManager,
+                                            config.getImportConfig().getResources().getIdCache().getGeometry().getPartitions(),
+                                            lookupCacheBatchSize),
                             config.getImportConfig().getResources().getIdCache().getGeometry().getCacheSize(),
                             config.getImportConfig().getResources().getIdCache().getGeometry().getPageFactor(),
                             maxThreads);
 
                     idCacheManager.initCache(
                             IdCacheType.OBJECT,
-                            new ObjectGmlIdCache(cacheTableManager,
-                                    config.getImportConfig().getResources().getIdCache().getFeature().getPartitions(),
-                                    lookupCacheBatchSize),
+                            cacheTableManager.hasKeyValueStore() ?
+                                    new KeyValueIdCache(cacheTableManager, CacheTableModel.OBJECT_GMLID, "object", false) :
+                                    new ObjectGmlIdCache(cacheTableManager,
+                                            config.getImportConfig().getResources().getIdCache().getFeature().getPartitions(),
+                                            lookupCacheBatchSize),
                             config.getImportConfig().getResources().getIdCache().getFeature().getCacheSize(),
                             config.getImportConfig().getResources().getIdCache().getFeature().getPageFactor(),
                             maxThreads);
@@ -411,9 +479,11 @@ public class Importer implements EventHandler {
                             config.getImportConfig().getAppearances().isSetImportTextureFiles()) {
                         idCacheManager.initCache(
                                 IdCacheType.TEXTURE_IMAGE,
-                                new TextureImageCache(cacheTableManager,
-                                        config.getImportConfig().getResources().getTexImageCache().getPartitions(),
-                                        lookupCacheBatchSize),
+                                cacheTableManager.hasKeyValueStore() ?
+                                        new KeyValueIdCache(cacheTableManager, CacheTableModel.TEXTURE_FILE_ID, "texture image", true) :
+                                        new TextureImageCache(cacheTableManager,
+                                                config.getImportConfig().getResources().getTexImageCache().getPartitions(),
+                                                lookupCacheBatchSize),
                                 config.getImportConfig().getResources().getTexImageCache().getCacheSize(),
                                 config.getImportConfig().getResources().getTexImageCache().getPageFactor(),
                                 maxThreads);
@@ -461,6 +531,20 @@ public class Importer implements EventHandler {
                     throw new CityGMLImportException("Failed to start database import worker pool. Check the database connection pool settings.");
                 }
 
+                // re-register the XLinks and gml:ids of the features committed by the interrupted
+                // import so that they are resolved together with the remaining features
+                if (isResumed) {
+                    try {
+                        IdCacheManager cacheManager = idCacheManager;
+                        WorkerPool<DBXlink> xlinkPool = tmpXlinkPool;
+                        long checkpoints = checkpointFile.readXlinkCheckpoints(contentFile,
+                                xlinkCheckpoint -> xlinkCheckpoint.restore(cacheManager, xlinkPool));
+                        log.debug("Restored XLinks and gml:ids from " + checkpoints + " import checkpoint(s).");
+                    } catch (IOException e) {
+                        throw new CityGMLImportException("Failed to restore XLinks from the import checkpoint file.", e);
+                    }
+                }
+
                 FeatureReaderFactory factory;
                 try {
                     factory = builder.buildFactory(file, filter, config);
@@ -536,6 +620,15 @@ public class Importer implements EventHandler {
                     throw new CityGMLImportException("Failed to shutdown worker pools.", e);
                 }
 
+                // mark file as completely imported
+                if (shouldRun && checkpointFile != null) {
+                    try {
+                        checkpointFile.finishFile();
+                    } catch (IOException e) {
+                        throw new CityGMLImportException("Failed to update import checkpoint file.", e);
+                    }
+                }
+
                 eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.finish.msg"), this));
                 eventDispatcher.triggerEvent(new StatusDialogProgressBar(true, this));
             } catch (IOException e) {
@@ -598,6 +691,19 @@ public class Importer implements EventHandler {
             }
         }
 
+        // update LoD availability index for the imported city objects, also
+        // after an aborted import since the committed objects remain in the database
+        if (!objectCounter.isEmpty()) {
+            try {
+                if (databaseAdapter.getUtil().containsLodAvailabilityIndex()) {
+                    log.info("Updating LoD availability index...");
+                    databaseAdapter.getUtil().updateLodAvailabilityIndex(schemaMapping, false);
+                }
+            } catch (SQLException e) {
+                log.warn("Failed to update LoD availability index.", e);
+            }
+        }
+
         // show imported features
         if (!objectCounter.isEmpty()) {
             log.info("Imported city objects:");
@@ -619,13 +725,56 @@ public class Importer implements EventHandler {
         return shouldRun;
     }
 
+    private Path getContentFile(InputFile file) {
+        return file.getType() != FileType.ARCHIVE ?
+                file.getFile() :
+                Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
+    }
+
+    private boolean resumeFile(Path contentFile, InternalConfig internalConfig) throws IOException {
+        // the id file is written on every commit, whereas the feature counter is only
+        // saved periodically. So the id file is the source of truth for committed features
+        Set<String> committedFeatureIds = checkpointFile.getCommittedFeatureIds(contentFile);
+        long committedFeatures = Math.max(checkpointFile.getCommittedFeatures(contentFile), committedFeatureIds.size());
+        if (committedFeatures == 0) {
+            return false;
+        }
+
+        internalConfig.setCommittedFeatureIds(committedFeatureIds);
+        log.info("Resuming import after " + committedFeatures + " committed top-level feature(s).");
+
+        if (committedFeatures > committedFeatureIds.size()) {
+            log.warn((committedFeatures - committedFeatureIds.size()) + " committed top-level feature(s) " +
+                    "lack a gml:id and will be imported again.");
+        }
+
+        return true;
+    }
+
     private void manageIndexes(boolean enable, boolean workOnSpatialIndexes) throws SQLException {
         AbstractUtilAdapter utilAdapter = databaseAdapter.getUtil();
         log.info((enable ? "Activating " : "Deactivating ") + (workOnSpatialIndexes ? "spatial" : "normal") + " indexes...");
 
         IndexStatusInfo indexStatus;
         if (enable) {
-            indexStatus = workOnSpatialIndexes ? utilAdapter.createSpatialIndexes() : utilAdapter.createNormalIndexes();
+            Index indexes = config.getImportConfig().getIndexes();
+            if (utilAdapter.supportsParallelIndexCreation()
+                    && (indexes.getRebuildThreads() > 1 || indexes.isSetMaintenanceWorkMem())) {
+                indexStatus = utilAdapter.createIndexesInParallel(
+                        workOnSpatialIndexes ? IndexType.SPATIAL : IndexType.NORMAL,
+                        indexes.getRebuildThreads(),
+                        indexes.getMaintenanceWorkMem(),
+                        (indexName, current, total, elapsedTime, error) -> {
+                            if (error == null) {
+                                log.info("Created index " + indexName + " (" + current + "/" + total + ") in " +
+                                        Util.formatElapsedTime(elapsedTime) + ".");
+                            } else {
+                                log.error("Failed to create index " + indexName + " (" + current + "/" + total + ").", error);
+                            }
+                        });
+            } else {
+                indexStatus = workOnSpatialIndexes ? utilAdapter.createSpatialIndexes() : utilAdapter.createNormalIndexes();
+            }
         } else {
             indexStatus = workOnSpatialIndexes ? utilAdapter.dropSpatialIndexes() : utilAdapter.dropNormalIndexes();
         }
@@ -61,7 +61,9 @@ import org.citydb.core.operation.importer.util.ExternalFileChecker;
 import org.citydb.core.operation.importer.util.ImportLogger.ImportLogEntry;
 import org.citydb.core.operation.importer.util.InternalConfig;
 import org.citydb.core.operation.importer.util.LocalAppearanceHandler;
+import org.citydb.core.operation.importer.util.XlinkCheckpoint;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.core.util.MarshallerPool;
 import org.citydb.core.util.Util;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.builder.jaxb.marshal.JAXBMarshaller;
@@ -142,6 +144,7 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 	private final SchemaMapping schemaMapping;
 	private final ADEExtensionManager adeManager;
 	private final CityGMLBuilder cityGMLBuilder;
+	private final MarshallerPool marshallerPool;
 	private final WorkerPool<DBXlink> xlinkPool;
 	private final IdCacheManager idCacheManager;
 	private final InternalConfig internalConfig;
@@ -164,6 +167,7 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 	private JAXBMarshaller jaxbMarshaller;
 	private SAXWriter saxWriter;
 	private boolean failOnError = false;
+	private XlinkCheckpoint xlinkCheckpoint;
 
 	public CityGMLImportManager(Connection connection,
 			AbstractDatabaseAdapter databaseAdapter, 
@@ -178,6 +182,7 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 		this.databaseAdapter = databaseAdapter;
 		this.schemaMapping = schemaMapping;
 		this.cityGMLBuilder = cityGMLBuilder;
+		marshallerPool = new MarshallerPool(cityGMLBuilder.getJAXBContext());
 		this.xlinkPool = xlinkPool;
 		this.idCacheManager = idCacheManager;
 		this.internalConfig = internalConfig;
@@ -425,22 +430,22 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
 	@Override
 	public void propagateObjectXlink(String table, long objectId, String xlink, String propertyColumn) {
-		xlinkPool.addWork(new DBXlinkBasic(table, objectId, xlink, propertyColumn));
+		propagateXlink(new DBXlinkBasic(table, objectId, xlink, propertyColumn));
 	}
 
 	@Override
 	public void propagateObjectXlink(String intermediateTable, long objectId, String fromColumn, String xlink, String toColumn) {
-		xlinkPool.addWork(new DBXlinkBasic(intermediateTable, objectId, fromColumn, xlink, toColumn));
+		propagateXlink(new DBXlinkBasic(intermediateTable, objectId, fromColumn, xlink, toColumn));
 	}
 
 	@Override
 	public void propagateReverseObjectXlink(String toTable, String gmlId, long objectId, String propertyColumn) {
-		xlinkPool.addWork(new DBXlinkBasic(toTable, gmlId, objectId, propertyColumn));
+		propagateXlink(new DBXlinkBasic(toTable, gmlId, objectId, propertyColumn));
 	}
 
 	@Override
 	public void propagateSurfaceGeometryXlink(String xlink, String table, long objectId, String propertyColumn) {
-		xlinkPool.addWork(new DBXlinkSurfaceGeometry(table, objectId, xlink, propertyColumn));
+		propagateXlink(new DBXlinkSurfaceGeometry(table, objectId, xlink, propertyColumn));
 	}
 
 	@Override
@@ -561,7 +566,16 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 		return externalFileChecker;
 	}
 
+	public void setXlinkCheckpoint(XlinkCheckpoint xlinkCheckpoint) {
+		this.xlinkCheckpoint = xlinkCheckpoint;
+	}
+
 	public void propagateXlink(DBXlink xlink) {
+		// XLinks are only resolved after the whole file has been imported, so we
+		// keep them for the import checkpoint until the feature is committed
+		if (xlinkCheckpoint != null)
+			xlinkCheckpoint.addXlink(xlink);
+
 		xlinkPool.addWork(xlink);
 	}
 
@@ -617,8 +631,11 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
 	public void putObjectId(String gmlId, long id, String mapping, int objectClassId) {
 		IdCache cache = idCacheManager.getCache(IdCacheType.OBJECT);
-		if (cache != null)
+		if (cache != null) {
 			cache.put(gmlId, id, -1, false, mapping, objectClassId);
+			if (xlinkCheckpoint != null)
+				xlinkCheckpoint.addIdCacheEntry(IdCacheType.OBJECT, gmlId, id, -1, false, mapping, objectClassId);
+		}
 	}
 
 	public void putObjectId(String gmlId, long id, int objectClassId) {
@@ -627,9 +644,13 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
 	protected boolean lookupAndPutObjectId(String gmlId, long id, int objectClassId) {
 		IdCache cache = idCacheManager.getCache(IdCacheType.OBJECT);
-		if (cache != null)
-			return cache.lookupAndPut(gmlId, id, objectClassId);
-		else
+		if (cache != null) {
+			boolean lookup = cache.lookupAndPut(gmlId, id, objectClassId);
+			if (!lookup && xlinkCheckpoint != null)
+				xlinkCheckpoint.addIdCacheEntry(IdCacheType.OBJECT, gmlId, id, 0, false, null, objectClassId);
+
+			return lookup;
+		} else
 			return false;
 	}
 
@@ -646,8 +667,11 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
 	public void putTextureImageId(String resourceId, long id) {
 		IdCache cache = idCacheManager.getCache(IdCacheType.TEXTURE_IMAGE);
-		if (cache != null)
+		if (cache != null) {
 			cache.put(resourceId, id, -1, false, null, 0);
+			if (xlinkCheckpoint != null)
+				xlinkCheckpoint.addIdCacheEntry(IdCacheType.TEXTURE_IMAGE, resourceId, id, -1, false, null, 0);
+		}
 	}
 
 	public long getTextureImageId(String resourceId) {
@@ -664,8 +688,11 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
 	public void putGeometryId(String gmlId, long id, long rootId, boolean reverse, String mapping) {
 		IdCache cache = idCacheManager.getCache(IdCacheType.GEOMETRY);
-		if (cache != null)
+		if (cache != null) {
 			cache.put(gmlId, id, rootId, reverse, mapping, 0);
+			if (xlinkCheckpoint != null)
+				xlinkCheckpoint.addIdCacheEntry(IdCacheType.GEOMETRY, gmlId, id, rootId, reverse, mapping, 0);
+		}
 	}
 
 	public long getGeometryIdFromMemory(String gmlId) {
@@ -712,7 +739,7 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 			saxWriter.setOutput(out);
 			saxWriter.setNamespaceContext(ctx);
 
-			Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+			Marshaller marshaller = marshallerPool.getMarshaller();
 			JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(object);
 			if (jaxbElement != null)
 				marshaller.marshal(jaxbElement, saxWriter);
@@ -82,7 +82,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class DBSurfaceGeometry implements DBImporter {
     private final Connection batchConn;
@@ -101,11 +105,14 @@ public class DBSurfaceGeometry implements DBImporter {
 	private final int nullGeometryType;
 	private final String nullGeometryTypeName;
 	private final int isXlinkValue;
+	private final int parallelGeometryThreshold;
+	private final boolean prepareDatabaseObjects;
 
 	private int dbSrid;
     private boolean applyTransformation;
     private boolean isImplicit;
     private int batchCounter;
+    private Map<AbstractRing, PreparedPolygon> preparedPolygons;
 
     public DBSurfaceGeometry(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
         this.batchConn = batchConn;
@@ -117,6 +124,8 @@ public class DBSurfaceGeometry implements DBImporter {
         applyTransformation = config.getImportConfig().getAffineTransformation().isEnabled();
         nullGeometryType = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryType();
         nullGeometryTypeName = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryTypeName();
+        parallelGeometryThreshold = config.getImportConfig().getResources().getParallelGeometryThreshold();
+        prepareDatabaseObjects = !importer.getDatabaseAdapter().getGeometryConverter().requiresConnectionForDatabaseObject();
         String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         isXlinkValue = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 1, 0) >= 0 ?
@@ -169,9 +178,14 @@ public class DBSurfaceGeometry implements DBImporter {
             if (geometry.isSetId())
                 geometry.setLocalProperty(CoreConstants.OBJECT_ORIGINAL_GMLID, geometry.getId());
 
+            // convert the polygons of very large geometries on helper threads upfront
+            if (parallelGeometryThreshold > 0 && ids.count >= parallelGeometryThreshold)
+                preparePolygons(geometry);
+
             return doImport(geometry, id, 0, id, false, false, false, cityObjectId);
         } finally {
             ids.clear();
+            preparedPolygons = null;
         }
     }
 
@@ -239,17 +253,16 @@ public class DBSurfaceGeometry implements DBImporter {
             Polygon polygon = (Polygon) geometry;
 
             if (polygon.isSetExterior()) {
-                List<List<Double>> pointList = new ArrayList<>();
                 AbstractRing exterior = polygon.getExterior().getRing();
                 if (exterior != null) {
-                    List<Double> points = exterior.toList3d(reverse);
-                    if (!ringValidator.validate(points, exterior))
-                        return 0;
+                    List<AbstractRingProperty> interiors = polygon.isSetInterior() ? polygon.getInterior() : null;
+                    PreparedPolygon prepared = !reverse ? getPreparedPolygon(exterior, interiors) : null;
+                    if (prepared == null)
+                        prepared = preparePolygon(exterior, interiors, reverse, false);
 
-                    if (applyTransformation)
-                        importer.getAffineTransformer().transformCoordinates(points);
+                    if (prepared.geometryObject == null)
+                        return 0;
 
-                    pointList.add(points);
                     int ringNo = 0;
                     importer.updateGeometryCounter(GMLClass.LINEAR_RING);
 
@@ -264,38 +277,28 @@ public class DBSurfaceGeometry implements DBImporter {
                         importer.propagateXlink(new DBXlinkLinearRing(exterior.getId(), id, ringNo, reverse));
                     }
 
-                    if (polygon.isSetInterior()) {
-                        for (AbstractRingProperty property : polygon.getInterior()) {
-                            AbstractRing interior = property.getRing();
-                            if (interior != null) {
-                                List<Double> interiorPoints = interior.toList3d(reverse);
-                                if (!ringValidator.validate(interiorPoints, interior))
-                                    continue;
+                    if (interiors != null) {
+                        for (int i = 0; i < interiors.size(); i++) {
+                            if (!prepared.validInteriors[i])
+                                continue;
 
-                                if (applyTransformation)
-                                    importer.getAffineTransformer().transformCoordinates(interiorPoints);
+                            AbstractRing interior = interiors.get(i).getRing();
+                            importer.updateGeometryCounter(GMLClass.LINEAR_RING);
 
-                                pointList.add(interiorPoints);
-                                importer.updateGeometryCounter(GMLClass.LINEAR_RING);
+                            // also remember the gml:id of interior rings
+                            if (importAppearance && !isCopy && interior.isSetId()) {
+                                if (localAppearanceHandler != null && localAppearanceHandler.hasParameterizedTextures())
+                                    localAppearanceHandler.registerLinearRing(interior.getId(), id, reverse);
 
-                                // also remember the gml:id of interior rings
-                                if (importAppearance && !isCopy && interior.isSetId()) {
-                                    if (localAppearanceHandler != null && localAppearanceHandler.hasParameterizedTextures())
-                                        localAppearanceHandler.registerLinearRing(interior.getId(), id, reverse);
-
-                                    // the ring could also be the target of a global appearance
-                                    importer.propagateXlink(new DBXlinkLinearRing(interior.getId(), id, ++ringNo, reverse));
-                                }
+                                // the ring could also be the target of a global appearance
+                                importer.propagateXlink(new DBXlinkLinearRing(interior.getId(), id, ++ringNo, reverse));
                             }
                         }
                     }
 
-                    double[][] coordinates = new double[pointList.size()][];
-                    for (int i = 0; i < pointList.size(); i++)
-						coordinates[i] = pointList.get(i).stream().mapToDouble(Double::doubleValue).toArray();
-
-                    GeometryObject geometryObject = GeometryObject.createPolygon(coordinates, 3, dbSrid);
-                    Object object = importer.getDatabaseAdapter().getGeometryConverter().getDatabaseObject(geometryObject, batchConn);
+                    Object object = prepared.object != null ?
+                            prepared.object :
+                            importer.getDatabaseAdapter().getGeometryConverter().getDatabaseObject(prepared.geometryObject, batchConn);
 
                     if (origGmlId != null && !isCopy)
                         importer.putGeometryId(origGmlId, id, rootId, reverse, gmlId);
@@ -950,6 +953,97 @@ public class DBSurfaceGeometry implements DBImporter {
         return id;
     }
 
+    private PreparedPolygon preparePolygon(AbstractRing exterior, List<AbstractRingProperty> interiors, boolean reverse, boolean createDatabaseObject) throws SQLException {
+        PreparedPolygon prepared = new PreparedPolygon(interiors);
+
+        List<Double> points = exterior.toList3d(reverse);
+        if (!ringValidator.validate(points, exterior))
+            return prepared;
+
+        if (applyTransformation)
+            importer.getAffineTransformer().transformCoordinates(points);
+
+        List<List<Double>> pointList = new ArrayList<>();
+        pointList.add(points);
+
+        if (interiors != null) {
+            for (int i = 0; i < interiors.size(); i++) {
+                AbstractRing interior = interiors.get(i).getRing();
+                if (interior != null) {
+                    List<Double> interiorPoints = interior.toList3d(reverse);
+                    if (!ringValidator.validate(interiorPoints, interior))
+                        continue;
+
+                    if (applyTransformation)
+                        importer.getAffineTransformer().transformCoordinates(interiorPoints);
+
+                    pointList.add(interiorPoints);
+                    prepared.validInteriors[i] = true;
+                }
+            }
+        }
+
+        double[][] coordinates = new double[pointList.size()][];
+        for (int i = 0; i < pointList.size(); i++)
+            coordinates[i] = pointList.get(i).stream().mapToDouble(Double::doubleValue).toArray();
+
+        prepared.geometryObject = GeometryObject.createPolygon(coordinates, 3, dbSrid);
+        if (createDatabaseObject)
+            prepared.object = importer.getDatabaseAdapter().getGeometryConverter().getDatabaseObject(prepared.geometryObject, null);
+
+        return prepared;
+    }
+
+    private PreparedPolygon getPreparedPolygon(AbstractRing exterior, List<AbstractRingProperty> interiors) {
+        if (preparedPolygons != null) {
+            PreparedPolygon prepared = preparedPolygons.get(exterior);
+            if (prepared != null && prepared.isPreparedFor(interiors))
+                return prepared;
+        }
+
+        return null;
+    }
+
+    private void preparePolygons(AbstractGeometry geometry) {
+        List<PolygonTask> tasks = new ArrayList<>();
+        geometry.accept(new GeometryWalker() {
+            @Override
+            public void visit(AbstractGeometry geometry) {
+                if (geometry instanceof Polygon) {
+                    Polygon polygon = (Polygon) geometry;
+                    if (polygon.isSetExterior())
+                        addTask(polygon.getExterior(), polygon.isSetInterior() ? polygon.getInterior() : null);
+                }
+            }
+
+            @Override
+            public void visit(AbstractSurfacePatch surfacePatch) {
+                if (surfacePatch instanceof Triangle)
+                    addTask(((Triangle) surfacePatch).getExterior(), null);
+                else if (surfacePatch instanceof Rectangle)
+                    addTask(((Rectangle) surfacePatch).getExterior(), null);
+                else if (surfacePatch instanceof PolygonPatch) {
+                    PolygonPatch polygonPatch = (PolygonPatch) surfacePatch;
+                    addTask(polygonPatch.getExterior(), polygonPatch.isSetInterior() ? polygonPatch.getInterior() : null);
+                }
+            }
+
+            private void addTask(AbstractRingProperty exterior, List<AbstractRingProperty> interiors) {
+                if (exterior != null && exterior.getRing() != null)
+                    tasks.add(new PolygonTask(exterior.getRing(), interiors));
+            }
+        });
+
+        ForkJoinPool.commonPool().invoke(new PolygonPreparer(tasks, 0, tasks.size()));
+
+        // polygons that failed to convert are handled again on the worker thread
+        preparedPolygons = new IdentityHashMap<>(tasks.size());
+        for (PolygonTask task : tasks) {
+            if (task.prepared != null)
+                preparedPolygons.put(task.exterior, task.prepared);
+        }
+    }
+
     private void addBatch() throws CityGMLImportException, SQLException {
         psGeomElem.addBatch();
         if (++batchCounter == importer.getDatabaseAdapter().getMaxBatchSize())
@@ -970,6 +1064,72 @@ public class DBSurfaceGeometry implements DBImporter {
         psNextSeqValues.close();
     }
 
+    private static class PreparedPolygon {
+        private final List<AbstractRingProperty> interiors;
+        private final boolean[] validInteriors;
+        private GeometryObject geometryObject;
+        private Object object;
+
+        PreparedPolygon(List<AbstractRingProperty> interiors) {
+            this.interiors = interiors;
+            validInteriors = new boolean[interiors != null ? interiors.size() : 0];
+        }
+
+        boolean isPreparedFor(List<AbstractRingProperty> interiors) {
+            int size = interiors != null ? interiors.size() : 0;
+            if (size != validInteriors.length)
+                return false;
+
+            for (int i = 0; i < size; i++) {
+                if (this.interiors.get(i) != interiors.get(i))
+                    return false;
+            }
+
+            return true;
+        }
+    }
+
+    private static class PolygonTask {
+        private final AbstractRing exterior;
+        private final List<AbstractRingProperty> interiors;
+        private PreparedPolygon prepared;
+
+        PolygonTask(AbstractRing exterior, List<AbstractRingProperty> interiors) {
+            this.exterior = exterior;
+            this.interiors = interiors;
+        }
+    }
+
+    private class PolygonPreparer extends RecursiveAction {
+        private static final int THRESHOLD = 256;
+        private final List<PolygonTask> tasks;
+        private final int from;
+        private final int to;
+
+        PolygonPreparer(List<PolygonTask> tasks, int from, int to) {
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PolygonPreparer(tasks, from, middle), new PolygonPreparer(tasks, middle, to));
+            } else {
+                for (int i = from; i < to; i++) {
+                    PolygonTask task = tasks.get(i);
+                    try {
+                        task.prepared = preparePolygon(task.exterior, task.interiors, false, prepareDatabaseObjects);
+                    } catch (Exception e) {
+                        task.prepared = null;
+                    }
+                }
+            }
+        }
+    }
+
     private class IdManager extends GeometryWalker {
         private long[] ids;
         private int count;
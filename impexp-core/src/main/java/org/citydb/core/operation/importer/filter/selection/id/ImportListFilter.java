@@ -4,16 +4,24 @@ import org.citydb.config.project.importer.ImportList;
 import org.citydb.config.project.importer.ImportListMode;
 import org.citydb.core.operation.common.cache.CacheTable;
 import org.citydb.core.query.filter.FilterException;
+import org.citydb.core.util.BloomFilter;
 import org.citygml4j.model.gml.feature.AbstractFeature;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
 
 public class ImportListFilter {
+    public static final int MAX_IN_MEMORY_SIZE = 1000000;
+
     private final CacheTable importListCacheTable;
     private final ImportListMode mode;
 
+    private String[] ids;
+    private BloomFilter bloomFilter;
+
     public ImportListFilter(ImportList importList, CacheTable importListCacheTable) throws FilterException {
         if (importList == null) {
             throw new FilterException("Import list config must not be null.");
@@ -21,21 +29,74 @@ public class ImportListFilter {
 
         this.importListCacheTable = importListCacheTable;
         mode = importList.getMode();
+
+        if (importListCacheTable != null) {
+            try {
+                loadImportList();
+            } catch (SQLException e) {
+                throw new FilterException("Failed to load import list from cache.", e);
+            }
+        }
     }
 
     public boolean isSatisfiedBy(AbstractFeature feature) throws FilterException {
         if (feature.isSetId()) {
-            try (PreparedStatement ps = importListCacheTable.getConnection().prepareStatement("select 1 from " +
-                    importListCacheTable.getTableName() + " where gmlid = ?")) {
-                ps.setString(1, feature.getId());
-                try (ResultSet rs = ps.executeQuery()) {
-                    return (mode == ImportListMode.IMPORT) == rs.next();
-                }
-            } catch (SQLException e) {
-                throw new FilterException("Failed to query import list.", e);
-            }
+            return (mode == ImportListMode.IMPORT) == contains(feature.getId());
         }
 
         return true;
     }
+
+    private boolean contains(String id) throws FilterException {
+        if (ids != null) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        } else if (bloomFilter != null && !bloomFilter.mightContain(id)) {
+            return false;
+        }
+
+        try (PreparedStatement ps = importListCacheTable.getConnection().prepareStatement("select 1 from " +
+                importListCacheTable.getTableName() + " where gmlid = ?")) {
+            ps.setString(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new FilterException("Failed to query import list.", e);
+        }
+    }
+
+    private void loadImportList() throws SQLException {
+        try (Statement stmt = importListCacheTable.getConnection().createStatement()) {
+            long size;
+            try (ResultSet rs = stmt.executeQuery("select count(*) from " + importListCacheTable.getTableName())) {
+                size = rs.next() ? rs.getLong(1) : 0;
+            }
+
+            try (ResultSet rs = stmt.executeQuery("select gmlid from " + importListCacheTable.getTableName())) {
+                if (size <= MAX_IN_MEMORY_SIZE) {
+                    // small import lists are kept in memory as sorted array
+                    String[] ids = new String[(int) size];
+                    int i = 0;
+                    while (rs.next() && i < ids.length) {
+                        String id = rs.getString(1);
+                        if (id != null) {
+                            ids[i++] = id;
+                        }
+                    }
+
+                    this.ids = i < ids.length ? Arrays.copyOf(ids, i) : ids;
+                    Arrays.sort(this.ids);
+                } else {
+                    // large import lists are guarded by a bloom filter in front of the cache table
+                    bloomFilter = new BloomFilter(size);
+                    while (rs.next()) {
+                        String id = rs.getString(1);
+                        if (id != null) {
+                            bloomFilter.add(id);
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
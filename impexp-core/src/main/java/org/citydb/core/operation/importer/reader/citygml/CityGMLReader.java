@@ -35,12 +35,14 @@ import org.citydb.util.event.Event;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.EventType;
+import org.citydb.core.file.FileType;
 import org.citydb.core.file.InputFile;
 import org.citydb.core.operation.importer.concurrent.FeatureReaderWorkerFactory;
 import org.citydb.core.operation.importer.filter.selection.counter.CounterFilter;
 import org.citydb.core.operation.importer.reader.FeatureReadException;
 import org.citydb.core.operation.importer.reader.FeatureReader;
 import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.util.log.Logger;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.citygml.CityGMLClass;
 import org.citygml4j.xml.io.CityGMLInputFactory;
@@ -50,8 +52,22 @@ import org.citygml4j.xml.io.reader.XMLChunk;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 
 public class CityGMLReader implements FeatureReader, EventHandler {
+    private static final long MIN_RANGE_SIZE = 16 * 1024 * 1024;
+    private static final MemberBoundaryScanner.Range END_OF_RANGES = new MemberBoundaryScanner.Range(-1, -1);
+
+    private final Logger log = Logger.getInstance();
     private final CityGMLInputFilter typeFilter;
     private final CounterFilter counterFilter;
     private final ValidationErrorHandler validationHandler;
@@ -87,7 +103,8 @@ public class CityGMLReader implements FeatureReader, EventHandler {
             validationHandler.reset();
 
         WorkerPool<XMLChunk> featureWorkerPool = null;
-        org.citygml4j.xml.io.reader.CityGMLReader reader;
+        Queue<org.citygml4j.xml.io.reader.CityGMLReader> readers = new ConcurrentLinkedQueue<>();
+        MemberBoundaryScanner scanner = null;
 
         try {
             // this worker pool unmarshals feature chunks and passes them to the database worker pool
@@ -102,29 +119,13 @@ public class CityGMLReader implements FeatureReader, EventHandler {
 
             featureWorkerPool.prestartCoreWorkers();
 
-            try {
-                reader = factory.createFilteredCityGMLReader(
-                        createCityGMLReader(inputFile.getFile().toString(), inputFile.openStream()), typeFilter);
-
-                while (shouldRun && reader.hasNext()) {
-                    XMLChunk chunk = reader.nextChunk();
-                    CityGMLClass type = chunk.getCityGMLClass();
-
-                    if (counterFilter != null && type != CityGMLClass.APPEARANCE) {
-                        if (!counterFilter.isStartIndexSatisfied()) {
-                            counterFilter.incrementStartIndex();
-                            continue;
-                        }
-
-                        counterFilter.incrementCount();
-                        if (!counterFilter.isCountSatisfied())
-                            continue;
-                    }
+            if (isParallelChunkingEnabled(inputFile))
+                scanner = openScanner(inputFile);
 
-                    featureWorkerPool.addWork(chunk);
-                }
-            } catch (CityGMLReadException | IOException e) {
-                throw new FeatureReadException("Failed to read CityGML input file.", e);
+            if (scanner != null) {
+                readInParallel(inputFile, scanner, featureWorkerPool, readers);
+            } else {
+                read(inputFile.getFile().toString(), inputFile.openStream(), featureWorkerPool, readers);
             }
 
             try {
@@ -133,15 +134,28 @@ public class CityGMLReader implements FeatureReader, EventHandler {
                 throw new FeatureReadException("Failed to shutdown CityGML feature reader pool.", e);
             }
 
-            try {
-                reader.close();
-            } catch (CityGMLReadException e) {
-                throw new FeatureReadException("Failed to close CityGML reader.", e);
-            }
+            // the readers and the scanner are only closed after all chunks have been processed
+            closeReaders(readers);
+        } catch (IOException e) {
+            throw new FeatureReadException("Failed to read CityGML input file.", e);
         } finally {
             if (featureWorkerPool != null && !featureWorkerPool.isTerminated()) {
                 featureWorkerPool.shutdownNow();
             }
+
+            try {
+                closeReaders(readers);
+            } catch (FeatureReadException e) {
+                //
+            }
+
+            if (scanner != null) {
+                try {
+                    scanner.close();
+                } catch (IOException e) {
+                    //
+                }
+            }
         }
     }
 
@@ -155,6 +169,132 @@ public class CityGMLReader implements FeatureReader, EventHandler {
         shouldRun = false;
     }
 
+    private void read(String systemId, InputStream stream, WorkerPool<XMLChunk> featureWorkerPool, Queue<org.citygml4j.xml.io.reader.CityGMLReader> readers) throws FeatureReadException {
+        try {
+            org.citygml4j.xml.io.reader.CityGMLReader reader = factory.createFilteredCityGMLReader(
+                    createCityGMLReader(systemId, stream), typeFilter);
+            readers.add(reader);
+
+            while (shouldRun && reader.hasNext()) {
+                XMLChunk chunk = reader.nextChunk();
+                CityGMLClass type = chunk.getCityGMLClass();
+
+                if (counterFilter != null && type != CityGMLClass.APPEARANCE) {
+                    if (!counterFilter.isStartIndexSatisfied()) {
+                        counterFilter.incrementStartIndex();
+                        continue;
+                    }
+
+                    counterFilter.incrementCount();
+                    if (!counterFilter.isCountSatisfied())
+                        continue;
+                }
+
+                featureWorkerPool.addWork(chunk);
+            }
+        } catch (CityGMLReadException e) {
+            throw new FeatureReadException("Failed to read CityGML input file.", e);
+        }
+    }
+
+    private MemberBoundaryScanner openScanner(InputFile inputFile) throws IOException {
+        MemberBoundaryScanner scanner = new MemberBoundaryScanner(inputFile.getFile());
+        if (!scanner.readHeader()) {
+            log.debug("Failed to split input file into byte ranges. Falling back to sequential reading.");
+            scanner.close();
+            return null;
+        }
+
+        return scanner;
+    }
+
+    private void readInParallel(InputFile inputFile, MemberBoundaryScanner scanner, WorkerPool<XMLChunk> featureWorkerPool, Queue<org.citygml4j.xml.io.reader.CityGMLReader> readers) throws FeatureReadException {
+        int threads = Math.max(2, Math.min(maxThreads, Runtime.getRuntime().availableProcessors()) / 2);
+        long targetRangeSize = Math.max(MIN_RANGE_SIZE, inputFile.getFile().toFile().length() / (threads * 4L));
+        log.debug("Reading byte ranges of the input file using " + threads + " threads.");
+
+        // ranges are passed to the reader threads as soon as the scanner has found them. Every
+        // thread creates its own CityGML reader for the next unprocessed byte range
+        String systemId = inputFile.getFile().toString();
+        BlockingQueue<MemberBoundaryScanner.Range> ranges = new LinkedBlockingQueue<>();
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(service.submit(() -> {
+                MemberBoundaryScanner.Range range;
+                while ((range = ranges.take()) != END_OF_RANGES) {
+                    if (shouldRun) {
+                        try {
+                            read(systemId, scanner.openStream(range), featureWorkerPool, readers);
+                        } catch (FeatureReadException | IOException e) {
+                            shouldRun = false;
+                            throw e;
+                        }
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        FeatureReadException exception = null;
+        try {
+            MemberBoundaryScanner.Range range;
+            while (shouldRun && (range = scanner.nextRange(targetRangeSize)) != null)
+                ranges.add(range);
+        } catch (IOException e) {
+            shouldRun = false;
+            exception = new FeatureReadException("Failed to split CityGML input file into byte ranges.", e);
+        }
+
+        for (int i = 0; i < threads; i++)
+            ranges.add(END_OF_RANGES);
+
+        try {
+            for (Future<Void> future : futures)
+                future.get();
+        } catch (ExecutionException e) {
+            shouldRun = false;
+            if (exception == null) {
+                exception = e.getCause() instanceof FeatureReadException ?
+                        (FeatureReadException) e.getCause() :
+                        new FeatureReadException("Failed to read CityGML input file.", e.getCause());
+            }
+        } catch (InterruptedException e) {
+            if (exception == null)
+                exception = new FeatureReadException("Failed to read CityGML input file.", e);
+        } finally {
+            service.shutdownNow();
+        }
+
+        if (exception != null)
+            throw exception;
+    }
+
+    private void closeReaders(Queue<org.citygml4j.xml.io.reader.CityGMLReader> readers) throws FeatureReadException {
+        FeatureReadException exception = null;
+        org.citygml4j.xml.io.reader.CityGMLReader reader;
+        while ((reader = readers.poll()) != null) {
+            try {
+                reader.close();
+            } catch (CityGMLReadException e) {
+                if (exception == null)
+                    exception = new FeatureReadException("Failed to close CityGML reader.", e);
+            }
+        }
+
+        if (exception != null)
+            throw exception;
+    }
+
+    private boolean isParallelChunkingEnabled(InputFile inputFile) {
+        // byte ranges can only be split for uncompressed files and without order-dependent filters
+        return config.getImportConfig().getGeneralOptions().isParallelChunking()
+                && inputFile.getType() == FileType.REGULAR
+                && !config.getImportConfig().getGeneralOptions().isSetFileEncoding()
+                && counterFilter == null;
+    }
+
     private org.citygml4j.xml.io.reader.CityGMLReader createCityGMLReader(String systemId, InputStream stream) throws CityGMLReadException {
         return !config.getImportConfig().getGeneralOptions().isSetFileEncoding() ?
                 factory.createCityGMLReader(systemId, stream) :
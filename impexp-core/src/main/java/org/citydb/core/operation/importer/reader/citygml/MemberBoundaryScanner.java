@@ -0,0 +1,391 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.reader.citygml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Scans a memory-mapped CityGML file for the byte boundaries of the top-level members
+ * of the root element (e.g., cityObjectMember or featureMember) and groups them into
+ * disjoint byte ranges. Every range can be parsed independently by wrapping it with the
+ * prolog and root start tag of the original document so that namespace declarations
+ * and the character encoding stay intact.
+ * <p>
+ * The file is scanned incrementally. After {@link #readHeader()} has succeeded, every
+ * call to {@link #nextRange(long)} returns the next range as soon as it is complete, so
+ * that ranges can be parsed while the rest of the file is still being scanned.
+ * <p>
+ * The scanner only supports single-byte compatible encodings such as UTF-8 or ISO-8859-x.
+ * If the header cannot be scanned, {@link #readHeader()} returns false and the caller
+ * should fall back to sequential reading.
+ */
+class MemberBoundaryScanner implements AutoCloseable {
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] header;
+    private byte[] footer;
+
+    private long pos;
+    private int depth;
+    private long rangeStart = -1;
+    private long rangeEnd = -1;
+    private long childStart = -1;
+    private boolean finished;
+
+    MemberBoundaryScanner(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        size = channel.size();
+    }
+
+    boolean readHeader() throws IOException {
+        if (header != null)
+            return true;
+
+        if (size < 4 || !isSupportedEncoding())
+            return false;
+
+        while (pos < size) {
+            if (get(pos) != '<') {
+                pos++;
+                continue;
+            }
+
+            if (pos + 1 >= size)
+                return false;
+
+            byte next = get(pos + 1);
+            if (next == '!' || next == '?') {
+                pos = skipMarkup(pos, next);
+                if (pos < 0)
+                    return false;
+            } else if (next == '/') {
+                return false;
+            } else {
+                long end = skipTag(pos);
+                if (end < 0 || get(end - 2) == '/')
+                    return false;
+
+                header = read(0, end);
+                footer = createFooter(pos + 1, nameEnd(pos + 1));
+                depth = 1;
+                pos = end;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    Range nextRange(long targetRangeSize) throws IOException {
+        if (header == null)
+            throw new IllegalStateException("The header of the file has not been read.");
+
+        while (!finished) {
+            if (pos >= size)
+                throw new IOException("Unexpected end of file at byte " + pos + ".");
+
+            if (get(pos) != '<') {
+                pos++;
+                continue;
+            }
+
+            if (pos + 1 >= size)
+                throw new IOException("Unexpected end of file at byte " + pos + ".");
+
+            byte next = get(pos + 1);
+            if (next == '!' || next == '?') {
+                long end = skipMarkup(pos, next);
+                if (end < 0)
+                    throw new IOException("Unterminated markup at byte " + pos + ".");
+
+                pos = end;
+            } else if (next == '/') {
+                long end = skipTag(pos);
+                if (end < 0 || --depth < 0)
+                    throw new IOException("Unexpected end tag at byte " + pos + ".");
+
+                pos = end;
+                if (depth == 1 && childStart >= 0) {
+                    if (rangeStart < 0)
+                        rangeStart = childStart;
+
+                    rangeEnd = end;
+                    childStart = -1;
+
+                    if (rangeEnd - rangeStart >= targetRangeSize)
+                        return takeRange();
+                } else if (depth == 0) {
+                    finished = true;
+                    if (rangeStart >= 0)
+                        return takeRange();
+                }
+            } else {
+                long end = skipTag(pos);
+                if (end < 0)
+                    throw new IOException("Unterminated start tag at byte " + pos + ".");
+
+                boolean isEmpty = get(end - 2) == '/';
+                if (depth == 1 && !isEmpty)
+                    childStart = pos;
+
+                if (!isEmpty)
+                    depth++;
+                else if (depth == 1) {
+                    if (rangeStart < 0)
+                        rangeStart = pos;
+
+                    rangeEnd = end;
+                    if (rangeEnd - rangeStart >= targetRangeSize) {
+                        pos = end;
+                        return takeRange();
+                    }
+                }
+
+                pos = end;
+            }
+        }
+
+        return null;
+    }
+
+    InputStream openStream(Range range) throws IOException {
+        if (header == null)
+            throw new IllegalStateException("The header of the file has not been read.");
+
+        return new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                new ByteArrayInputStream(header),
+                new MappedRangeInputStream(channel, range.start, range.end),
+                new ByteArrayInputStream(footer))));
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean isSupportedEncoding() throws IOException {
+        // reject UTF-16 and UTF-32 encoded documents
+        byte b0 = get(0), b1 = get(1), b2 = get(2), b3 = get(3);
+        if ((b0 == (byte) 0xFE && b1 == (byte) 0xFF) || (b0 == (byte) 0xFF && b1 == (byte) 0xFE))
+            return false;
+
+        return b0 != 0 && b1 != 0 && b2 != 0 && b3 != 0;
+    }
+
+    private Range takeRange() {
+        Range range = new Range(rangeStart, rangeEnd);
+        rangeStart = -1;
+        return range;
+    }
+
+    private long skipMarkup(long pos, byte next) throws IOException {
+        if (next == '?')
+            return skipTo("?>", pos + 2);
+        else if (startsWith(pos, "<!--"))
+            return skipTo("-->", pos + 4);
+        else if (startsWith(pos, "<![CDATA["))
+            return skipTo("]]>", pos + 9);
+        else
+            return skipDeclaration(pos);
+    }
+
+    private byte[] createFooter(long nameStart, long nameEnd) throws IOException {
+        byte[] name = read(nameStart, nameEnd);
+        byte[] footer = new byte[name.length + 3];
+        footer[0] = '<';
+        footer[1] = '/';
+        System.arraycopy(name, 0, footer, 2, name.length);
+        footer[footer.length - 1] = '>';
+        return footer;
+    }
+
+    private long skipTag(long pos) throws IOException {
+        byte quote = 0;
+        for (long i = pos + 1; i < size; i++) {
+            byte b = get(i);
+            if (quote != 0) {
+                if (b == quote)
+                    quote = 0;
+            } else if (b == '"' || b == '\'')
+                quote = b;
+            else if (b == '>')
+                return i + 1;
+        }
+
+        return -1;
+    }
+
+    private long skipDeclaration(long pos) throws IOException {
+        // skips declarations such as DOCTYPE including internal subsets
+        int brackets = 0;
+        byte quote = 0;
+        for (long i = pos + 2; i < size; i++) {
+            byte b = get(i);
+            if (quote != 0) {
+                if (b == quote)
+                    quote = 0;
+            } else if (b == '"' || b == '\'')
+                quote = b;
+            else if (b == '[')
+                brackets++;
+            else if (b == ']')
+                brackets--;
+            else if (b == '>' && brackets == 0)
+                return i + 1;
+        }
+
+        return -1;
+    }
+
+    private long nameEnd(long pos) throws IOException {
+        for (long i = pos; i < size; i++) {
+            byte b = get(i);
+            if (b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n')
+                return i;
+        }
+
+        return size;
+    }
+
+    private boolean startsWith(long pos, String prefix) throws IOException {
+        if (pos + prefix.length() > size)
+            return false;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (get(pos + i) != prefix.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+
+    private long skipTo(String pattern, long from) throws IOException {
+        for (long i = from; i + pattern.length() <= size; i++) {
+            if (startsWith(i, pattern))
+                return i + pattern.length();
+        }
+
+        return -1;
+    }
+
+    private byte[] read(long start, long end) throws IOException {
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = get(start + i);
+
+        return bytes;
+    }
+
+    private byte get(long pos) throws IOException {
+        if (window == null || pos < windowStart || pos >= windowStart + window.limit()) {
+            windowStart = pos;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW_SIZE, size - pos));
+        }
+
+        return window.get((int) (pos - windowStart));
+    }
+
+    static class Range {
+        final long start;
+        final long end;
+
+        Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long getSize() {
+            return end - start;
+        }
+    }
+
+    private static class MappedRangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+
+        private MappedByteBuffer buffer;
+        private long position;
+
+        MappedRangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.end = end;
+            position = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if ((buffer == null || !buffer.hasRemaining()) && !map())
+                return -1;
+
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+
+            if ((buffer == null || !buffer.hasRemaining()) && !map())
+                return -1;
+
+            int length = Math.min(len, buffer.remaining());
+            buffer.get(b, off, length);
+            return length;
+        }
+
+        @Override
+        public void close() {
+            buffer = null;
+        }
+
+        private boolean map() throws IOException {
+            if (position >= end)
+                return false;
+
+            long length = Math.min(WINDOW_SIZE, end - position);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            position += length;
+            return true;
+        }
+    }
+}
@@ -33,10 +33,11 @@ import org.citydb.util.log.Logger;
 
 import javax.xml.bind.ValidationEvent;
 import javax.xml.bind.ValidationEventHandler;
+import java.util.concurrent.atomic.AtomicLong;
 
 class ValidationErrorHandler implements ValidationEventHandler {
     private final Logger log = Logger.getInstance();
-    private long validationErrors;
+    private final AtomicLong validationErrors = new AtomicLong();
     private boolean reportAllErrors;
 
     void setReportAllErrors(boolean reportAllErrors) {
@@ -44,11 +45,11 @@ class ValidationErrorHandler implements ValidationEventHandler {
     }
 
     long getValidationErrors() {
-        return validationErrors;
+        return validationErrors.get();
     }
 
     void reset() {
-        validationErrors = 0;
+        validationErrors.set(0);
     }
 
     @Override
@@ -73,7 +74,7 @@ class ValidationErrorHandler implements ValidationEventHandler {
         msg.append(": ").append(event.getMessage());
         log.log(type, msg.toString());
 
-        validationErrors++;
+        validationErrors.incrementAndGet();
         return reportAllErrors;
     }
 }
@@ -0,0 +1,313 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.core.operation.importer.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class ImportCheckpointFile {
+	private static final String CHECKPOINT_FILE = "import-checkpoint.properties";
+	private static final String STATE_FINISHED = "finished";
+	private static final String STATE_PARTIAL = "partial";
+	private static final long SAVE_INTERVAL = 1000;
+
+	private final Path checkpointDir;
+	private final Properties checkpoints = new Properties();
+
+	private String currentFile;
+	private String currentKey;
+	private long committedFeatures;
+	private BufferedWriter idWriter;
+	private DataOutputStream xlinkWriter;
+	private long lastSave;
+
+	private ImportCheckpointFile(Path checkpointDir) {
+		this.checkpointDir = checkpointDir;
+	}
+
+	public static ImportCheckpointFile open(Path checkpointDir, boolean resume) throws IOException {
+		ImportCheckpointFile checkpointFile = new ImportCheckpointFile(checkpointDir);
+		Files.createDirectories(checkpointDir);
+
+		Path file = checkpointDir.resolve(CHECKPOINT_FILE);
+		if (Files.exists(file)) {
+			try (InputStream stream = Files.newInputStream(file)) {
+				checkpointFile.checkpoints.load(stream);
+			}
+		}
+
+		// start from scratch unless we shall resume a previous import
+		if (!resume) {
+			checkpointFile.delete();
+		}
+
+		return checkpointFile;
+	}
+
+	public Path getCheckpointDir() {
+		return checkpointDir;
+	}
+
+	public synchronized boolean isFinished(Path inputFile) {
+		String key = getKey(inputFile.toAbsolutePath().toString());
+		return key != null && STATE_FINISHED.equals(checkpoints.getProperty(key + ".state"));
+	}
+
+	public synchronized long getCommittedFeatures(Path inputFile) {
+		String key = getKey(inputFile.toAbsolutePath().toString());
+		return key != null ? Long.parseLong(checkpoints.getProperty(key + ".features", "0")) : 0;
+	}
+
+	public synchronized Set<String> getCommittedFeatureIds(Path inputFile) throws IOException {
+		Set<String> ids = new HashSet<>();
+		String key = getKey(inputFile.toAbsolutePath().toString());
+		if (key != null) {
+			Path idFile = checkpointDir.resolve(key + ".ids");
+			if (Files.exists(idFile)) {
+				try (BufferedReader reader = Files.newBufferedReader(idFile, StandardCharsets.UTF_8)) {
+					String id;
+					while ((id = reader.readLine()) != null) {
+						if (!id.isEmpty()) {
+							ids.add(id);
+						}
+					}
+				}
+			}
+		}
+
+		return ids;
+	}
+
+	public synchronized long readXlinkCheckpoints(Path inputFile, Consumer<XlinkCheckpoint> consumer) throws IOException {
+		long count = 0;
+		String key = getKey(inputFile.toAbsolutePath().toString());
+		if (key != null) {
+			Path xlinkFile = checkpointDir.resolve(key + ".xlinks");
+			if (Files.exists(xlinkFile)) {
+				try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(xlinkFile)))) {
+					while (true) {
+						byte[] bytes;
+						try {
+							bytes = new byte[stream.readInt()];
+							stream.readFully(bytes);
+						} catch (EOFException e) {
+							break;
+						}
+
+						try (ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+							consumer.accept((XlinkCheckpoint) objectStream.readObject());
+							count++;
+						} catch (ClassNotFoundException | ClassCastException e) {
+							throw new IOException("Failed to read XLink checkpoint from " + xlinkFile + ".", e);
+						}
+					}
+				}
+			}
+		}
+
+		return count;
+	}
+
+	public synchronized void startFile(Path inputFile) throws IOException {
+		closeWriters();
+
+		currentFile = inputFile.toAbsolutePath().toString();
+		currentKey = getKey(currentFile);
+		if (currentKey == null) {
+			currentKey = "file" + checkpoints.stringPropertyNames().stream()
+					.filter(name -> name.endsWith(".path"))
+					.count();
+			checkpoints.setProperty(currentKey + ".path", currentFile);
+		}
+
+		committedFeatures = Long.parseLong(checkpoints.getProperty(currentKey + ".features", "0"));
+		checkpoints.setProperty(currentKey + ".state", STATE_PARTIAL);
+		checkpoints.setProperty(currentKey + ".features", String.valueOf(committedFeatures));
+
+		Path xlinkFile = checkpointDir.resolve(currentKey + ".xlinks");
+		removeIncompleteXlinkCheckpoint(xlinkFile);
+
+		idWriter = Files.newBufferedWriter(checkpointDir.resolve(currentKey + ".ids"), StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		xlinkWriter = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(xlinkFile,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+		save();
+	}
+
+	public synchronized void commit(Collection<String> featureIds, int features, XlinkCheckpoint xlinkCheckpoint) throws IOException {
+		if (idWriter == null) {
+			return;
+		}
+
+		// XLinks and gml:ids must be recorded before the features they belong to,
+		// since a resumed import re-registers them for the committed features
+		if (xlinkCheckpoint != null && !xlinkCheckpoint.isEmpty()) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objectStream = new ObjectOutputStream(bytes)) {
+				objectStream.writeObject(xlinkCheckpoint);
+			}
+
+			xlinkWriter.writeInt(bytes.size());
+			bytes.writeTo(xlinkWriter);
+			xlinkWriter.flush();
+		}
+
+		for (String featureId : featureIds) {
+			idWriter.write(featureId);
+			idWriter.newLine();
+		}
+
+		idWriter.flush();
+		committedFeatures += features;
+		checkpoints.setProperty(currentKey + ".features", String.valueOf(committedFeatures));
+
+		if (System.currentTimeMillis() - lastSave > SAVE_INTERVAL) {
+			save();
+		}
+	}
+
+	public synchronized void finishFile() throws IOException {
+		if (currentKey != null) {
+			closeWriters();
+			Files.deleteIfExists(checkpointDir.resolve(currentKey + ".ids"));
+			Files.deleteIfExists(checkpointDir.resolve(currentKey + ".xlinks"));
+			checkpoints.setProperty(currentKey + ".state", STATE_FINISHED);
+			save();
+
+			currentFile = null;
+			currentKey = null;
+		}
+	}
+
+	public synchronized void close(boolean success) throws IOException {
+		closeWriters();
+		if (success) {
+			delete();
+		} else {
+			save();
+		}
+	}
+
+	private void save() throws IOException {
+		Path file = checkpointDir.resolve(CHECKPOINT_FILE);
+		Path tmp = checkpointDir.resolve(CHECKPOINT_FILE + ".tmp");
+		try (OutputStream stream = Files.newOutputStream(tmp)) {
+			checkpoints.store(stream, "Import checkpoints");
+		}
+
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		lastSave = System.currentTimeMillis();
+	}
+
+	private void delete() throws IOException {
+		for (String name : checkpoints.stringPropertyNames()) {
+			if (name.endsWith(".path")) {
+				String key = name.substring(0, name.length() - 5);
+				Files.deleteIfExists(checkpointDir.resolve(key + ".ids"));
+				Files.deleteIfExists(checkpointDir.resolve(key + ".xlinks"));
+			}
+		}
+
+		Files.deleteIfExists(checkpointDir.resolve(CHECKPOINT_FILE));
+		checkpoints.clear();
+	}
+
+	private void removeIncompleteXlinkCheckpoint(Path xlinkFile) throws IOException {
+		if (!Files.exists(xlinkFile)) {
+			return;
+		}
+
+		// the last checkpoint may be incomplete if the import was killed while writing it.
+		// Its features have not been recorded as committed, so we simply cut it off
+		long size = Files.size(xlinkFile);
+		long position = 0;
+		try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(xlinkFile)))) {
+			while (position + 4 <= size) {
+				long length = stream.readInt();
+				if (length < 0 || position + 4 + length > size) {
+					break;
+				}
+
+				stream.skipBytes((int) length);
+				position += 4 + length;
+			}
+		}
+
+		if (position < size) {
+			try (FileChannel channel = FileChannel.open(xlinkFile, StandardOpenOption.WRITE)) {
+				channel.truncate(position);
+			}
+		}
+	}
+
+	private void closeWriters() throws IOException {
+		if (idWriter != null) {
+			idWriter.close();
+			idWriter = null;
+		}
+
+		if (xlinkWriter != null) {
+			xlinkWriter.close();
+			xlinkWriter = null;
+		}
+	}
+
+	private String getKey(String file) {
+		for (String name : checkpoints.stringPropertyNames()) {
+			if (name.endsWith(".path") && file.equals(checkpoints.getProperty(name))) {
+				return name.substring(0, name.length() - 5);
+			}
+		}
+
+		return null;
+	}
+}
@@ -29,6 +29,7 @@ package org.citydb.core.operation.importer.util;
 
 import org.citydb.config.project.database.DatabaseConnection;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.util.log.AsyncFileWriter;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -41,7 +42,7 @@ import java.time.format.DateTimeFormatter;
 public class ImportLogger {
 	private final LocalDateTime date = LocalDateTime.now();
 	private final Path logFile;
-	private final BufferedWriter writer;
+	private final AsyncFileWriter writer;
 	private String inputFile = "";
 
 	public ImportLogger(Path logFile, DatabaseConnection connection) throws IOException {
@@ -57,8 +58,9 @@ public class ImportLogger {
 		}
 
 		this.logFile = logFile;
-		writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
-		writeHeader(connection);
+		BufferedWriter fileWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+		writeHeader(fileWriter, connection);
+		writer = new AsyncFileWriter(fileWriter, "impexp-import-log-writer");
 	}
 
 	public Path getLogFilePath() {
@@ -69,7 +71,7 @@ public class ImportLogger {
 		this.inputFile = inputFile != null ? inputFile.toAbsolutePath().toString() : "";
 	}
 
-	private void writeHeader(DatabaseConnection connection) throws IOException {
+	private void writeHeader(BufferedWriter writer, DatabaseConnection connection) throws IOException {
 		writer.write('#' + getClass().getPackage().getImplementationTitle() +
 				", version \"" + getClass().getPackage().getImplementationVersion() + "\"");
 		writer.newLine();
@@ -88,7 +90,7 @@ public class ImportLogger {
 	}
 	
 	public void write(ImportLogEntry entry) throws IOException {
-		writer.write(entry.type + "," + entry.id + "," + entry.gmlId + "," + inputFile + System.lineSeparator());
+		writer.write(entry.type + "," + entry.id + "," + entry.gmlId + "," + inputFile);
 	}
 
 	public String getDefaultLogFileName() {
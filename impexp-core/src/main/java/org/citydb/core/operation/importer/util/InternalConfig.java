@@ -31,6 +31,8 @@ import org.citydb.config.project.global.UpdatingPersonMode;
 import org.citydb.config.project.importer.Continuation;
 import org.citydb.core.file.InputFile;
 
+import java.util.Set;
+
 public class InternalConfig {
 	private InputFile inputFile;
 	private String currentGmlIdCodespace;
@@ -38,6 +40,8 @@ public class InternalConfig {
 	private String updatingPerson;
 	private String reasonForUpdate;
 	private String lineage;
+	private ImportCheckpointFile checkpointFile;
+	private Set<String> committedFeatureIds;
 
 	public InputFile getInputFile() {
 		return inputFile;
@@ -95,6 +99,22 @@ public class InternalConfig {
 		}
 	}
 
+	public ImportCheckpointFile getCheckpointFile() {
+		return checkpointFile;
+	}
+
+	public void setCheckpointFile(ImportCheckpointFile checkpointFile) {
+		this.checkpointFile = checkpointFile;
+	}
+
+	public boolean isCommittedFeature(String gmlId) {
+		return committedFeatureIds != null && gmlId != null && committedFeatureIds.contains(gmlId);
+	}
+
+	public void setCommittedFeatureIds(Set<String> committedFeatureIds) {
+		this.committedFeatureIds = committedFeatureIds;
+	}
+
 	public void setMetadata(Continuation continuation) {
 		setUpdatingPersonMode(continuation.getUpdatingPersonMode());
 		setUpdatingPerson(continuation.getUpdatingPerson());
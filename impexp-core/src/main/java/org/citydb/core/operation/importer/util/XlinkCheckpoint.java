@@ -0,0 +1,101 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.util;
+
+import org.citydb.core.operation.common.cache.IdCache;
+import org.citydb.core.operation.common.cache.IdCacheManager;
+import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.xlink.DBXlink;
+import org.citydb.util.concurrent.WorkerPool;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class XlinkCheckpoint implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final List<DBXlink> xlinks = new ArrayList<>();
+	private final List<IdCacheRecord> idCacheRecords = new ArrayList<>();
+
+	public void addXlink(DBXlink xlink) {
+		xlinks.add(xlink);
+	}
+
+	public void addIdCacheEntry(IdCacheType type, String key, long id, long rootId, boolean reverse, String mapping, int objectClassId) {
+		idCacheRecords.add(new IdCacheRecord(type, key, id, rootId, reverse, mapping, objectClassId));
+	}
+
+	List<DBXlink> getXlinks() {
+		return xlinks;
+	}
+
+	public boolean isEmpty() {
+		return xlinks.isEmpty() && idCacheRecords.isEmpty();
+	}
+
+	public void clear() {
+		xlinks.clear();
+		idCacheRecords.clear();
+	}
+
+	public void restore(IdCacheManager idCacheManager, WorkerPool<DBXlink> xlinkPool) {
+		for (IdCacheRecord record : idCacheRecords) {
+			IdCache cache = idCacheManager.getCache(record.type);
+			if (cache != null) {
+				cache.put(record.key, record.id, record.rootId, record.reverse, record.mapping, record.objectClassId);
+			}
+		}
+
+		for (DBXlink xlink : xlinks) {
+			xlinkPool.addWork(xlink);
+		}
+	}
+
+	private static class IdCacheRecord implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final IdCacheType type;
+		private final String key;
+		private final long id;
+		private final long rootId;
+		private final boolean reverse;
+		private final String mapping;
+		private final int objectClassId;
+
+		IdCacheRecord(IdCacheType type, String key, long id, long rootId, boolean reverse, String mapping, int objectClassId) {
+			this.type = type;
+			this.key = key;
+			this.id = id;
+			this.rootId = rootId;
+			this.reverse = reverse;
+			this.mapping = mapping;
+			this.objectClassId = objectClassId;
+		}
+	}
+}
@@ -326,4 +326,10 @@ public class ConfigQueryBuilder {
 
 		return query;
 	}
+
+	public Predicate buildPredicate(AbstractPredicate predicateConfig, Query query, NamespaceContext namespaceContext) throws QueryBuildException {
+		ValueReferenceBuilder valueReferenceBuilder = new ValueReferenceBuilder(query, schemaMapping, namespaceContext);
+		PredicateBuilder predicateBuilder = new PredicateBuilder(valueReferenceBuilder, databaseAdapter);
+		return predicateBuilder.buildPredicate(predicateConfig);
+	}
 }
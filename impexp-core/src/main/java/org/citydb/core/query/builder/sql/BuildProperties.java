@@ -39,6 +39,7 @@ public class BuildProperties {
 	private List<String> projectionColumns;
 	private boolean suppressDistinct;
 	private boolean optimizeJoins = true;
+	private boolean useLodAvailabilityIndex = true;
 
 	private BuildProperties() {
 		aliasGenerator = new DefaultAliasGenerator();
@@ -96,4 +97,13 @@ public class BuildProperties {
 		this.optimizeJoins = optimizeJoins;
 		return this;
 	}
+
+	public boolean isUseLodAvailabilityIndex() {
+		return useLodAvailabilityIndex;
+	}
+
+	public BuildProperties useLodAvailabilityIndex(boolean useLodAvailabilityIndex) {
+		this.useLodAvailabilityIndex = useLodAvailabilityIndex;
+		return this;
+	}
 }
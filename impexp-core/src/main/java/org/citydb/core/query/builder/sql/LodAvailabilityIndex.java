@@ -0,0 +1,189 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.core.query.builder.sql;
+
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.schema.mapping.FeatureType;
+import org.citydb.core.database.schema.mapping.MappingConstants;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.query.filter.lod.LodFilter;
+import org.citydb.core.query.filter.lod.LodFilterMode;
+import org.citydb.sqlbuilder.expression.SubQueryExpression;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class LodAvailabilityIndex {
+	public static final String TABLE = "cityobject_lod";
+	public static final String CITYOBJECT_ID = "cityobject_id";
+	public static final String LOD_MASK = "lod_mask";
+
+	// marks entries whose LoD mask still has to be computed
+	private static final int PENDING = 1 << 5;
+
+	private final AbstractDatabaseAdapter databaseAdapter;
+	private final String schemaName;
+
+	public LodAvailabilityIndex(AbstractDatabaseAdapter databaseAdapter) {
+		this.databaseAdapter = databaseAdapter;
+		this.schemaName = databaseAdapter.getConnectionDetails().getSchema();
+	}
+
+	public boolean exists(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		String schema = schemaName;
+		String table = TABLE;
+
+		if (metaData.storesUpperCaseIdentifiers()) {
+			schema = schema != null ? schema.toUpperCase() : null;
+			table = table.toUpperCase();
+		}
+
+		try (ResultSet rs = metaData.getTables(null, schema, table, new String[]{"TABLE"})) {
+			return rs.next();
+		}
+	}
+
+	public void create(Connection connection) throws SQLException {
+		String table = getTableName();
+
+		try (Statement stmt = connection.createStatement()) {
+			stmt.executeUpdate("create table " + table + " (" +
+					CITYOBJECT_ID + " " + databaseAdapter.getSQLAdapter().getBigInt() + " not null, " +
+					LOD_MASK + " " + databaseAdapter.getSQLAdapter().getInteger() + " not null, " +
+					"constraint " + TABLE + "_pk primary key (" + CITYOBJECT_ID + "), " +
+					"constraint " + TABLE + "_fk foreign key (" + CITYOBJECT_ID + ") references " +
+					schemaName + "." + MappingConstants.CITYOBJECT + " (" + MappingConstants.ID + ") on delete cascade)");
+
+			stmt.executeUpdate("create index " + TABLE + "_inx on " + table + " (" + LOD_MASK + ")");
+		}
+	}
+
+	public void drop(Connection connection) throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.executeUpdate("drop table " + getTableName());
+		}
+	}
+
+	public boolean isUpToDate(SchemaMapping schemaMapping, Connection connection) throws SQLException {
+		List<FeatureType> featureTypes = getFeatureTypes(schemaMapping);
+		if (featureTypes.isEmpty())
+			return true;
+
+		String table = getTableName();
+		try (Statement stmt = connection.createStatement()) {
+			stmt.setMaxRows(1);
+
+			// entries of an unfinished update do not have a valid LoD mask yet
+			try (ResultSet rs = stmt.executeQuery("select 1 from " + table + " where " + LOD_MASK + " >= " + PENDING)) {
+				if (rs.next())
+					return false;
+			}
+
+			// city object ids are taken from a sequence, so objects that have been imported after
+			// the last update of the index have larger ids than the indexed objects. Checking these
+			// objects only is cheap, whereas changes to the geometries of indexed objects made by
+			// other tools cannot be detected and require running the lod-index command.
+			try (ResultSet rs = stmt.executeQuery("select co." + MappingConstants.ID + " " +
+					"from " + schemaName + "." + MappingConstants.CITYOBJECT + " co " +
+					"where co." + MappingConstants.ID + " > (select coalesce(max(" + CITYOBJECT_ID + "), 0) from " + table + ") " +
+					"and co." + MappingConstants.OBJECTCLASS_ID + " in (" + getObjectClassIds(featureTypes) + ") " +
+					"and not exists (select 1 from " + table + " l where l." + CITYOBJECT_ID + " = co." + MappingConstants.ID + ")")) {
+				return !rs.next();
+			}
+		}
+	}
+
+	public int update(SchemaMapping schemaMapping, boolean recomputeAll, Connection connection) throws SQLException {
+		String table = getTableName();
+		List<FeatureType> featureTypes = getFeatureTypes(schemaMapping);
+		if (featureTypes.isEmpty())
+			return 0;
+
+		String objectClassIds = getObjectClassIds(featureTypes);
+
+		int updated = 0;
+		try (Statement stmt = connection.createStatement()) {
+			if (recomputeAll)
+				updated += stmt.executeUpdate("update " + table + " set " + LOD_MASK + " = " + PENDING);
+
+			updated += stmt.executeUpdate("insert into " + table + " (" + CITYOBJECT_ID + ", " + LOD_MASK + ") " +
+					"select co." + MappingConstants.ID + ", " + PENDING + " " +
+					"from " + schemaName + "." + MappingConstants.CITYOBJECT + " co " +
+					"where co." + MappingConstants.OBJECTCLASS_ID + " in (" + objectClassIds + ") " +
+					"and not exists (select 1 from " + table + " l where l." + CITYOBJECT_ID + " = co." + MappingConstants.ID + ")");
+
+			if (updated == 0)
+				return 0;
+
+			// compute the LoD mask set-based, one LoD at a time, by reusing the
+			// subqueries of the regular LoD filter
+			LodFilterBuilder builder = new LodFilterBuilder(schemaMapping, schemaName);
+			for (int lod = 0; lod < 5; lod++) {
+				LodFilter lodFilter = new LodFilter(false, LodFilterMode.OR);
+				lodFilter.setEnabled(lod, true);
+
+				SubQueryExpression subQuery = builder.buildLodSubQuery(lodFilter, featureTypes);
+				if (subQuery == null)
+					continue;
+
+				stmt.executeUpdate("update " + table + " set " + LOD_MASK + " = " + LOD_MASK + " + " + (1 << lod) + " " +
+						"where " + LOD_MASK + " >= " + PENDING + " " +
+						"and " + CITYOBJECT_ID + " in (" + subQuery + ")");
+			}
+
+			stmt.executeUpdate("update " + table + " set " + LOD_MASK + " = " + LOD_MASK + " - " + PENDING + " " +
+					"where " + LOD_MASK + " >= " + PENDING);
+		}
+
+		return updated;
+	}
+
+	private List<FeatureType> getFeatureTypes(SchemaMapping schemaMapping) {
+		return schemaMapping.listTopLevelFeatureTypes(true).stream()
+				.filter(featureType -> !featureType.isAbstract())
+				.collect(Collectors.toList());
+	}
+
+	private String getObjectClassIds(List<FeatureType> featureTypes) {
+		return featureTypes.stream()
+				.map(featureType -> String.valueOf(featureType.getObjectClassId()))
+				.distinct()
+				.collect(Collectors.joining(", "));
+	}
+
+	private String getTableName() {
+		return schemaName + "." + TABLE;
+	}
+}
@@ -49,6 +49,7 @@ import org.citydb.core.query.filter.lod.LodFilterMode;
 import org.citydb.core.query.filter.lod.LodIterator;
 import org.citydb.core.query.filter.type.FeatureTypeFilter;
 import org.citydb.sqlbuilder.expression.IntegerLiteral;
+import org.citydb.sqlbuilder.expression.LiteralList;
 import org.citydb.sqlbuilder.expression.SubQueryExpression;
 import org.citydb.sqlbuilder.schema.Column;
 import org.citydb.sqlbuilder.schema.Table;
@@ -66,6 +67,7 @@ import org.citygml4j.model.module.citygml.CityGMLVersion;
 import org.citygml4j.model.module.citygml.CoreModule;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -88,9 +90,55 @@ public class LodFilterBuilder {
 	}
 
 	protected void buildLodFilter(LodFilter lodFilter, FeatureTypeFilter typeFilter, CityGMLVersion targetVersion, SQLQueryContext queryContext) throws QueryBuildException {
+		SubQueryExpression subQueryExpression = buildLodSubQuery(lodFilter, typeFilter.getFeatureTypes(targetVersion));
+
+		Select select = queryContext.getSelect();
+		Table table = queryContext.getFromTable();
+
+		if (subQueryExpression != null)
+			select.addSelection(ComparisonFactory.in(table.getColumn(MappingConstants.ID), subQueryExpression));
+		else {
+			// the selected feature types are not available for the requested LoD filter,
+			// so we add a dummy predicate to make sure the query returns null
+			select.addSelection(ComparisonFactory.isNull(table.getColumn(MappingConstants.ID)));
+		}
+	}
+
+	protected void buildLodIndexFilter(LodFilter lodFilter, FeatureTypeFilter typeFilter, CityGMLVersion targetVersion, SQLQueryContext queryContext) throws QueryBuildException {
+		// the LoD mask of an object stores one bit per LoD. Instead of relying on
+		// vendor-specific bit functions, we enumerate all masks satisfying the filter
+		int requested = 0;
+		for (LodIterator lods = lodFilter.iterator(0, 4); lods.hasNext(); )
+			requested |= 1 << lods.next();
+
+		List<Integer> masks = new ArrayList<>();
+		for (int mask = 1; mask < 1 << 5; mask++) {
+			if (lodFilter.getFilterMode() == LodFilterMode.AND ?
+					(mask & requested) == requested :
+					(mask & requested) != 0)
+				masks.add(mask);
+		}
+
+		if (requested == 0 || masks.isEmpty()) {
+			buildLodFilter(lodFilter, typeFilter, targetVersion, queryContext);
+			return;
+		}
+
+		Select select = queryContext.getSelect();
+		Table table = queryContext.getFromTable();
+
+		// the index must be complete, which is checked before this filter is used
+		Table lodTable = new Table(LodAvailabilityIndex.TABLE, schemaName);
+		select.addSelection(ComparisonFactory.in(table.getColumn(MappingConstants.ID), new Select()
+				.addProjection(lodTable.getColumn(LodAvailabilityIndex.CITYOBJECT_ID))
+				.addSelection(ComparisonFactory.in(lodTable.getColumn(LodAvailabilityIndex.LOD_MASK),
+						new LiteralList(masks.toArray(new Integer[0]))))));
+	}
+
+	protected SubQueryExpression buildLodSubQuery(LodFilter lodFilter, Collection<FeatureType> types) {
 		List<Select> queries = new ArrayList<>();
 
-		for (FeatureType type : typeFilter.getFeatureTypes(targetVersion)) {
+		for (FeatureType type : types) {
 			boolean isNested = hasNestedTypesWithLodProperties(type);
 
 			if (!type.hasLodProperties() && !isNested)
@@ -124,17 +172,10 @@ public class LodFilterBuilder {
 			}
 		}
 
-		Select select = queryContext.getSelect();
-		Table table = queryContext.getFromTable();
+		if (queries.isEmpty())
+			return null;
 
-		if (!queries.isEmpty()) {
-			SubQueryExpression subQueryExpression = queries.size() == 1 ? queries.get(0) : SetOperationFactory.unionAll(queries);
-			select.addSelection(ComparisonFactory.in(table.getColumn(MappingConstants.ID), subQueryExpression));
-		} else {
-			// the selected feature types are not available for the requested LoD filter,
-			// so we add a dummy predicate to make sure the query returns null
-			select.addSelection(ComparisonFactory.isNull(table.getColumn(MappingConstants.ID)));
-		}
+		return queries.size() == 1 ? queries.get(0) : SetOperationFactory.unionAll(queries);
 	}
 
 	private void buildLodSelection(FeatureType type, LodFilter lodFilter, List<Select> selects) {
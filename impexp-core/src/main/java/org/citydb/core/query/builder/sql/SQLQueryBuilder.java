@@ -52,6 +52,7 @@ import org.citydb.sqlbuilder.select.operator.comparison.ComparisonFactory;
 import org.citydb.sqlbuilder.select.projection.Function;
 import org.citygml4j.model.module.citygml.CoreModule;
 
+import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -127,7 +128,10 @@ public class SQLQueryBuilder {
 			LodFilter lodFilter = query.getLodFilter();
 			if (lodFilter.getFilterMode() == LodFilterMode.AND || !lodFilter.areAllEnabled()) {
 				LodFilterBuilder lodFilterBuilder = new LodFilterBuilder(schemaMapping, schemaName);
-				lodFilterBuilder.buildLodFilter(query.getLodFilter(), typeFilter, query.getTargetVersion(), queryContext);
+				if (useLodAvailabilityIndex(lodFilter))
+					lodFilterBuilder.buildLodIndexFilter(lodFilter, typeFilter, query.getTargetVersion(), queryContext);
+				else
+					lodFilterBuilder.buildLodFilter(lodFilter, typeFilter, query.getTargetVersion(), queryContext);
 			}
 		}
 
@@ -178,6 +182,20 @@ public class SQLQueryBuilder {
 		return buildProperties;
 	}
 
+	private boolean useLodAvailabilityIndex(LodFilter lodFilter) {
+		// the LoD availability index is computed without search depth limit
+		if (!buildProperties.isUseLodAvailabilityIndex()
+				|| (lodFilter.isSetSearchDepth() && lodFilter.getSearchDepth() != Integer.MAX_VALUE))
+			return false;
+
+		try {
+			// an outdated index is not used at all so that no objects are missed
+			return databaseAdapter.getUtil().isLodAvailabilityIndexUsable(schemaMapping);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
 	private void optimizeJoins(SchemaPathBuilder builder, SQLQueryContext queryContext, boolean keepToTable) throws QueryBuildException {
 		Select select = queryContext.getSelect();
 		Set<Table> from = new HashSet<>();
@@ -0,0 +1,92 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.util;
+
+public class BloomFilter {
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final long[] bits;
+    private final long size;
+    private final int hashFunctions;
+
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0)
+            throw new IllegalArgumentException("Expected number of entries must be greater than zero.");
+
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+
+        long size = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (size + 63) >>> 6)];
+        this.size = bits.length * 64L;
+        hashFunctions = Math.max(1, (int) Math.round((double) this.size / expectedEntries * Math.log(2)));
+    }
+
+    public BloomFilter(long expectedEntries) {
+        this(expectedEntries, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % size;
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % size;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    private long hash(String value) {
+        // 64-bit FNV-1a hash followed by a final avalanche step
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.util;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+public class MarshallerPool {
+	private final JAXBContext context;
+	private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+
+	public MarshallerPool(JAXBContext context) {
+		this.context = context;
+	}
+
+	public JAXBContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Returns the marshaller of the calling thread. Creating a marshaller is expensive
+	 * compared to marshalling a single fragment, so marshallers are kept per thread and
+	 * reused. The standard properties are reset on every call, so callers must not hold
+	 * on to the marshaller across calls that might also use this pool.
+	 */
+	public Marshaller getMarshaller() throws JAXBException {
+		Marshaller marshaller = marshallers.get();
+		if (marshaller == null) {
+			marshaller = context.createMarshaller();
+			marshallers.set(marshaller);
+		}
+
+		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, false);
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		return marshaller;
+	}
+}
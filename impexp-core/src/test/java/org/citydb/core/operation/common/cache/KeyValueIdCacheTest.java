@@ -0,0 +1,84 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.cache;
+
+import org.h2.mvstore.WriteBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeyValueIdCacheTest {
+	private final KeyValueIdCache.IdCacheEntryType type = new KeyValueIdCache.IdCacheEntryType();
+
+	@Test
+	public void comparesByIdRootIdAndObjectClass() {
+		IdCacheEntry entry = new IdCacheEntry(2, 5, false, null, 26);
+
+		assertEquals(0, type.compare(entry, new IdCacheEntry(2, 5, true, "mapping", 26)));
+		assertTrue(type.compare(entry, new IdCacheEntry(3, 1, false, null, 1)) < 0);
+		assertTrue(type.compare(entry, new IdCacheEntry(1, 9, false, null, 99)) > 0);
+		assertTrue(type.compare(entry, new IdCacheEntry(2, 6, false, null, 1)) < 0);
+		assertTrue(type.compare(entry, new IdCacheEntry(2, 4, false, null, 99)) > 0);
+		assertTrue(type.compare(entry, new IdCacheEntry(2, 5, false, null, 27)) < 0);
+		assertTrue(type.compare(entry, new IdCacheEntry(2, 5, false, null, 25)) > 0);
+	}
+
+	@Test
+	public void comparesLargeIdsWithoutOverflow() {
+		IdCacheEntry small = new IdCacheEntry(Long.MIN_VALUE, 0, false, null, 0);
+		IdCacheEntry large = new IdCacheEntry(Long.MAX_VALUE, 0, false, null, 0);
+
+		assertTrue(type.compare(small, large) < 0);
+		assertTrue(type.compare(large, small) > 0);
+	}
+
+	@Test
+	public void readsWrittenEntries() {
+		WriteBuffer buffer = new WriteBuffer();
+		type.write(buffer, new IdCacheEntry(42, 7, true, "gml_id", 26));
+		type.write(buffer, new IdCacheEntry(43, 42, false, null, 0));
+
+		ByteBuffer input = buffer.getBuffer();
+		input.flip();
+
+		IdCacheEntry first = (IdCacheEntry) type.read(input);
+		assertEquals(42L, first.getId());
+		assertEquals(7L, first.getRootId());
+		assertTrue(first.isReverse());
+		assertEquals("gml_id", first.getMapping());
+		assertEquals(26, first.getObjectClassId());
+
+		IdCacheEntry second = (IdCacheEntry) type.read(input);
+		assertEquals(0, type.compare(new IdCacheEntry(43, 42, false, null, 0), second));
+		assertNull(second.getMapping());
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChangeTrackerTest {
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void replacesLastExtensionOfTombstoneFile() {
+		assertEquals(Paths.get("out", "export.city.tombstones.csv"),
+				ChangeTracker.getTombstoneFile(Paths.get("out", "export.city.gml")));
+		assertEquals(Paths.get("out", "export.tombstones.csv"),
+				ChangeTracker.getTombstoneFile(Paths.get("out", "export.zip")));
+		assertEquals(Paths.get("out", "export.tombstones.csv"),
+				ChangeTracker.getTombstoneFile(Paths.get("out", "export")));
+		assertEquals(Paths.get("out", ".export.tombstones.csv"),
+				ChangeTracker.getTombstoneFile(Paths.get("out", ".export")));
+	}
+
+	@Test
+	public void subtractsOverlapFromWatermark() throws Exception {
+		DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+		XMLGregorianCalendar watermark = datatypeFactory.newXMLGregorianCalendar("2021-03-01T00:02:30.000Z");
+
+		assertEquals(datatypeFactory.newXMLGregorianCalendar("2021-02-28T23:57:30.000Z"),
+				ChangeTracker.subtractOverlap(watermark, 300, datatypeFactory));
+		assertEquals(watermark, ChangeTracker.subtractOverlap(watermark, 0, datatypeFactory));
+		assertEquals(datatypeFactory.newXMLGregorianCalendar("2021-03-01T00:02:30.000Z"), watermark);
+	}
+
+	@Test
+	public void persistsWatermark() throws Exception {
+		DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+		XMLGregorianCalendar watermark = datatypeFactory.newXMLGregorianCalendar("2021-03-01T12:30:45.123+01:00");
+		Path watermarkFile = tempDir.resolve("state").resolve("watermark.properties");
+
+		assertNull(ChangeTracker.readWatermark(watermarkFile, datatypeFactory));
+
+		ChangeTracker.writeWatermark(watermarkFile, watermark);
+		assertEquals(watermark, ChangeTracker.readWatermark(watermarkFile, datatypeFactory));
+
+		ChangeTracker.writeWatermark(watermarkFile, datatypeFactory.newXMLGregorianCalendar("2021-03-02T00:00:00Z"));
+		assertEquals(datatypeFactory.newXMLGregorianCalendar("2021-03-02T00:00:00Z"),
+				ChangeTracker.readWatermark(watermarkFile, datatypeFactory));
+		assertEquals(Collections.singletonList(watermarkFile.getFileName()), listFileNames(watermarkFile.getParent()));
+	}
+
+	@Test
+	public void rejectsInvalidWatermark() throws Exception {
+		DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+		Path watermarkFile = tempDir.resolve("watermark.properties");
+
+		Files.write(watermarkFile, Collections.singletonList("other=value"));
+		assertThrows(IOException.class, () -> ChangeTracker.readWatermark(watermarkFile, datatypeFactory));
+
+		Files.write(watermarkFile, Collections.singletonList("watermark=yesterday"));
+		assertThrows(IOException.class, () -> ChangeTracker.readWatermark(watermarkFile, datatypeFactory));
+	}
+
+	private List<Path> listFileNames(Path folder) throws Exception {
+		try (Stream<Path> stream = Files.list(folder)) {
+			return stream.map(Path::getFileName).collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.config.Config;
+import org.citydb.core.ade.ADEExtension;
+import org.citydb.core.ade.ADEObjectMapper;
+import org.citydb.core.ade.exporter.ADEExportManager;
+import org.citydb.core.ade.importer.ADEImportManager;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citygml4j.model.citygml.ade.binding.ADEContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExportResultCacheTest {
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void createsSameKeyForSameExport() throws Exception {
+		ExportResultCache cache = new ExportResultCache(tempDir, 1024);
+		List<String> databaseState = Arrays.asList("jdbc:postgresql://localhost:5432/citydb", "citydb", "42");
+
+		assertEquals(cache.createKey(new Config(), tempDir.resolve("a.gml"), databaseState, Collections.emptyList()),
+				cache.createKey(new Config(), tempDir.resolve("b.gml"), databaseState, Collections.emptyList()));
+	}
+
+	@Test
+	public void createsNewKeyWhenInputsChange() throws Exception {
+		ExportResultCache cache = new ExportResultCache(tempDir, 1024);
+		Path outputFile = tempDir.resolve("out.gml");
+		List<String> databaseState = Arrays.asList("jdbc:postgresql://localhost:5432/citydb", "citydb", "42");
+		String key = cache.createKey(new Config(), outputFile, databaseState, Collections.emptyList());
+
+		// database content
+		assertNotEquals(key, cache.createKey(new Config(), outputFile,
+				Arrays.asList("jdbc:postgresql://localhost:5432/citydb", "citydb", "43"), Collections.emptyList()));
+
+		// output format
+		assertNotEquals(key, cache.createKey(new Config(), tempDir.resolve("out.json"),
+				databaseState, Collections.emptyList()));
+
+		// export settings
+		Config config = new Config();
+		config.getExportConfig().getAppearances().setExportAppearances(!config.getExportConfig().getAppearances().isSetExportAppearance());
+		assertNotEquals(key, cache.createKey(config, outputFile, databaseState, Collections.emptyList()));
+
+		// enabled ADE extensions
+		assertNotEquals(key, cache.createKey(new Config(), outputFile, databaseState,
+				Collections.singletonList(new TestADEExtension())));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedEntries() throws Exception {
+		ExportResultCache cache = new ExportResultCache(tempDir.resolve("cache"), 30);
+		cache.put("a", createFile("a.gml", 10));
+		cache.put("b", createFile("b.gml", 10));
+
+		Files.setLastModifiedTime(tempDir.resolve("cache").resolve("a.cache"), FileTime.fromMillis(1000));
+		Files.setLastModifiedTime(tempDir.resolve("cache").resolve("b.cache"), FileTime.fromMillis(2000));
+
+		// reading an entry marks it as recently used
+		assertTrue(cache.get("a", tempDir.resolve("copy.gml")));
+		assertEquals(10, Files.size(tempDir.resolve("copy.gml")));
+
+		cache.put("c", createFile("c.gml", 15));
+		assertTrue(cache.get("a", tempDir.resolve("copy.gml")));
+		assertFalse(cache.get("b", tempDir.resolve("copy.gml")));
+		assertTrue(cache.get("c", tempDir.resolve("copy.gml")));
+	}
+
+	@Test
+	public void skipsOutputFilesLargerThanCache() throws Exception {
+		ExportResultCache cache = new ExportResultCache(tempDir.resolve("cache"), 10);
+		cache.put("a", createFile("a.gml", 11));
+
+		assertFalse(cache.get("a", tempDir.resolve("copy.gml")));
+	}
+
+	private Path createFile(String name, int size) throws Exception {
+		return Files.write(tempDir.resolve(name), new byte[size]);
+	}
+
+	private static class TestADEExtension extends ADEExtension {
+		@Override
+		public void init(SchemaMapping schemaMapping) {
+		}
+
+		@Override
+		public List<ADEContext> getADEContexts() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public ADEObjectMapper getADEObjectMapper() {
+			return null;
+		}
+
+		@Override
+		public ADEImportManager createADEImportManager() {
+			return null;
+		}
+
+		@Override
+		public ADEExportManager createADEExportManager() {
+			return null;
+		}
+	}
+}
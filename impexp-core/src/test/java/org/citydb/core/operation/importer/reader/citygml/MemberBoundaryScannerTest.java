@@ -0,0 +1,144 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.reader.citygml;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemberBoundaryScannerTest {
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<!-- <core:CityModel> in a comment -->\n" +
+            "<core:CityModel xmlns:core=\"http://www.opengis.net/citygml/2.0\" xmlns:gml=\"http://www.opengis.net/gml\">";
+    private static final String FOOTER = "</core:CityModel>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void returnsOneRangePerMemberForSmallTargetSize() throws IOException {
+        String[] members = {
+                "<core:cityObjectMember><bldg id=\"a\" name='x>y'/></core:cityObjectMember>",
+                "<core:cityObjectMember><bldg id=\"b\"><![CDATA[</core:CityModel>]]></bldg></core:cityObjectMember>",
+                "<gml:boundedBy/>",
+                "<core:cityObjectMember><bldg id=\"c\"><!-- </core:cityObjectMember> --></bldg></core:cityObjectMember>"
+        };
+
+        Path file = write(HEADER + "\n  " + String.join("\n  ", members) + "\n" + FOOTER);
+        try (MemberBoundaryScanner scanner = new MemberBoundaryScanner(file)) {
+            assertTrue(scanner.readHeader());
+
+            List<String> documents = new ArrayList<>();
+            MemberBoundaryScanner.Range range;
+            while ((range = scanner.nextRange(1)) != null)
+                documents.add(read(scanner, range));
+
+            assertEquals(members.length, documents.size());
+            for (int i = 0; i < members.length; i++)
+                assertEquals(HEADER + members[i] + FOOTER, documents.get(i));
+
+            assertNull(scanner.nextRange(1));
+        }
+    }
+
+    @Test
+    public void groupsMembersUpToTargetSize() throws IOException {
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 0; i < 10; i++)
+            content.append("<core:cityObjectMember><bldg id=\"").append(i).append("\"/></core:cityObjectMember>");
+
+        Path file = write(content.append(FOOTER).toString());
+        try (MemberBoundaryScanner scanner = new MemberBoundaryScanner(file)) {
+            assertTrue(scanner.readHeader());
+
+            List<MemberBoundaryScanner.Range> ranges = new ArrayList<>();
+            MemberBoundaryScanner.Range range;
+            while ((range = scanner.nextRange(Long.MAX_VALUE)) != null)
+                ranges.add(range);
+
+            assertEquals(1, ranges.size());
+            assertEquals(content.length() - HEADER.length() - FOOTER.length(), ranges.get(0).getSize());
+        }
+    }
+
+    @Test
+    public void failsForTruncatedDocument() throws IOException {
+        Path file = write(HEADER + "<core:cityObjectMember><bldg id=\"a\"/></core:cityObjectMember><core:cityObjectMember>");
+        try (MemberBoundaryScanner scanner = new MemberBoundaryScanner(file)) {
+            assertTrue(scanner.readHeader());
+            assertEquals("<core:cityObjectMember><bldg id=\"a\"/></core:cityObjectMember>".length(),
+                    scanner.nextRange(1).getSize());
+            assertThrows(IOException.class, () -> scanner.nextRange(1));
+        }
+    }
+
+    @Test
+    public void rejectsUnsupportedEncodingAndEmptyRoot() throws IOException {
+        Path utf16 = tempDir.resolve("utf16.gml");
+        Files.write(utf16, (HEADER + FOOTER).getBytes(StandardCharsets.UTF_16));
+        try (MemberBoundaryScanner scanner = new MemberBoundaryScanner(utf16)) {
+            assertFalse(scanner.readHeader());
+        }
+
+        try (MemberBoundaryScanner scanner = new MemberBoundaryScanner(write("<core:CityModel/>"))) {
+            assertFalse(scanner.readHeader());
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "test", ".gml");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private String read(MemberBoundaryScanner scanner, MemberBoundaryScanner.Range range) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream stream = scanner.openStream(range)) {
+            byte[] buffer = new byte[7];
+            int length;
+            while ((length = stream.read(buffer)) != -1)
+                output.write(buffer, 0, length);
+        }
+
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
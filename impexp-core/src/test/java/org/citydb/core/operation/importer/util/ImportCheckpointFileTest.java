@@ -0,0 +1,135 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.util;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.core.operation.common.xlink.DBXlink;
+import org.citydb.core.operation.common.xlink.DBXlinkBasic;
+import org.citydb.core.operation.common.xlink.DBXlinkTextureCoordList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ImportCheckpointFileTest {
+	@TempDir
+	Path checkpointDir;
+
+	@Test
+	public void restoresXlinksOfCommittedFeatures() throws IOException {
+		Path inputFile = checkpointDir.resolve("input.gml");
+
+		ImportCheckpointFile checkpointFile = ImportCheckpointFile.open(checkpointDir, false);
+		checkpointFile.startFile(inputFile);
+
+		XlinkCheckpoint xlinkCheckpoint = new XlinkCheckpoint();
+		xlinkCheckpoint.addXlink(new DBXlinkBasic("CITYOBJECT_MEMBER", 1, "#bldg", "CITYOBJECT_ID"));
+		xlinkCheckpoint.addXlink(new DBXlinkTextureCoordList(2, "ring", "param",
+				GeometryObject.createCurve(new double[]{0, 0, 1, 1}, 2, 0), 3));
+		checkpointFile.commit(Arrays.asList("feature1", "feature2"), 2, xlinkCheckpoint);
+
+		// features without XLinks do not add a checkpoint
+		checkpointFile.commit(Collections.singletonList("feature3"), 1, new XlinkCheckpoint());
+		checkpointFile.close(false);
+
+		checkpointFile = ImportCheckpointFile.open(checkpointDir, true);
+		assertEquals(new HashSet<>(Arrays.asList("feature1", "feature2", "feature3")),
+				checkpointFile.getCommittedFeatureIds(inputFile));
+
+		List<DBXlink> xlinks = new ArrayList<>();
+		assertEquals(1, checkpointFile.readXlinkCheckpoints(inputFile, checkpoint -> xlinks.addAll(checkpoint.getXlinks())));
+		assertEquals(2, xlinks.size());
+
+		DBXlinkBasic basic = (DBXlinkBasic) xlinks.get(0);
+		assertEquals(1, basic.getId());
+		assertEquals("CITYOBJECT_MEMBER", basic.getTable());
+		assertEquals("CITYOBJECT_ID", basic.getFromColumn());
+		assertEquals("#bldg", basic.getGmlId());
+
+		DBXlinkTextureCoordList texCoords = (DBXlinkTextureCoordList) xlinks.get(1);
+		assertEquals(2, texCoords.getId());
+		assertEquals("param", texCoords.getTexParamGmlId());
+		assertEquals(3, texCoords.getTargetId());
+		assertArrayEquals(new double[]{0, 0, 1, 1}, texCoords.getTextureCoord().getCoordinates(0));
+	}
+
+	@Test
+	public void dropsIncompleteXlinkCheckpoint() throws IOException {
+		Path inputFile = checkpointDir.resolve("input.gml");
+
+		ImportCheckpointFile checkpointFile = ImportCheckpointFile.open(checkpointDir, false);
+		checkpointFile.startFile(inputFile);
+		checkpointFile.commit(Collections.singletonList("feature1"), 1, createXlinkCheckpoint("#a"));
+		checkpointFile.close(false);
+
+		// simulate an import that was killed while writing a checkpoint
+		Path xlinkFile;
+		try (Stream<Path> files = Files.list(checkpointDir)) {
+			xlinkFile = files.filter(file -> file.toString().endsWith(".xlinks")).findFirst().orElseThrow(IOException::new);
+		}
+
+		try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(xlinkFile, StandardOpenOption.APPEND))) {
+			stream.writeInt(1024);
+			stream.write(new byte[16]);
+		}
+
+		checkpointFile = ImportCheckpointFile.open(checkpointDir, true);
+		checkpointFile.startFile(inputFile);
+		checkpointFile.commit(Collections.singletonList("feature2"), 1, createXlinkCheckpoint("#b"));
+
+		List<String> gmlIds = new ArrayList<>();
+		assertEquals(2, checkpointFile.readXlinkCheckpoints(inputFile,
+				checkpoint -> checkpoint.getXlinks().forEach(xlink -> gmlIds.add(xlink.getGmlId()))));
+		assertEquals(Arrays.asList("#a", "#b"), gmlIds);
+
+		checkpointFile.finishFile();
+		assertFalse(Files.exists(xlinkFile));
+		assertTrue(checkpointFile.isFinished(inputFile));
+	}
+
+	private XlinkCheckpoint createXlinkCheckpoint(String gmlId) {
+		XlinkCheckpoint xlinkCheckpoint = new XlinkCheckpoint();
+		xlinkCheckpoint.addXlink(new DBXlinkBasic("CITYOBJECT_MEMBER", 1, gmlId, "CITYOBJECT_ID"));
+		return xlinkCheckpoint;
+	}
+}
@@ -30,14 +30,37 @@ package org.citydb.util.event;
 import org.citydb.util.concurrent.SingleWorkerPool;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class EventDispatcher {
+	private static final long COALESCING_INTERVAL = 200;
+
 	private SingleWorkerPool<Event> eventDispatcherThread;
 	private ConcurrentHashMap<Enum<?>, EventHandlerContainerQueue> containerQueueMap;
 	private ReentrantLock mainLock;
+	private final ReentrantLock coalescingLock = new ReentrantLock();
+
+	private final List<CounterAccumulator> accumulators = new CopyOnWriteArrayList<>();
+	private final ThreadLocal<CounterAccumulator> accumulator = ThreadLocal.withInitial(() -> {
+		CounterAccumulator accumulator = new CounterAccumulator();
+		accumulators.add(accumulator);
+		return accumulator;
+	});
+
+	private final ScheduledExecutorService coalescingTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "event_coalescer");
+		thread.setDaemon(true);
+		return thread;
+	});
 
 	public EventDispatcher(int eventQueueSize) {
 		containerQueueMap = new ConcurrentHashMap<>();
@@ -49,6 +72,9 @@ public class EventDispatcher {
 
 		eventDispatcherThread.prestartCoreWorkers();
 		mainLock = new ReentrantLock();
+
+		coalescingTimer.scheduleWithFixedDelay(this::flushCoalescedEvents,
+				COALESCING_INTERVAL, COALESCING_INTERVAL, TimeUnit.MILLISECONDS);
 	}
 
 	public EventDispatcher() {
@@ -81,9 +107,49 @@ public class EventDispatcher {
 	}
 
 	public void triggerEvent(Event event) {
+		if (event instanceof CoalescableEvent) {
+			CoalescableEvent coalescableEvent = (CoalescableEvent) event;
+			if (coalescableEvent.isCoalescable()) {
+				// counter updates are summed up per thread and dispatched periodically
+				accumulator.get().add(event, coalescableEvent);
+				return;
+			}
+
+			// keep the order with respect to counter updates that are still pending
+			flushCoalescedEvents();
+		}
+
 		eventDispatcherThread.addWork(event);
 	}
 
+	private void flushCoalescedEvents() {
+		// draining and enqueuing must be atomic. Otherwise, flushEvents() and shutdown()
+		// could return while the timer thread still holds drained but undispatched counts
+		final ReentrantLock lock = this.coalescingLock;
+		lock.lock();
+
+		try {
+			Map<CoalescingKey, Map<Object, Long>> counts = new HashMap<>();
+			for (CounterAccumulator accumulator : accumulators) {
+				if (!accumulator.owner.isAlive()) {
+					accumulators.remove(accumulator);
+				}
+
+				accumulator.drainTo(counts);
+			}
+
+			for (Map.Entry<CoalescingKey, Map<Object, Long>> entry : counts.entrySet()) {
+				CoalescingKey key = entry.getKey();
+				entry.getValue().values().removeIf(value -> value == 0);
+				if (!entry.getValue().isEmpty()) {
+					eventDispatcherThread.addWork(key.template.createCoalescedEvent(entry.getValue(), key.channel, this));
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	public Event triggerSyncEvent(Event event) {
 		final ReentrantLock lock = this.mainLock;
 		lock.lock();
@@ -122,22 +188,87 @@ public class EventDispatcher {
 	}
 
 	public void flushEvents() throws InterruptedException {
+		flushCoalescedEvents();
 		eventDispatcherThread.join();
 	}
 	
 	public void shutdown() {
+		coalescingTimer.shutdownNow();
+		flushCoalescedEvents();
 		eventDispatcherThread.shutdown();
 		containerQueueMap.clear();
 	}
 	
 	public void shutdownNow() {
+		coalescingTimer.shutdownNow();
 		eventDispatcherThread.shutdownNow();
 		containerQueueMap.clear();
 	}
 	
 	public void shutdownAndWait() throws InterruptedException {
+		coalescingTimer.shutdownNow();
+		flushCoalescedEvents();
 		eventDispatcherThread.shutdownAndWait();
 		containerQueueMap.clear();
 	}
+
+	private static class CounterAccumulator {
+		private final Thread owner = Thread.currentThread();
+		private final ConcurrentHashMap<CoalescingKey, Map<Object, Long>> counts = new ConcurrentHashMap<>();
+
+		void add(Event event, CoalescableEvent coalescableEvent) {
+			CoalescingKey key = new CoalescingKey(event, coalescableEvent);
+			counts.compute(key, (k, v) -> {
+				if (v == null) {
+					v = new HashMap<>();
+				}
+
+				for (Map.Entry<?, Long> entry : coalescableEvent.getCoalescingCounts().entrySet()) {
+					v.merge(entry.getKey(), entry.getValue(), Long::sum);
+				}
+
+				return v;
+			});
+		}
+
+		void drainTo(Map<CoalescingKey, Map<Object, Long>> target) {
+			for (CoalescingKey key : counts.keySet()) {
+				Map<Object, Long> values = counts.remove(key);
+				if (values != null) {
+					Map<Object, Long> merged = target.computeIfAbsent(key, k -> new HashMap<>());
+					values.forEach((k, v) -> merged.merge(k, v, Long::sum));
+				}
+			}
+		}
+	}
+
+	private static class CoalescingKey {
+		private final Class<?> eventClass;
+		private final Object group;
+		private final Object channel;
+		private final CoalescableEvent template;
+
+		CoalescingKey(Event event, CoalescableEvent template) {
+			eventClass = event.getClass();
+			group = template.getCoalescingGroup();
+			channel = event.getChannel();
+			this.template = template;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof CoalescingKey)) return false;
+			CoalescingKey other = (CoalescingKey) o;
+			return eventClass == other.eventClass
+					&& Objects.equals(group, other.group)
+					&& channel == other.channel;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * eventClass.hashCode() + Objects.hashCode(group)) + System.identityHashCode(channel);
+		}
+	}
 	
 }
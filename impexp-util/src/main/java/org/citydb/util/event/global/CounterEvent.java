@@ -27,9 +27,13 @@
  */
 package org.citydb.util.event.global;
 
+import org.citydb.util.event.CoalescableEvent;
 import org.citydb.util.event.Event;
 
-public class CounterEvent extends Event {
+import java.util.Collections;
+import java.util.Map;
+
+public class CounterEvent extends Event implements CoalescableEvent {
 	private long counter = 0;
 	private CounterType type;
 	
@@ -50,5 +54,28 @@ public class CounterEvent extends Event {
 	public CounterType getType() {
 		return type;
 	}
+
+	@Override
+	public boolean isCoalescable() {
+		// only counters carrying increments can be summed up
+		return type == CounterType.TOPLEVEL_FEATURE
+				|| type == CounterType.GLOBAL_APPEARANCE
+				|| type == CounterType.TEXTURE_IMAGE;
+	}
+
+	@Override
+	public Object getCoalescingGroup() {
+		return type;
+	}
+
+	@Override
+	public Map<?, Long> getCoalescingCounts() {
+		return Collections.singletonMap(type, counter);
+	}
+
+	@Override
+	public Event createCoalescedEvent(Map<?, Long> counts, Object channel, Object source) {
+		return new CounterEvent(type, counts.get(type), channel, source);
+	}
 	
 }
@@ -27,11 +27,13 @@
  */
 package org.citydb.util.event.global;
 
+import org.citydb.util.event.CoalescableEvent;
 import org.citydb.util.event.Event;
 
+import java.util.HashMap;
 import java.util.Map;
 
-public class ObjectCounterEvent extends Event {
+public class ObjectCounterEvent extends Event implements CoalescableEvent {
 	private Map<Integer, Long> objectCounter;
 
 	public ObjectCounterEvent(Map<Integer, Long> objectCounter, Object channel, Object source) {
@@ -47,4 +49,25 @@ public class ObjectCounterEvent extends Event {
 		return objectCounter;
 	}
 
+	@Override
+	public boolean isCoalescable() {
+		return true;
+	}
+
+	@Override
+	public Object getCoalescingGroup() {
+		return null;
+	}
+
+	@Override
+	public Map<?, Long> getCoalescingCounts() {
+		return objectCounter;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Event createCoalescedEvent(Map<?, Long> counts, Object channel, Object source) {
+		return new ObjectCounterEvent(new HashMap<>((Map<Integer, Long>) counts), channel, source);
+	}
+
 }
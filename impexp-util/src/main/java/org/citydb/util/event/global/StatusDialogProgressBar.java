@@ -27,9 +27,13 @@
  */
 package org.citydb.util.event.global;
 
+import org.citydb.util.event.CoalescableEvent;
 import org.citydb.util.event.Event;
 
-public class StatusDialogProgressBar extends Event {
+import java.util.Collections;
+import java.util.Map;
+
+public class StatusDialogProgressBar extends Event implements CoalescableEvent {
 	private final ProgressBarEventType type;
 	private int value;
 	private boolean setIntermediate;
@@ -57,5 +61,25 @@ public class StatusDialogProgressBar extends Event {
 	public boolean isSetIntermediate() {
 		return setIntermediate;
 	}
+
+	@Override
+	public boolean isCoalescable() {
+		return type == ProgressBarEventType.UPDATE;
+	}
+
+	@Override
+	public Object getCoalescingGroup() {
+		return type;
+	}
+
+	@Override
+	public Map<?, Long> getCoalescingCounts() {
+		return Collections.singletonMap(type, (long) value);
+	}
+
+	@Override
+	public Event createCoalescedEvent(Map<?, Long> counts, Object channel, Object source) {
+		return new StatusDialogProgressBar(type, (int) Math.min(counts.get(type), Integer.MAX_VALUE), source);
+	}
 		
 }
@@ -0,0 +1,204 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.util.log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncFileWriter implements AutoCloseable {
+	private static final int DEFAULT_CAPACITY = 65536;
+	private static final int DEFAULT_BATCH_SIZE = 1024;
+	private static final long DEFAULT_FLUSH_INTERVAL = 250;
+
+	private final Writer writer;
+	private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicLong dropped = new AtomicLong();
+	private final Object lock = new Object();
+	private final int capacity;
+	private final int batchSize;
+	private final long flushInterval;
+	private final Thread thread;
+
+	private volatile boolean running = true;
+	private volatile IOException exception;
+
+	public enum OverflowPolicy {
+		BLOCK,
+		DROP
+	}
+
+	public AsyncFileWriter(Writer writer, String name, int capacity, int batchSize, long flushInterval) {
+		this.writer = writer;
+		this.capacity = Math.max(capacity, 1);
+		this.batchSize = Math.max(batchSize, 1);
+		this.flushInterval = Math.max(flushInterval, 1);
+
+		thread = new Thread(this::run, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public AsyncFileWriter(Writer writer, String name) {
+		this(writer, name, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+	}
+
+	public boolean write(String line) throws IOException {
+		return write(line, OverflowPolicy.BLOCK);
+	}
+
+	public boolean write(String line, OverflowPolicy policy) throws IOException {
+		if (exception != null) {
+			throw exception;
+		} else if (!running) {
+			throw new IOException("The writer has already been closed.");
+		}
+
+		if (size.get() >= capacity) {
+			if (policy == OverflowPolicy.DROP) {
+				dropped.incrementAndGet();
+				return false;
+			}
+
+			LockSupport.unpark(thread);
+			synchronized (lock) {
+				while (size.get() >= capacity && running && exception == null) {
+					try {
+						lock.wait(10);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+			}
+		}
+
+		queue.offer(line);
+		if (size.incrementAndGet() == capacity / 2) {
+			LockSupport.unpark(thread);
+		}
+
+		return true;
+	}
+
+	public long getDroppedLines() {
+		return dropped.get();
+	}
+
+	private void run() {
+		long lastFlush = System.currentTimeMillis();
+		boolean dirty = false;
+
+		while (true) {
+			boolean stopped = !running;
+
+			try {
+				int count = 0;
+				String line;
+				while (count < batchSize && (line = queue.poll()) != null) {
+					writer.write(line);
+					writer.write(System.lineSeparator());
+					count++;
+				}
+
+				if (count > 0) {
+					size.addAndGet(-count);
+					dirty = true;
+					synchronized (lock) {
+						lock.notifyAll();
+					}
+				}
+
+				long droppedLines = dropped.getAndSet(0);
+				if (droppedLines > 0) {
+					writer.write("*** Dropped " + droppedLines + " log message(s) because the log file could not keep up.");
+					writer.write(System.lineSeparator());
+					dirty = true;
+				}
+
+				if (count < batchSize) {
+					long now = System.currentTimeMillis();
+					if (dirty && (stopped || now - lastFlush >= flushInterval)) {
+						writer.flush();
+						lastFlush = now;
+						dirty = false;
+					}
+
+					if (stopped) {
+						if (queue.isEmpty()) {
+							break;
+						}
+					} else {
+						LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushInterval));
+					}
+				}
+			} catch (IOException e) {
+				exception = e;
+				queue.clear();
+				size.set(0);
+				synchronized (lock) {
+					lock.notifyAll();
+				}
+
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (running) {
+			running = false;
+			LockSupport.unpark(thread);
+
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			try {
+				writer.close();
+			} catch (IOException e) {
+				if (exception == null) {
+					exception = e;
+				}
+			}
+		}
+
+		if (exception != null) {
+			throw exception;
+		}
+	}
+}
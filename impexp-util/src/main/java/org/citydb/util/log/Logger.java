@@ -30,7 +30,6 @@ package org.citydb.util.log;
 import org.citydb.config.project.global.LogFileMode;
 import org.citydb.config.project.global.LogLevel;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -47,13 +46,16 @@ public class Logger {
 	private ConsoleLogger consoleLogger;
 	private LogLevel consoleLevel = LogLevel.INFO;
 	private LogLevel fileLevel = LogLevel.INFO;
-	private BufferedWriter writer;
+	private volatile AsyncFileWriter writer;
 
 	private boolean logToConsole = true;
 	private boolean logToFile = false;
 
 	private Logger() {
 		consoleLogger = new DefaultConsoleLogger();
+
+		// make sure pending log messages are written on exit
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close, "impexp-log-shutdown"));
 	}
 
 	public static Logger getInstance() {
@@ -106,16 +108,22 @@ public class Logger {
 		}
 
 		if (fileLevel.ordinal() >= level.ordinal()) {
-			printToFile(msg);
+			// debug messages may be dropped rather than slowing down the caller
+			printToFile(msg, level == LogLevel.DEBUG ?
+					AsyncFileWriter.OverflowPolicy.DROP :
+					AsyncFileWriter.OverflowPolicy.BLOCK);
 		}
 	}
 
 	public void printToFile(String msg) {
+		printToFile(msg, AsyncFileWriter.OverflowPolicy.BLOCK);
+	}
+
+	private void printToFile(String msg, AsyncFileWriter.OverflowPolicy policy) {
+		AsyncFileWriter writer = this.writer;
 		if (logToFile && writer != null) {
 			try {
-				writer.write(msg);
-				writer.newLine();
-				writer.flush();
+				writer.write(msg, policy);
 			} catch (IOException e) {
 				//
 			}
@@ -194,11 +202,11 @@ public class Logger {
 		try {
 			detachLogFile();
 			info("Writing log messages to file '" + logFile.toAbsolutePath() + "'.");
-			writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+			writer = new AsyncFileWriter(Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
 					StandardOpenOption.CREATE, StandardOpenOption.WRITE,
 					mode == LogFileMode.TRUNCATE ?
 							StandardOpenOption.TRUNCATE_EXISTING :
-							StandardOpenOption.APPEND);
+							StandardOpenOption.APPEND), "impexp-log-writer");
 
 			logToFile = true;
 			printToFile("*** Starting new log file session on " + LocalDateTime.now()
@@ -221,14 +229,15 @@ public class Logger {
 	}
 
 	public void close() {
+		AsyncFileWriter writer = this.writer;
 		if (writer != null) {
+			this.writer = null;
+			logToFile = false;
+
 			try {
 				writer.close();
 			} catch (IOException e) {
 				//
-			} finally {
-				writer = null;
-				logToFile = false;
 			}
 		}
 	}
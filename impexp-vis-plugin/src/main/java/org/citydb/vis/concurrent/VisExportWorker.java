@@ -43,6 +43,7 @@ import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.global.ObjectCounterEvent;
 import org.citydb.util.log.Logger;
 import org.citydb.core.query.Query;
+import org.citydb.core.util.MarshallerPool;
 import org.citydb.core.util.Util;
 import org.citydb.vis.database.ADEObject;
 import org.citydb.vis.database.AbstractVisObject;
@@ -54,6 +55,7 @@ import org.citydb.vis.database.VisExporterManager;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.ElevationServiceHandler;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TextureImageCache;
 import org.citygml4j.model.citygml.bridge.Bridge;
 import org.citygml4j.model.citygml.building.Building;
 import org.citygml4j.model.citygml.cityfurniture.CityFurniture;
@@ -73,13 +75,18 @@ import org.citygml4j.model.citygml.waterbody.WaterBody;
 import org.citygml4j.model.gml.base.AbstractGML;
 import org.citygml4j.util.xml.SAXEventBuffer;
 
-import javax.xml.bind.JAXBContext;
 import java.io.File;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class VisExportWorker extends Worker<DBSplittingResult> {
@@ -87,12 +94,14 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 	private volatile boolean shouldRun = true;
 
 	private final Connection connection;
+	private final Map<String, PreparedStatement> statements = new HashMap<>();
 	private final AbstractDatabaseAdapter databaseAdapter;
 	private final BlobExportAdapter textureExportAdapter;
 	private final Query query;
 	private final ObjectFactory kmlFactory; 
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
+	private final Object eventChannel;
 	private final VisExporterManager visExporterManager;
 
 	private final Map<Class<? extends AbstractGML>, Integer> objectGroupCounter = new HashMap<>();
@@ -100,41 +109,51 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 	private final Map<Class<? extends AbstractGML>, BalloonTemplateHandler> balloonTemplateHandler = new HashMap<>();
 
 	private final ElevationServiceHandler elevationServiceHandler;
+	private final ExecutorService modelExecutor;
+	private final Deque<Future<?>> pendingModels = new ArrayDeque<>();
 	private final Logger log = Logger.getInstance();
 
 	public VisExportWorker(Path outputFile,
 						   Connection connection,
 						   AbstractDatabaseAdapter databaseAdapter,
-						   JAXBContext jaxbKmlContext,
-						   JAXBContext jaxbColladaContext,
+						   MarshallerPool kmlMarshallerPool,
+						   MarshallerPool colladaMarshallerPool,
 						   WorkerPool<SAXEventBuffer> writerPool,
 						   ExportTracker tracker,
+						   TextureImageCache textureImageCache,
+						   ElevationServiceHandler elevationServiceHandler,
+						   ExecutorService modelExecutor,
 						   Query query,
 						   ObjectFactory kmlFactory,
 						   Config config,
-						   EventDispatcher eventDispatcher) {
-		this.connection = connection;
+						   EventDispatcher eventDispatcher,
+						   Object eventChannel) {
 		this.databaseAdapter = databaseAdapter;
 		this.query = query;
 		this.kmlFactory = kmlFactory;
 		this.config = config;
 		this.eventDispatcher = eventDispatcher;
+		this.eventChannel = eventChannel;
+
+		this.connection = connection;
 
 		textureExportAdapter = databaseAdapter.getSQLAdapter().getBlobExportAdapter(connection, BlobType.TEXTURE_IMAGE);
 
 		visExporterManager = new VisExporterManager(outputFile,
-				jaxbKmlContext,
-				jaxbColladaContext,
+				kmlMarshallerPool,
+				colladaMarshallerPool,
 				databaseAdapter,
 				writerPool,
 				tracker,
+				textureImageCache,
 				query,
 				kmlFactory,
 				textureExportAdapter,
 				eventDispatcher,
 				config);
 
-		elevationServiceHandler = new ElevationServiceHandler(config);
+		this.elevationServiceHandler = elevationServiceHandler;
+		this.modelExecutor = modelExecutor;
 	}
 
 	@Override
@@ -176,8 +195,18 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 					objectGroupCounter.put(cityObjectType, 0);
 				}
 			}
-			
-			eventDispatcher.triggerEvent(new ObjectCounterEvent(visExporterManager.getObjectCounter(), this));
+
+			// wait for the models of this worker before the tile is completed
+			Future<?> pendingModel;
+			while ((pendingModel = pendingModels.poll()) != null) {
+				try {
+					pendingModel.get();
+				} catch (InterruptedException | ExecutionException e) {
+					log.logStackTrace(e);
+				}
+			}
+
+			eventDispatcher.triggerEvent(new ObjectCounterEvent(visExporterManager.getObjectCounter(), eventChannel, this));
 		}
 		finally {
 			if (textureExportAdapter != null) {
@@ -188,6 +217,18 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 				}
 			}
 
+			for (PreparedStatement statement : statements.values()) {
+				try {
+					statement.close();
+				} catch (SQLException e) {
+					//
+				}
+			}
+
+			for (BalloonTemplateHandler handler : balloonTemplateHandler.values()) {
+				handler.close();
+			}
+
 			try {
 				connection.commit(); // for all possible GE_LoDn_zOffset values
 				connection.close();
@@ -212,6 +253,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 			AbstractVisObject singleObject;
 			if (Building.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.Building(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -223,6 +265,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (WaterBody.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.WaterBody(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -234,6 +277,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (LandUse.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.LandUse(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -245,6 +289,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (SolitaryVegetationObject.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.SolitaryVegetationObject(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -256,6 +301,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (PlantCover.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.PlantCover(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -271,6 +317,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 					|| Road.class.equals(objectClass)
 					|| Square.class.equals(objectClass)) {
 				singleObject = new Transportation(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -282,6 +329,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (ReliefFeature.class.equals(objectClass)) {
 				singleObject = new Relief(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -293,6 +341,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (GenericCityObject.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.GenericCityObject(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -304,6 +353,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (CityFurniture.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.CityFurniture(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -315,6 +365,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (CityObjectGroup.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.CityObjectGroup(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -326,6 +377,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (Bridge.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.Bridge(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -337,6 +389,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else if (Tunnel.class.equals(objectClass)) {
 				singleObject = new org.citydb.vis.database.Tunnel(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -348,6 +401,7 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 						config);
 			} else {
 				singleObject = new ADEObject(connection,
+						statements,
 						query,
 						visExporterManager,
 						kmlFactory,
@@ -388,6 +442,30 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 	}
 
 	private void sendGroupToFile(AbstractVisObject objectGroup) {
+		try {
+			// everything that requires database access is done by this worker
+			ColladaBundle colladaBundle = new ColladaBundle();
+			colladaBundle.setPlacemark(objectGroup.createPlacemarkForColladaModel());
+			colladaBundle.setGmlId(objectGroup.getGmlId());
+			colladaBundle.setId(objectGroup.getId());
+			boolean balloonInSeparateFile = objectGroup.getBalloonSettings().isBalloonContentInSeparateFile();
+
+			if (modelExecutor != null) {
+				// texture atlases, models and images are created in parallel to the database queries.
+				// the executor runs the task in this thread if it cannot keep up with the workers.
+				colladaBundle.setUnsupportedTexImages(getUnsupportedTexImages(objectGroup.getUnsupportedTexImageIds()));
+				pendingModels.removeIf(Future::isDone);
+				pendingModels.add(modelExecutor.submit(() -> createModel(objectGroup, colladaBundle, balloonInSeparateFile)));
+			} else {
+				createModel(objectGroup, colladaBundle, balloonInSeparateFile);
+			}
+		}
+		catch (Exception e) {
+			Logger.getInstance().logStackTrace(e);
+		}
+	}
+
+	private void createModel(AbstractVisObject objectGroup, ColladaBundle colladaBundle, boolean balloonInSeparateFile) {
 		try {
 			double imageScaleFactor = 1;
 			ColladaOptions colladaOptions = config.getVisExportConfig().getColladaOptions();
@@ -411,23 +489,38 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 				}
 			}
 
-			ColladaBundle colladaBundle = new ColladaBundle();
-			colladaBundle.setCollada(objectGroup.generateColladaTree());
+			if (visExporterManager.isColladaModelRequired())
+				colladaBundle.setCollada(objectGroup.generateColladaTree());
+			if (visExporterManager.isGltfMeshRequired())
+				colladaBundle.setGltfMesh(objectGroup.generateGltfMesh());
 			colladaBundle.setTexImages(objectGroup.getTexImages());
 			colladaBundle.setUnsupportedTexImageIds(objectGroup.getUnsupportedTexImageIds());
-			colladaBundle.setPlacemark(objectGroup.createPlacemarkForColladaModel());
-			colladaBundle.setGmlId(objectGroup.getGmlId());
-			colladaBundle.setId(objectGroup.getId());
 
 			visExporterManager.print(colladaBundle,
-					objectGroup.getId(),					
-					objectGroup.getBalloonSettings().isBalloonContentInSeparateFile());
+					colladaBundle.getId(),
+					balloonInSeparateFile);
 		}
 		catch (Exception e) {
 			Logger.getInstance().logStackTrace(e);
 		}
 	}
 
+	private HashMap<String, byte[]> getUnsupportedTexImages(HashMap<String, Long> unsupportedTexImageIds) throws SQLException {
+		if (unsupportedTexImageIds == null) {
+			return null;
+		}
+
+		HashMap<String, byte[]> unsupportedTexImages = new HashMap<>();
+		for (Map.Entry<String, Long> entry : unsupportedTexImageIds.entrySet()) {
+			byte[] imageBytes = textureExportAdapter.getInByteArray(entry.getValue());
+			if (imageBytes != null) {
+				unsupportedTexImages.put(entry.getKey(), imageBytes);
+			}
+		}
+
+		return unsupportedTexImages;
+	}
+
 	private BalloonTemplateHandler getBalloonTemplateHandler(Class<? extends AbstractGML> objectClass) {
 		BalloonTemplateHandler currentBalloonTemplateHandler = balloonTemplateHandler.get(objectClass);
 
@@ -37,46 +37,61 @@ import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.log.Logger;
 import org.citydb.core.query.Query;
+import org.citydb.core.util.MarshallerPool;
 import org.citydb.vis.database.DBSplittingResult;
+import org.citydb.vis.util.ElevationServiceHandler;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TextureImageCache;
 import org.citygml4j.util.xml.SAXEventBuffer;
 
-import javax.xml.bind.JAXBContext;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
 
 public class VisExportWorkerFactory implements WorkerFactory<DBSplittingResult> {
 	private final Logger log = Logger.getInstance();
 
 	private final Path outputFile;
-	private final JAXBContext jaxbKmlContext;
-	private final JAXBContext jaxbColladaContext;
+	private final MarshallerPool kmlMarshallerPool;
+	private final MarshallerPool colladaMarshallerPool;
 	private final WorkerPool<SAXEventBuffer> writerPool;
 	private final Query query;
 	private final ExportTracker tracker;
+	private final TextureImageCache textureImageCache;
+	private final ElevationServiceHandler elevationServiceHandler;
+	private final ExecutorService modelExecutor;
 	private final ObjectFactory kmlFactory;
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
+	private final Object eventChannel;
 
 	public VisExportWorkerFactory(Path outputFile,
-								  JAXBContext jaxbKmlContext,
-								  JAXBContext jaxbColladaContext,
+								  MarshallerPool kmlMarshallerPool,
+								  MarshallerPool colladaMarshallerPool,
 								  WorkerPool<SAXEventBuffer> writerPool,
 								  ExportTracker tracker,
+								  TextureImageCache textureImageCache,
+								  ElevationServiceHandler elevationServiceHandler,
+								  ExecutorService modelExecutor,
 								  Query query,
 								  ObjectFactory kmlFactory,
 								  Config config,
-								  EventDispatcher eventDispatcher) {
+								  EventDispatcher eventDispatcher,
+								  Object eventChannel) {
 		this.outputFile = outputFile;
-		this.jaxbKmlContext = jaxbKmlContext;
-		this.jaxbColladaContext = jaxbColladaContext;
+		this.kmlMarshallerPool = kmlMarshallerPool;
+		this.colladaMarshallerPool = colladaMarshallerPool;
 		this.writerPool = writerPool;
 		this.tracker = tracker;
+		this.textureImageCache = textureImageCache;
+		this.elevationServiceHandler = elevationServiceHandler;
+		this.modelExecutor = modelExecutor;
 		this.query = query;
 		this.kmlFactory = kmlFactory;
 		this.config = config;
 		this.eventDispatcher = eventDispatcher;
+		this.eventChannel = eventChannel;
 	}
 
 	@Override
@@ -88,8 +103,8 @@ public class VisExportWorkerFactory implements WorkerFactory<DBSplittingResult>
 			Connection connection = DatabaseConnectionPool.getInstance().getConnection();
 			connection.setAutoCommit(false);
 
-			visWorker = new VisExportWorker(outputFile, connection, databaseAdapter, jaxbKmlContext, jaxbColladaContext,
-					writerPool, tracker, query, kmlFactory, config, eventDispatcher);
+			visWorker = new VisExportWorker(outputFile, connection, databaseAdapter, kmlMarshallerPool, colladaMarshallerPool,
+					writerPool, tracker, textureImageCache, elevationServiceHandler, modelExecutor, query, kmlFactory, config, eventDispatcher, eventChannel);
 		} catch (SQLException e) {
 			log.error("Failed to create export worker.", e);
 		}
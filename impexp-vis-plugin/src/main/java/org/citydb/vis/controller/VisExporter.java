@@ -40,6 +40,8 @@ import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.database.schema.mapping.FeatureType;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.file.OutputFile;
+import org.citydb.core.file.output.OutputFileFactory;
 import org.citydb.core.query.Query;
 import org.citydb.core.query.builder.QueryBuildException;
 import org.citydb.core.query.builder.config.ConfigQueryBuilder;
@@ -52,6 +54,7 @@ import org.citydb.core.query.filter.tiling.Tiling;
 import org.citydb.core.query.filter.type.FeatureTypeFilter;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.core.util.MarshallerPool;
 import org.citydb.core.util.Util;
 import org.citydb.core.writer.XMLWriterWorkerFactory;
 import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
@@ -67,7 +70,10 @@ import org.citydb.vis.controller.VisExportException.ErrorCode;
 import org.citydb.vis.database.*;
 import org.citydb.vis.datatype.TypeAttributeValueEnum;
 import org.citydb.vis.util.CityObject4JSON;
+import org.citydb.vis.util.ElevationServiceHandler;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TextureImageCache;
+import org.citydb.vis.util.TilesetWriter;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.citygml.CityGMLClass;
 import org.citygml4j.model.gml.feature.AbstractFeature;
@@ -92,10 +98,10 @@ import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 public class VisExporter implements EventHandler {
 	private final Logger log = Logger.getInstance();
@@ -106,17 +112,17 @@ public class VisExporter implements EventHandler {
 
 	private final AtomicBoolean isInterrupted = new AtomicBoolean(false);
 	private final ObjectFactory kmlFactory;
-	private final Map<Integer, Long> objectCounter = new HashMap<>();
 	private final Map<Integer, Long> totalObjectCounter = new HashMap<>();
+	private final Set<TileExport> activeTiles = ConcurrentHashMap.newKeySet();
 
-	private JAXBContext jaxbKmlContext;
-	private WorkerPool<DBSplittingResult> visWorkerPool;
-	private SingleWorkerPool<SAXEventBuffer> writerPool;
-	private DBSplitter DBSplitter;
+	private MarshallerPool kmlMarshallerPool;
+	private TextureImageCache textureImageCache;
+	private TilesetWriter tilesetWriter;
+	private ElevationServiceHandler elevationServiceHandler;
+	private ExecutorService modelExecutor;
 
 	private final String ENCODING = "UTF-8";
 	private final Charset CHARSET = Charset.forName(ENCODING);
-	private File lastTempFolder = null;
 	private long geometryCounter;
 
 	private volatile boolean shouldRun = true;
@@ -163,11 +169,11 @@ public class VisExporter implements EventHandler {
 		}
 
 		// get JAXB contexts for KML and COLLADA
-		JAXBContext jaxbColladaContext;
+		MarshallerPool colladaMarshallerPool;
 		try {
 			log.debug("Initializing KML/COLLADA context.");
-			jaxbKmlContext = getKmlContext();
-			jaxbColladaContext = getColladaContext();
+			kmlMarshallerPool = new MarshallerPool(getKmlContext());
+			colladaMarshallerPool = new MarshallerPool(getColladaContext());
 		} catch (JAXBException e) {
 			throw new VisExportException("Failed to initialize KML/COLLADA context.", e);
 		}
@@ -181,10 +187,15 @@ public class VisExporter implements EventHandler {
 		}
 
 		// check API key when using the elevation API
-		if (config.getVisExportConfig().getElevation().getAltitudeOffsetMode() == AltitudeOffsetMode.GENERIC_ATTRIBUTE
-				&& config.getVisExportConfig().getElevation().isCallGElevationService()
-				&& !config.getGlobalConfig().getApiKeys().isSetGoogleElevation()) {
-			throw new VisExportException(ErrorCode.MISSING_GOOGLE_API_KEY, "The Google Elevation API cannot be used due to a missing API key.");
+		Elevation elevation = config.getVisExportConfig().getElevation();
+		if (elevation.getAltitudeOffsetMode() == AltitudeOffsetMode.GENERIC_ATTRIBUTE
+				&& elevation.isCallGElevationService()) {
+			if (elevation.getElevationService() == ElevationServiceType.GOOGLE
+					&& !config.getGlobalConfig().getApiKeys().isSetGoogleElevation()) {
+				throw new VisExportException(ErrorCode.MISSING_GOOGLE_API_KEY, "The Google Elevation API cannot be used due to a missing API key.");
+			} else if (elevation.getElevationService() == ElevationServiceType.LOCAL_DEM && !elevation.isSetDemFile()) {
+				throw new VisExportException("No elevation model file provided for the local elevation service.");
+			}
 		}
 
 		// check whether spatial indexes are enabled
@@ -216,14 +227,16 @@ public class VisExporter implements EventHandler {
 		// check gltf options
 		if (config.getVisExportConfig().getGltfOptions().isCreateGltfModel()) {
 			// check collada2gltf converter tool
-			Path collada2gltf = Paths.get(config.getVisExportConfig().getGltfOptions().getPathToConverter());
-			if (!collada2gltf.isAbsolute())
-				collada2gltf = CoreConstants.IMPEXP_HOME.resolve(collada2gltf);
-
-			if (!Files.exists(collada2gltf))
-				throw new VisExportException("Failed to find the COLLADA2glTF tool at the provided path " + collada2gltf + ".");
-			else if (!Files.isExecutable(collada2gltf))
-				throw new VisExportException("Failed to execute the COLLADA2glTF tool at " + collada2gltf + ".");
+			if (!config.getVisExportConfig().getGltfOptions().isUseBuiltInWriter()) {
+				Path collada2gltf = Paths.get(config.getVisExportConfig().getGltfOptions().getPathToConverter());
+				if (!collada2gltf.isAbsolute())
+					collada2gltf = CoreConstants.IMPEXP_HOME.resolve(collada2gltf);
+
+				if (!Files.exists(collada2gltf))
+					throw new VisExportException("Failed to find the COLLADA2glTF tool at the provided path " + collada2gltf + ".");
+				else if (!Files.isExecutable(collada2gltf))
+					throw new VisExportException("Failed to execute the COLLADA2glTF tool at " + collada2gltf + ".");
+			}
 
 			// check whether we have to deactivate KMZ
 			if (config.getVisExportConfig().isExportAsKmz()) {
@@ -232,6 +245,18 @@ public class VisExporter implements EventHandler {
 			}
 		}
 
+		// check 3D Tiles options
+		if (config.getVisExportConfig().isWrite3DTiles()) {
+			DisplayForm displayForm = config.getVisExportConfig().getDisplayForms().get(DisplayFormType.COLLADA);
+			if (displayForm == null || !displayForm.isActive())
+				throw new VisExportException("3D Tiles can only be written for the COLLADA/glTF display form.");
+
+			if (config.getVisExportConfig().isExportAsKmz()) {
+				log.warn("3D Tiles cannot be used with KMZ compression. Deactivating KMZ.");
+				config.getVisExportConfig().setExportAsKmz(false);
+			}
+		}
+
 		// build query from filter settings
 		Query query;
 		try {
@@ -322,18 +347,6 @@ public class VisExporter implements EventHandler {
 		if (!balloonCheck) 
 			return false;	
 
-		// create a saxWriter instance 
-		// define indent for xml output and namespace mappings
-		SAXWriter saxWriter = new SAXWriter();
-		saxWriter.setIndentString("  ");
-		saxWriter.setHeaderComment("Written by " + this.getClass().getPackage().getImplementationTitle() + ", version \"" +
-				this.getClass().getPackage().getImplementationVersion() + '"', 
-				this.getClass().getPackage().getImplementationVendor());
-		saxWriter.setDefaultNamespace("http://www.opengis.net/kml/2.2"); // default namespace
-		saxWriter.setPrefix("gx", "http://www.google.com/kml/ext/2.2");
-		saxWriter.setPrefix("atom", "http://www.w3.org/2005/Atom");
-		saxWriter.setPrefix("xal", "urn:oasis:names:tc:ciq:xsdschema:xAL:2.0");
-
 		// set export filename and path
 		String path = outputFile.toAbsolutePath().normalize().toString();
 		String fileExtension = config.getVisExportConfig().isExportAsKmz() ? ".kmz" : ".kml";
@@ -370,284 +383,102 @@ public class VisExporter implements EventHandler {
 
 		long start = System.currentTimeMillis();
 
-		// iterate over tiles
-		for (int row = 0; shouldRun && row < rows; row++) {
-			for (int column = 0; shouldRun && column < columns; column++) {
-
-				// track exported objects
-				ExportTracker tracker = new ExportTracker();
-
-				// set active tile and get tile extent in WGS84
-				Tile tile;
-				try {
-					tile = tiling.getTileAt(row, column);
-					tiling.setActiveTile(tile);
-
-					Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
-					if (predicate != null)
-						query.setSelection(new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)));
-					else
-						query.setSelection(new SelectionFilter(bboxFilter));
-				} catch (FilterException e) {
-					if (jsonFileWriter != null) try { jsonFileWriter.close(); } catch (IOException ioe) { }
-					throw new VisExportException("Failed to get tile at [" + row + "," + column + "].", e);
-				}
-
-				// iterate over display forms
-				for (DisplayForm displayForm : config.getVisExportConfig().getDisplayForms().values()) {
-					if (!displayForm.isActive()) 
-						continue;
-
-					if (lastTempFolder != null && lastTempFolder.exists()) 
-						deleteFolder(lastTempFolder); // just in case
-
-					File file;
-					ZipOutputStream zipOut = null;
-					String currentWorkingDirectoryPath;
-					try {
-						File tilesRootDirectory = new File(path, "Tiles");
-						tilesRootDirectory.mkdir();
-						File rowTilesDirectory = new File(tilesRootDirectory.getPath(),  String.valueOf(row));
-						rowTilesDirectory.mkdir();
-						File columnTilesDirectory = new File(rowTilesDirectory.getPath(),  String.valueOf(column));
-						columnTilesDirectory.mkdir();
-						file = new File(columnTilesDirectory.getPath() + File.separator + fileName + "_Tile_" + row + "_" + column + "_" + displayForm.getName() + fileExtension);
-						currentWorkingDirectoryPath = columnTilesDirectory.getPath();
-						tracker.setCurrentWorkingDirectoryPath(currentWorkingDirectoryPath);
-
-						eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("visExport.dialog.writingToFile"), this));
-						eventDispatcher.triggerEvent(new StatusDialogTitle(file.getName(), this));
-						eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, --remainingTiles, this));
-
-						// open file for writing
-						try {
-							OutputStreamWriter fileWriter = null;
-							if (config.getVisExportConfig().isExportAsKmz()) {
-								zipOut = new ZipOutputStream(new FileOutputStream(file));
-								ZipEntry zipEntry = new ZipEntry("doc.kml");
-								zipOut.putNextEntry(zipEntry);
-								fileWriter = new OutputStreamWriter(zipOut, CHARSET);
-							} else
-								fileWriter = new OutputStreamWriter(new FileOutputStream(file), CHARSET);
-
-							// set output for SAXWriter
-							saxWriter.setOutput(fileWriter);	
-						} catch (IOException e) {
-							throw new VisExportException("Failed to open file '" + file.getName() + "' for writing.", e);
-						}
-
-						// create worker pools
-						// here we have an open issue: queue sizes are fix...
-						writerPool = new SingleWorkerPool<>(
-								"vis_writer_pool",
-								new XMLWriterWorkerFactory(saxWriter, eventDispatcher),
-								100,
-								true);
-
-						visWorkerPool = new WorkerPool<>(
-								"vis_exporter_pool",
-								config.getVisExportConfig().getResources().getThreadPool().getMinThreads(),
-								config.getVisExportConfig().getResources().getThreadPool().getMaxThreads(),
-								PoolSizeAdaptationStrategy.AGGRESSIVE,
-								new VisExportWorkerFactory(outputFile,
-										jaxbKmlContext,
-										jaxbColladaContext,
-										writerPool,
-										tracker,
-										query,
-										kmlFactory,
-										config,
-										eventDispatcher),
-								300,
-								false);
-
-						// prestart pool workers
-						writerPool.prestartCoreWorkers();
-						visWorkerPool.prestartCoreWorkers();
-
-						// fail if we could not start a single import worker
-						if (visWorkerPool.getPoolSize() == 0)
-							throw new VisExportException("Failed to start database export worker pool. Check the database connection pool settings.");
-
-						// create file header writer
-						SAXFragmentWriter fragmentWriter = new SAXFragmentWriter(kmlFactory.createDocument(null).getName(), saxWriter);
-
-						// ok, preparations done. inform user...
-						log.info("Exporting to file: " + file.getAbsolutePath());
-
-						// create kml root element
-						KmlType kmlType = kmlFactory.createKmlType();
-						JAXBElement<KmlType> kml = kmlFactory.createKml(kmlType);
-
-						DocumentType document = kmlFactory.createDocumentType();
-						document.setName(fileName + "_Tile_" + row + "_" + column + "_" + displayForm.getName());
-
-						document.setOpen(false);
-						kmlType.setAbstractFeatureGroup(kmlFactory.createDocument(document));
-
-						// write file header
-						Marshaller marshaller = null;
-						try {
-							marshaller = jaxbKmlContext.createMarshaller();
-							fragmentWriter.setWriteMode(WriteMode.HEAD);
-							marshaller.marshal(kml, fragmentWriter);
-
-							if (config.getVisExportConfig().isShowTileBorders())
-								addBorder(tile.getExtent(), null, saxWriter);
-
-						} catch (JAXBException e) {
-							throw new VisExportException("Failed to write output file.", e);
-						}
-
-						// get database splitter and start query
-						try {
-							DBSplitter = new DBSplitter(
-									schemaMapping,
-									visWorkerPool,
-									query,
-									displayForm,
-									config);
-
-							if (shouldRun)
-								DBSplitter.startQuery();
-						} catch (SQLException | QueryBuildException | FilterException e) {
-							throw new VisExportException("Failed to query the database.", e);
-						}
-
-						// shutdown worker pools
-						try {
-							visWorkerPool.shutdownAndWait();
-							writerPool.shutdownAndWait();
-						} catch (InterruptedException e) {
-							throw new VisExportException("Failed to shutdown worker pools.", e);
-						}
+		// tiles are exported by concurrent tile exporters that share the
+		// worker thread and database connection budget of the export
+		int tilesInParallel = Math.max(1, Math.min(config.getVisExportConfig().getResources().getTilesInParallel(), rows * columns));
+		ExecutorService tileExecutor = null;
+		if (tilesInParallel > 1) {
+			log.info("Exporting " + tilesInParallel + " tiles in parallel.");
+			tileExecutor = Executors.newFixedThreadPool(tilesInParallel);
+		}
 
-						try {
-							// add styles
-							if (!objectCounter.isEmpty() && !config.getVisExportConfig().isOneFilePerObject()) {
-								for (int objectClassId : objectCounter.keySet()) {
-									if (objectCounter.get(objectClassId) > 0)
-										addStyle(displayForm, objectClassId, saxWriter);
-								}
-							}
-						} catch (JAXBException e) {
-							throw new VisExportException("Failed to write styles.", e);
-						}
+		// decoded texture images are shared by the workers of all tiles
+		textureImageCache = new TextureImageCache(config.getVisExportConfig().getResources().getTexImageCacheSize() * 1024L * 1024L);
 
-						// write footer element
-						try {
-							fragmentWriter.setWriteMode(WriteMode.TAIL);
-							marshaller.marshal(kml, fragmentWriter);
-						} catch (JAXBException e) {
-							throw new VisExportException("Failed to write output file.", e);
-						}
-						
-						try {
-							if (!objectCounter.isEmpty()) {
-								saxWriter.flush();
-								if (config.getVisExportConfig().isExportAsKmz()) {
-									zipOut.closeEntry();
-
-									List<File> filesToZip = new ArrayList<File>();
-									String TEMP_FOLDER = "__temp";
-									File tempFolder = new File(currentWorkingDirectoryPath, TEMP_FOLDER);
-									lastTempFolder = tempFolder;
-									int indexOfZipFilePath = tempFolder.getCanonicalPath().length() + 1;
-
-									if (tempFolder.exists()) { // !config.getVisExporter().isOneFilePerObject()
-										log.info("Zipping to kmz archive from temporary folder...");
-										getAllFiles(tempFolder, filesToZip);
-										for (File fileToZip : filesToZip) {
-											if (!fileToZip.isDirectory()) {
-												FileInputStream inputStream = new FileInputStream(fileToZip);
-												String zipEntryName = fileToZip.getCanonicalPath().substring(indexOfZipFilePath);
-												zipEntryName = zipEntryName.replace(File.separator, "/"); // MUST
-												ZipEntry zipEntry = new ZipEntry(zipEntryName);
-												zipOut.putNextEntry(zipEntry);
-
-												byte[] bytes = new byte[64*1024]; // 64K should be enough for most
-												int length;
-												while ((length = inputStream.read(bytes)) >= 0) {
-													zipOut.write(bytes, 0, length);
-												}
-												inputStream.close();
-												zipOut.closeEntry();
-											}
-										}
-										log.info("Removing temporary folder...");
-										deleteFolder(tempFolder);
-									}
-									zipOut.close();
-								}
-							}
-						} catch (Exception e) {
-							throw new VisExportException("Failed to write output file.", e);
-						}
-						
-						// flush sax writer and close file
-						try {
-							saxWriter.flush();
-							saxWriter.getOutputWriter().close();
-						} catch (Exception e) {
-							throw new VisExportException("Failed to close output file.", e);
-						}
-
-						// delete empty tile file if requested
-						if (objectCounter.isEmpty() && !config.getVisExportConfig().isExportEmptyTiles()) {
-							log.debug("Tile_" + row + "_" + column + " is empty. Deleting file " + file.getName() + ".");
-							file.delete();
-						}
+		// elevation lookups are shared as well so that they can be batched and cached
+		if (elevation.getAltitudeOffsetMode() == AltitudeOffsetMode.GENERIC_ATTRIBUTE && elevation.isCallGElevationService()) {
+			try {
+				elevationServiceHandler = new ElevationServiceHandler(config);
+			} catch (IOException e) {
+				throw new VisExportException("Failed to initialize the elevation service.", e);
+			}
+		}
 
-						eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.finish.msg"), this));
-					} finally {
-						// clean up
-						if (writerPool != null && !writerPool.isTerminated())
-							writerPool.shutdownNow();
+		// texture atlases and models are created by a separate pool so that the
+		// database workers can continue with the next objects in the meantime
+		int modelThreads = config.getVisExportConfig().getResources().getModelThreads();
+		if (modelThreads > 0) {
+			modelExecutor = new ThreadPoolExecutor(modelThreads, modelThreads,
+					0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(2 * modelThreads),
+					new ThreadPoolExecutor.CallerRunsPolicy());
+		}
 
-						if (visWorkerPool != null && !visWorkerPool.isTerminated())
-							visWorkerPool.shutdownNow();
+		File tilesRootDirectory = new File(path, "Tiles");
+		tilesetWriter = config.getVisExportConfig().isWrite3DTiles() ? new TilesetWriter(rows, columns) : null;
+		AtomicInteger remainingTilesCounter = new AtomicInteger(remainingTiles);
+		Deque<Future<TileExport>> pendingTiles = new ArrayDeque<>();
 
-						try {
-							eventDispatcher.flushEvents();
-						} catch (InterruptedException e) {
-							//
+		try {
+			// iterate over tiles
+			for (int row = 0; shouldRun && row < rows; row++) {
+				for (int column = 0; shouldRun && column < columns; column++) {
+					TileExport tileExport = createTileExport(query, predicate, tiling, row, column, tilesInParallel);
+
+					if (tileExecutor == null) {
+						exportTile(tileExport, outputFile, tilesRootDirectory, fileName, fileExtension, colladaMarshallerPool, remainingTilesCounter);
+						jsonHasContent = completeTile(tileExport, fileName, masterFileWriter, jsonFileWriter, jsonHasContent);
+					} else {
+						pendingTiles.add(tileExecutor.submit(() -> exportTile(tileExport,
+								outputFile, tilesRootDirectory, fileName, fileExtension, colladaMarshallerPool, remainingTilesCounter)));
+
+						// complete finished tiles in tile order so that the master file
+						// and the JSON file do not depend on the order tiles finish
+						while (pendingTiles.size() > 2 * tilesInParallel
+								|| (!pendingTiles.isEmpty() && pendingTiles.peek().isDone())) {
+							TileExport completed = getTileExport(pendingTiles.poll());
+							jsonHasContent = completeTile(completed, fileName, masterFileWriter, jsonFileWriter, jsonHasContent);
 						}
 					}
 				}
+			}
 
-				// create reference to tile file in master file
-				if (masterFileWriter != null && !objectCounter.isEmpty()) {
-					try {
-						writeMasterFileTileReference(fileName, tile, masterFileWriter);
-					} catch (JAXBException e) {
-						if (jsonFileWriter != null) try { jsonFileWriter.close(); } catch (IOException ioe) { }
-						throw new VisExportException("Failed to write tile reference to master file.", e);
-					}
+			while (!pendingTiles.isEmpty()) {
+				TileExport completed = getTileExport(pendingTiles.poll());
+				jsonHasContent = completeTile(completed, fileName, masterFileWriter, jsonFileWriter, jsonHasContent);
+			}
+		} catch (VisExportException e) {
+			shouldRun = false;
+			activeTiles.forEach(TileExport::abort);
+			pendingTiles.forEach(future -> future.cancel(false));
+			if (jsonFileWriter != null) try { jsonFileWriter.close(); } catch (IOException ioe) { }
+			throw e;
+		} finally {
+			if (tileExecutor != null) {
+				tileExecutor.shutdown();
+				try {
+					tileExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					//
 				}
+			}
 
-				// fill cityobject JSON file after tile has been processed
-				if (jsonFileWriter != null && !objectCounter.isEmpty()) {
-					try {
-						Iterator<CityObject4JSON> iter = tracker.values().iterator();
-						if (iter.hasNext()) {
-							if (jsonHasContent)
-								jsonFileWriter.write(",\n".getBytes(CHARSET));
-							else
-								jsonHasContent = true;
-						}
+			if (modelExecutor != null) {
+				modelExecutor.shutdown();
+				modelExecutor = null;
+			}
 
-						while (iter.hasNext()) {
-							jsonFileWriter.write(iter.next().toString().getBytes(CHARSET));
-							if (iter.hasNext())
-								jsonFileWriter.write(",\n".getBytes(CHARSET));
-						}
-					} catch (IOException e) {
-						if (jsonFileWriter != null) try { jsonFileWriter.close(); } catch (IOException ioe) { }
-						throw new VisExportException("Failed to write JSON file.", e);
-					}
+			log.debug("Texture image cache: " + textureImageCache.getHits() + " hits, " + textureImageCache.getMisses() + " misses.");
+			textureImageCache.clear();
+
+			if (elevationServiceHandler != null) {
+				try {
+					elevationServiceHandler.close();
+				} catch (IOException e) {
+					log.warn("Failed to write the elevation cache: " + e.getMessage());
 				}
 
-				objectCounter.clear();
+				elevationServiceHandler = null;
 			}
 		}
 
@@ -661,6 +492,17 @@ public class VisExporter implements EventHandler {
 			}
 		}
 
+		// write 3D Tiles tileset file
+		if (tilesetWriter != null && shouldRun && !tilesetWriter.isEmpty()) {
+			File tilesetFile = new File(path, fileName + "_tileset.json");
+			try {
+				log.info("Writing 3D Tiles tileset file " + tilesetFile.getAbsolutePath() + ".");
+				tilesetWriter.write(tilesetFile);
+			} catch (IOException e) {
+				throw new VisExportException("Failed to write 3D Tiles tileset file.", e);
+			}
+		}
+
 		// write master JSON file
 		try {
 			writeMasterJsonFileTileReference(path, fileName, fileExtension, tiling);
@@ -687,9 +529,6 @@ public class VisExporter implements EventHandler {
 
 		log.info("Processed geometry objects: " + geometryCounter);
 
-		if (lastTempFolder != null && lastTempFolder.exists()) 
-			deleteFolder(lastTempFolder); // just in case
-
 		if (shouldRun) {
 			log.info("Total export time: " + Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
 		} else if (exception != null) {
@@ -699,18 +538,341 @@ public class VisExporter implements EventHandler {
 		return shouldRun;
 	}
 
-	private SAXWriter writeMasterFileHeader(String fileName, String path, Tiling tiling, List<FeatureType> featureTypes) throws JAXBException, IOException, SAXException {
+	private TileExport createTileExport(Query query, Predicate predicate, Tiling tiling, int row, int column, int tilesInParallel) throws VisExportException {
+		try {
+			// every tile gets its own query and tiling so that tiles can be exported concurrently
+			Tile tile = tiling.getTileAt(row, column);
+			Tiling tileTiling = new Tiling(tiling.getExtent(), tiling.getRows(), tiling.getColumns());
+			tileTiling.setTilingOptions(tiling.getTilingOptions());
+			tileTiling.setActiveTile(tile);
+
+			Query tileQuery = new Query(query);
+			tileQuery.setTiling(tileTiling);
+
+			Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
+			if (predicate != null)
+				tileQuery.setSelection(new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)));
+			else
+				tileQuery.setSelection(new SelectionFilter(bboxFilter));
+
+			return new TileExport(tile, tileQuery, tilesInParallel);
+		} catch (FilterException e) {
+			throw new VisExportException("Failed to get tile at [" + row + "," + column + "].", e);
+		}
+	}
+
+	private TileExport exportTile(TileExport tileExport, Path outputFile, File tilesRootDirectory, String fileName, String fileExtension,
+								  MarshallerPool colladaMarshallerPool, AtomicInteger remainingTiles) throws VisExportException {
+		int row = tileExport.tile.getRow();
+		int column = tileExport.tile.getColumn();
+		SAXWriter saxWriter = createSAXWriter();
+
+		activeTiles.add(tileExport);
+		try {
+			// iterate over display forms
+			for (DisplayForm displayForm : config.getVisExportConfig().getDisplayForms().values()) {
+				if (!shouldRun)
+					break;
+
+				if (!displayForm.isActive())
+					continue;
+
+				File file;
+				OutputFile kmzFile = null;
+				String currentWorkingDirectoryPath;
+				try {
+					tilesRootDirectory.mkdir();
+					File rowTilesDirectory = new File(tilesRootDirectory.getPath(),  String.valueOf(row));
+					rowTilesDirectory.mkdir();
+					File columnTilesDirectory = new File(rowTilesDirectory.getPath(),  String.valueOf(column));
+					columnTilesDirectory.mkdir();
+					file = new File(columnTilesDirectory.getPath() + File.separator + fileName + "_Tile_" + row + "_" + column + "_" + displayForm.getName() + fileExtension);
+					currentWorkingDirectoryPath = columnTilesDirectory.getPath();
+					tileExport.tracker.setCurrentWorkingDirectoryPath(currentWorkingDirectoryPath);
+
+					eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("visExport.dialog.writingToFile"), this));
+					eventDispatcher.triggerEvent(new StatusDialogTitle(file.getName(), this));
+					eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, remainingTiles.decrementAndGet(), this));
+
+					// open file for writing
+					try {
+						OutputStreamWriter fileWriter = null;
+						if (config.getVisExportConfig().isExportAsKmz()) {
+							// workers add models, textures and balloons as separate entries
+							kmzFile = new OutputFileFactory(config, eventDispatcher).createZipOutputFile(file.toPath(), "doc.kml",
+									tileExport.maxThreads);
+							fileWriter = new OutputStreamWriter(kmzFile.openStream(), CHARSET);
+							tileExport.tracker.setArchive(kmzFile);
+						} else
+							fileWriter = new OutputStreamWriter(new FileOutputStream(file), CHARSET);
+
+						// set output for SAXWriter
+						saxWriter.setOutput(fileWriter);
+					} catch (IOException e) {
+						throw new VisExportException("Failed to open file '" + file.getName() + "' for writing.", e);
+					}
+
+					// models of the COLLADA display form are batched into 3D Tiles content
+					TileContent tileContent = tilesetWriter != null && displayForm.getType() == DisplayFormType.COLLADA ?
+							new TileContent() :
+							null;
+					tileExport.tracker.setTileContent(tileContent);
+
+					// create worker pools
+					// here we have an open issue: queue sizes are fix...
+					tileExport.writerPool = new SingleWorkerPool<>(
+							"vis_writer_pool",
+							new XMLWriterWorkerFactory(saxWriter, eventDispatcher),
+							100,
+							true);
+
+					tileExport.visWorkerPool = new WorkerPool<>(
+							"vis_exporter_pool",
+							tileExport.minThreads,
+							tileExport.maxThreads,
+							PoolSizeAdaptationStrategy.AGGRESSIVE,
+							new VisExportWorkerFactory(outputFile,
+									kmlMarshallerPool,
+									colladaMarshallerPool,
+									tileExport.writerPool,
+									tileExport.tracker,
+									textureImageCache,
+									elevationServiceHandler,
+									modelExecutor,
+									tileExport.query,
+									kmlFactory,
+									config,
+									eventDispatcher,
+									tileExport),
+							300,
+							false);
+
+					// prestart pool workers
+					tileExport.writerPool.prestartCoreWorkers();
+					tileExport.visWorkerPool.prestartCoreWorkers();
+
+					// fail if we could not start a single import worker
+					if (tileExport.visWorkerPool.getPoolSize() == 0)
+						throw new VisExportException("Failed to start database export worker pool. Check the database connection pool settings.");
+
+					// create file header writer
+					SAXFragmentWriter fragmentWriter = new SAXFragmentWriter(kmlFactory.createDocument(null).getName(), saxWriter);
+
+					// ok, preparations done. inform user...
+					log.info("Exporting to file: " + file.getAbsolutePath());
+
+					// create kml root element
+					KmlType kmlType = kmlFactory.createKmlType();
+					JAXBElement<KmlType> kml = kmlFactory.createKml(kmlType);
+
+					DocumentType document = kmlFactory.createDocumentType();
+					document.setName(fileName + "_Tile_" + row + "_" + column + "_" + displayForm.getName());
+
+					document.setOpen(false);
+					kmlType.setAbstractFeatureGroup(kmlFactory.createDocument(document));
+
+					// write file header
+					try {
+						Marshaller marshaller = kmlMarshallerPool.getMarshaller();
+						fragmentWriter.setWriteMode(WriteMode.HEAD);
+						marshaller.marshal(kml, fragmentWriter);
+
+						if (config.getVisExportConfig().isShowTileBorders())
+							addBorder(tileExport.tile.getExtent(), null, saxWriter);
+
+					} catch (JAXBException e) {
+						throw new VisExportException("Failed to write output file.", e);
+					}
+
+					// get database splitter and start query
+					try {
+						tileExport.dbSplitter = new DBSplitter(
+								schemaMapping,
+								tileExport.visWorkerPool,
+								tileExport.query,
+								displayForm,
+								config);
+
+						if (shouldRun)
+							tileExport.dbSplitter.startQuery();
+					} catch (SQLException | QueryBuildException | FilterException e) {
+						throw new VisExportException("Failed to query the database.", e);
+					}
+
+					// shutdown worker pools and wait for the object counters of the workers
+					try {
+						tileExport.visWorkerPool.shutdownAndWait();
+						tileExport.writerPool.shutdownAndWait();
+						eventDispatcher.flushEvents();
+					} catch (InterruptedException e) {
+						throw new VisExportException("Failed to shutdown worker pools.", e);
+					}
+
+					try {
+						// add styles
+						if (!tileExport.objectCounter.isEmpty() && !config.getVisExportConfig().isOneFilePerObject()) {
+							for (int objectClassId : new TreeSet<>(tileExport.objectCounter.keySet())) {
+								if (tileExport.objectCounter.get(objectClassId) > 0)
+									addStyle(displayForm, objectClassId, saxWriter);
+							}
+						}
+					} catch (JAXBException e) {
+						throw new VisExportException("Failed to write styles.", e);
+					}
+
+					// write footer element
+					try {
+						fragmentWriter.setWriteMode(WriteMode.TAIL);
+						kmlMarshallerPool.getMarshaller().marshal(kml, fragmentWriter);
+					} catch (JAXBException e) {
+						throw new VisExportException("Failed to write output file.", e);
+					}
+
+					// flush sax writer and close file
+					try {
+						saxWriter.flush();
+						saxWriter.getOutputWriter().close();
+
+						if (kmzFile != null) {
+							kmzFile.close();
+							kmzFile = null;
+						}
+					} catch (Exception e) {
+						throw new VisExportException("Failed to close output file.", e);
+					}
+
+					// delete empty tile file if requested
+					if (tileExport.objectCounter.isEmpty() && !config.getVisExportConfig().isExportEmptyTiles()) {
+						log.debug("Tile_" + row + "_" + column + " is empty. Deleting file " + file.getName() + ".");
+						file.delete();
+					}
+
+					// the tile file does not contain models when writing 3D Tiles
+					if (tileContent != null) {
+						file.delete();
+						writeTileContent(tileContent, tileExport.tile, columnTilesDirectory, fileName);
+					}
+
+					eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.finish.msg"), this));
+				} finally {
+					// clean up
+					tileExport.tracker.setTileContent(null);
+
+					if (tileExport.writerPool != null && !tileExport.writerPool.isTerminated())
+						tileExport.writerPool.shutdownNow();
+
+					if (tileExport.visWorkerPool != null && !tileExport.visWorkerPool.isTerminated())
+						tileExport.visWorkerPool.shutdownNow();
+
+					if (kmzFile != null) {
+						try {
+							saxWriter.getOutputWriter().close();
+							kmzFile.close();
+						} catch (IOException e) {
+							//
+						}
+					}
+
+					try {
+						eventDispatcher.flushEvents();
+					} catch (InterruptedException e) {
+						//
+					}
+				}
+			}
+		} finally {
+			activeTiles.remove(tileExport);
+		}
+
+		return tileExport;
+	}
+
+	private void writeTileContent(TileContent tileContent, Tile tile, File directory, String fileName) throws VisExportException {
+		if (tileContent.isEmpty())
+			return;
+
+		String tileName = fileName + "_Tile_" + tile.getRow() + "_" + tile.getColumn() + ".b3dm";
+		try {
+			tileContent.write(new File(directory, tileName));
+		} catch (IOException e) {
+			throw new VisExportException("Failed to write 3D Tiles content '" + tileName + "'.", e);
+		}
+
+		log.debug("Wrote " + tileContent.getNumberOfFeatures() + " models to " + tileName + ".");
+		tilesetWriter.addTile(tile.getRow(), tile.getColumn(),
+				"Tiles/" + tile.getRow() + "/" + tile.getColumn() + "/" + tileName,
+				tileContent.getRegion());
+	}
+
+	private boolean completeTile(TileExport tileExport, String fileName, SAXWriter masterFileWriter, FileOutputStream jsonFileWriter, boolean jsonHasContent) throws VisExportException {
+		if (tileExport.objectCounter.isEmpty())
+			return jsonHasContent;
+
+		// create reference to tile file in master file
+		if (masterFileWriter != null) {
+			try {
+				writeMasterFileTileReference(fileName, tileExport.tile, masterFileWriter);
+			} catch (JAXBException e) {
+				throw new VisExportException("Failed to write tile reference to master file.", e);
+			}
+		}
+
+		// fill cityobject JSON file after tile has been processed
+		if (jsonFileWriter != null) {
+			try {
+				Iterator<CityObject4JSON> iter = tileExport.tracker.values().iterator();
+				if (iter.hasNext()) {
+					if (jsonHasContent)
+						jsonFileWriter.write(",\n".getBytes(CHARSET));
+					else
+						jsonHasContent = true;
+				}
+
+				while (iter.hasNext()) {
+					jsonFileWriter.write(iter.next().toString().getBytes(CHARSET));
+					if (iter.hasNext())
+						jsonFileWriter.write(",\n".getBytes(CHARSET));
+				}
+			} catch (IOException e) {
+				throw new VisExportException("Failed to write JSON file.", e);
+			}
+		}
+
+		return jsonHasContent;
+	}
+
+	private TileExport getTileExport(Future<TileExport> future) throws VisExportException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			throw new VisExportException("Interrupted while waiting for a tile export to finish.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof VisExportException)
+				throw (VisExportException) e.getCause();
+			else
+				throw new VisExportException("An unexpected error occurred while exporting a tile.", e.getCause());
+		}
+	}
+
+	private SAXWriter createSAXWriter() {
+		// create a saxWriter instance
+		// define indent for xml output and namespace mappings
 		SAXWriter saxWriter = new SAXWriter();
 		saxWriter.setIndentString("  ");
 		saxWriter.setHeaderComment("Written by " + this.getClass().getPackage().getImplementationTitle() + ", version \"" +
-						this.getClass().getPackage().getImplementationVersion() + '"',
+				this.getClass().getPackage().getImplementationVersion() + '"',
 				this.getClass().getPackage().getImplementationVendor());
 		saxWriter.setDefaultNamespace("http://www.opengis.net/kml/2.2"); // default namespace
 		saxWriter.setPrefix("gx", "http://www.google.com/kml/ext/2.2");
 		saxWriter.setPrefix("atom", "http://www.w3.org/2005/Atom");
 		saxWriter.setPrefix("xal", "urn:oasis:names:tc:ciq:xsdschema:xAL:2.0");
+		return saxWriter;
+	}
+
+	private SAXWriter writeMasterFileHeader(String fileName, String path, Tiling tiling, List<FeatureType> featureTypes) throws JAXBException, IOException, SAXException {
+		SAXWriter saxWriter = createSAXWriter();
 
-		Marshaller marshaller = jaxbKmlContext.createMarshaller();
+		Marshaller marshaller = kmlMarshallerPool.getMarshaller();
 
 		File mainFile = new File(path, fileName + ".kml");
 		FileOutputStream outputStream = new FileOutputStream(mainFile);
@@ -765,7 +927,7 @@ public class VisExporter implements EventHandler {
 		if (tile == null)
 			return;
 
-		Marshaller marshaller = jaxbKmlContext.createMarshaller();
+		Marshaller marshaller = kmlMarshallerPool.getMarshaller();
 		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
 
 		// tileName should not contain special characters,
@@ -776,7 +938,7 @@ public class VisExporter implements EventHandler {
 		folderType.setName(tileName);
 
 		for (DisplayForm displayForm : config.getVisExportConfig().getDisplayForms().values()) {
-			if (!displayForm.isActive()) 
+			if (!displayForm.isActive() || isWrittenAs3DTiles(displayForm))
 				continue;
 
 			String fileExtension = config.getVisExportConfig().isExportAsKmz() ? ".kmz" : ".kml";
@@ -818,7 +980,7 @@ public class VisExporter implements EventHandler {
 	}
 
 	private void writeMasterFileFooter(SAXWriter saxWriter) throws JAXBException, SAXException {
-		Marshaller marshaller = jaxbKmlContext.createMarshaller();
+		Marshaller marshaller = kmlMarshallerPool.getMarshaller();
 
 		// create file header
 		SAXFragmentWriter fragmentWriter = new SAXFragmentWriter(new QName("http://www.opengis.net/kml/2.2", "Document"), saxWriter);						
@@ -835,7 +997,7 @@ public class VisExporter implements EventHandler {
 
 	private void writeMasterJsonFileTileReference(String path, String fileName, String fileExtension, Tiling tiling) throws IOException {
 		for (DisplayForm displayForm : config.getVisExportConfig().getDisplayForms().values()) {
-			if (displayForm.isActive()) {
+			if (displayForm.isActive() && !isWrittenAs3DTiles(displayForm)) {
 				File jsonFileForMasterFile = new File(path + File.separator + fileName + "_" + displayForm.getName() + "_MasterJSON" + ".json");
 				FileOutputStream jsonFileWriterForMasterFile = new FileOutputStream(jsonFileForMasterFile);
 				jsonFileWriterForMasterFile.write("{\n".getBytes(CHARSET));
@@ -860,6 +1022,10 @@ public class VisExporter implements EventHandler {
 		}
 	}
 
+	private boolean isWrittenAs3DTiles(DisplayForm displayForm) {
+		return config.getVisExportConfig().isWrite3DTiles() && displayForm.getType() == DisplayFormType.COLLADA;
+	}
+
 	private void addStyle(DisplayForm displayForm, int objectClassId, SAXWriter saxWriter) throws JAXBException {
 		if (!displayForm.isActive()) {
 			return;
@@ -934,7 +1100,7 @@ public class VisExporter implements EventHandler {
 	}
 
 	private void addPointAndCurveStyle(SAXWriter saxWriter, PointAndCurve pacSettings, String styleBasisName) throws JAXBException {
-		Marshaller marshaller = jaxbKmlContext.createMarshaller();
+		Marshaller marshaller = kmlMarshallerPool.getMarshaller();
 		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
 
 		BalloonStyleType balloonStyle = new BalloonStyleType();
@@ -1103,7 +1269,7 @@ public class VisExporter implements EventHandler {
 	}
 
 	private void addStyle(Style style, String styleBasisName, SAXWriter saxWriter) throws JAXBException {
-		Marshaller marshaller = jaxbKmlContext.createMarshaller();
+		Marshaller marshaller = kmlMarshallerPool.getMarshaller();
 		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
 
 		BalloonStyleType balloonStyle = new BalloonStyleType();
@@ -1296,7 +1462,7 @@ public class VisExporter implements EventHandler {
 	}
 
 	private void addBorder(BoundingBox tile, StyleType style, SAXWriter saxWriter) throws JAXBException {
-		Marshaller marshaller = jaxbKmlContext.createMarshaller();
+		Marshaller marshaller = kmlMarshallerPool.getMarshaller();
 		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
 
 		PlacemarkType placemark = kmlFactory.createPlacemarkType();
@@ -1403,37 +1569,16 @@ public class VisExporter implements EventHandler {
 		return success;
 	}
 
-	private void getAllFiles(File startFolder, List<File> fileList) {
-		File[] files = startFolder.listFiles();
-		for (File file : files) {
-			fileList.add(file);
-			if (file.isDirectory())
-				getAllFiles(file, fileList);
-		}
-	}
-
-	private void deleteFolder(File folder) {
-		if (folder == null) return;
-		File[] files = folder.listFiles();
-		if (files != null) {
-			for (File f: files) {
-				if (f.isDirectory())
-					deleteFolder(f);
-				else
-					f.delete();
-			}
-		}
-		folder.delete();
-	}
-
 	@Override
 	public void handleEvent(Event e) throws Exception {
 		if (e.getEventType() == EventType.OBJECT_COUNTER) {
 			Map<Integer, Long> counter = ((ObjectCounterEvent) e).getCounter();
+			TileExport tileExport = e.getChannel() instanceof TileExport ? (TileExport) e.getChannel() : null;
 			for (Entry<Integer, Long> entry : counter.entrySet()) {
-				Long tmp = objectCounter.get(entry.getKey());
-				objectCounter.put(entry.getKey(), tmp == null ? entry.getValue() : tmp + entry.getValue());
-				tmp = totalObjectCounter.get(entry.getKey());
+				if (tileExport != null)
+					tileExport.objectCounter.merge(entry.getKey(), entry.getValue(), Long::sum);
+
+				Long tmp = totalObjectCounter.get(entry.getKey());
 				totalObjectCounter.put(entry.getKey(), tmp == null ? entry.getValue() : tmp + entry.getValue());
 			}
 		} else if (e.getEventType() == EventType.GEOMETRY_COUNTER) {
@@ -1450,17 +1595,7 @@ public class VisExporter implements EventHandler {
 
 				log.info("Waiting for objects being currently processed to end...");
 
-				if (DBSplitter != null) {
-					DBSplitter.shutdown();
-				}
-
-				if (visWorkerPool != null) {
-					visWorkerPool.drainWorkQueue();
-				}
-
-				if (lastTempFolder != null && lastTempFolder.exists()) {
-					deleteFolder(lastTempFolder); // just in case
-				}
+				activeTiles.forEach(TileExport::abort);
 			}
 		}
 	}
@@ -1484,4 +1619,35 @@ public class VisExporter implements EventHandler {
 
 		return colladaContext;
 	}
+
+	private final class TileExport {
+		private final Tile tile;
+		private final Query query;
+		private final ExportTracker tracker = new ExportTracker();
+		private final Map<Integer, Long> objectCounter = new ConcurrentHashMap<>();
+		private final int minThreads;
+		private final int maxThreads;
+
+		private volatile WorkerPool<DBSplittingResult> visWorkerPool;
+		private volatile SingleWorkerPool<SAXEventBuffer> writerPool;
+		private volatile DBSplitter dbSplitter;
+
+		TileExport(Tile tile, Query query, int tilesInParallel) {
+			this.tile = tile;
+			this.query = query;
+
+			// split the thread pool and thereby the connection budget among the concurrent tiles
+			maxThreads = Math.max(1, config.getVisExportConfig().getResources().getThreadPool().getMaxThreads() / tilesInParallel);
+			minThreads = Math.max(1, Math.min(maxThreads, config.getVisExportConfig().getResources().getThreadPool().getMinThreads() / tilesInParallel));
+		}
+
+		void abort() {
+			if (dbSplitter != null)
+				dbSplitter.shutdown();
+
+			if (visWorkerPool != null)
+				visWorkerPool.drainWorkQueue();
+		}
+	}
+
 }
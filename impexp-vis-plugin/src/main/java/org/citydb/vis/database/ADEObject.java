@@ -54,12 +54,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 public class ADEObject extends AbstractVisObject {
 	private final Logger log = Logger.getInstance();
 	private final int adeObjectClassId;
 
 	public ADEObject(Connection connection,
+	                 Map<String, PreparedStatement> statements,
 	                 Query query,
 	                 VisExporterManager visExporterManager,
 	                 net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -72,6 +74,7 @@ public class ADEObject extends AbstractVisObject {
 	                 int adeObjectClassId) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -130,7 +133,7 @@ public class ADEObject extends AbstractVisObject {
 				try {
 					String query = adeVisExporter.getSurfaceGeometryQuery(currentLod);
 					if (query != null) {
-						brepIdsQueryPs = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						brepIdsQueryPs = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							brepIdsQueryPs.setLong(i, work.getId());
 
@@ -144,7 +147,7 @@ public class ADEObject extends AbstractVisObject {
 					// check for point or curve
 					query = adeVisExporter.getPointAndCurveQuery(currentLod);
 					if (query != null) {
-						pointAndCurveQueryPs = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						pointAndCurveQueryPs = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							pointAndCurveQueryPs.setLong(i, work.getId());
 
@@ -189,7 +192,7 @@ public class ADEObject extends AbstractVisObject {
 					} else {
 						query = adeVisExporter.getSurfaceGeometryRefIdsQuery(currentLod);
 					}
-					brepGeometriesQueryPs = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					brepGeometriesQueryPs = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					for (int i = 1; i <= getParameterCount(query); i++)
 						brepGeometriesQueryPs.setLong(i, work.getId());
 					brepGeometriesQueryRs = brepGeometriesQueryPs.executeQuery();
@@ -207,7 +210,7 @@ public class ADEObject extends AbstractVisObject {
 
 							try {
 								query = queries.getExtrusionHeight();
-								psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+								psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 								for (int i = 1; i <= getParameterCount(query); i++)
 									psQuery.setLong(i, work.getId());
 
@@ -219,7 +222,7 @@ public class ADEObject extends AbstractVisObject {
 										work, getBalloonSettings().isBalloonContentInSeparateFile());
 								break;
 							} finally {
-								try { if (psQuery != null) psQuery.close(); } catch (SQLException e) {}
+								try { if (rs != null) rs.close(); } catch (SQLException e) {}
 							}
 
 						case GEOMETRY:
@@ -269,12 +272,12 @@ public class ADEObject extends AbstractVisObject {
 		} catch (ADEVisExportException e) {
 			log.error("ADE VIS export error while working on city object " + work.getGmlId() + ".", e);
 		} finally {
-			if (brepGeometriesQueryPs != null)
-				try { brepGeometriesQueryPs.close(); } catch (SQLException e) {}
-			if (brepGeometriesQueryPs != null)
-				try { brepGeometriesQueryPs.close(); } catch (SQLException e) {}
-			if (pointAndCurveQueryPs != null)
-				try { pointAndCurveQueryPs.close(); } catch (SQLException e) {}
+			if (brepGeometriesQueryRs != null)
+				try { brepGeometriesQueryRs.close(); } catch (SQLException e) {}
+			if (brepIdsQueryRs != null)
+				try { brepIdsQueryRs.close(); } catch (SQLException e) {}
+			if (pointAndCurveQueryRs != null)
+				try { pointAndCurveQueryRs.close(); } catch (SQLException e) {}
 		}
 	}
 
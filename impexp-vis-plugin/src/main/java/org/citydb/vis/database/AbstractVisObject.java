@@ -78,6 +78,8 @@ import org.citydb.vis.datatype.TypeAttributeValueEnum;
 import org.citydb.vis.util.AffineTransformer;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.ElevationServiceHandler;
+import org.citydb.vis.util.FootprintAggregator;
+import org.citydb.vis.util.TextureImageCache;
 import org.citygml4j.geometry.Matrix;
 import org.citygml4j.geometry.Point;
 import org.citygml4j.model.citygml.CityGMLClass;
@@ -151,6 +153,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 
@@ -163,6 +166,8 @@ public abstract class AbstractVisObject {
 	private final String NO_TEXIMAGE = "default";
 
 	private HashMap<Long, SurfaceInfo> surfaceInfos = new HashMap<Long, SurfaceInfo>();
+	// triangulations are shared by the COLLADA and glTF models, key is surfaceId
+	private HashMap<Long, Triangulation> triangulations = new HashMap<Long, Triangulation>();
 	private NodeZ coordinateTree;
 
 	// key is surfaceId, surfaceId is originally a Long, here we use an Object for compatibility with the textureAtlasAPI
@@ -191,6 +196,7 @@ public abstract class AbstractVisObject {
 	private boolean ignoreSurfaceOrientation = true;
 
 	protected Connection connection;
+	protected Map<String, PreparedStatement> statements;
 	protected Query query;
 	protected VisExporterManager visExporterManager;
 	protected net.opengis.kml._2.ObjectFactory kmlFactory;
@@ -211,6 +217,7 @@ public abstract class AbstractVisObject {
 	private final ImageReader imageReader;
 
 	protected AbstractVisObject(Connection connection,
+								Map<String, PreparedStatement> statements,
 								Query query,
 								VisExporterManager visExporterManager,
 								net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -221,6 +228,7 @@ public abstract class AbstractVisObject {
 								EventDispatcher eventDispatcher,
 								Config config) {
 		this.connection = connection;
+		this.statements = statements;
 		this.query = query;
 		this.visExporterManager = visExporterManager;
 		this.kmlFactory = kmlFactory;
@@ -258,6 +266,33 @@ public abstract class AbstractVisObject {
 		return getStyles().getOrDefault(type);
 	}
 
+	protected PreparedStatement getStatement(String query) throws SQLException {
+		return getStatement(query, ResultSet.TYPE_FORWARD_ONLY);
+	}
+
+	protected PreparedStatement getStatement(String query, int resultSetType) throws SQLException {
+		// statements are owned by the export worker and stay open across objects. They are
+		// keyed by result set type so that only callers rewinding their results get scrollable cursors.
+		String key = resultSetType + ":" + query;
+		PreparedStatement statement = statements.get(key);
+		if (statement == null) {
+			statement = connection.prepareStatement(query, resultSetType, ResultSet.CONCUR_READ_ONLY);
+			statements.put(key, statement);
+		} else if (isInUse(statement)) {
+			// the cached statement still has an open result set (e.g., for nested queries),
+			// so use a fresh statement that is closed together with its result set
+			statement = connection.prepareStatement(query, resultSetType, ResultSet.CONCUR_READ_ONLY);
+			statement.closeOnCompletion();
+		}
+
+		return statement;
+	}
+
+	private boolean isInUse(PreparedStatement statement) throws SQLException {
+		ResultSet rs = statement.getResultSet();
+		return rs != null && !rs.isClosed();
+	}
+
 	protected BalloonTemplateHandler getBalloonTemplateHandler() {
 		return balloonTemplateHandler;
 	}
@@ -330,6 +365,7 @@ public abstract class AbstractVisObject {
 
 	protected void addSurfaceInfo(long surfaceId, SurfaceInfo surfaceInfo) {
 		surfaceInfos.put(surfaceId, surfaceInfo);
+		triangulations.remove(surfaceId);
 	}
 
 	public COLLADA generateColladaTree() {
@@ -693,64 +729,10 @@ public abstract class AbstractVisObject {
 			// --------------------------- geometry (variable part) ---------------------------
 			SurfaceInfo surfaceInfo = surfaceInfos.get(surfaceId);
 			List<VertexInfo> vertexInfos = surfaceInfo.getVertexInfos();
-			double[] ordinatesArray = new double[vertexInfos.size() * 3];
-
-			int count = 0;
-			for (VertexInfo vertexInfo : vertexInfos) {
-				ordinatesArray[count++] = vertexInfo.getX() - origin.x;
-				ordinatesArray[count++] = vertexInfo.getY() - origin.y;
-				ordinatesArray[count++] = vertexInfo.getZ() - origin.z;
-			}
-
-			GeometryInfo ginfo = new GeometryInfo(GeometryInfo.POLYGON_ARRAY);
-			ginfo.setCoordinates(ordinatesArray);
-			ginfo.setContourCounts(surfaceInfo.getRingCountAsArray());
-			ginfo.setStripCounts(surfaceInfo.getVertexCount());
-			int outerRingCount = ginfo.getStripCounts()[0];
-
-			// triangulate the surface geometry
-			ginfo.convertToIndexedTriangles();
-
-			// generate normals
-			NormalGenerator ng = new NormalGenerator();
-			ng.generateNormals(ginfo);
-
-			int[] indexes = ginfo.getCoordinateIndices();
-			int[] normalIndexes = ginfo.getNormalIndices();
-			Vector3f[] normals = ginfo.getNormals();
-
-			// fix a reversed orientation of the triangulated surface 
-			byte[] edges = {0, 1, 1, 2, 2, 0};
-			boolean hasFound = false;
-			boolean reverse = false;
-
-			for (int i = 0; !hasFound && i < indexes.length; i += 3) {
-				// skip degenerated triangles
-				if (indexes[i] == indexes[i + 1] || indexes[i + 1] == indexes[i + 2] || indexes[i] == indexes[i + 2])
-					continue;
-
-				// find the first edge on the exterior ring
-				for (int j = 0; j < edges.length; j += 2) {
-					int first = i + edges[j];
-					int second = i + edges[j + 1];
-
-					if (indexes[first] < outerRingCount && indexes[second] < outerRingCount && Math.abs(indexes[first] - indexes[second]) == 1) {
-						// ok, we found it. now check the order of the vertex indices
-						hasFound = true;
-						if (indexes[first] > indexes[second])
-							reverse = true;
-
-						break;
-					}
-				}
-			}
-
-			// reverse indexes and normals
-			if (reverse) {
-				ginfo.reverse();
-				for (int i = 0; i < normals.length; i++)
-					normals[i].negate();
-			}
+			Triangulation triangulation = getTriangulation(surfaceId, surfaceInfo);
+			int[] indexes = triangulation.indexes;
+			int[] normalIndexes = triangulation.normalIndexes;
+			Vector3f[] normals = triangulation.normals;
 
 			// use vertex indices of the triangulation to populate
 			// the vertex arrays in the collada file
@@ -849,6 +831,131 @@ public abstract class AbstractVisObject {
 		return collada;
 	}
 
+	public GltfMesh generateGltfMesh() {
+		GltfMesh gltfMesh = new GltfMesh();
+		gltfMesh.setDoubleSided(ignoreSurfaceOrientation);
+
+		boolean generateNormals = config.getVisExportConfig().getColladaOptions().isGenerateSurfaceNormals();
+		HashMap<String, GltfMesh.Primitive> primitivesByTexImageName = new HashMap<String, GltfMesh.Primitive>();
+
+		for (Long surfaceId : surfaceInfos.keySet()) {
+			String texImageName = texImageUris.get(surfaceId);
+			X3DMaterial x3dMaterial = getX3dMaterial(surfaceId);
+			if (x3dMaterial == null)
+				x3dMaterial = defaultX3dMaterial;
+
+			String primitiveName = texImageName != null ? texImageName : buildNameFromX3dMaterial(x3dMaterial);
+			GltfMesh.Primitive primitive = primitivesByTexImageName.get(primitiveName);
+			if (primitive == null) {
+				primitive = gltfMesh.addPrimitive(texImageName, x3dMaterial, generateNormals);
+				primitivesByTexImageName.put(primitiveName, primitive);
+			}
+
+			SurfaceInfo surfaceInfo = surfaceInfos.get(surfaceId);
+			List<VertexInfo> vertexInfos = surfaceInfo.getVertexInfos();
+			Triangulation triangulation = getTriangulation(surfaceId, surfaceInfo);
+
+			// glTF only supports one index per vertex, so vertices are shared
+			// within a surface as long as they also share the same normal
+			HashMap<Long, Integer> vertexIndexes = new HashMap<Long, Integer>();
+			for (int i = 0; i < triangulation.indexes.length; i++) {
+				int index = triangulation.indexes[i];
+				int normalIndex = triangulation.normalIndexes[i];
+				long key = ((long) index << 32) | (normalIndex & 0xffffffffL);
+
+				Integer vertexIndex = vertexIndexes.get(key);
+				if (vertexIndex == null) {
+					VertexInfo vertexInfo = vertexInfos.get(index);
+					vertexIndex = primitive.addVertex(
+							reducePrecisionForXorY(vertexInfo.getX() - origin.x),
+							reducePrecisionForXorY(vertexInfo.getY() - origin.y),
+							reducePrecisionForZ(vertexInfo.getZ() - origin.z),
+							triangulation.normals[normalIndex],
+							primitive.isTextured() ? vertexInfo.getTexCoords(surfaceId) : null);
+					vertexIndexes.put(key, vertexIndex);
+				}
+
+				primitive.addIndex(vertexIndex);
+			}
+		}
+
+		return gltfMesh;
+	}
+
+	private Triangulation getTriangulation(Long surfaceId, SurfaceInfo surfaceInfo) {
+		Triangulation triangulation = triangulations.get(surfaceId);
+		if (triangulation == null) {
+			triangulation = triangulate(surfaceInfo);
+			triangulations.put(surfaceId, triangulation);
+		}
+
+		return triangulation;
+	}
+
+	private Triangulation triangulate(SurfaceInfo surfaceInfo) {
+		List<VertexInfo> vertexInfos = surfaceInfo.getVertexInfos();
+		double[] ordinatesArray = new double[vertexInfos.size() * 3];
+
+		int count = 0;
+		for (VertexInfo vertexInfo : vertexInfos) {
+			ordinatesArray[count++] = vertexInfo.getX() - origin.x;
+			ordinatesArray[count++] = vertexInfo.getY() - origin.y;
+			ordinatesArray[count++] = vertexInfo.getZ() - origin.z;
+		}
+
+		GeometryInfo ginfo = new GeometryInfo(GeometryInfo.POLYGON_ARRAY);
+		ginfo.setCoordinates(ordinatesArray);
+		ginfo.setContourCounts(surfaceInfo.getRingCountAsArray());
+		ginfo.setStripCounts(surfaceInfo.getVertexCount());
+		int outerRingCount = ginfo.getStripCounts()[0];
+
+		// triangulate the surface geometry
+		ginfo.convertToIndexedTriangles();
+
+		// generate normals
+		NormalGenerator ng = new NormalGenerator();
+		ng.generateNormals(ginfo);
+
+		int[] indexes = ginfo.getCoordinateIndices();
+		int[] normalIndexes = ginfo.getNormalIndices();
+		Vector3f[] normals = ginfo.getNormals();
+
+		// fix a reversed orientation of the triangulated surface 
+		byte[] edges = {0, 1, 1, 2, 2, 0};
+		boolean hasFound = false;
+		boolean reverse = false;
+
+		for (int i = 0; !hasFound && i < indexes.length; i += 3) {
+			// skip degenerated triangles
+			if (indexes[i] == indexes[i + 1] || indexes[i + 1] == indexes[i + 2] || indexes[i] == indexes[i + 2])
+				continue;
+
+			// find the first edge on the exterior ring
+			for (int j = 0; j < edges.length; j += 2) {
+				int first = i + edges[j];
+				int second = i + edges[j + 1];
+
+				if (indexes[first] < outerRingCount && indexes[second] < outerRingCount && Math.abs(indexes[first] - indexes[second]) == 1) {
+					// ok, we found it. now check the order of the vertex indices
+					hasFound = true;
+					if (indexes[first] > indexes[second])
+						reverse = true;
+
+					break;
+				}
+			}
+		}
+
+		// reverse indexes and normals
+		if (reverse) {
+			ginfo.reverse();
+			for (int i = 0; i < normals.length; i++)
+				normals[i].negate();
+		}
+
+		return new Triangulation(indexes, normalIndexes, normals);
+	}
+
 	private String replaceExtensionWithSuffix (String imageName, String suffix) {
 		int indexOfExtension = imageName.lastIndexOf('.');
 		if (indexOfExtension != -1) {
@@ -1061,6 +1168,7 @@ public abstract class AbstractVisObject {
 			this.addTexImage(imageUri, objectToAppend.getTexImage(imageUri));
 			this.addUnsupportedTexImageId(imageUri, objectToAppend.getUnsupportedTexImageId(imageUri));
 			this.surfaceInfos.put(surfaceId, objectToAppend.surfaceInfos.get(surfaceId));
+			this.triangulations.remove(surfaceId);
 		}
 
 		// adapt id accordingly
@@ -1368,6 +1476,10 @@ public abstract class AbstractVisObject {
 	}
 
 	protected List<PlacemarkType> createPlacemarksForFootprint(ResultSet rs, DBSplittingResult work) throws SQLException {
+		return createPlacemarksForFootprint(getGroundSurfaces(rs), work);
+	}
+
+	protected List<PlacemarkType> createPlacemarksForFootprint(List<GeometryObject> surfaces, DBSplittingResult work) throws SQLException {
 		List<PlacemarkType> placemarkList = new ArrayList<PlacemarkType>();
 		PlacemarkType placemark = kmlFactory.createPlacemarkType();
 		placemark.setName(work.getGmlId());
@@ -1387,48 +1499,32 @@ public abstract class AbstractVisObject {
 		placemark.setAbstractGeometryGroup(kmlFactory.createMultiGeometry(multiGeometry));
 
 		PolygonType polygon = null;
-		while (rs.next()) {
-			Object buildingGeometryObj = rs.getObject(1);
-
-			if (!rs.wasNull() && buildingGeometryObj != null) {
-				eventDispatcher.triggerEvent(new GeometryCounterEvent(null, this));
-
-				GeometryObject unconvertedGeom = geometryConverterAdapter.getGeometry(buildingGeometryObj);
-				if (unconvertedGeom == null || (unconvertedGeom.getGeometryType() != GeometryType.POLYGON && unconvertedGeom.getGeometryType() != GeometryType.MULTI_POLYGON))
-					continue;
-
-				// for implicit geometries, we need to apply the transformation matrix first
-				rs.getLong(2);
-				if (!rs.wasNull()) {
-					AffineTransformer transformer = getAffineTransformer(rs, 3, 4);
-					if (transformer != null)
-						unconvertedGeom = transformer.applyTransformation(unconvertedGeom);
-				}
+		for (GeometryObject unconvertedGeom : surfaces) {
+			eventDispatcher.triggerEvent(new GeometryCounterEvent(null, this));
 
-				GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
+			GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
 
-				int dim = groundSurface.getDimension();
+			int dim = groundSurface.getDimension();
 
-				for (int i = 0; i < groundSurface.getNumElements(); i++) {
-					LinearRingType linearRing = kmlFactory.createLinearRingType();
-					BoundaryType boundary = kmlFactory.createBoundaryType();
-					boundary.setLinearRing(linearRing);
+			for (int i = 0; i < groundSurface.getNumElements(); i++) {
+				LinearRingType linearRing = kmlFactory.createLinearRingType();
+				BoundaryType boundary = kmlFactory.createBoundaryType();
+				boundary.setLinearRing(linearRing);
 
-					if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
-						polygon = kmlFactory.createPolygonType();
-						polygon.setTessellate(true);
-						polygon.setExtrude(false);
-						polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.CLAMP_TO_GROUND));
-						polygon.setOuterBoundaryIs(boundary);
-						multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
-					} else if (polygon != null)
-						polygon.getInnerBoundaryIs().add(boundary);
+				if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
+					polygon = kmlFactory.createPolygonType();
+					polygon.setTessellate(true);
+					polygon.setExtrude(false);
+					polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.CLAMP_TO_GROUND));
+					polygon.setOuterBoundaryIs(boundary);
+					multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
+				} else if (polygon != null)
+					polygon.getInnerBoundaryIs().add(boundary);
 
-					// order points counter-clockwise
-					double[] ordinatesArray = groundSurface.getCoordinates(i);
-					for (int j = ordinatesArray.length - dim; j >= 0; j = j-dim)
-						linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j+1] + ",0"));
-				}
+				// order points counter-clockwise
+				double[] ordinatesArray = groundSurface.getCoordinates(i);
+				for (int j = ordinatesArray.length - dim; j >= 0; j = j-dim)
+					linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j+1] + ",0"));
 			}
 		}
 		if (polygon != null) { // if there is at least some content
@@ -1438,6 +1534,10 @@ public abstract class AbstractVisObject {
 	}
 
 	protected List<PlacemarkType> createPlacemarksForExtruded(ResultSet rs, DBSplittingResult work, double measuredHeight, boolean reversePointOrder) throws SQLException {
+		return createPlacemarksForExtruded(getGroundSurfaces(rs), work, measuredHeight, reversePointOrder);
+	}
+
+	protected List<PlacemarkType> createPlacemarksForExtruded(List<GeometryObject> surfaces, DBSplittingResult work, double measuredHeight, boolean reversePointOrder) throws SQLException {
 		List<PlacemarkType> placemarkList = new ArrayList<PlacemarkType>();
 		PlacemarkType placemark = kmlFactory.createPlacemarkType();
 		placemark.setName(work.getGmlId());
@@ -1455,12 +1555,51 @@ public abstract class AbstractVisObject {
 		placemark.setAbstractGeometryGroup(kmlFactory.createMultiGeometry(multiGeometry));
 
 		PolygonType polygon = null;
+		for (GeometryObject unconvertedGeom : surfaces) {
+			eventDispatcher.triggerEvent(new GeometryCounterEvent(null, this));
+
+			GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
+
+			int dim = groundSurface.getDimension();
+
+			for (int i = 0; i < groundSurface.getNumElements(); i++) {
+				LinearRingType linearRing = kmlFactory.createLinearRingType();
+				BoundaryType boundary = kmlFactory.createBoundaryType();
+				boundary.setLinearRing(linearRing);
+
+				if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
+					polygon = kmlFactory.createPolygonType();
+					polygon.setTessellate(true);
+					polygon.setExtrude(true);
+					polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.RELATIVE_TO_GROUND));
+					polygon.setOuterBoundaryIs(boundary);
+					multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
+				} else
+					polygon.getInnerBoundaryIs().add(boundary);
+
+				double[] ordinatesArray = groundSurface.getCoordinates(i);
+				if (reversePointOrder) {
+					for (int j = 0; j < ordinatesArray.length; j = j+dim)
+						linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j+1] + "," + measuredHeight));
+
+				} else if (polygon != null)
+					// order points counter-clockwise
+					for (int j = ordinatesArray.length - dim; j >= 0; j = j-dim)
+						linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j+1] + "," + measuredHeight));
+			}
+		}
+		if (polygon != null) { // if there is at least some content
+			placemarkList.add(placemark);
+		}
+		return placemarkList;
+	}
+	
+	private List<GeometryObject> getGroundSurfaces(ResultSet rs) throws SQLException {
+		List<GeometryObject> surfaces = new ArrayList<>();
 		while (rs.next()) {
 			Object buildingGeometryObj = rs.getObject(1);
 
 			if (!rs.wasNull() && buildingGeometryObj != null) {
-				eventDispatcher.triggerEvent(new GeometryCounterEvent(null, this));
-
 				GeometryObject unconvertedGeom = geometryConverterAdapter.getGeometry(buildingGeometryObj);
 				if (unconvertedGeom == null || (unconvertedGeom.getGeometryType() != GeometryType.POLYGON && unconvertedGeom.getGeometryType() != GeometryType.MULTI_POLYGON))
 					continue;
@@ -1473,43 +1612,17 @@ public abstract class AbstractVisObject {
 						unconvertedGeom = transformer.applyTransformation(unconvertedGeom);
 				}
 
-				GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
-
-				int dim = groundSurface.getDimension();
-
-				for (int i = 0; i < groundSurface.getNumElements(); i++) {
-					LinearRingType linearRing = kmlFactory.createLinearRingType();
-					BoundaryType boundary = kmlFactory.createBoundaryType();
-					boundary.setLinearRing(linearRing);
-
-					if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
-						polygon = kmlFactory.createPolygonType();
-						polygon.setTessellate(true);
-						polygon.setExtrude(true);
-						polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.RELATIVE_TO_GROUND));
-						polygon.setOuterBoundaryIs(boundary);
-						multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
-					} else
-						polygon.getInnerBoundaryIs().add(boundary);
-
-					double[] ordinatesArray = groundSurface.getCoordinates(i);
-					if (reversePointOrder) {
-						for (int j = 0; j < ordinatesArray.length; j = j+dim)
-							linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j+1] + "," + measuredHeight));
-
-					} else if (polygon != null)
-						// order points counter-clockwise
-						for (int j = ordinatesArray.length - dim; j >= 0; j = j-dim)
-							linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j+1] + "," + measuredHeight));
-				}
+				surfaces.add(unconvertedGeom);
 			}
 		}
-		if (polygon != null) { // if there is at least some content
-			placemarkList.add(placemark);
-		}
-		return placemarkList;
+
+		return surfaces;
 	}
-	
+
+	protected List<GeometryObject> aggregateGroundSurfaces(ResultSet rs) throws SQLException {
+		return new FootprintAggregator().aggregate(getGroundSurfaces(rs));
+	}
+
 	protected List<PlacemarkType> createPlacemarksForGeometry(ResultSet _rs, DBSplittingResult work) throws SQLException {
 		HashSet<String> exportedGmlIds = new HashSet<String>();
 		HashMap<String, MultiGeometryType> multiGeometries = new HashMap<String, MultiGeometryType>();
@@ -1552,7 +1665,7 @@ public abstract class AbstractVisObject {
 
 			try {
 				String query = queries.getSurfaceGeometries(false, transformer != null);
-				geometryQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+				geometryQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 				for (int i = 1; i <= getParameterCount(query); i++)
 					geometryQuery.setLong(i, rootId);
 
@@ -1717,8 +1830,6 @@ public abstract class AbstractVisObject {
 			} finally {
 				if (rs != null)
 					try { rs.close(); } catch (SQLException e) {}
-				if (geometryQuery != null)
-					try { geometryQuery.close(); } catch (SQLException e) {}
 			}
 		}
 
@@ -2169,7 +2280,7 @@ public abstract class AbstractVisObject {
 				SurfaceInfo surfaceInfo = null;
 
 				String query = queries.getSurfaceGeometries(exportAppearance, isImplicit);
-				geometryQuery = connection.prepareStatement(query);
+				geometryQuery = getStatement(query);
 				for (int i = 1; i <= getParameterCount(query); i++)
 					geometryQuery.setLong(i, rootId);
 
@@ -2288,20 +2399,31 @@ public abstract class AbstractVisObject {
 								texImageUri = "_" + texImageUri.substring(fileSeparatorIndex + 1); // for example: _tex4712047.jpeg
 
 								if ((getUnsupportedTexImageId(texImageUri) == -1) && (getTexImage(texImageUri) == null)) {
-									byte[] imageBytes = textureExportAdapter.getInByteArray(textureImageId);
-									if (imageBytes != null) {
-										imageReader.setSupportRGB(generateTextureAtlas);
-
-										try {
-											TextureImage texImage = imageReader.read(new ByteArrayInputStream(imageBytes));
-											if (texImage != null)
-												addTexImage(texImageUri, texImage);
-											else
-												addUnsupportedTexImageId(texImageUri, textureImageId);
-										} catch (IOException ioe) {
-											// unsupported image format
-											addUnsupportedTexImageId(texImageUri, textureImageId);
+									// texture images are shared by many objects, so first try the
+									// decoded images of the texture image cache
+									TextureImageCache textureImageCache = visExporterManager.getTextureImageCache();
+									TextureImageCache.Entry cacheEntry = textureImageCache.get(textureImageId, generateTextureAtlas);
+									if (cacheEntry == null) {
+										byte[] imageBytes = textureExportAdapter.getInByteArray(textureImageId);
+										if (imageBytes != null) {
+											imageReader.setSupportRGB(generateTextureAtlas);
+
+											TextureImage texImage = null;
+											try {
+												texImage = imageReader.read(new ByteArrayInputStream(imageBytes));
+											} catch (IOException ioe) {
+												// unsupported image format
+											}
+
+											cacheEntry = textureImageCache.put(textureImageId, generateTextureAtlas, texImage);
 										}
+									}
+
+									if (cacheEntry != null) {
+										if (cacheEntry.isSupported())
+											addTexImage(texImageUri, cacheEntry.getTextureImage());
+										else
+											addUnsupportedTexImageId(texImageUri, textureImageId);
 
 										if (++texImageCounter == 20) {
 											eventDispatcher.triggerEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, texImageCounter, this));
@@ -2347,8 +2469,6 @@ public abstract class AbstractVisObject {
 			} finally {
 				if (rs != null)
 					try { rs.close(); } catch (SQLException e) {}
-				if (geometryQuery != null)
-					try { geometryQuery.close(); } catch (SQLException e) {}
 			}
 		}
 
@@ -2468,7 +2588,7 @@ public abstract class AbstractVisObject {
 
 			try {
 				String query = queries.getSurfaceGeometries(false, transformer != null);
-				geometryQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+				geometryQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 				for (int i = 1; i <= getParameterCount(query); i++)
 					geometryQuery.setLong(i, rootId);
 
@@ -2568,8 +2688,6 @@ public abstract class AbstractVisObject {
 			} finally {
 				if (rs != null)
 					try { rs.close(); } catch (SQLException e) {}
-				if (geometryQuery != null)
-					try { geometryQuery.close(); } catch (SQLException e) {}
 			}
 		}
 
@@ -2599,7 +2717,7 @@ public abstract class AbstractVisObject {
 
 		try {
 			// look for the value in the DB
-			selectQuery = connection.prepareStatement(queries.getStringAttributeById());
+			selectQuery = getStatement(queries.getStringAttributeById());
 			selectQuery.setLong(1, id);
 			selectQuery.setString(2, genericAttribName);
 			rs = selectQuery.executeQuery();
@@ -2611,7 +2729,6 @@ public abstract class AbstractVisObject {
 		finally {
 			try {
 				if (rs != null) rs.close();
-				if (selectQuery != null) selectQuery.close();
 			}
 			catch (Exception e2) {}
 		}
@@ -2626,9 +2743,14 @@ public abstract class AbstractVisObject {
 				String balloonTemplate = getBalloonContentFromGenericAttribute(id);
 				if (balloonTemplate != null) {
 					if (getBalloonTemplateHandler() == null) { // just in case
-						setBalloonTemplateHandler(new BalloonTemplateHandler(balloonTemplate, databaseAdapter));
-					}
-					placemark.setDescription(getBalloonTemplateHandler().getBalloonContent(balloonTemplate, id, currentLod, connection, schemaName));
+						BalloonTemplateHandler handler = new BalloonTemplateHandler(balloonTemplate, databaseAdapter);
+						try {
+							placemark.setDescription(handler.getBalloonContent(balloonTemplate, id, currentLod, connection, schemaName));
+						} finally {
+							handler.close();
+						}
+					} else
+						placemark.setDescription(getBalloonTemplateHandler().getBalloonContent(balloonTemplate, id, currentLod, connection, schemaName));
 				}
 				break;
 			case GEN_ATTRIB_AND_FILE:
@@ -2709,7 +2831,7 @@ public abstract class AbstractVisObject {
 			String genericAttribName = "GE_LoD" + currentLod + "_zOffset";
 			try {
 				// first look for the value in the DB
-				selectQuery = connection.prepareStatement(queries.getStringAttributeById());
+				selectQuery = getStatement(queries.getStringAttributeById());
 				selectQuery.setLong(1, id);
 				selectQuery.setString(2, genericAttribName);
 				rs = selectQuery.executeQuery();
@@ -2726,7 +2848,6 @@ public abstract class AbstractVisObject {
 			finally {
 				try {
 					if (rs != null) rs.close();
-					if (selectQuery != null) selectQuery.close();
 				}
 				catch (Exception e2) {}
 			}
@@ -2767,7 +2888,7 @@ public abstract class AbstractVisObject {
 			}
 			catch (Exception e) {}
 		}
-		else if (config.getVisExportConfig().getElevation().isCallGElevationService()) { // allowed to query
+		else if (config.getVisExportConfig().getElevation().isCallGElevationService() && elevationServiceHandler != null) { // allowed to query
 			PreparedStatement insertQuery = null;
 			ResultSet rs = null;
 
@@ -2788,7 +2909,7 @@ public abstract class AbstractVisObject {
 					coords = geomObj.getCoordinates(0);
 				}
 
-				log.info("Getting zOffset from Google's elevation API for " + getGmlId() + " with " + candidates.size() + " points.");
+				log.info("Getting zOffset from " + elevationServiceHandler.getServiceName() + " for " + getGmlId() + " with " + candidates.size() + " points.");
 				zOffset = elevationServiceHandler.getZOffset(coords);
 
 				// save result in DB for next time
@@ -2838,18 +2959,13 @@ public abstract class AbstractVisObject {
 					|| Util.getCityGMLClass(surfaceTypeID) == CityGMLClass.TUNNEL_CLOSURE_SURFACE))
 				continue;
 
-			PreparedStatement geometryQuery = null;
 			String query = queries.getSurfaceGeometries(false, transformer != null);
+			PreparedStatement geometryQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
+			for (int i = 1; i <= getParameterCount(query); i++)
+				geometryQuery.setLong(i, rootId);
 
-			try {
-				geometryQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-				for (int i = 1; i <= getParameterCount(query); i++)
-					geometryQuery.setLong(i, rootId);
-				ResultSet rs = geometryQuery.executeQuery();
+			try (ResultSet rs = geometryQuery.executeQuery()) {
 				result.addAll(getLowestPointsCoordinates(rs, transformer, willCallGEService));
-			} finally {
-				if (geometryQuery != null)
-					geometryQuery.close();
 			}
 		}
 		return result;
@@ -2938,6 +3054,18 @@ public abstract class AbstractVisObject {
 		return convertedGeomObj;
 	}
 
+	private static class Triangulation {
+		private final int[] indexes;
+		private final int[] normalIndexes;
+		private final Vector3f[] normals;
+
+		private Triangulation(int[] indexes, int[] normalIndexes, Vector3f[] normals) {
+			this.indexes = indexes;
+			this.normalIndexes = normalIndexes;
+			this.normals = normals;
+		}
+	}
+
 	protected class Node{
 		double key;
 		Object value;
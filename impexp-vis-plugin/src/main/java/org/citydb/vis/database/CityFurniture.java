@@ -48,6 +48,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 public class CityFurniture extends AbstractVisObject {
 	private final Logger log = Logger.getInstance();
@@ -55,6 +56,7 @@ public class CityFurniture extends AbstractVisObject {
 	public static final String STYLE_BASIS_NAME = "Furniture";
 
 	public CityFurniture(Connection connection,
+			Map<String, PreparedStatement> statements,
 			Query query,
 			VisExporterManager visExporterManager,
 			net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -66,6 +68,7 @@ public class CityFurniture extends AbstractVisObject {
 			Config config) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -104,7 +107,7 @@ public class CityFurniture extends AbstractVisObject {
 
 				try {
 					String query = queries.getCityFurnitureQuery(currentLod, work.getDisplayForm(), work.getObjectClassId());
-					psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					for (int i = 1; i <= getParameterCount(query); i++)
 						psQuery.setLong(i, work.getId());
 
@@ -114,12 +117,10 @@ public class CityFurniture extends AbstractVisObject {
 					}
 
 					try { rs.close(); } catch (SQLException sqle) {} 
-					try { psQuery.close(); } catch (SQLException sqle) {}
 					rs = null;
 				} catch (Exception e) {
 					log.error("SQL error while querying the highest available LOD.", e);
 					try { if (rs != null) rs.close(); } catch (SQLException sqle) {} 
-					try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 					try { connection.commit(); } catch (SQLException sqle) {}
 					rs = null;
 				}
@@ -140,7 +141,7 @@ public class CityFurniture extends AbstractVisObject {
 
 			else { // result not empty
 				String query = queries.getCityFurnitureQuery(currentLod, work.getDisplayForm(), work.getObjectClassId());
-				psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+				psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 
 				for (int i = 1; i <= getParameterCount(query); i++)
 					psQuery.setLong(i, work.getId());
@@ -162,7 +163,7 @@ public class CityFurniture extends AbstractVisObject {
 
 					try {
 						query = queries.getExtrusionHeight();
-						psQuery2 = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						psQuery2 = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							psQuery2.setLong(i, work.getId());
 
@@ -175,7 +176,6 @@ public class CityFurniture extends AbstractVisObject {
 						break;
 					} finally {
 						try { if (rs2 != null) rs2.close(); } catch (SQLException e) {}
-						try { if (psQuery2 != null) psQuery2.close(); } catch (SQLException e) {}
 					}
 
 				case GEOMETRY:
@@ -222,8 +222,6 @@ public class CityFurniture extends AbstractVisObject {
 		} finally {
 			if (rs != null)
 				try { rs.close(); } catch (SQLException e) {}
-			if (psQuery != null)
-				try { psQuery.close(); } catch (SQLException e) {}
 		}
 	}
 
@@ -44,12 +44,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
 
 public class CityObjectGroup extends AbstractVisObject {
 
 	public static final String STYLE_BASIS_NAME = "Group";
 
 	public CityObjectGroup(Connection connection,
+			Map<String, PreparedStatement> statements,
 			Query query,
 			VisExporterManager visExporterManager,
 			net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -61,6 +63,7 @@ public class CityObjectGroup extends AbstractVisObject {
 			Config config) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -94,14 +97,13 @@ public class CityObjectGroup extends AbstractVisObject {
 
 		try {
 			String query = queries.getCityObjectGroupFootprint(work.getObjectClassId());
-			psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+			psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 			for (int i = 1; i <= getParameterCount(query); i++)
 				psQuery.setLong(i, work.getId());
 
 			rs = psQuery.executeQuery();
 			if (!rs.isBeforeFirst()) {
 				try { rs.close(); } catch (SQLException sqle) {} 
-				try { psQuery.close(); } catch (SQLException sqle) {}
 				rs = null;
 			}
 
@@ -122,8 +124,6 @@ public class CityObjectGroup extends AbstractVisObject {
 		} finally {
 			if (rs != null)
 				try { rs.close(); } catch (SQLException e) {}
-			if (psQuery != null)
-				try { psQuery.close(); } catch (SQLException e) {}
 		}
 	}
 
@@ -39,10 +39,14 @@ public class ColladaBundle {
 	// they cannot be "atlased", this is why they must be stored separately
 	private HashMap<String, Long> unsupportedTexImageIds;
 
+	// contents of the unsupported images if they have been fetched in advance
+	private HashMap<String, byte[]> unsupportedTexImages;
+
 	// images or atlases in usual formats (like .jpg)
 	private HashMap<String, TextureImage> texImages;
 
 	private COLLADA collada;
+	private GltfMesh gltfMesh;
 	private String colladaAsString;
 	private PlacemarkType placemark;
 	private String gmlId;
@@ -65,6 +69,14 @@ public class ColladaBundle {
 		return unsupportedTexImageIds;
 	}
 
+	public void setUnsupportedTexImages(HashMap<String, byte[]> unsupportedTexImages) {
+		this.unsupportedTexImages = unsupportedTexImages;
+	}
+
+	public HashMap<String, byte[]> getUnsupportedTexImages() {
+		return unsupportedTexImages;
+	}
+
 	public void setCollada(COLLADA collada) {
 		this.collada = collada;
 	}
@@ -97,6 +109,14 @@ public class ColladaBundle {
 		this.id = id;
 	}
 
+	public void setGltfMesh(GltfMesh gltfMesh) {
+		this.gltfMesh = gltfMesh;
+	}
+
+	public GltfMesh getGltfMesh() {
+		return gltfMesh;
+	}
+
 	public void setColladaAsString(String colladaAsString) {
 		this.colladaAsString = colladaAsString;
 	}
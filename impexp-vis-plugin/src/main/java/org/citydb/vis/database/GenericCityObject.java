@@ -48,6 +48,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 public class GenericCityObject extends AbstractVisObject {
 	private final Logger log = Logger.getInstance();
@@ -60,6 +61,7 @@ public class GenericCityObject extends AbstractVisObject {
 	private boolean isPoint;
 
 	public GenericCityObject(Connection connection,
+			Map<String, PreparedStatement> statements,
 			Query query,
 			VisExporterManager visExporterManager,
 			net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -71,6 +73,7 @@ public class GenericCityObject extends AbstractVisObject {
 			Config config) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -116,7 +119,7 @@ public class GenericCityObject extends AbstractVisObject {
 
 				try {
 					String query = queries.getGenericCityObjectQuery(currentLod, work.getDisplayForm(), work.getObjectClassId());
-					psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					for (int i = 1; i <= getParameterCount(query); i++)
 						psQuery.setLong(i, work.getId());
 
@@ -126,12 +129,11 @@ public class GenericCityObject extends AbstractVisObject {
 					}
 
 					try { rs.close(); } catch (SQLException sqle) {}
-					try { psQuery.close(); } catch (SQLException sqle) {}
 					rs = null;
 
 					// check for point or curve
 					query = queries.getGenericCityObjectPointAndCurveQuery(currentLod, work.getObjectClassId());
-					psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					for (int i = 1; i <= getParameterCount(query); i++)
 						psQuery.setLong(i, work.getId());
 
@@ -142,12 +144,10 @@ public class GenericCityObject extends AbstractVisObject {
 					}
 
 					try { rs.close(); } catch (SQLException sqle) {}
-					try { psQuery.close(); } catch (SQLException sqle) {}
 					rs = null;
 				} catch (Exception e) {
 					log.error("SQL error while querying the highest available LOD.", e);
 					try { if (rs != null) rs.close(); } catch (SQLException sqle) {}
-					try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 					try { connection.commit(); } catch (SQLException sqle) {}
 					rs = null;
 				}
@@ -176,7 +176,7 @@ public class GenericCityObject extends AbstractVisObject {
 				}
 				else {
 					String query = queries.getGenericCityObjectQuery(currentLod, work.getDisplayForm(), work.getObjectClassId());
-					psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					psQuery.setLong(1, work.getId());
 
 					for (int i = 1; i <= getParameterCount(query); i++)
@@ -197,7 +197,7 @@ public class GenericCityObject extends AbstractVisObject {
 
 						try {
 							query = queries.getExtrusionHeight();
-							psQuery2 = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+							psQuery2 = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 							for (int i = 1; i <= getParameterCount(query); i++)
 								psQuery2.setLong(i, work.getId());
 
@@ -210,7 +210,6 @@ public class GenericCityObject extends AbstractVisObject {
 							break;
 						} finally {
 							try { if (rs2 != null) rs2.close(); } catch (SQLException e) {}
-							try { if (psQuery2 != null) psQuery2.close(); } catch (SQLException e) {}
 						}
 
 					case GEOMETRY:
@@ -257,8 +256,6 @@ public class GenericCityObject extends AbstractVisObject {
 		} finally {
 			if (rs != null)
 				try { rs.close(); } catch (SQLException e) {}
-			if (psQuery != null)
-				try { psQuery.close(); } catch (SQLException e) {}
 		}
 	}
 
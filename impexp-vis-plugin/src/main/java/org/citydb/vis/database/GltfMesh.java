@@ -0,0 +1,214 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.database;
+
+import org.citygml4j.model.citygml.appearance.X3DMaterial;
+
+import javax.vecmath.Vector3f;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GltfMesh {
+	private final List<Primitive> primitives = new ArrayList<>();
+	private boolean doubleSided;
+
+	protected Primitive addPrimitive(String texImageName, X3DMaterial x3dMaterial, boolean hasNormals) {
+		Primitive primitive = new Primitive(texImageName, x3dMaterial, hasNormals);
+
+		// textured primitives must be first, just like the triangles of COLLADA models
+		if (primitive.isTextured())
+			primitives.add(0, primitive);
+		else
+			primitives.add(primitive);
+
+		return primitive;
+	}
+
+	public List<Primitive> getPrimitives() {
+		return primitives;
+	}
+
+	public boolean isDoubleSided() {
+		return doubleSided;
+	}
+
+	protected void setDoubleSided(boolean doubleSided) {
+		this.doubleSided = doubleSided;
+	}
+
+	public static class Primitive {
+		private final String texImageName;
+		private final X3DMaterial x3dMaterial;
+
+		private float[] positions = new float[96];
+		private float[] normals;
+		private float[] texCoords;
+		private float[] batchIds;
+		private int[] indices = new int[96];
+		private int vertexCount;
+		private int indexCount;
+
+		private Primitive(String texImageName, X3DMaterial x3dMaterial, boolean hasNormals) {
+			this.texImageName = texImageName;
+			this.x3dMaterial = x3dMaterial;
+
+			if (hasNormals)
+				normals = new float[96];
+			if (texImageName != null)
+				texCoords = new float[64];
+		}
+
+		protected int addVertex(double x, double y, double z, Vector3f normal, TexCoords texCoords) {
+			ensureVertexCapacity(vertexCount + 1);
+
+			positions[vertexCount * 3] = (float) x;
+			positions[vertexCount * 3 + 1] = (float) y;
+			positions[vertexCount * 3 + 2] = (float) z;
+
+			if (normals != null && normal != null) {
+				normals[vertexCount * 3] = normal.x;
+				normals[vertexCount * 3 + 1] = normal.y;
+				normals[vertexCount * 3 + 2] = normal.z;
+			}
+
+			if (this.texCoords != null && texCoords != null) {
+				// glTF places the origin of texture coordinates in the upper left corner
+				this.texCoords[vertexCount * 2] = (float) texCoords.getS();
+				this.texCoords[vertexCount * 2 + 1] = (float) (1 - texCoords.getT());
+			}
+
+			return vertexCount++;
+		}
+
+		protected void addIndex(int index) {
+			if (indexCount == indices.length)
+				indices = Arrays.copyOf(indices, indices.length * 2);
+
+			indices[indexCount++] = index;
+		}
+
+		protected void append(Primitive source, double[] rotation, double[] translation, int batchId) {
+			// rotation is a row-major 3x3 matrix applied to positions and normals
+			if (batchIds == null)
+				batchIds = new float[positions.length / 3];
+
+			int offset = vertexCount;
+			ensureVertexCapacity(vertexCount + source.vertexCount);
+
+			for (int i = 0; i < source.vertexCount; i++) {
+				int j = i * 3, k = (offset + i) * 3;
+				double x = source.positions[j], y = source.positions[j + 1], z = source.positions[j + 2];
+				positions[k] = (float) (rotation[0] * x + rotation[1] * y + rotation[2] * z + translation[0]);
+				positions[k + 1] = (float) (rotation[3] * x + rotation[4] * y + rotation[5] * z + translation[1]);
+				positions[k + 2] = (float) (rotation[6] * x + rotation[7] * y + rotation[8] * z + translation[2]);
+
+				if (normals != null && source.normals != null) {
+					x = source.normals[j];
+					y = source.normals[j + 1];
+					z = source.normals[j + 2];
+					normals[k] = (float) (rotation[0] * x + rotation[1] * y + rotation[2] * z);
+					normals[k + 1] = (float) (rotation[3] * x + rotation[4] * y + rotation[5] * z);
+					normals[k + 2] = (float) (rotation[6] * x + rotation[7] * y + rotation[8] * z);
+				}
+
+				if (texCoords != null && source.texCoords != null) {
+					texCoords[(offset + i) * 2] = source.texCoords[i * 2];
+					texCoords[(offset + i) * 2 + 1] = source.texCoords[i * 2 + 1];
+				}
+
+				batchIds[offset + i] = batchId;
+			}
+
+			vertexCount += source.vertexCount;
+			for (int i = 0; i < source.indexCount; i++)
+				addIndex(source.indices[i] + offset);
+		}
+
+		private void ensureVertexCapacity(int count) {
+			if (count * 3 > positions.length) {
+				int capacity = Math.max(positions.length * 2, count * 3);
+				positions = Arrays.copyOf(positions, capacity);
+				if (normals != null)
+					normals = Arrays.copyOf(normals, capacity);
+				if (texCoords != null)
+					texCoords = Arrays.copyOf(texCoords, capacity / 3 * 2);
+				if (batchIds != null)
+					batchIds = Arrays.copyOf(batchIds, capacity / 3);
+			}
+		}
+
+		public boolean isTextured() {
+			return texImageName != null;
+		}
+
+		public String getTexImageName() {
+			return texImageName;
+		}
+
+		public X3DMaterial getX3dMaterial() {
+			return x3dMaterial;
+		}
+
+		public boolean hasNormals() {
+			return normals != null;
+		}
+
+		public float[] getPositions() {
+			return positions;
+		}
+
+		public float[] getNormals() {
+			return normals;
+		}
+
+		public float[] getTexCoords() {
+			return texCoords;
+		}
+
+		public boolean hasBatchIds() {
+			return batchIds != null;
+		}
+
+		public float[] getBatchIds() {
+			return batchIds;
+		}
+
+		public int[] getIndices() {
+			return indices;
+		}
+
+		public int getVertexCount() {
+			return vertexCount;
+		}
+
+		public int getIndexCount() {
+			return indexCount;
+		}
+	}
+}
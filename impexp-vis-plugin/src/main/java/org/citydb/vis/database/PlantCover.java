@@ -48,6 +48,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 public class PlantCover extends AbstractVisObject {
 	private final Logger log = Logger.getInstance();
@@ -55,6 +56,7 @@ public class PlantCover extends AbstractVisObject {
 	public static final String STYLE_BASIS_NAME = "Vegetation";
 
 	public PlantCover(Connection connection,
+			Map<String, PreparedStatement> statements,
 			Query query,
 			VisExporterManager visExporterManager,
 			net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -66,6 +68,7 @@ public class PlantCover extends AbstractVisObject {
 			Config config) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -105,7 +108,7 @@ public class PlantCover extends AbstractVisObject {
 
 				try {
 					String query = queries.getPlantCoverQuery(currentLod, work.getDisplayForm(), work.getObjectClassId());
-					psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					for (int i = 1; i <= getParameterCount(query); i++)
 						psQuery.setLong(i, work.getId());
 
@@ -120,7 +123,6 @@ public class PlantCover extends AbstractVisObject {
 				} finally {
 					if (!found) {
 						try { rs.close(); } catch (SQLException sqle) {} 
-						try { psQuery.close(); } catch (SQLException sqle) {}
 						rs = null;
 					}
 				}
@@ -152,7 +154,7 @@ public class PlantCover extends AbstractVisObject {
 
 					try {
 						String query = queries.getExtrusionHeight();
-						psQuery2 = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						psQuery2 = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							psQuery2.setLong(i, work.getId());
 
@@ -164,7 +166,6 @@ public class PlantCover extends AbstractVisObject {
 						break;
 					} finally {
 						try { if (rs2 != null) rs2.close(); } catch (SQLException e) {}
-						try { if (psQuery2 != null) psQuery2.close(); } catch (SQLException e) {}
 					}
 
 				case GEOMETRY:
@@ -211,8 +212,6 @@ public class PlantCover extends AbstractVisObject {
 		} finally {
 			if (rs != null)
 				try { rs.close(); } catch (SQLException e) {}
-			if (psQuery != null)
-				try { psQuery.close(); } catch (SQLException e) {}
 		}
 	}
 
@@ -405,16 +405,10 @@ public class Queries implements ADEVisExportQueryHelper {
 		return query.toString();
 	}
 
-	private String getBuildingPartAggregateGeometriesForLOD2OrHigher() {
+	private String getBuildingPartSurfacesForLOD2OrHigher() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ").append(schema).append(".citydb_util.to_2d(sg.geometry, <2D_SRID>) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -440,19 +434,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ST_Force2D(sg.geometry) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -476,22 +460,20 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
 	}
 
 	private String getBuildingPartAggregateGeometriesForLOD1() {
+		return aggregateSurfaces(getBuildingPartSurfacesForLOD1());
+	}
+
+	private String getBuildingPartSurfacesForLOD1() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ").append(schema).append(".citydb_util.to_2d(sg.geometry, <2D_SRID>) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -511,19 +493,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ST_Force2D(sg.geometry) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -542,22 +514,16 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
 	}
 
-	private String getBuildingPartAggregateGeometriesForLOD0() {
+	private String getBuildingPartSurfacesForLOD0() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT sg.geometry AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -577,19 +543,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT sg.geometry AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -608,7 +564,7 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
@@ -616,30 +572,33 @@ public class Queries implements ADEVisExportQueryHelper {
 
 	@Override
 	public String getBuildingPartAggregateGeometries(double tolerance, int srid2D, int lodToExportFrom, double groupBy1, double groupBy2, double groupBy3, int objectClassId) {
-		String query;
-		if (lodToExportFrom > 1) {
-			query = getBuildingPartAggregateGeometriesForLOD2OrHigher().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<2D_SRID>", String.valueOf(srid2D))
-					.replace("<LoD>", String.valueOf(lodToExportFrom))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));
-		}
-		else if (lodToExportFrom == 1){
-			query = getBuildingPartAggregateGeometriesForLOD1().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<2D_SRID>", String.valueOf(srid2D))
-					.replace("<LoD>", String.valueOf(lodToExportFrom))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));			
-		}
-		else {
-			query = getBuildingPartAggregateGeometriesForLOD0().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));					
-		}
-		return unionADEQueries(QUERY_SURFACE_GEOMETRY, query,  lodToExportFrom, objectClassId);
+		return getBuildingPartAggregateGeometries(tolerance, srid2D, lodToExportFrom, groupBy1, groupBy2, groupBy3, objectClassId, true);
+	}
+
+	public String getBuildingPartSurfacesToAggregate(double tolerance, int srid2D, int lodToExportFrom, int objectClassId) {
+		return getBuildingPartAggregateGeometries(tolerance, srid2D, lodToExportFrom, 1, 1, 1, objectClassId, false);
+	}
+
+	private String getBuildingPartAggregateGeometries(double tolerance, int srid2D, int lodToExportFrom, double groupBy1, double groupBy2, double groupBy3, int objectClassId, boolean aggregateInDatabase) {
+		String surfaceQuery;
+		if (lodToExportFrom > 1)
+			surfaceQuery = getBuildingPartSurfacesForLOD2OrHigher();
+		else if (lodToExportFrom == 1)
+			surfaceQuery = getBuildingPartSurfacesForLOD1();
+		else
+			surfaceQuery = getBuildingPartSurfacesForLOD0();
+
+		// the surfaces are either aggregated by the database or fetched as they are
+		// so that they can be aggregated on the client
+		String query = (aggregateInDatabase ? aggregateSurfaces(surfaceQuery) : selectSurfaces(surfaceQuery))
+				.replace("<TOLERANCE>", String.valueOf(tolerance))
+				.replace("<2D_SRID>", String.valueOf(srid2D))
+				.replace("<LoD>", String.valueOf(lodToExportFrom))
+				.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
+				.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
+				.replace("<GROUP_BY_3>", String.valueOf(groupBy3));
+
+		return unionADEQueries(QUERY_SURFACE_GEOMETRY, query, lodToExportFrom, objectClassId);
 	}
 
 	@Override
@@ -906,16 +865,10 @@ public class Queries implements ADEVisExportQueryHelper {
 		return query.toString();
 	}
 
-	private String getBridgePartAggregateGeometriesForLOD2OrHigher() {
+	private String getBridgePartSurfacesForLOD2OrHigher() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ").append(schema).append(".citydb_util.to_2d(sg.geometry, <2D_SRID>) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -941,19 +894,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ST_Force2D(sg.geometry) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -977,22 +920,20 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
 	}
 
 	private String getBridgePartAggregateGeometriesForLOD1() {
+		return aggregateSurfaces(getBridgePartSurfacesForLOD1());
+	}
+
+	private String getBridgePartSurfacesForLOD1() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ").append(schema).append(".citydb_util.to_2d(sg.geometry, <2D_SRID>) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -1012,19 +953,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ST_Force2D(sg.geometry) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -1043,7 +974,7 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
@@ -1051,23 +982,28 @@ public class Queries implements ADEVisExportQueryHelper {
 
 	@Override
 	public String getBridgePartAggregateGeometries(double tolerance, int srid2D, int lodToExportFrom, double groupBy1, double groupBy2, double groupBy3, int objectClassId) {
-		String query;
-		if (lodToExportFrom > 1) {
-			query = getBridgePartAggregateGeometriesForLOD2OrHigher().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<2D_SRID>", String.valueOf(srid2D))
-					.replace("<LoD>", String.valueOf(lodToExportFrom))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));
-		}
-		else {
-			query = getBridgePartAggregateGeometriesForLOD1().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<2D_SRID>", String.valueOf(srid2D))
-					.replace("<LoD>", String.valueOf(lodToExportFrom))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));			
-		}
+		return getBridgePartAggregateGeometries(tolerance, srid2D, lodToExportFrom, groupBy1, groupBy2, groupBy3, objectClassId, true);
+	}
+
+	public String getBridgePartSurfacesToAggregate(double tolerance, int srid2D, int lodToExportFrom, int objectClassId) {
+		return getBridgePartAggregateGeometries(tolerance, srid2D, lodToExportFrom, 1, 1, 1, objectClassId, false);
+	}
+
+	private String getBridgePartAggregateGeometries(double tolerance, int srid2D, int lodToExportFrom, double groupBy1, double groupBy2, double groupBy3, int objectClassId, boolean aggregateInDatabase) {
+		String surfaceQuery = lodToExportFrom > 1 ?
+				getBridgePartSurfacesForLOD2OrHigher() :
+				getBridgePartSurfacesForLOD1();
+
+		// the surfaces are either aggregated by the database or fetched as they are
+		// so that they can be aggregated on the client
+		String query = (aggregateInDatabase ? aggregateSurfaces(surfaceQuery) : selectSurfaces(surfaceQuery))
+				.replace("<TOLERANCE>", String.valueOf(tolerance))
+				.replace("<2D_SRID>", String.valueOf(srid2D))
+				.replace("<LoD>", String.valueOf(lodToExportFrom))
+				.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
+				.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
+				.replace("<GROUP_BY_3>", String.valueOf(groupBy3));
+
 		return unionADEQueries(QUERY_SURFACE_GEOMETRY, query, lodToExportFrom, objectClassId);
 	}
 
@@ -1300,16 +1236,10 @@ public class Queries implements ADEVisExportQueryHelper {
 		return query.toString();
 	}
 
-	private String getTunnelPartAggregateGeometriesForLOD2OrHigher() {
+	private String getTunnelPartSurfacesForLOD2OrHigher() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ").append(schema).append(".citydb_util.to_2d(sg.geometry, <2D_SRID>) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -1335,19 +1265,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ST_Force2D(sg.geometry) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -1371,22 +1291,20 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
 	}
 
 	private String getTunnelPartAggregateGeometriesForLOD1() {
+		return aggregateSurfaces(getTunnelPartSurfacesForLOD1());
+	}
+
+	private String getTunnelPartSurfacesForLOD1() {
 		switch (databaseAdapter.getDatabaseType()) {
 		case ORACLE:
-			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ").append(schema).append(".citydb_util.to_2d(sg.geometry, <2D_SRID>) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -1406,19 +1324,9 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append(") ")
 			.append("AND sg.geometry IS NOT NULL")
 			.append(") WHERE sdo_geom.validate_geometry(simple_geom, <TOLERANCE>) = 'TRUE'")
-			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>")
-			.append(") ")
-			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
-			.append(") ")
-			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
-			.append(")").toString();
+			.append(") WHERE sdo_geom.sdo_area(simple_geom, <TOLERANCE>) > <TOLERANCE>").toString();
 		case POSTGIS:
-			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
-			.append(implicitGeometryNullColumns)
-			.append("FROM (")
-			.append("SELECT * FROM (")
+			return new StringBuilder("SELECT * FROM (")
 			.append("SELECT * FROM (")
 			.append("SELECT ST_Force2D(sg.geometry) AS simple_geom ")
 			.append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
@@ -1437,7 +1345,7 @@ public class Queries implements ADEVisExportQueryHelper {
 			.append("AND sg.geometry IS NOT NULL) AS get_geoms ")
 			.append("WHERE ST_IsValid(get_geoms.simple_geom) = 'TRUE') AS get_valid_geoms ")
 			// ST_Area for WGS84 only works correctly if the geometry is a geography data type
-			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>) AS get_valid_area").toString();
+			.append("WHERE ST_Area(ST_Transform(get_valid_geoms.simple_geom,4326)::geography, true) > <TOLERANCE>").toString();
 		default:
 			return null;
 		}
@@ -1445,23 +1353,28 @@ public class Queries implements ADEVisExportQueryHelper {
 
 	@Override
 	public String getTunnelPartAggregateGeometries(double tolerance, int srid2D, int lodToExportFrom, double groupBy1, double groupBy2, double groupBy3, int objectClassId) {
-		String query;
-		if (lodToExportFrom > 1) {
-			query = getTunnelPartAggregateGeometriesForLOD2OrHigher().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<2D_SRID>", String.valueOf(srid2D))
-					.replace("<LoD>", String.valueOf(lodToExportFrom))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));
-		}
-		else {
-			query = getTunnelPartAggregateGeometriesForLOD1().replace("<TOLERANCE>", String.valueOf(tolerance))
-					.replace("<2D_SRID>", String.valueOf(srid2D))
-					.replace("<LoD>", String.valueOf(lodToExportFrom))
-					.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
-					.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
-					.replace("<GROUP_BY_3>", String.valueOf(groupBy3));			
-		}
+		return getTunnelPartAggregateGeometries(tolerance, srid2D, lodToExportFrom, groupBy1, groupBy2, groupBy3, objectClassId, true);
+	}
+
+	public String getTunnelPartSurfacesToAggregate(double tolerance, int srid2D, int lodToExportFrom, int objectClassId) {
+		return getTunnelPartAggregateGeometries(tolerance, srid2D, lodToExportFrom, 1, 1, 1, objectClassId, false);
+	}
+
+	private String getTunnelPartAggregateGeometries(double tolerance, int srid2D, int lodToExportFrom, double groupBy1, double groupBy2, double groupBy3, int objectClassId, boolean aggregateInDatabase) {
+		String surfaceQuery = lodToExportFrom > 1 ?
+				getTunnelPartSurfacesForLOD2OrHigher() :
+				getTunnelPartSurfacesForLOD1();
+
+		// the surfaces are either aggregated by the database or fetched as they are
+		// so that they can be aggregated on the client
+		String query = (aggregateInDatabase ? aggregateSurfaces(surfaceQuery) : selectSurfaces(surfaceQuery))
+				.replace("<TOLERANCE>", String.valueOf(tolerance))
+				.replace("<2D_SRID>", String.valueOf(srid2D))
+				.replace("<LoD>", String.valueOf(lodToExportFrom))
+				.replace("<GROUP_BY_1>", String.valueOf(groupBy1))
+				.replace("<GROUP_BY_2>", String.valueOf(groupBy2))
+				.replace("<GROUP_BY_3>", String.valueOf(groupBy3));
+
 		return unionADEQueries(QUERY_SURFACE_GEOMETRY, query, lodToExportFrom, objectClassId);
 	}
 
@@ -1980,6 +1893,53 @@ public class Queries implements ADEVisExportQueryHelper {
 		return query;
 	}
 
+	private String aggregateSurfaces(String surfaceQuery) {
+		switch (databaseAdapter.getDatabaseType()) {
+		case ORACLE:
+			return new StringBuilder("SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom, ")
+			.append(implicitGeometryNullColumns)
+			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
+			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(aggr_geom, <TOLERANCE>)) aggr_geom ")
+			.append("FROM (SELECT sdo_aggr_union(mdsys.sdoaggrtype(simple_geom, <TOLERANCE>)) aggr_geom ")
+			.append("FROM (")
+			.append(surfaceQuery)
+			.append(") ")
+			.append("GROUP BY mod(rownum, <GROUP_BY_1>) ")
+			.append(") ")
+			.append("GROUP BY mod (rownum, <GROUP_BY_2>) ")
+			.append(") ")
+			.append("GROUP BY mod (rownum, <GROUP_BY_3>) ")
+			.append(")").toString();
+		case POSTGIS:
+			return new StringBuilder("SELECT ST_Union(get_valid_area.simple_geom), ")
+			.append(implicitGeometryNullColumns)
+			.append("FROM (")
+			.append(surfaceQuery)
+			.append(") AS get_valid_area").toString();
+		default:
+			return null;
+		}
+	}
+
+	private String selectSurfaces(String surfaceQuery) {
+		switch (databaseAdapter.getDatabaseType()) {
+		case ORACLE:
+			return new StringBuilder("SELECT simple_geom, ")
+			.append(implicitGeometryNullColumns)
+			.append("FROM (")
+			.append(surfaceQuery)
+			.append(")").toString();
+		case POSTGIS:
+			return new StringBuilder("SELECT get_valid_area.simple_geom, ")
+			.append(implicitGeometryNullColumns)
+			.append("FROM (")
+			.append(surfaceQuery)
+			.append(") AS get_valid_area").toString();
+		default:
+			return null;
+		}
+	}
+
 	private String unionADEQueries(int queryType, String baseQuery, int lod, int objectClassId) {
 		StringBuilder builder = new StringBuilder();
 
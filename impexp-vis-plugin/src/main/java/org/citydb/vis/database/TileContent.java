@@ -0,0 +1,301 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.database;
+
+import com.google.gson.stream.JsonWriter;
+import net.opengis.kml._2.LocationType;
+import net.opengis.kml._2.ModelType;
+import net.opengis.kml._2.PlacemarkType;
+import org.citydb.textureAtlas.model.TextureImage;
+import org.citydb.vis.util.GltfWriter;
+import org.citygml4j.model.citygml.appearance.X3DMaterial;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the glTF meshes of all models of a tile into a single batched mesh
+ * and writes it as Batched 3D Model (b3dm) tile content. Every model becomes a
+ * feature of the batch table that is referenced by the _BATCHID vertex attribute.
+ */
+public class TileContent {
+	private static final int B3DM_MAGIC = 0x6D643362;
+	private static final double WGS84_A = 6378137;
+	private static final double WGS84_E2 = 6.69437999014e-3;
+
+	private final GltfMesh mesh = new GltfMesh();
+	private final Map<String, GltfMesh.Primitive> primitives = new HashMap<>();
+	private final Map<String, TextureImage> texImages = new HashMap<>();
+	private final List<String> gmlIds = new ArrayList<>();
+	private final List<Long> ids = new ArrayList<>();
+
+	private double[] center;
+	private final double[] region = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE,
+			Double.MAX_VALUE, -Double.MAX_VALUE};
+
+	public synchronized void add(ColladaBundle colladaBundle) {
+		GltfMesh source = colladaBundle.getGltfMesh();
+		PlacemarkType placemark = colladaBundle.getPlacemark();
+		if (source == null || placemark == null || !(placemark.getAbstractGeometryGroup().getValue() instanceof ModelType))
+			return;
+
+		ModelType model = (ModelType) placemark.getAbstractGeometryGroup().getValue();
+		LocationType location = model.getLocation();
+		double lon = valueOf(location.getLongitude());
+		double lat = valueOf(location.getLatitude());
+		double height = valueOf(location.getAltitude());
+		double heading = model.getOrientation() != null ? valueOf(model.getOrientation().getHeading()) : 0;
+
+		// positions are relative to the first model of the tile to keep float precision
+		double[] origin = toCartesian(lon, lat, height);
+		if (center == null)
+			center = origin;
+
+		double[] rotation = getRotation(lon, lat, heading);
+		double[] translation = {origin[0] - center[0], origin[1] - center[1], origin[2] - center[2]};
+
+		int batchId = gmlIds.size();
+		String directory = colladaBundle.getId() + "/";
+		double[] bounds = {Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+
+		for (GltfMesh.Primitive primitive : source.getPrimitives()) {
+			if (primitive.getIndexCount() == 0)
+				continue;
+
+			String texImageName = null;
+			if (primitive.isTextured()) {
+				// shared textures are referenced relative to the parent directory
+				texImageName = primitive.getTexImageName().startsWith("..") ?
+						primitive.getTexImageName() :
+						directory + primitive.getTexImageName();
+
+				if (colladaBundle.getTexImages() != null && !texImages.containsKey(texImageName)) {
+					TextureImage texImage = colladaBundle.getTexImages().get(primitive.getTexImageName());
+					if (texImage != null)
+						texImages.put(texImageName, texImage);
+				}
+			}
+
+			String key = texImageName != null ?
+					texImageName :
+					getMaterialKey(primitive.getX3dMaterial(), primitive.hasNormals());
+
+			GltfMesh.Primitive target = primitives.get(key);
+			if (target == null) {
+				target = mesh.addPrimitive(texImageName, primitive.getX3dMaterial(), primitive.hasNormals());
+				primitives.put(key, target);
+			}
+
+			target.append(primitive, rotation, translation, batchId);
+			updateBounds(primitive, bounds);
+		}
+
+		if (bounds[0] == Double.MAX_VALUE)
+			return;
+
+		if (source.isDoubleSided())
+			mesh.setDoubleSided(true);
+
+		gmlIds.add(colladaBundle.getGmlId());
+		ids.add(colladaBundle.getId());
+
+		// approximate the horizontal extent of the model by its radius around the origin
+		double radius = bounds[2];
+		double dLat = Math.toDegrees(radius / WGS84_A);
+		double dLon = Math.toDegrees(radius / (WGS84_A * Math.max(Math.cos(Math.toRadians(lat)), 1e-6)));
+		region[0] = Math.min(region[0], lon - dLon);
+		region[1] = Math.min(region[1], lat - dLat);
+		region[2] = Math.max(region[2], lon + dLon);
+		region[3] = Math.max(region[3], lat + dLat);
+		region[4] = Math.min(region[4], height + bounds[0]);
+		region[5] = Math.max(region[5], height + bounds[1]);
+	}
+
+	public synchronized boolean isEmpty() {
+		return gmlIds.isEmpty();
+	}
+
+	public synchronized int getNumberOfFeatures() {
+		return gmlIds.size();
+	}
+
+	public synchronized double[] getRegion() {
+		// west, south, east, north in degrees followed by the minimum and maximum height
+		return region.clone();
+	}
+
+	public synchronized void write(File file) throws IOException {
+		ByteArrayOutputStream glb = new ByteArrayOutputStream();
+		new GltfWriter(true, true).write(mesh, texImages, glb);
+
+		byte[] featureTable = pad(toFeatureTableJson(), 28);
+		byte[] batchTable = pad(toBatchTableJson(), 28 + featureTable.length);
+		int glbLength = (glb.size() + 7) & ~7;
+		int byteLength = 28 + featureTable.length + batchTable.length + glbLength;
+
+		ByteBuffer header = ByteBuffer.allocate(28).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(B3DM_MAGIC).putInt(1).putInt(byteLength)
+				.putInt(featureTable.length).putInt(0)
+				.putInt(batchTable.length).putInt(0);
+
+		try (OutputStream stream = new FileOutputStream(file)) {
+			stream.write(header.array());
+			stream.write(featureTable);
+			stream.write(batchTable);
+			glb.writeTo(stream);
+			stream.write(new byte[glbLength - glb.size()]);
+		}
+	}
+
+	private String toFeatureTableJson() throws IOException {
+		StringWriter stringWriter = new StringWriter();
+		JsonWriter writer = new JsonWriter(stringWriter);
+
+		writer.beginObject();
+		writer.name("BATCH_LENGTH").value(gmlIds.size());
+		writer.name("RTC_CENTER").beginArray().value(center[0]).value(center[1]).value(center[2]).endArray();
+		writer.endObject();
+		writer.close();
+
+		return stringWriter.toString();
+	}
+
+	private String toBatchTableJson() throws IOException {
+		StringWriter stringWriter = new StringWriter();
+		JsonWriter writer = new JsonWriter(stringWriter);
+
+		writer.beginObject();
+		writer.name("gmlId").beginArray();
+		for (String gmlId : gmlIds)
+			writer.value(gmlId);
+		writer.endArray();
+
+		writer.name("id").beginArray();
+		for (long id : ids)
+			writer.value(id);
+		writer.endArray();
+		writer.endObject();
+		writer.close();
+
+		return stringWriter.toString();
+	}
+
+	private byte[] pad(String json, int offset) {
+		// sections must end on an 8-byte boundary relative to the start of the file
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		int length = ((offset + bytes.length + 7) & ~7) - offset;
+
+		byte[] padded = new byte[length];
+		System.arraycopy(bytes, 0, padded, 0, bytes.length);
+		for (int i = bytes.length; i < length; i++)
+			padded[i] = ' ';
+
+		return padded;
+	}
+
+	private void updateBounds(GltfMesh.Primitive primitive, double[] bounds) {
+		// minimum and maximum height as well as horizontal radius in the local model frame
+		float[] positions = primitive.getPositions();
+		for (int i = 0; i < primitive.getVertexCount() * 3; i += 3) {
+			bounds[0] = Math.min(bounds[0], positions[i + 2]);
+			bounds[1] = Math.max(bounds[1], positions[i + 2]);
+			bounds[2] = Math.max(bounds[2], Math.hypot(positions[i], positions[i + 1]));
+		}
+	}
+
+	private String getMaterialKey(X3DMaterial x3dMaterial, boolean hasNormals) {
+		StringBuilder key = new StringBuilder(hasNormals ? "n" : "-");
+		if (x3dMaterial != null) {
+			if (x3dMaterial.isSetDiffuseColor())
+				key.append(x3dMaterial.getDiffuseColor().getRed()).append(',')
+						.append(x3dMaterial.getDiffuseColor().getGreen()).append(',')
+						.append(x3dMaterial.getDiffuseColor().getBlue());
+			key.append('|');
+			if (x3dMaterial.isSetEmissiveColor())
+				key.append(x3dMaterial.getEmissiveColor().getRed()).append(',')
+						.append(x3dMaterial.getEmissiveColor().getGreen()).append(',')
+						.append(x3dMaterial.getEmissiveColor().getBlue());
+			key.append('|');
+			if (x3dMaterial.isSetTransparency())
+				key.append(x3dMaterial.getTransparency());
+			key.append('|');
+			if (x3dMaterial.isSetShininess())
+				key.append(x3dMaterial.getShininess());
+		}
+
+		return key.toString();
+	}
+
+	private double[] getRotation(double lon, double lat, double heading) {
+		// the heading of KML models rotates the local frame clockwise around the up axis
+		double sinLon = Math.sin(Math.toRadians(lon)), cosLon = Math.cos(Math.toRadians(lon));
+		double sinLat = Math.sin(Math.toRadians(lat)), cosLat = Math.cos(Math.toRadians(lat));
+		double sinHeading = Math.sin(Math.toRadians(heading)), cosHeading = Math.cos(Math.toRadians(heading));
+
+		double[] east = {-sinLon, cosLon, 0};
+		double[] north = {-sinLat * cosLon, -sinLat * sinLon, cosLat};
+		double[] up = {cosLat * cosLon, cosLat * sinLon, sinLat};
+
+		double[] rotation = new double[9];
+		for (int i = 0; i < 3; i++) {
+			rotation[i * 3] = cosHeading * east[i] - sinHeading * north[i];
+			rotation[i * 3 + 1] = sinHeading * east[i] + cosHeading * north[i];
+			rotation[i * 3 + 2] = up[i];
+		}
+
+		return rotation;
+	}
+
+	private double[] toCartesian(double lon, double lat, double height) {
+		// geodetic WGS 84 coordinates to earth-centered, earth-fixed coordinates
+		double sinLat = Math.sin(Math.toRadians(lat)), cosLat = Math.cos(Math.toRadians(lat));
+		double n = WGS84_A / Math.sqrt(1 - WGS84_E2 * sinLat * sinLat);
+
+		return new double[]{
+				(n + height) * cosLat * Math.cos(Math.toRadians(lon)),
+				(n + height) * cosLat * Math.sin(Math.toRadians(lon)),
+				(n * (1 - WGS84_E2) + height) * sinLat
+		};
+	}
+
+	private double valueOf(Double value) {
+		return value != null ? value : 0;
+	}
+}
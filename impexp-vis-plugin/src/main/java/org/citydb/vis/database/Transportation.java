@@ -56,6 +56,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class Transportation extends AbstractVisObject {
 	private final Logger log = Logger.getInstance();
@@ -63,6 +64,7 @@ public class Transportation extends AbstractVisObject {
 	public static final String STYLE_BASIS_NAME = "Transportation";
 
 	public Transportation(Connection connection,
+			Map<String, PreparedStatement> statements,
 			Query query,
 			VisExporterManager visExporterManager,
 			net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -74,6 +76,7 @@ public class Transportation extends AbstractVisObject {
 			Config config) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -113,7 +116,7 @@ public class Transportation extends AbstractVisObject {
 
 				try {
 					String query = queries.getTransportationQuery(currentLod, work.getDisplayForm(), work.getObjectClassId());
-					psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+					psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 					for (int i = 1; i <= getParameterCount(query); i++)
 						psQuery.setLong(i, work.getId());
 
@@ -128,7 +131,6 @@ public class Transportation extends AbstractVisObject {
 				} finally {
 					if (!found) {
 						try { rs.close(); } catch (SQLException sqle) {} 
-						try { psQuery.close(); } catch (SQLException sqle) {}
 						rs = null;
 					}
 				}
@@ -166,7 +168,7 @@ public class Transportation extends AbstractVisObject {
 
 						try {
 							String query = queries.getExtrusionHeight();
-							psQuery2 = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+							psQuery2 = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 							for (int i = 1; i <= getParameterCount(query); i++)
 								psQuery2.setLong(i, work.getId());
 
@@ -178,7 +180,6 @@ public class Transportation extends AbstractVisObject {
 							break;
 						} finally {
 							try { if (rs2 != null) rs2.close(); } catch (SQLException e) {}
-							try { if (psQuery2 != null) psQuery2.close(); } catch (SQLException e) {}
 						}
 
 					case GEOMETRY:
@@ -226,8 +227,6 @@ public class Transportation extends AbstractVisObject {
 		} finally {
 			if (rs != null)
 				try { rs.close(); } catch (SQLException e) {}
-			if (psQuery != null)
-				try { psQuery.close(); } catch (SQLException e) {}
 		}
 	}
 
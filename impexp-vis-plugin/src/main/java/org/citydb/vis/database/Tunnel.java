@@ -30,6 +30,7 @@ package org.citydb.vis.database;
 import net.opengis.kml._2.MultiGeometryType;
 import net.opengis.kml._2.PlacemarkType;
 import org.citydb.config.Config;
+import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.project.visExporter.Balloon;
 import org.citydb.config.project.visExporter.ColladaOptions;
 import org.citydb.config.project.visExporter.DisplayFormType;
@@ -51,6 +52,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class Tunnel extends AbstractVisObject {
 	private final Logger log = Logger.getInstance();
@@ -58,6 +60,7 @@ public class Tunnel extends AbstractVisObject {
 	public static final String STYLE_BASIS_NAME = "Tunnel"; // "TUNNEL"
 
 	public Tunnel(Connection connection,
+			Map<String, PreparedStatement> statements,
 			Query query,
 			VisExporterManager visExporterManager,
 			net.opengis.kml._2.ObjectFactory kmlFactory,
@@ -69,6 +72,7 @@ public class Tunnel extends AbstractVisObject {
 			Config config) {
 
 		super(connection,
+				statements,
 				query,
                 visExporterManager,
 				kmlFactory,
@@ -98,7 +102,7 @@ public class Tunnel extends AbstractVisObject {
 		ResultSet rs = null;
 		try {
 			String query = queries.getTunnelPartsFromTunnel();
-			psQuery = connection.prepareStatement(query);
+			psQuery = getStatement(query);
 			for (int i = 1; i <= getParameterCount(query); i++)
 				psQuery.setLong(i, work.getId());
 
@@ -114,7 +118,6 @@ public class Tunnel extends AbstractVisObject {
 			return;
 		} finally {
 			try { if (rs != null) rs.close(); } catch (SQLException sqle) {} 
-			try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 		}
 		
 		if (placemarks.size() == 0) {
@@ -160,6 +163,8 @@ public class Tunnel extends AbstractVisObject {
 		PreparedStatement psQuery = null;
 		ResultSet rs = null;
 		boolean reversePointOrder = false;
+		boolean aggregateFootprintsOnClient = config.getVisExportConfig().isAggregateFootprintsOnClient();
+		List<GeometryObject> footprints = null;
 
 		try {
 			currentLod = config.getVisExportConfig().getLodToExportFrom();
@@ -178,7 +183,7 @@ public class Tunnel extends AbstractVisObject {
 
 						try {
 							String query = queries.getTunnelPartQuery(currentLod, work.getDisplayForm(), true, work.getObjectClassId());
-							psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+							psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 							for (int i = 1; i <= getParameterCount(query); i++)
 								psQuery.setLong(i, tunnelPartId);
 
@@ -190,7 +195,6 @@ public class Tunnel extends AbstractVisObject {
 							try { connection.commit(); } catch (SQLException sqle) {}
 						} finally {
 							try { if (rs != null) rs.close(); } catch (SQLException sqle) {} 
-							try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 							rs = null;
 						}
 					}
@@ -201,14 +205,13 @@ public class Tunnel extends AbstractVisObject {
 				if (currentLod > 0 && work.getDisplayForm().isAchievableFromLoD(currentLod)) {
 					try {
 						String query = queries.getTunnelPartQuery(currentLod, work.getDisplayForm(), false, work.getObjectClassId());
-						psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							psQuery.setLong(i, tunnelPartId);
 
 						rs = psQuery.executeQuery();
 					} catch (SQLException e) {
 						log.error("SQL error while querying geometries in LOD " + currentLod + ".", e);
-						try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 						try { connection.commit(); } catch (SQLException sqle) {}
 						rs = null;
 					}
@@ -229,7 +232,7 @@ public class Tunnel extends AbstractVisObject {
 					try {
 						// first, check whether we have an LOD1 geometry or a GroundSurface
 						String query = queries.getTunnelPartQuery(currentLod, work.getDisplayForm(), false, work.getObjectClassId());
-						psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							psQuery.setLong(i, tunnelPartId);
 
@@ -238,11 +241,9 @@ public class Tunnel extends AbstractVisObject {
 							break;
 
 						try { rs.close(); } catch (SQLException sqle) {} 
-						try { psQuery.close(); } catch (SQLException sqle) {}
 					} catch (SQLException e) {
 						log.error("SQL error while querying geometries in LOD " + currentLod + ".", e);
 						try { if (rs != null) rs.close(); } catch (SQLException sqle) {} 
-						try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 						try { connection.commit(); } catch (SQLException sqle) {}
 					}
 
@@ -251,19 +252,29 @@ public class Tunnel extends AbstractVisObject {
 					int groupBasis = 4;
 
 					try {
-						String query = queries.getTunnelPartAggregateGeometries(0.001,
-								DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getUtil().get2DSrid(dbSrs),
-								currentLod,
-								Math.pow(groupBasis, 4),
-								Math.pow(groupBasis, 3),
-								Math.pow(groupBasis, 2), work.getObjectClassId());
-
-						psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+						String query = aggregateFootprintsOnClient ?
+								queries.getTunnelPartSurfacesToAggregate(0.001,
+										DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getUtil().get2DSrid(dbSrs),
+										currentLod, work.getObjectClassId()) :
+								queries.getTunnelPartAggregateGeometries(0.001,
+										DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getUtil().get2DSrid(dbSrs),
+										currentLod,
+										Math.pow(groupBasis, 4),
+										Math.pow(groupBasis, 3),
+										Math.pow(groupBasis, 2), work.getObjectClassId());
+
+						psQuery = getStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							psQuery.setLong(i, tunnelPartId);
 
 						rs = psQuery.executeQuery();
-						if (rs.isBeforeFirst()) {
+						if (aggregateFootprintsOnClient) {
+							footprints = aggregateGroundSurfaces(rs);
+							if (!footprints.isEmpty())
+								break;
+
+							footprints = null;
+						} else if (rs.isBeforeFirst()) {
 							rs.next();
 							if (rs.getObject(1) != null) {
 								rs.beforeFirst();
@@ -272,12 +283,10 @@ public class Tunnel extends AbstractVisObject {
 						}
 
 						try { rs.close(); } catch (SQLException sqle) {}
-						try { psQuery.close(); } catch (SQLException sqle) {}
 						rs = null;
 					} catch (SQLException e) {
 						log.error("SQL error while aggregating geometries in LOD " + currentLod + ".", e);
 						try { if (rs != null) rs.close(); } catch (SQLException sqle) {}
-						try { if (psQuery != null) psQuery.close(); } catch (SQLException sqle) {}
 						try { connection.commit(); } catch (SQLException sqle) {}
 						rs = null;
 					}
@@ -287,10 +296,12 @@ public class Tunnel extends AbstractVisObject {
 				}
 			}
 
-			if (rs != null && rs.isBeforeFirst()) { // result not empty				
+			if (footprints != null || rs != null && rs.isBeforeFirst()) { // result not empty				
 				switch (work.getDisplayForm().getType()) {
 				case FOOTPRINT:
-					return createPlacemarksForFootprint(rs, work);
+					return footprints != null ?
+								createPlacemarksForFootprint(footprints, work) :
+								createPlacemarksForFootprint(rs, work);
 
 				case EXTRUDED:
 					PreparedStatement psQuery2 = null;
@@ -298,7 +309,7 @@ public class Tunnel extends AbstractVisObject {
 
 					try {
 						String query = queries.getExtrusionHeight();
-						psQuery2 = connection.prepareStatement(query);
+						psQuery2 = getStatement(query);
 						for (int i = 1; i <= getParameterCount(query); i++)
 							psQuery2.setLong(i, tunnelPartId);
 
@@ -306,10 +317,11 @@ public class Tunnel extends AbstractVisObject {
 						rs2.next();
 
 						double measuredHeight = rs2.getDouble("envelope_measured_height");
-						return createPlacemarksForExtruded(rs, work, measuredHeight, reversePointOrder);
+						return footprints != null ?
+									createPlacemarksForExtruded(footprints, work, measuredHeight, reversePointOrder) :
+									createPlacemarksForExtruded(rs, work, measuredHeight, reversePointOrder);
 					} finally {
 						try { if (rs2 != null) rs2.close(); } catch (SQLException e) {}
-						try { if (psQuery2 != null) psQuery2.close(); } catch (SQLException e) {}
 					}
 					
 				case GEOMETRY:
@@ -360,8 +372,6 @@ public class Tunnel extends AbstractVisObject {
 		} finally {
 			if (rs != null)
 				try { rs.close(); } catch (SQLException e) {}
-			if (psQuery != null)
-				try { psQuery.close(); } catch (SQLException e) {}
 		}
 
 		return null; // nothing found 
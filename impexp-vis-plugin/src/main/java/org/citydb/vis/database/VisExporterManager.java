@@ -60,13 +60,15 @@ import org.citydb.util.log.Logger;
 import org.citydb.core.query.Query;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.core.util.MarshallerPool;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.CityObject4JSON;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.GltfWriter;
+import org.citydb.vis.util.TextureImageCache;
 import org.citygml4j.util.xml.SAXEventBuffer;
 
 import javax.imageio.ImageIO;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import java.awt.image.BufferedImage;
@@ -74,10 +76,13 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -90,11 +95,12 @@ import java.util.zip.ZipOutputStream;
 
 public class VisExporterManager implements ADEVisExportHelper {
 	private final Logger log = Logger.getInstance();
-	private final JAXBContext jaxbKmlContext;
-	private final JAXBContext jaxbColladaContext;
+	private final MarshallerPool kmlMarshallerPool;
+	private final MarshallerPool colladaMarshallerPool;
 	private final AbstractDatabaseAdapter databaseAdapter;
 	private final WorkerPool<SAXEventBuffer> writerPool;
 	private final ExportTracker tracker;
+	private final TextureImageCache textureImageCache;
 	private final ObjectFactory kmlFactory; 
 	private final BlobExportAdapter textureExportAdapter;
 	private final EventDispatcher eventDispatcher;
@@ -108,25 +114,26 @@ public class VisExporterManager implements ADEVisExportHelper {
 	private String mainFilename;
 	private final String ENCODING = "UTF-8";
 	private final Charset CHARSET = Charset.forName(ENCODING);
-	private final String TEMP_FOLDER = "__temp";
 	private long implicitId;
 
 	public VisExporterManager(Path outputFile,
-                              JAXBContext jaxbKmlContext,
-                              JAXBContext jaxbColladaContext,
+                              MarshallerPool kmlMarshallerPool,
+                              MarshallerPool colladaMarshallerPool,
                               AbstractDatabaseAdapter databaseAdapter,
                               WorkerPool<SAXEventBuffer> writerPool,
                               ExportTracker tracker,
+                              TextureImageCache textureImageCache,
                               Query query,
                               ObjectFactory kmlFactory,
                               BlobExportAdapter textureExportAdapter,
                               EventDispatcher eventDispatcher,
                               Config config) {
-		this.jaxbKmlContext = jaxbKmlContext;
-		this.jaxbColladaContext = jaxbColladaContext;
+		this.kmlMarshallerPool = kmlMarshallerPool;
+		this.colladaMarshallerPool = colladaMarshallerPool;
 		this.databaseAdapter = databaseAdapter;
 		this.writerPool = writerPool;
 		this.tracker = tracker;
+		this.textureImageCache = textureImageCache;
 		this.kmlFactory = kmlFactory;
 		this.textureExportAdapter = textureExportAdapter;
 		this.eventDispatcher = eventDispatcher;
@@ -189,11 +196,15 @@ public class VisExporterManager implements ADEVisExportHelper {
 		return this.tracker;
 	}
 
+	public TextureImageCache getTextureImageCache() {
+		return textureImageCache;
+	}
+
 	public void print(List<PlacemarkType> placemarkList,
 			DBSplittingResult work,
 			boolean balloonInSeparateFile) throws JAXBException {
 		SAXEventBuffer buffer = new SAXEventBuffer();
-		Marshaller kmlMarshaller = jaxbKmlContext.createMarshaller();
+		Marshaller kmlMarshaller = kmlMarshallerPool.getMarshaller();
 		if (useTiling && config.getVisExportConfig().isOneFilePerObject()) {
 			kmlMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 		}
@@ -233,17 +244,7 @@ public class VisExporterManager implements ADEVisExportHelper {
 
 							// --------------- create subfolder ---------------
 
-							if (config.getVisExportConfig().isExportAsKmz()) {
-								if (!useTiling || !config.getVisExportConfig().isOneFilePerObject()) {
-									// export temporarily as kml, it will be later added to kmz if needed
-									directory = new File(path, TEMP_FOLDER);
-									if (!directory.exists()) {
-										log.info("Creating temporary folder...");
-										directory.mkdir();
-									}
-								}
-							}
-							else { // export as kml
+							if (!config.getVisExportConfig().isExportAsKmz()) { // export as kml
 								if (config.getVisExportConfig().isOneFilePerObject()) {
 									directory = new File(path, String.valueOf(work.getId()));
 									if (!directory.exists()) {
@@ -252,7 +253,18 @@ public class VisExporterManager implements ADEVisExportHelper {
 								}
 							}
 
-							if (!useTiling || !config.getVisExportConfig().isOneFilePerObject() || !config.getVisExportConfig().isExportAsKmz()) {
+							if (config.getVisExportConfig().isExportAsKmz()
+									&& (!useTiling || !config.getVisExportConfig().isOneFilePerObject())) {
+								// write the balloon directly to the kmz file of the tile
+								try (OutputStream outputStream = newArchiveEntry(BalloonTemplateHandler.balloonDirectoryName + "/" + work.getGmlId() + '-' + work.getId() + ".html")) {
+									if (outputStream != null)
+										outputStream.write(placemarkDescription.getBytes(CHARSET));
+								}
+								catch (IOException ioe) {
+									log.logStackTrace(ioe);
+								}
+							}
+							else if (!useTiling || !config.getVisExportConfig().isOneFilePerObject() || !config.getVisExportConfig().isExportAsKmz()) {
 								try {
 									File balloonsDirectory = new File(directory, BalloonTemplateHandler.balloonDirectoryName);
 									if (!balloonsDirectory.exists()) {
@@ -407,11 +419,18 @@ public class VisExporterManager implements ADEVisExportHelper {
 	FileNotFoundException,
 	IOException,
 	SQLException {
+		// models are batched into the 3D Tiles content of the tile instead
+		TileContent tileContent = tracker.getTileContent();
+		if (tileContent != null) {
+			tileContent.add(colladaBundle);
+			return;
+		}
+
 		ZipOutputStream zipOut = null;
 		OutputStreamWriter fileWriter = null;
 		SAXEventBuffer buffer = new SAXEventBuffer();
 
-		Marshaller kmlMarshaller = jaxbKmlContext.createMarshaller();
+		Marshaller kmlMarshaller = kmlMarshallerPool.getMarshaller();
 		if (useTiling && config.getVisExportConfig().isOneFilePerObject()) {
 			kmlMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 		}
@@ -419,7 +438,7 @@ public class VisExporterManager implements ADEVisExportHelper {
 			kmlMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
 		}
 
-		Marshaller colladaMarshaller = jaxbColladaContext.createMarshaller();
+		Marshaller colladaMarshaller = colladaMarshallerPool.getMarshaller();
 		colladaMarshaller.setProperty(Marshaller.JAXB_ENCODING, ENCODING);
 		colladaMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 
@@ -548,7 +567,7 @@ public class VisExporterManager implements ADEVisExportHelper {
 				Iterator<String> iterator = keySet.iterator();
 				while (iterator.hasNext()) {
 					String imageFilename = iterator.next();
-					byte[] ordImageBytes = textureExportAdapter.getInByteArray(colladaBundle.getUnsupportedTexImageIds().get(imageFilename));
+					byte[] ordImageBytes = getUnsupportedTexImage(colladaBundle, imageFilename);
 					if (ordImageBytes != null) {
 						zipEntry = imageFilename.startsWith("..") ?
 								new ZipEntry(imageFilename.substring(3)) : // skip .. and File.separator
@@ -587,18 +606,11 @@ public class VisExporterManager implements ADEVisExportHelper {
 
 			zipOut.close();
 		}
+		else if (config.getVisExportConfig().isExportAsKmz()) {
+			// write model, images and balloon directly to the kmz file of the tile
+			writeToArchive(colladaBundle, colladaMarshaller);
+		}
 		else {
-			if (config.getVisExportConfig().isExportAsKmz()) {
-
-				// export temporarily as kml, it will be later added to kmz if needed
-				File tempFolder = new File(path, TEMP_FOLDER);
-				if (!tempFolder.exists()) {
-					log.info("Creating temporary folder...");
-					tempFolder.mkdir();
-				}
-				path = path + File.separator + TEMP_FOLDER;
-			}
-
 			// --------------- create subfolder ---------------
 			File buildingDirectory = new File(path, String.valueOf(colladaBundle.getId()));
 			if (!buildingDirectory.exists()) {
@@ -608,15 +620,22 @@ public class VisExporterManager implements ADEVisExportHelper {
 			// ----------------- model saving -----------------
 			File colladaModelFile = new File(buildingDirectory, colladaBundle.getGmlId() + ".dae");
 			File gltfModelFile = new File(buildingDirectory, colladaBundle.getGmlId() + ".gltf");
-			FileOutputStream fos = new FileOutputStream(colladaModelFile);
-			colladaMarshaller.marshal(colladaBundle.getCollada(), fos);
-			fos.close();
+			if (colladaBundle.getCollada() != null) {
+				FileOutputStream fos = new FileOutputStream(colladaModelFile);
+				colladaMarshaller.marshal(colladaBundle.getCollada(), fos);
+				fos.close();
+			}
 
 			// ----------------- image saving -----------------
 			if (colladaBundle.getUnsupportedTexImageIds() != null) {
 				for (String imageFilename : colladaBundle.getUnsupportedTexImageIds().keySet()) {
 					String fileName = buildingDirectory + File.separator + imageFilename;
-					textureExportAdapter.writeToFile(colladaBundle.getUnsupportedTexImageIds().get(imageFilename), fileName);
+					if (colladaBundle.getUnsupportedTexImages() != null) {
+						byte[] ordImageBytes = colladaBundle.getUnsupportedTexImages().get(imageFilename);
+						if (ordImageBytes != null)
+							Files.write(Paths.get(fileName), ordImageBytes);
+					} else
+						textureExportAdapter.writeToFile(colladaBundle.getUnsupportedTexImageIds().get(imageFilename), fileName);
 				}
 			}
 
@@ -633,7 +652,10 @@ public class VisExporterManager implements ADEVisExportHelper {
 
 			// ----------------- create glTF -----------------
 			if (config.getVisExportConfig().getGltfOptions().isCreateGltfModel()) {
-				convertColladaToglTF(buildingDirectory, colladaModelFile, gltfModelFile);
+				if (colladaBundle.getGltfMesh() != null)
+					gltfModelFile = writeGltfModel(colladaBundle, buildingDirectory);
+				else
+					convertColladaToglTF(buildingDirectory, colladaModelFile, gltfModelFile);
 
 				if (config.getVisExportConfig().getGltfOptions().isEmbedTextures()
 						&& config.getVisExportConfig().getGltfOptions().isRemoveColladaFiles()
@@ -665,6 +687,102 @@ public class VisExporterManager implements ADEVisExportHelper {
 		}
 	}
 
+	private void writeToArchive(ColladaBundle colladaBundle, Marshaller colladaMarshaller) throws JAXBException, IOException, SQLException {
+		String directory = colladaBundle.getId() + "/";
+
+		// ----------------- model saving -----------------
+		try (OutputStream outputStream = newArchiveEntry(directory + colladaBundle.getGmlId() + ".dae")) {
+			if (outputStream != null)
+				colladaMarshaller.marshal(colladaBundle.getCollada(), outputStream);
+		}
+
+		// ----------------- image saving -----------------
+		if (colladaBundle.getUnsupportedTexImageIds() != null) {
+			for (String imageFilename : colladaBundle.getUnsupportedTexImageIds().keySet()) {
+				try (OutputStream outputStream = newArchiveEntry(getArchiveEntryName(directory, imageFilename))) {
+					if (outputStream != null) {
+						byte[] ordImageBytes = getUnsupportedTexImage(colladaBundle, imageFilename);
+						if (ordImageBytes != null)
+							outputStream.write(ordImageBytes, 0, ordImageBytes.length);
+					}
+				}
+			}
+		}
+
+		if (colladaBundle.getTexImages() != null) {
+			for (String imageFilename : colladaBundle.getTexImages().keySet()) {
+				try (OutputStream outputStream = newArchiveEntry(getArchiveEntryName(directory, imageFilename))) {
+					if (outputStream != null) {
+						BufferedImage texImage = colladaBundle.getTexImages().get(imageFilename).getBufferedImage();
+						String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
+						ImageIO.write(texImage, imageType, outputStream);
+					}
+				}
+			}
+		}
+
+		// ----------------- balloon saving -----------------
+		if (colladaBundle.getExternalBalloonFileContent() != null) {
+			try (OutputStream outputStream = newArchiveEntry(directory + BalloonTemplateHandler.balloonDirectoryName + "/" + colladaBundle.getGmlId() + '-' + colladaBundle.getId() + ".html")) {
+				if (outputStream != null)
+					outputStream.write(colladaBundle.getExternalBalloonFileContent().getBytes(CHARSET));
+			}
+		}
+	}
+
+	private byte[] getUnsupportedTexImage(ColladaBundle colladaBundle, String imageFilename) throws SQLException {
+		// the database worker may have fetched the image already if the model is created in another thread
+		return colladaBundle.getUnsupportedTexImages() != null ?
+				colladaBundle.getUnsupportedTexImages().get(imageFilename) :
+				textureExportAdapter.getInByteArray(colladaBundle.getUnsupportedTexImageIds().get(imageFilename));
+	}
+
+	private String getArchiveEntryName(String directory, String imageFilename) {
+		return imageFilename.startsWith("..") ?
+				imageFilename.substring(3).replace('\\', '/') : // skip .. and File.separator
+				directory + imageFilename.replace('\\', '/');
+	}
+
+	private OutputStream newArchiveEntry(String name) throws IOException {
+		// entries such as shared textures are only written once per archive
+		return tracker.addArchiveEntry(name) ? tracker.getArchive().newOutputStream(name) : null;
+	}
+
+	public boolean isColladaModelRequired() {
+		if (config.getVisExportConfig().isWrite3DTiles())
+			return false;
+
+		// KMZ archives always contain the COLLADA model, glTF models are only written to folders
+		if (config.getVisExportConfig().isExportAsKmz())
+			return true;
+
+		GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
+		return !isGltfMeshRequired() || !gltfOptions.isRemoveColladaFiles();
+	}
+
+	public boolean isGltfMeshRequired() {
+		GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
+		return config.getVisExportConfig().isWrite3DTiles()
+				|| (gltfOptions.isCreateGltfModel()
+				&& gltfOptions.isUseBuiltInWriter()
+				&& !config.getVisExportConfig().isExportAsKmz());
+	}
+
+	private File writeGltfModel(ColladaBundle colladaBundle, File buildingDirectory) {
+		GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
+		GltfWriter gltfWriter = new GltfWriter(gltfOptions.isUseBinaryGltf(), gltfOptions.isEmbedTextures());
+		File gltfModelFile = new File(buildingDirectory, colladaBundle.getGmlId() + gltfWriter.getFileExtension());
+
+		try {
+			gltfWriter.write(colladaBundle.getGltfMesh(), colladaBundle.getTexImages(), gltfModelFile);
+		} catch (IOException e) {
+			log.error("Failed to write glTF model '" + gltfModelFile.getAbsolutePath() + "'.", e);
+		}
+
+		colladaBundle.setGltfMesh(null); // free heap space
+		return gltfModelFile;
+	}
+
 	private void convertColladaToglTF(File buildingDirectory, File colladaModelFile, File gltfModelFile) {
 		GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
 
@@ -71,6 +71,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 
@@ -1161,6 +1162,10 @@ public class BalloonTemplateHandler {
 	private CityGMLClass cityGMLClassForBalloonHandler = null;
 	private int objectClassId;
 
+	// prepared statements are kept open across objects and released by close()
+	private final Map<String, PreparedStatement> statements = new HashMap<>();
+	private Connection statementConnection;
+
 	List<BalloonStatement> statementList = null;
 	List<String> htmlChunkList = null;
 
@@ -1263,9 +1268,8 @@ public class BalloonTemplateHandler {
 			long id = -1;
 
 			ResultSet rs = null;
-			PreparedStatement query = null;
 			try {
-				query = connection.prepareStatement(new StringBuilder("SELECT id, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE gmlid = ?").toString());
+				PreparedStatement query = getStatement(new StringBuilder("SELECT id, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE gmlid = ?").toString(), connection);
 				query.setString(1, gmlId);
 				rs = query.executeQuery();
 
@@ -1281,11 +1285,6 @@ public class BalloonTemplateHandler {
 					try { rs.close(); }	catch (SQLException sqlEx) {}
 					rs = null;
 				}
-
-				if (query != null) {
-					try { query.close(); } catch (SQLException sqlEx) {}
-					query = null;
-				}
 			}
 
 			if (cityGMLClassForBalloonHandler != cityObjectTypeForGmlId) {
@@ -1295,9 +1294,19 @@ public class BalloonTemplateHandler {
 				cityGMLClassForBalloonHandler = cityObjectTypeForGmlId;
 			}
 
+			// templates often reference the same attribute several times,
+			// so every distinct statement is only executed once per object
 			List<String> resultList = new ArrayList<String>();
+			HashMap<String, String> results = new HashMap<String, String>();
 			for (BalloonStatement statement: statementList) {
-				resultList.add(executeStatement(statement, id, lod, connection, schemaName));
+				String result;
+				if (results.containsKey(statement.getRawStatement())) {
+					result = results.get(statement.getRawStatement());
+				} else {
+					result = executeStatement(statement, id, lod, connection, schemaName);
+					results.put(statement.getRawStatement(), result);
+				}
+				resultList.add(result);
 			}
 
 			Iterator<String> htmlChunkIterator = htmlChunkList.iterator();
@@ -1330,9 +1339,8 @@ public class BalloonTemplateHandler {
 			CityGMLClass cityObjectTypeForId = null;
 
 			ResultSet rs = null;
-			PreparedStatement query = null;
 			try {
-				query = connection.prepareStatement(new StringBuilder("SELECT gmlid, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE id = ?").toString());
+				PreparedStatement query = getStatement(new StringBuilder("SELECT gmlid, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE id = ?").toString(), connection);
 				query.setLong(1, id);
 				rs = query.executeQuery();
 
@@ -1347,11 +1355,6 @@ public class BalloonTemplateHandler {
 					try { rs.close(); }	catch (SQLException sqlEx) {}
 					rs = null;
 				}
-
-				if (query != null) {
-					try { query.close(); } catch (SQLException sqlEx) {}
-					query = null;
-				}
 			}
 
 			if (cityGMLClassForBalloonHandler != cityObjectTypeForId) {
@@ -1361,9 +1364,19 @@ public class BalloonTemplateHandler {
 				cityGMLClassForBalloonHandler = cityObjectTypeForId;
 			}
 
+			// templates often reference the same attribute several times,
+			// so every distinct statement is only executed once per object
 			List<String> resultList = new ArrayList<String>();
+			HashMap<String, String> results = new HashMap<String, String>();
 			for (BalloonStatement statement: statementList) {
-				resultList.add(executeStatement(statement, id, lod, connection, schemaName));
+				String result;
+				if (results.containsKey(statement.getRawStatement())) {
+					result = results.get(statement.getRawStatement());
+				} else {
+					result = executeStatement(statement, id, lod, connection, schemaName);
+					results.put(statement.getRawStatement(), result);
+				}
+				resultList.add(result);
 			}
 
 			Iterator<String> htmlChunkIterator = htmlChunkList.iterator();
@@ -1379,6 +1392,41 @@ public class BalloonTemplateHandler {
 		return balloonContent.toString();
 	}
 
+	private PreparedStatement getStatement(String query, Connection connection) throws SQLException {
+		if (connection != statementConnection) {
+			close();
+			statementConnection = connection;
+		}
+
+		PreparedStatement statement = statements.get(query);
+		if (statement == null) {
+			statement = connection.prepareStatement(query);
+			statements.put(query, statement);
+		} else {
+			// do not share a statement whose result set is still open
+			ResultSet rs = statement.getResultSet();
+			if (rs != null && !rs.isClosed()) {
+				statement = connection.prepareStatement(query);
+				statement.closeOnCompletion();
+			}
+		}
+
+		return statement;
+	}
+
+	public void close() {
+		for (PreparedStatement statement : statements.values()) {
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				//
+			}
+		}
+
+		statements.clear();
+		statementConnection = null;
+	}
+
 	private String executeStatement(BalloonStatement statement, long id, int lod, Connection connection, String schemaName) {
 		String result = "";
 		String query = "";
@@ -1445,7 +1493,7 @@ public class BalloonTemplateHandler {
 
 					BalloonStatement dummy = new BalloonStatement(notNestedAnymore.toString());
 					query = dummy.getProperSQLStatement(lod, schemaName);
-					preparedStatement = connection.prepareStatement(query);
+					preparedStatement = getStatement(query, connection);
 				}
 				else { // not nested
 					if (statement.getProperSQLStatement(lod, schemaName) == null) {
@@ -1453,7 +1501,7 @@ public class BalloonTemplateHandler {
 						return result; // skip db call, rs and preparedStatement are currently null
 					}
 					query = statement.getProperSQLStatement(lod, schemaName);
-					preparedStatement = connection.prepareStatement(query);
+					preparedStatement = getStatement(query, connection);
 				}
 
 				for (int i = 1; i <= getParameterCount(query); i++)
@@ -1506,7 +1554,6 @@ public class BalloonTemplateHandler {
 			finally {
 				try {
 					if (rs != null) rs.close();
-					if (preparedStatement != null) preparedStatement.close();
 				}
 				catch (Exception e2) {}
 			}
@@ -1522,7 +1569,7 @@ public class BalloonTemplateHandler {
 		try {
 			if (statement != null && statement.getProperSQLStatement(lod, schemaName) != null) {
 				String query = statement.getProperSQLStatement(lod, schemaName);
-				preparedStatement = connection.prepareStatement(query);
+				preparedStatement = getStatement(query, connection);
 				for (int i = 1; i <= getParameterCount(query); i++)
 					preparedStatement.setLong(i, id);
 
@@ -1578,7 +1625,6 @@ public class BalloonTemplateHandler {
 		finally {
 			try {
 				if (rs != null) rs.close();
-				if (preparedStatement != null) preparedStatement.close();
 			}
 			catch (Exception e2) {}
 		}
@@ -27,16 +27,24 @@
  */
 package org.citydb.vis.util;
 
+import org.citydb.core.file.OutputFile;
+import org.citydb.vis.database.TileContent;
+
 import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class ExportTracker {
 	
 	private final ConcurrentHashMap<Long, CityObject4JSON> map;
+	private final Set<String> archiveEntries;
 	private String currentWorkingDirectoryPath;
+	private OutputFile archive;
+	private volatile TileContent tileContent;
 	
 	public ExportTracker() {
 		map = new ConcurrentHashMap<Long, CityObject4JSON>();
+		archiveEntries = ConcurrentHashMap.newKeySet();
 	}
 	
 	public void put(long id, CityObject4JSON json) {
@@ -62,5 +70,27 @@ public class ExportTracker {
 	public void setCurrentWorkingDirectoryPath(String currentWorkingDirectoryPath) {
 		this.currentWorkingDirectoryPath = currentWorkingDirectoryPath;
 	}
-	
+
+	public OutputFile getArchive() {
+		return archive;
+	}
+
+	public void setArchive(OutputFile archive) {
+		this.archive = archive;
+		archiveEntries.clear();
+	}
+
+	public boolean addArchiveEntry(String name) {
+		// returns false if the entry has already been written to the archive
+		return archiveEntries.add(name);
+	}
+
+	public TileContent getTileContent() {
+		return tileContent;
+	}
+
+	public void setTileContent(TileContent tileContent) {
+		this.tileContent = tileContent;
+	}
+
 }
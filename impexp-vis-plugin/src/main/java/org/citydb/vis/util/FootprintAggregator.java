@@ -0,0 +1,153 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.config.geometry.ElementType;
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.geometry.GeometryType;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes footprints on the client as the 2D union of the surfaces of an object,
+ * as an alternative to the aggregation queries run by the database. Small and invalid
+ * surfaces are already filtered by the surface queries, so all surfaces are kept here.
+ */
+public class FootprintAggregator {
+	private final GeometryFactory factory = new GeometryFactory();
+
+	public List<GeometryObject> aggregate(List<GeometryObject> surfaces) {
+		List<Geometry> polygons = new ArrayList<>();
+		int srid = 0;
+
+		for (GeometryObject surface : surfaces) {
+			if (surface.getGeometryType() != GeometryType.POLYGON && surface.getGeometryType() != GeometryType.MULTI_POLYGON)
+				continue;
+
+			srid = surface.getSrid();
+			for (Polygon polygon : toPolygons(surface)) {
+				// the 2D projection of a valid surface may be invalid, e.g. for vertical
+				// or self-overlapping walls, so repair the polygon instead of dropping it
+				Geometry geometry = polygon.isValid() ? polygon : polygon.buffer(0);
+				if (!geometry.isEmpty())
+					polygons.add(geometry);
+			}
+		}
+
+		List<GeometryObject> footprints = new ArrayList<>();
+		if (polygons.isEmpty())
+			return footprints;
+
+		Geometry union;
+		try {
+			union = UnaryUnionOp.union(polygons);
+		} catch (TopologyException e) {
+			// fall back to the more robust but slower buffer union
+			union = factory.buildGeometry(polygons).buffer(0);
+		}
+
+		if (union == null || union.isEmpty())
+			return footprints;
+
+		for (int i = 0; i < union.getNumGeometries(); i++) {
+			Geometry geometry = union.getGeometryN(i);
+			if (geometry instanceof Polygon && !geometry.isEmpty())
+				footprints.add(toGeometryObject((Polygon) geometry, srid));
+		}
+
+		return footprints;
+	}
+
+	private List<Polygon> toPolygons(GeometryObject surface) {
+		List<Polygon> polygons = new ArrayList<>();
+		LinearRing shell = null;
+		List<LinearRing> holes = new ArrayList<>();
+
+		for (int i = 0; i < surface.getNumElements(); i++) {
+			LinearRing ring = toLinearRing(surface.getCoordinates(i), surface.getDimension());
+
+			if (surface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
+				if (shell != null)
+					polygons.add(factory.createPolygon(shell, holes.toArray(new LinearRing[0])));
+
+				shell = ring;
+				holes.clear();
+			} else if (shell != null && ring != null)
+				holes.add(ring);
+		}
+
+		if (shell != null)
+			polygons.add(factory.createPolygon(shell, holes.toArray(new LinearRing[0])));
+
+		return polygons;
+	}
+
+	private LinearRing toLinearRing(double[] coordinates, int dimension) {
+		int size = coordinates.length / dimension;
+		if (size < 4)
+			return null;
+
+		Coordinate[] ring = new Coordinate[size];
+		for (int i = 0; i < size; i++)
+			ring[i] = new Coordinate(coordinates[i * dimension], coordinates[i * dimension + 1]);
+
+		try {
+			return factory.createLinearRing(ring);
+		} catch (IllegalArgumentException e) {
+			// ring is not closed
+			return null;
+		}
+	}
+
+	private GeometryObject toGeometryObject(Polygon polygon, int srid) {
+		double[][] rings = new double[polygon.getNumInteriorRing() + 1][];
+		rings[0] = toCoordinates(polygon.getExteriorRing().getCoordinates());
+		for (int i = 0; i < polygon.getNumInteriorRing(); i++)
+			rings[i + 1] = toCoordinates(polygon.getInteriorRingN(i).getCoordinates());
+
+		return GeometryObject.createPolygon(rings, 2, srid);
+	}
+
+	private double[] toCoordinates(Coordinate[] coordinates) {
+		double[] result = new double[coordinates.length * 2];
+		for (int i = 0; i < coordinates.length; i++) {
+			result[i * 2] = coordinates[i].x;
+			result[i * 2 + 1] = coordinates[i].y;
+		}
+
+		return result;
+	}
+}
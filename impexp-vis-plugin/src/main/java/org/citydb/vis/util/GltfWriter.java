@@ -0,0 +1,461 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import com.google.gson.stream.JsonWriter;
+import org.citydb.textureAtlas.model.TextureImage;
+import org.citydb.vis.database.GltfMesh;
+import org.citygml4j.model.citygml.appearance.X3DMaterial;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes glTF 2.0 models directly from the triangulated geometry of the vis exporter.
+ * Models are either written as glTF file with an embedded binary buffer or as binary
+ * GLB file. Draco compression is not supported.
+ */
+public class GltfWriter {
+	private static final int ARRAY_BUFFER = 34962;
+	private static final int ELEMENT_ARRAY_BUFFER = 34963;
+	private static final int FLOAT = 5126;
+	private static final int UNSIGNED_INT = 5125;
+	private static final int TRIANGLES = 4;
+	private static final int REPEAT = 10497;
+	private static final int GLB_MAGIC = 0x46546C67;
+	private static final int GLB_JSON_CHUNK = 0x4E4F534A;
+	private static final int GLB_BIN_CHUNK = 0x004E4942;
+
+	// rotation from the Z-up axis of COLLADA models to the Y-up axis of glTF
+	private static final double[] Z_UP_TO_Y_UP = {-Math.sqrt(0.5), 0, 0, Math.sqrt(0.5)};
+
+	private final boolean binary;
+	private final boolean embedTextures;
+
+	public GltfWriter(boolean binary, boolean embedTextures) {
+		this.binary = binary;
+		this.embedTextures = embedTextures;
+	}
+
+	public String getFileExtension() {
+		return binary ? ".glb" : ".gltf";
+	}
+
+	public void write(GltfMesh mesh, Map<String, TextureImage> texImages, File file) throws IOException {
+		try (OutputStream stream = new FileOutputStream(file)) {
+			write(mesh, texImages, stream);
+		}
+	}
+
+	public void write(GltfMesh mesh, Map<String, TextureImage> texImages, OutputStream stream) throws IOException {
+		BinaryBuffer buffer = new BinaryBuffer();
+		List<BufferView> bufferViews = new ArrayList<>();
+		List<Accessor> accessors = new ArrayList<>();
+		Map<String, Integer> images = new LinkedHashMap<>();
+		Map<String, BufferView> imageBufferViews = new LinkedHashMap<>();
+
+		// skip primitives without triangles since accessors must not be empty
+		List<GltfMesh.Primitive> primitives = new ArrayList<>();
+		for (GltfMesh.Primitive primitive : mesh.getPrimitives()) {
+			if (primitive.getIndexCount() > 0)
+				primitives.add(primitive);
+		}
+
+		for (GltfMesh.Primitive primitive : primitives) {
+			int vertexCount = primitive.getVertexCount();
+
+			BufferView positions = buffer.put(primitive.getPositions(), vertexCount * 3, ARRAY_BUFFER, bufferViews);
+			accessors.add(new Accessor(positions, FLOAT, vertexCount, "VEC3", bounds(primitive.getPositions(), vertexCount)));
+
+			if (primitive.hasNormals()) {
+				BufferView normals = buffer.put(primitive.getNormals(), vertexCount * 3, ARRAY_BUFFER, bufferViews);
+				accessors.add(new Accessor(normals, FLOAT, vertexCount, "VEC3", null));
+			}
+
+			if (primitive.isTextured()) {
+				BufferView texCoords = buffer.put(primitive.getTexCoords(), vertexCount * 2, ARRAY_BUFFER, bufferViews);
+				accessors.add(new Accessor(texCoords, FLOAT, vertexCount, "VEC2", null));
+
+				String texImageName = primitive.getTexImageName();
+				if (!images.containsKey(texImageName)) {
+					images.put(texImageName, images.size());
+					if (embedTextures) {
+						byte[] image = encodeImage(texImageName, texImages != null ? texImages.get(texImageName) : null);
+						if (image != null)
+							imageBufferViews.put(texImageName, buffer.put(image, bufferViews));
+					}
+				}
+			}
+
+			if (primitive.hasBatchIds()) {
+				BufferView batchIds = buffer.put(primitive.getBatchIds(), vertexCount, ARRAY_BUFFER, bufferViews);
+				accessors.add(new Accessor(batchIds, FLOAT, vertexCount, "SCALAR", null));
+			}
+
+			BufferView indices = buffer.put(primitive.getIndices(), primitive.getIndexCount(), bufferViews);
+			accessors.add(new Accessor(indices, UNSIGNED_INT, primitive.getIndexCount(), "SCALAR", null));
+		}
+
+		byte[] bin = buffer.toByteArray();
+		String json = toJson(primitives, mesh.isDoubleSided(), bufferViews, accessors, images, imageBufferViews, bin);
+
+		if (binary) {
+			byte[] jsonChunk = pad(json.getBytes(StandardCharsets.UTF_8), (byte) ' ');
+			byte[] binChunk = pad(bin, (byte) 0);
+
+			ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(GLB_MAGIC).putInt(2).putInt(12 + 8 + jsonChunk.length + 8 + binChunk.length);
+			header.putInt(jsonChunk.length).putInt(GLB_JSON_CHUNK);
+			stream.write(header.array());
+			stream.write(jsonChunk);
+
+			ByteBuffer binHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+			binHeader.putInt(binChunk.length).putInt(GLB_BIN_CHUNK);
+			stream.write(binHeader.array());
+			stream.write(binChunk);
+		} else {
+			OutputStreamWriter writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+			writer.write(json);
+			writer.flush();
+		}
+	}
+
+	private String toJson(List<GltfMesh.Primitive> primitives, boolean doubleSided, List<BufferView> bufferViews, List<Accessor> accessors,
+						  Map<String, Integer> images, Map<String, BufferView> imageBufferViews, byte[] bin) throws IOException {
+		StringWriter stringWriter = new StringWriter();
+		JsonWriter writer = new JsonWriter(stringWriter);
+
+		writer.beginObject();
+		writer.name("asset").beginObject()
+				.name("version").value("2.0")
+				.name("generator").value(getClass().getPackage().getImplementationTitle() + ", version " +
+						getClass().getPackage().getImplementationVersion())
+				.endObject();
+
+		writer.name("scene").value(0);
+		writer.name("scenes").beginArray().beginObject()
+				.name("nodes").beginArray().value(0).endArray()
+				.endObject().endArray();
+
+		writer.name("nodes").beginArray().beginObject()
+				.name("mesh").value(0)
+				.name("rotation").beginArray();
+		for (double value : Z_UP_TO_Y_UP)
+			writer.value(value);
+		writer.endArray().endObject().endArray();
+
+		// meshes and materials
+		int accessor = 0;
+		writer.name("meshes").beginArray().beginObject().name("primitives").beginArray();
+		for (int i = 0; i < primitives.size(); i++) {
+			GltfMesh.Primitive primitive = primitives.get(i);
+			writer.beginObject().name("attributes").beginObject();
+			writer.name("POSITION").value(accessor++);
+			if (primitive.hasNormals())
+				writer.name("NORMAL").value(accessor++);
+			if (primitive.isTextured())
+				writer.name("TEXCOORD_0").value(accessor++);
+			if (primitive.hasBatchIds())
+				writer.name("_BATCHID").value(accessor++);
+			writer.endObject();
+			writer.name("indices").value(accessor++);
+			writer.name("material").value(i);
+			writer.name("mode").value(TRIANGLES);
+			writer.endObject();
+		}
+		writer.endArray().endObject().endArray();
+
+		writer.name("materials").beginArray();
+		for (GltfMesh.Primitive primitive : primitives)
+			writeMaterial(primitive, images, doubleSided, writer);
+		writer.endArray();
+
+		// textures and images
+		if (!images.isEmpty()) {
+			writer.name("samplers").beginArray().beginObject()
+					.name("wrapS").value(REPEAT)
+					.name("wrapT").value(REPEAT)
+					.endObject().endArray();
+
+			writer.name("textures").beginArray();
+			for (int i = 0; i < images.size(); i++)
+				writer.beginObject().name("sampler").value(0).name("source").value(i).endObject();
+			writer.endArray();
+
+			writer.name("images").beginArray();
+			for (String texImageName : images.keySet()) {
+				writer.beginObject();
+				BufferView bufferView = imageBufferViews.get(texImageName);
+				if (bufferView != null) {
+					writer.name("bufferView").value(bufferViews.indexOf(bufferView));
+					writer.name("mimeType").value(getMimeType(texImageName));
+				} else
+					writer.name("uri").value(texImageName.replace('\\', '/'));
+				writer.endObject();
+			}
+			writer.endArray();
+		}
+
+		// accessors, buffer views, and buffers
+		writer.name("accessors").beginArray();
+		for (Accessor item : accessors) {
+			writer.beginObject()
+					.name("bufferView").value(bufferViews.indexOf(item.bufferView))
+					.name("componentType").value(item.componentType)
+					.name("count").value(item.count)
+					.name("type").value(item.type);
+			if (item.bounds != null) {
+				writer.name("min").beginArray().value(item.bounds[0]).value(item.bounds[1]).value(item.bounds[2]).endArray();
+				writer.name("max").beginArray().value(item.bounds[3]).value(item.bounds[4]).value(item.bounds[5]).endArray();
+			}
+			writer.endObject();
+		}
+		writer.endArray();
+
+		writer.name("bufferViews").beginArray();
+		for (BufferView bufferView : bufferViews) {
+			writer.beginObject()
+					.name("buffer").value(0)
+					.name("byteOffset").value(bufferView.offset)
+					.name("byteLength").value(bufferView.length);
+			if (bufferView.target != 0)
+				writer.name("target").value(bufferView.target);
+			writer.endObject();
+		}
+		writer.endArray();
+
+		writer.name("buffers").beginArray().beginObject();
+		writer.name("byteLength").value(bin.length);
+		if (!binary)
+			writer.name("uri").value("data:application/octet-stream;base64," + Base64.getEncoder().encodeToString(bin));
+		writer.endObject().endArray();
+
+		writer.endObject();
+		writer.close();
+
+		return stringWriter.toString();
+	}
+
+	private void writeMaterial(GltfMesh.Primitive primitive, Map<String, Integer> images, boolean doubleSided, JsonWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("pbrMetallicRoughness").beginObject();
+
+		X3DMaterial x3dMaterial = primitive.getX3dMaterial();
+		double alpha = 1;
+
+		if (primitive.isTextured()) {
+			writer.name("baseColorTexture").beginObject()
+					.name("index").value(images.get(primitive.getTexImageName()))
+					.endObject();
+			writer.name("roughnessFactor").value(1);
+		} else if (x3dMaterial != null) {
+			if (x3dMaterial.isSetTransparency())
+				alpha = 1 - x3dMaterial.getTransparency();
+
+			if (x3dMaterial.isSetDiffuseColor()) {
+				writer.name("baseColorFactor").beginArray()
+						.value(x3dMaterial.getDiffuseColor().getRed())
+						.value(x3dMaterial.getDiffuseColor().getGreen())
+						.value(x3dMaterial.getDiffuseColor().getBlue())
+						.value(alpha)
+						.endArray();
+			} else if (alpha < 1)
+				writer.name("baseColorFactor").beginArray().value(1).value(1).value(1).value(alpha).endArray();
+
+			writer.name("roughnessFactor").value(x3dMaterial.isSetShininess() ? 1 - x3dMaterial.getShininess() : 1);
+		}
+
+		writer.name("metallicFactor").value(0);
+		writer.endObject();
+
+		if (!primitive.isTextured() && x3dMaterial != null && x3dMaterial.isSetEmissiveColor()) {
+			writer.name("emissiveFactor").beginArray()
+					.value(x3dMaterial.getEmissiveColor().getRed())
+					.value(x3dMaterial.getEmissiveColor().getGreen())
+					.value(x3dMaterial.getEmissiveColor().getBlue())
+					.endArray();
+		}
+
+		if (alpha < 1)
+			writer.name("alphaMode").value("BLEND");
+
+		writer.name("doubleSided").value(doubleSided);
+		writer.endObject();
+	}
+
+	private byte[] encodeImage(String texImageName, TextureImage texImage) throws IOException {
+		if (texImage == null || texImage.getBufferedImage() == null)
+			return null;
+
+		String mimeType = getMimeType(texImageName);
+		BufferedImage image = texImage.getBufferedImage();
+		if (mimeType.equals("image/jpeg") && image.getColorModel().hasAlpha())
+			image = toRGB(image);
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		return ImageIO.write(image, mimeType.equals("image/png") ? "png" : "jpg", stream) ?
+				stream.toByteArray() :
+				null;
+	}
+
+	private BufferedImage toRGB(BufferedImage image) {
+		// the JPEG writer of ImageIO cannot encode images with an alpha channel
+		BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = rgb.createGraphics();
+		try {
+			graphics.drawImage(image, 0, 0, Color.WHITE, null);
+		} finally {
+			graphics.dispose();
+		}
+
+		return rgb;
+	}
+
+	private String getMimeType(String texImageName) {
+		String extension = texImageName.substring(texImageName.lastIndexOf('.') + 1).toLowerCase();
+		return extension.equals("jpg") || extension.equals("jpeg") ? "image/jpeg" : "image/png";
+	}
+
+	private double[] bounds(float[] positions, int vertexCount) {
+		double[] bounds = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+				-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+
+		for (int i = 0; i < vertexCount * 3; i++) {
+			int axis = i % 3;
+			bounds[axis] = Math.min(bounds[axis], positions[i]);
+			bounds[axis + 3] = Math.max(bounds[axis + 3], positions[i]);
+		}
+
+		return bounds;
+	}
+
+	private byte[] pad(byte[] bytes, byte padding) {
+		int length = (bytes.length + 3) & ~3;
+		if (length == bytes.length)
+			return bytes;
+
+		byte[] padded = Arrays.copyOf(bytes, length);
+		Arrays.fill(padded, bytes.length, length, padding);
+		return padded;
+	}
+
+	private static class BinaryBuffer {
+		private ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+
+		BufferView put(float[] values, int length, int target, List<BufferView> bufferViews) {
+			ensureCapacity(length * 4);
+			BufferView bufferView = new BufferView(buffer.position(), length * 4, target);
+			for (int i = 0; i < length; i++)
+				buffer.putFloat(values[i]);
+
+			bufferViews.add(bufferView);
+			return bufferView;
+		}
+
+		BufferView put(int[] values, int length, List<BufferView> bufferViews) {
+			ensureCapacity(length * 4);
+			BufferView bufferView = new BufferView(buffer.position(), length * 4, ELEMENT_ARRAY_BUFFER);
+			for (int i = 0; i < length; i++)
+				buffer.putInt(values[i]);
+
+			bufferViews.add(bufferView);
+			return bufferView;
+		}
+
+		BufferView put(byte[] values, List<BufferView> bufferViews) {
+			int length = (values.length + 3) & ~3;
+			ensureCapacity(length);
+			BufferView bufferView = new BufferView(buffer.position(), values.length, 0);
+			buffer.put(values);
+			buffer.position(bufferView.offset + length);
+
+			bufferViews.add(bufferView);
+			return bufferView;
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer.array(), buffer.position());
+		}
+
+		private void ensureCapacity(int length) {
+			if (buffer.remaining() < length) {
+				ByteBuffer tmp = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length))
+						.order(ByteOrder.LITTLE_ENDIAN);
+				buffer.flip();
+				tmp.put(buffer);
+				buffer = tmp;
+			}
+		}
+	}
+
+	private static class BufferView {
+		final int offset;
+		final int length;
+		final int target;
+
+		BufferView(int offset, int length, int target) {
+			this.offset = offset;
+			this.length = length;
+			this.target = target;
+		}
+	}
+
+	private static class Accessor {
+		final BufferView bufferView;
+		final int componentType;
+		final int count;
+		final String type;
+		final double[] bounds;
+
+		Accessor(BufferView bufferView, int componentType, int count, String type, double[] bounds) {
+			this.bufferView = bufferView;
+			this.componentType = componentType;
+			this.count = count;
+			this.type = type;
+			this.bounds = bounds;
+		}
+	}
+}
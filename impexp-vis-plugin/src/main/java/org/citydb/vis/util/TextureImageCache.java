@@ -0,0 +1,148 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.textureAtlas.model.TextureImage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TextureImageCache {
+	private final LinkedHashMap<Long, Entry> entries;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final long maxSize;
+	private long size;
+	private long hits;
+	private long misses;
+
+	public TextureImageCache(long maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+		entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	public Entry get(long texImageId, boolean supportRGB) {
+		if (maxSize == 0)
+			return null;
+
+		lock.lock();
+		try {
+			Entry entry = entries.get(texImageId);
+			if (entry != null && entry.supportRGB == supportRGB) {
+				hits++;
+				return entry;
+			}
+
+			misses++;
+			return null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public Entry put(long texImageId, boolean supportRGB, TextureImage texImage) {
+		Entry entry = new Entry(texImage, supportRGB);
+		if (entry.size > maxSize)
+			return entry;
+
+		lock.lock();
+		try {
+			Entry previous = entries.put(texImageId, entry);
+			if (previous != null)
+				size -= previous.size;
+
+			size += entry.size;
+
+			// evict least recently used images
+			Iterator<Map.Entry<Long, Entry>> iter = entries.entrySet().iterator();
+			while (size > maxSize && iter.hasNext()) {
+				Entry eldest = iter.next().getValue();
+				if (eldest == entry)
+					break;
+
+				size -= eldest.size;
+				iter.remove();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		return entry;
+	}
+
+	public long getHits() {
+		lock.lock();
+		try {
+			return hits;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getMisses() {
+		lock.lock();
+		try {
+			return misses;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void clear() {
+		lock.lock();
+		try {
+			entries.clear();
+			size = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public static final class Entry {
+		private final TextureImage texImage;
+		private final boolean supportRGB;
+		private final long size;
+
+		private Entry(TextureImage texImage, boolean supportRGB) {
+			this.texImage = texImage;
+			this.supportRGB = supportRGB;
+
+			// unsupported images are cached as well to avoid decoding them again
+			size = texImage != null ? 4L * texImage.getWidth() * texImage.getHeight() : 64;
+		}
+
+		public TextureImage getTextureImage() {
+			return texImage;
+		}
+
+		public boolean isSupported() {
+			return texImage != null;
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.util;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the tileset.json file of a 3D Tiles export. The exported tiles of the
+ * tiling become the leaves of a quadtree whose inner nodes only carry bounding
+ * volumes and a geometric error derived from their size.
+ */
+public class TilesetWriter {
+	private static final double EARTH_RADIUS = 6378137;
+
+	private final Map<Long, Node> tiles = new ConcurrentHashMap<>();
+	private final int rows;
+	private final int columns;
+
+	public TilesetWriter(int rows, int columns) {
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	public void addTile(int row, int column, String uri, double[] region) {
+		// region is given as west, south, east, north in degrees and minimum and maximum height
+		Node node = new Node();
+		node.uri = uri;
+		node.region = region.clone();
+		tiles.put(key(row, column), node);
+	}
+
+	public boolean isEmpty() {
+		return tiles.isEmpty();
+	}
+
+	public void write(File file) throws IOException {
+		Node root = buildTree(0, rows, 0, columns);
+		if (root == null)
+			return;
+
+		try (OutputStreamWriter stream = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+			 JsonWriter writer = new JsonWriter(stream)) {
+			writer.setIndent("  ");
+			writer.beginObject();
+			writer.name("asset").beginObject()
+					.name("version").value("1.0")
+					.name("generator").value(getClass().getPackage().getImplementationTitle() + ", version " +
+							getClass().getPackage().getImplementationVersion())
+					.endObject();
+
+			// a tileset whose geometric error is zero would never be rendered
+			writer.name("geometricError").value(getDiagonal(root.region));
+			writer.name("root");
+			writeNode(root, writer, true);
+			writer.endObject();
+		}
+	}
+
+	private Node buildTree(int fromRow, int toRow, int fromColumn, int toColumn) {
+		if (toRow - fromRow == 1 && toColumn - fromColumn == 1)
+			return tiles.get(key(fromRow, fromColumn));
+
+		// split the tile range into up to four quadrants
+		int midRow = toRow - fromRow > 1 ? (fromRow + toRow) / 2 : toRow;
+		int midColumn = toColumn - fromColumn > 1 ? (fromColumn + toColumn) / 2 : toColumn;
+
+		List<Node> children = new ArrayList<>();
+		addChild(buildTree(fromRow, midRow, fromColumn, midColumn), children);
+		if (midColumn < toColumn)
+			addChild(buildTree(fromRow, midRow, midColumn, toColumn), children);
+		if (midRow < toRow) {
+			addChild(buildTree(midRow, toRow, fromColumn, midColumn), children);
+			if (midColumn < toColumn)
+				addChild(buildTree(midRow, toRow, midColumn, toColumn), children);
+		}
+
+		if (children.size() <= 1)
+			return children.isEmpty() ? null : children.get(0);
+
+		Node node = new Node();
+		node.children = children;
+		node.region = children.get(0).region.clone();
+		for (Node child : children) {
+			node.region[0] = Math.min(node.region[0], child.region[0]);
+			node.region[1] = Math.min(node.region[1], child.region[1]);
+			node.region[2] = Math.max(node.region[2], child.region[2]);
+			node.region[3] = Math.max(node.region[3], child.region[3]);
+			node.region[4] = Math.min(node.region[4], child.region[4]);
+			node.region[5] = Math.max(node.region[5], child.region[5]);
+		}
+
+		// children are refined once the diagonal of their parent gets visible
+		node.geometricError = getDiagonal(node.region);
+		return node;
+	}
+
+	private void addChild(Node child, List<Node> children) {
+		if (child != null)
+			children.add(child);
+	}
+
+	private void writeNode(Node node, JsonWriter writer, boolean isRoot) throws IOException {
+		writer.beginObject();
+		writer.name("boundingVolume").beginObject().name("region").beginArray()
+				.value(Math.toRadians(node.region[0]))
+				.value(Math.toRadians(node.region[1]))
+				.value(Math.toRadians(node.region[2]))
+				.value(Math.toRadians(node.region[3]))
+				.value(node.region[4])
+				.value(node.region[5])
+				.endArray().endObject();
+
+		writer.name("geometricError").value(node.geometricError);
+		if (isRoot)
+			writer.name("refine").value("ADD");
+
+		if (node.uri != null)
+			writer.name("content").beginObject().name("uri").value(node.uri).endObject();
+
+		if (node.children != null) {
+			writer.name("children").beginArray();
+			for (Node child : node.children)
+				writeNode(child, writer, false);
+			writer.endArray();
+		}
+
+		writer.endObject();
+	}
+
+	private double getDiagonal(double[] region) {
+		double width = Math.toRadians(region[2] - region[0]) * EARTH_RADIUS
+				* Math.cos(Math.toRadians((region[1] + region[3]) / 2));
+		double height = Math.toRadians(region[3] - region[1]) * EARTH_RADIUS;
+		double depth = region[5] - region[4];
+		return Math.sqrt(width * width + height * height + depth * depth);
+	}
+
+	private long key(int row, int column) {
+		return ((long) row << 32) | (column & 0xffffffffL);
+	}
+
+	private static class Node {
+		private String uri;
+		private double[] region;
+		private double geometricError;
+		private List<Node> children;
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.util.elevation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StreamTokenizer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Samples elevations from a digital elevation model in ESRI ASCII grid format
+ * using bilinear interpolation. The grid must be referenced to WGS 84 with
+ * longitude and latitude given in degrees.
+ */
+public class AsciiGridElevationProvider implements ElevationProvider {
+	private final int columns;
+	private final int rows;
+	private final double minX;
+	private final double maxY;
+	private final double cellSize;
+	private final float[] values;
+
+	public AsciiGridElevationProvider(Path file) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+			StreamTokenizer tokenizer = new StreamTokenizer(reader);
+			tokenizer.resetSyntax();
+			tokenizer.wordChars(33, 255);
+			tokenizer.whitespaceChars(0, 32);
+
+			int columns = -1, rows = -1;
+			double x = Double.NaN, y = Double.NaN, cellSize = Double.NaN, noData = -9999;
+			boolean cornerX = true, cornerY = true;
+
+			// read header
+			while (tokenizer.nextToken() == StreamTokenizer.TT_WORD && Character.isLetter(tokenizer.sval.charAt(0))) {
+				String key = tokenizer.sval.toLowerCase();
+				if (tokenizer.nextToken() != StreamTokenizer.TT_WORD)
+					throw new IOException("Invalid header of ASCII grid file " + file + ".");
+
+				double value = parse(tokenizer.sval, file);
+				switch (key) {
+					case "ncols":
+						columns = (int) value;
+						break;
+					case "nrows":
+						rows = (int) value;
+						break;
+					case "xllcorner":
+					case "xllcenter":
+						x = value;
+						cornerX = key.equals("xllcorner");
+						break;
+					case "yllcorner":
+					case "yllcenter":
+						y = value;
+						cornerY = key.equals("yllcorner");
+						break;
+					case "cellsize":
+						cellSize = value;
+						break;
+					case "nodata_value":
+						noData = value;
+						break;
+					default:
+						throw new IOException("Unsupported header entry '" + key + "' in ASCII grid file " + file + ".");
+				}
+			}
+
+			if (columns <= 0 || rows <= 0 || Double.isNaN(x) || Double.isNaN(y) || !(cellSize > 0))
+				throw new IOException("Incomplete header of ASCII grid file " + file + ".");
+
+			this.columns = columns;
+			this.rows = rows;
+			this.cellSize = cellSize;
+
+			// store the upper left corner of the grid
+			minX = cornerX ? x : x - cellSize / 2;
+			maxY = (cornerY ? y : y - cellSize / 2) + rows * cellSize;
+
+			// read values row by row starting with the northernmost row
+			values = new float[columns * rows];
+			int count = 0;
+			while (count < values.length) {
+				if (tokenizer.ttype != StreamTokenizer.TT_WORD)
+					throw new IOException("Unexpected end of ASCII grid file " + file + ".");
+
+				double value = parse(tokenizer.sval, file);
+				values[count++] = value == noData ? Float.NaN : (float) value;
+				tokenizer.nextToken();
+			}
+		}
+	}
+
+	@Override
+	public double[] getElevations(double[] coordinates) {
+		double[] elevations = new double[coordinates.length / 2];
+		for (int i = 0; i < elevations.length; i++)
+			elevations[i] = sample(coordinates[i * 2], coordinates[i * 2 + 1]);
+
+		return elevations;
+	}
+
+	private double sample(double lon, double lat) {
+		// continuous grid position relative to the cell centers
+		double column = (lon - minX) / cellSize - 0.5;
+		double row = (maxY - lat) / cellSize - 0.5;
+		if (column < -0.5 || row < -0.5 || column > columns - 0.5 || row > rows - 0.5)
+			return Double.NaN;
+
+		column = Math.max(0, Math.min(columns - 1, column));
+		row = Math.max(0, Math.min(rows - 1, row));
+
+		int c0 = (int) Math.floor(column), r0 = (int) Math.floor(row);
+		int c1 = Math.min(c0 + 1, columns - 1), r1 = Math.min(r0 + 1, rows - 1);
+		double dc = column - c0, dr = row - r0;
+
+		double[] weights = {(1 - dc) * (1 - dr), dc * (1 - dr), (1 - dc) * dr, dc * dr};
+		float[] samples = {value(r0, c0), value(r0, c1), value(r1, c0), value(r1, c1)};
+
+		// renormalize the weights if some neighbors lack data
+		double sum = 0, weight = 0;
+		for (int i = 0; i < 4; i++) {
+			if (!Float.isNaN(samples[i])) {
+				sum += weights[i] * samples[i];
+				weight += weights[i];
+			}
+		}
+
+		return weight > 0 ? sum / weight : Double.NaN;
+	}
+
+	private float value(int row, int column) {
+		return values[row * columns + column];
+	}
+
+	private double parse(String value, Path file) throws IOException {
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid number '" + value + "' in ASCII grid file " + file + ".", e);
+		}
+	}
+}
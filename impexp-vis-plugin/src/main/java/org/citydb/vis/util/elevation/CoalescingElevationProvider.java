@@ -0,0 +1,172 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.util.elevation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent elevation requests of several workers into batched calls
+ * of a remote provider. The first request of a batch waits for a short time so
+ * that requests of other workers can join before the batch is sent. It does not
+ * wait if all callers have already joined the batch, in particular if there is
+ * only a single caller.
+ */
+public class CoalescingElevationProvider implements ElevationProvider {
+	private final ElevationProvider delegate;
+	private final int batchSize;
+	private final long maxDelay;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition batchFull = lock.newCondition();
+	private final List<Request> pending = new ArrayList<>();
+	private int pendingPoints;
+	private int activeCallers;
+	private boolean hasLeader;
+
+	public CoalescingElevationProvider(ElevationProvider delegate, int batchSize, long maxDelay, TimeUnit unit) {
+		this.delegate = delegate;
+		this.batchSize = batchSize;
+		this.maxDelay = unit.toNanos(maxDelay);
+	}
+
+	@Override
+	public double[] getElevations(double[] coordinates) throws IOException {
+		Request request = new Request(coordinates);
+		boolean isLeader = false;
+
+		lock.lock();
+		try {
+			activeCallers++;
+			pending.add(request);
+			pendingPoints += coordinates.length / 2;
+			if (!hasLeader) {
+				hasLeader = true;
+				isLeader = true;
+			} else if (isBatchComplete())
+				batchFull.signal();
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			if (isLeader)
+				dispatch();
+
+			return request.result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for elevations.", e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof IOException ?
+					(IOException) e.getCause() :
+					new IOException("Failed to retrieve elevations.", e.getCause());
+		} finally {
+			lock.lock();
+			try {
+				// a waiting leader must not wait for a caller that has left
+				activeCallers--;
+				if (hasLeader && isBatchComplete())
+					batchFull.signal();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private boolean isBatchComplete() {
+		// no other caller can join the batch if all active callers are part of it
+		return pendingPoints >= batchSize || pending.size() >= activeCallers;
+	}
+
+	private void dispatch() {
+		List<Request> batch;
+
+		lock.lock();
+		try {
+			long nanos = maxDelay;
+			while (!isBatchComplete() && nanos > 0)
+				nanos = batchFull.awaitNanos(nanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// later requests elect a new leader for the next batch
+			batch = new ArrayList<>(pending);
+			pending.clear();
+			pendingPoints = 0;
+			hasLeader = false;
+			lock.unlock();
+		}
+
+		int size = 0;
+		for (Request request : batch)
+			size += request.coordinates.length;
+
+		double[] coordinates = new double[size];
+		int offset = 0;
+		for (Request request : batch) {
+			System.arraycopy(request.coordinates, 0, coordinates, offset, request.coordinates.length);
+			offset += request.coordinates.length;
+		}
+
+		try {
+			double[] elevations = delegate.getElevations(coordinates);
+			offset = 0;
+			for (Request request : batch) {
+				double[] result = new double[request.coordinates.length / 2];
+				System.arraycopy(elevations, offset, result, 0, result.length);
+				offset += result.length;
+				request.result.complete(result);
+			}
+		} catch (Throwable e) {
+			for (Request request : batch)
+				request.result.completeExceptionally(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+
+	private static class Request {
+		private final double[] coordinates;
+		private final CompletableFuture<double[]> result = new CompletableFuture<>();
+
+		Request(double[] coordinates) {
+			this.coordinates = coordinates;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.util.elevation;
+
+import java.io.IOException;
+
+/**
+ * Provides terrain elevations for WGS 84 locations. Implementations must be
+ * thread-safe since a single provider is shared by all export workers.
+ */
+public interface ElevationProvider extends AutoCloseable {
+
+	/**
+	 * Returns the elevations for the given longitude/latitude pairs. Elevations
+	 * that are not available are returned as {@link Double#NaN}.
+	 */
+	double[] getElevations(double[] coordinates) throws IOException;
+
+	@Override
+	default void close() throws IOException {
+	}
+}
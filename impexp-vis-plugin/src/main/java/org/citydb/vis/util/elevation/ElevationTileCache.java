@@ -0,0 +1,220 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.util.elevation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent cache of elevations in front of another provider. Locations are
+ * snapped to a grid of the given resolution and grouped into spatial tiles.
+ * Each tile is stored as a separate file that is loaded on first access, and
+ * new elevations are appended to it when the cache is flushed or closed. At most
+ * the given number of tiles is kept in memory, and the least recently used tile
+ * is flushed and unloaded when another tile is loaded.
+ */
+public class ElevationTileCache implements ElevationProvider {
+	private static final int TILE_SIZE = 1024;
+	private static final int RECORD_SIZE = 16;
+
+	private final ElevationProvider delegate;
+	private final Path directory;
+	private final double resolution;
+	private final int maxTiles;
+	private final LinkedHashMap<Long, Tile> tiles = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long hits;
+	private long misses;
+
+	public ElevationTileCache(ElevationProvider delegate, Path directory, double resolution, int maxTiles) throws IOException {
+		if (maxTiles < 1)
+			throw new IllegalArgumentException("The maximum number of tiles must be positive.");
+
+		this.delegate = delegate;
+		this.directory = directory;
+		this.resolution = resolution;
+		this.maxTiles = maxTiles;
+		Files.createDirectories(directory);
+	}
+
+	@Override
+	public double[] getElevations(double[] coordinates) throws IOException {
+		int size = coordinates.length / 2;
+		double[] elevations = new double[size];
+		long[] keys = new long[size];
+		List<Integer> missing = new ArrayList<>();
+
+		synchronized (this) {
+			for (int i = 0; i < size; i++) {
+				keys[i] = key(coordinates[i * 2], coordinates[i * 2 + 1]);
+				Double elevation = getTile(keys[i]).values.get(keys[i]);
+				if (elevation != null) {
+					elevations[i] = elevation;
+					hits++;
+				} else {
+					missing.add(i);
+					misses++;
+				}
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			// request the remaining locations without holding the lock
+			double[] request = new double[missing.size() * 2];
+			for (int i = 0; i < missing.size(); i++) {
+				request[i * 2] = coordinates[missing.get(i) * 2];
+				request[i * 2 + 1] = coordinates[missing.get(i) * 2 + 1];
+			}
+
+			double[] result = delegate.getElevations(request);
+			synchronized (this) {
+				for (int i = 0; i < missing.size(); i++) {
+					int index = missing.get(i);
+					elevations[index] = result[i];
+					if (!Double.isNaN(result[i]))
+						getTile(keys[index]).put(keys[index], result[i]);
+				}
+			}
+		}
+
+		return elevations;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized void flush() throws IOException {
+		for (Tile tile : tiles.values())
+			tile.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			synchronized (this) {
+				tiles.clear();
+			}
+
+			delegate.close();
+		}
+	}
+
+	private long key(double lon, double lat) {
+		// snap the location to the grid and pack both grid indexes into a single key
+		long x = Math.round((lon + 180) / resolution);
+		long y = Math.round((lat + 90) / resolution);
+		return (x << 32) | y;
+	}
+
+	private Tile getTile(long key) throws IOException {
+		long tileKey = ((key >>> 32) / TILE_SIZE << 32) | ((key & 0xffffffffL) / TILE_SIZE);
+		Tile tile = tiles.get(tileKey);
+		if (tile == null) {
+			if (tiles.size() >= maxTiles) {
+				// flush and unload the least recently used tile
+				Iterator<Tile> iterator = tiles.values().iterator();
+				iterator.next().flush();
+				iterator.remove();
+			}
+
+			tile = new Tile(directory.resolve((tileKey >>> 32) + "_" + (tileKey & 0xffffffffL) + ".bin"));
+			tiles.put(tileKey, tile);
+		}
+
+		return tile;
+	}
+
+	private static class Tile {
+		private final Path file;
+		private final Map<Long, Double> values = new HashMap<>();
+		private final Map<Long, Double> added = new HashMap<>();
+
+		Tile(Path file) throws IOException {
+			this.file = file;
+
+			if (Files.exists(file)) {
+				long size = Files.size(file);
+				long records = size / RECORD_SIZE;
+				try (InputStream stream = Files.newInputStream(file);
+					 DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+					for (long i = 0; i < records; i++)
+						values.put(input.readLong(), input.readDouble());
+				}
+
+				// remove a truncated record of an interrupted run before appending to the file
+				if (size % RECORD_SIZE != 0) {
+					try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+						channel.truncate(records * RECORD_SIZE);
+					}
+				}
+			}
+		}
+
+		void put(long key, double elevation) {
+			if (values.put(key, elevation) == null)
+				added.put(key, elevation);
+		}
+
+		void flush() throws IOException {
+			if (added.isEmpty())
+				return;
+
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+				for (Map.Entry<Long, Double> entry : added.entrySet()) {
+					output.writeLong(entry.getKey());
+					output.writeDouble(entry.getValue());
+				}
+			}
+
+			added.clear();
+		}
+	}
+}
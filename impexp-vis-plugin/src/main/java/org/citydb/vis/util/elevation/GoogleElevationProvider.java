@@ -0,0 +1,146 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.vis.util.elevation;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GoogleElevationProvider implements ElevationProvider {
+	public static final int POINTS_IN_A_URL = 55; // URL length must be under 2048
+
+	private static final ReentrantLock runLock = new ReentrantLock();
+	private final SAXParserFactory factory = SAXParserFactory.newInstance();
+	private final String apiKey;
+
+	public GoogleElevationProvider(String apiKey) {
+		this.apiKey = apiKey != null ? apiKey : "";
+	}
+
+	@Override
+	public double[] getElevations(double[] coordinates) throws IOException {
+		double[] elevations = new double[coordinates.length / 2];
+		Arrays.fill(elevations, Double.NaN);
+
+		for (int index = 0; index < elevations.length; index += POINTS_IN_A_URL) {
+			int count = Math.min(POINTS_IN_A_URL, elevations.length - index);
+			StringBuilder builder = new StringBuilder("https://maps.googleapis.com/maps/api/elevation/xml?")
+					.append("&key=").append(apiKey).append("&locations=");
+
+			for (int i = index; i < index + count; i++) {
+				String latitude = new BigDecimal(coordinates[i * 2 + 1]).toPlainString();
+				if (latitude.length() > 15) latitude = latitude.substring(0, 15);
+				String longitude = new BigDecimal(coordinates[i * 2]).toPlainString();
+				if (longitude.length() > 15) longitude = longitude.substring(0, 15);
+
+				builder.append(latitude).append(",").append(longitude);
+				if (i < index + count - 1)
+					builder.append("|");
+			}
+
+			waitForAccess(); // avoid "OVER_QUERY_LIMIT" from elevation service; max 10 calls/sec are allowed
+			ResponseHandler handler = new ResponseHandler(elevations, index);
+			try (InputStream stream = new URL(builder.toString()).openStream()) {
+				factory.newSAXParser().parse(stream, handler);
+			} catch (IOException e) {
+				throw new IOException("Could not access Elevation API. Please check your network settings.", e);
+			} catch (ParserConfigurationException | SAXException e) {
+				throw new IOException("Failed to parse the response of the Elevation API.", e);
+			}
+
+			if (!"OK".equalsIgnoreCase(handler.status)) {
+				throw new IOException("Elevation API returned " + handler.status +
+						(handler.errorMessage != null ? ": " + handler.errorMessage : ""));
+			}
+		}
+
+		return elevations;
+	}
+
+	private static void waitForAccess() {
+		try {
+			runLock.lock();
+			// pause interval: 100 millis should be enough, but experience says it is not!
+			Thread.sleep(200);
+		}
+		catch (Exception ignored) {}
+		finally {
+			runLock.unlock();
+		}
+	}
+
+	private static class ResponseHandler extends DefaultHandler {
+		private final double[] elevations;
+		private final StringBuilder textBuffer = new StringBuilder();
+		private int index;
+		private String status = "";
+		private String errorMessage;
+
+		ResponseHandler(double[] elevations, int index) {
+			this.elevations = elevations;
+			this.index = index;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) {
+			textBuffer.setLength(0);
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			String eName = "".equals(localName) ? qName : localName;
+			String value = textBuffer.toString().trim();
+			textBuffer.setLength(0);
+
+			if (value.isEmpty())
+				return;
+
+			if (eName.equalsIgnoreCase("status"))
+				status = value;
+			else if (eName.equalsIgnoreCase("elevation") && index < elevations.length)
+				elevations[index++] = Double.parseDouble(value);
+			else if (eName.equalsIgnoreCase("error_message"))
+				errorMessage = value;
+		}
+
+		@Override
+		public void characters(char[] buf, int offset, int len) {
+			textBuffer.append(buf, offset, len);
+		}
+	}
+}
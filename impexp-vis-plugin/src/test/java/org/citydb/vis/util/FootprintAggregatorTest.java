@@ -0,0 +1,110 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FootprintAggregatorTest {
+
+	@Test
+	public void unionsAdjacentSurfaces() {
+		List<GeometryObject> footprints = new FootprintAggregator().aggregate(Arrays.asList(
+				square(0, 0, 1),
+				square(1, 0, 1)));
+
+		assertEquals(1, footprints.size());
+		assertEquals(2, area(footprints.get(0)), 1e-9);
+	}
+
+	@Test
+	public void keepsSmallSurfaces() {
+		List<GeometryObject> footprints = new FootprintAggregator().aggregate(Arrays.asList(
+				square(0, 0, 1),
+				square(10, 10, 0.01)));
+
+		assertEquals(2, footprints.size());
+		assertEquals(1.0001, area(footprints.get(0)) + area(footprints.get(1)), 1e-9);
+	}
+
+	@Test
+	public void doesNotSimplifyFootprints() {
+		// the vertex at (0.5, 0.0005) is within the former simplification tolerance
+		GeometryObject surface = GeometryObject.createPolygon(new double[]{
+				0, 0, 0, 0.5, 0.0005, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 0}, 3, 0);
+
+		List<GeometryObject> footprints = new FootprintAggregator().aggregate(Collections.singletonList(surface));
+
+		assertEquals(1, footprints.size());
+		assertEquals(12, footprints.get(0).getCoordinates(0).length);
+	}
+
+	@Test
+	public void repairsInvalidSurfaces() {
+		// self-intersecting bow tie consisting of two triangles with an area of 0.25 each
+		GeometryObject bowTie = GeometryObject.createPolygon(new double[]{
+				0, 0, 1, 1, 1, 0, 0, 1, 0, 0}, 2, 0);
+
+		List<GeometryObject> footprints = new FootprintAggregator().aggregate(Collections.singletonList(bowTie));
+
+		assertFalse(footprints.isEmpty());
+	}
+
+	@Test
+	public void ignoresNonPolygonalGeometries() {
+		GeometryObject curve = GeometryObject.createCurve(new double[]{0, 0, 1, 1}, 2, 0);
+		assertTrue(new FootprintAggregator().aggregate(Collections.singletonList(curve)).isEmpty());
+	}
+
+	private GeometryObject square(double x, double y, double size) {
+		return GeometryObject.createPolygon(new double[]{
+				x, y, x + size, y, x + size, y + size, x, y + size, x, y}, 2, 0);
+	}
+
+	private double area(GeometryObject polygon) {
+		double area = 0;
+		for (int i = 0; i < polygon.getNumElements(); i++) {
+			double[] ring = polygon.getCoordinates(i);
+			double ringArea = 0;
+			for (int j = 0; j < ring.length - 2; j += 2)
+				ringArea += ring[j] * ring[j + 3] - ring[j + 2] * ring[j + 1];
+
+			area += i == 0 ? Math.abs(ringArea) / 2 : -Math.abs(ringArea) / 2;
+		}
+
+		return area;
+	}
+}
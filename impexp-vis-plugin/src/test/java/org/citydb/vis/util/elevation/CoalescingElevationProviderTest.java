@@ -0,0 +1,95 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util.elevation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoalescingElevationProviderTest {
+
+	@Test
+	public void singleCallerDoesNotWaitForOtherCallers() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ElevationProvider delegate = coordinates -> {
+			calls.incrementAndGet();
+			return new double[coordinates.length / 2];
+		};
+
+		try (CoalescingElevationProvider provider = new CoalescingElevationProvider(delegate, 100, 10, TimeUnit.SECONDS)) {
+			long start = System.nanoTime();
+			for (int i = 0; i < 5; i++)
+				assertArrayEquals(new double[2], provider.getElevations(new double[4]));
+
+			assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+			assertEquals(5, calls.get());
+		}
+	}
+
+	@Test
+	public void concurrentCallersShareBatches() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ElevationProvider delegate = coordinates -> {
+			calls.incrementAndGet();
+			double[] elevations = new double[coordinates.length / 2];
+			for (int i = 0; i < elevations.length; i++)
+				elevations[i] = coordinates[i * 2];
+
+			return elevations;
+		};
+
+		try (CoalescingElevationProvider provider = new CoalescingElevationProvider(delegate, 100, 10, TimeUnit.SECONDS)) {
+			Thread[] threads = new Thread[4];
+			double[][] results = new double[threads.length][];
+			for (int i = 0; i < threads.length; i++) {
+				int index = i;
+				threads[i] = new Thread(() -> {
+					try {
+						results[index] = provider.getElevations(new double[]{index, 0, index + 0.5, 0});
+					} catch (Exception e) {
+						throw new RuntimeException(e);
+					}
+				});
+				threads[i].start();
+			}
+
+			for (Thread thread : threads)
+				thread.join();
+
+			for (int i = 0; i < threads.length; i++)
+				assertArrayEquals(new double[]{i, i + 0.5}, results[i]);
+
+			assertTrue(calls.get() <= threads.length);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2021
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util.elevation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ElevationTileCacheTest {
+	private static final double RESOLUTION = 0.00001;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void evictedTilesAreFlushedAndReloaded() throws Exception {
+		AtomicInteger requests = new AtomicInteger();
+		ElevationProvider delegate = coordinates -> {
+			requests.addAndGet(coordinates.length / 2);
+			return new double[]{coordinates[0]};
+		};
+
+		// the locations are about one degree apart and fall into different tiles
+		try (ElevationTileCache cache = new ElevationTileCache(delegate, tempDir, RESOLUTION, 2)) {
+			for (int i = 0; i < 3; i++)
+				assertArrayEquals(new double[]{i}, cache.getElevations(new double[]{i, 0}), 0);
+
+			// the first tile has been unloaded and written to disk
+			assertEquals(1, countFiles());
+
+			for (int i = 0; i < 3; i++)
+				assertArrayEquals(new double[]{i}, cache.getElevations(new double[]{i, 0}), 0);
+
+			assertEquals(3, requests.get());
+			assertEquals(3, cache.getHits());
+			assertEquals(3, cache.getMisses());
+		}
+
+		assertEquals(3, countFiles());
+	}
+
+	private long countFiles() throws IOException {
+		try (Stream<Path> files = Files.list(tempDir)) {
+			return files.count();
+		}
+	}
+}